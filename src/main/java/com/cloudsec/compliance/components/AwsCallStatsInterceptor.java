@@ -0,0 +1,258 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.AwsCallStatsResponse;
+import com.cloudsec.compliance.dto.response.AwsOperationStats;
+import com.cloudsec.compliance.dto.response.SlowAwsCall;
+import com.cloudsec.compliance.util.LatencyHistogram;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures every SDK call made by the S3 clients: latency histograms per operation and per region for
+ * the whole call and for each attempt, retry and throttle counts, payload sizes, and a bounded log of
+ * the slowest recent calls with their AWS request ids.
+ * <p>
+ * Attempt latency is the time spent on the wire for one HTTP exchange, so comparing it with call
+ * latency separates AWS-side time from retry backoff and client-side work. Statistics also list the
+ * circuits of {@link CircuitBreakerRegistry} that are currently open or probing.
+ */
+@Component
+public class AwsCallStatsInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Call> CALL = new ExecutionAttribute<>("AwsCallStats");
+    private static final String GLOBAL_REGION = "global";
+
+    private final boolean enabled;
+    private final long slowCallThresholdNanos;
+    private final int slowCallLogSize;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Map<String, CallStats> byOperation = new ConcurrentHashMap<>();
+    private final Map<String, CallStats> byRegion = new ConcurrentHashMap<>();
+    private final ArrayDeque<SlowAwsCall> slowCalls = new ArrayDeque<>();
+    private volatile Instant since = Instant.now();
+
+    public AwsCallStatsInterceptor(ComplianceProperties properties, CircuitBreakerRegistry circuitBreakers) {
+        ComplianceProperties.AwsStats config = properties.getAwsStats();
+        this.circuitBreakers = circuitBreakers;
+        this.enabled = config.isEnabled();
+        this.slowCallThresholdNanos = config.getSlowCallThreshold().toNanos();
+        this.slowCallLogSize = Math.max(0, config.getSlowCallLogSize());
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        if (!enabled) {
+            return;
+        }
+        Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        executionAttributes.putAttribute(CALL, new Call(
+            executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME) + "."
+                + executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+            region != null ? region.id() : GLOBAL_REGION));
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Call call = executionAttributes.getAttribute(CALL);
+        if (call == null) {
+            return;
+        }
+        call.attempts++;
+        call.attemptStartNanos = System.nanoTime();
+        call.requestBytes += context.requestBody().flatMap(RequestBody::optionalContentLength).orElse(0L);
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        Call call = executionAttributes.getAttribute(CALL);
+        if (call == null) {
+            return;
+        }
+        long attemptMicros = (System.nanoTime() - call.attemptStartNanos) / 1_000;
+        byOperation(call).attemptLatency.record(attemptMicros);
+        byRegion(call).attemptLatency.record(attemptMicros);
+
+        SdkHttpResponse response = context.httpResponse();
+        call.statusCode = response.statusCode();
+        call.requestId = response.firstMatchingHeader("x-amz-request-id").orElse(call.requestId);
+        call.responseBytes += response.firstMatchingHeader("Content-Length").map(AwsCallStatsInterceptor::parseLength).orElse(0L);
+        if (isThrottle(response.statusCode())) {
+            call.throttles++;
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        finish(executionAttributes, null);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        finish(executionAttributes, context.exception());
+    }
+
+    private void finish(ExecutionAttributes executionAttributes, Throwable error) {
+        Call call = executionAttributes.getAttribute(CALL);
+        if (call == null) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - call.startNanos;
+        byOperation(call).record(call, elapsedNanos, error != null);
+        byRegion(call).record(call, elapsedNanos, error != null);
+        if (slowCallLogSize > 0 && elapsedNanos >= slowCallThresholdNanos) {
+            logSlowCall(new SlowAwsCall(
+                Instant.now().toString(),
+                call.operation,
+                call.region,
+                Math.round(elapsedNanos / 1_000.0) / 1_000.0,
+                call.attempts,
+                call.statusCode,
+                call.requestId,
+                error != null ? error.getClass().getSimpleName() + ": " + error.getMessage() : null
+            ));
+        }
+    }
+
+    private synchronized void logSlowCall(SlowAwsCall slowCall) {
+        if (slowCalls.size() == slowCallLogSize) {
+            slowCalls.removeFirst();
+        }
+        slowCalls.addLast(slowCall);
+    }
+
+    private CallStats byOperation(Call call) {
+        return byOperation.computeIfAbsent(call.operation, key -> new CallStats());
+    }
+
+    private CallStats byRegion(Call call) {
+        return byRegion.computeIfAbsent(call.region, key -> new CallStats());
+    }
+
+    /**
+     * Statistics since startup or the last {@link #reset()}, with slow calls newest first.
+     */
+    public AwsCallStatsResponse stats() {
+        List<SlowAwsCall> slowest;
+        synchronized (this) {
+            slowest = new ArrayList<>(slowCalls);
+        }
+        Collections.reverse(slowest);
+        return new AwsCallStatsResponse(
+            since.toString(),
+            byOperation.values().stream().mapToLong(stats -> stats.calls.sum()).sum(),
+            summarize(byOperation),
+            summarize(byRegion),
+            slowCallThresholdNanos / 1_000_000,
+            slowest,
+            unhealthyCircuits()
+        );
+    }
+
+    private Map<String, String> unhealthyCircuits() {
+        Map<String, String> states = new TreeMap<>();
+        circuitBreakers.unhealthy().forEach((circuit, state) -> states.put(circuit, state.name()));
+        return states;
+    }
+
+    public synchronized void reset() {
+        byOperation.clear();
+        byRegion.clear();
+        slowCalls.clear();
+        since = Instant.now();
+    }
+
+    private static Map<String, AwsOperationStats> summarize(Map<String, CallStats> stats) {
+        Map<String, AwsOperationStats> summaries = new TreeMap<>();
+        stats.forEach((key, value) -> summaries.put(key, value.summary()));
+        return summaries;
+    }
+
+    static boolean isThrottle(int statusCode) {
+        // 503 is S3's SlowDown; 429 is used by most other services.
+        return statusCode == 429 || statusCode == 503;
+    }
+
+    private static long parseLength(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Per-call state carried in the execution attributes; only touched by the thread running the call.
+     */
+    private static final class Call {
+        final String operation;
+        final String region;
+        final long startNanos = System.nanoTime();
+        long attemptStartNanos;
+        int attempts;
+        int throttles;
+        long requestBytes;
+        long responseBytes;
+        int statusCode;
+        String requestId;
+
+        Call(String operation, String region) {
+            this.operation = operation;
+            this.region = region;
+        }
+    }
+
+    private static final class CallStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram attemptLatency = new LatencyHistogram();
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder throttles = new LongAdder();
+        final LongAdder requestBytes = new LongAdder();
+        final LongAdder responseBytes = new LongAdder();
+
+        void record(Call call, long elapsedNanos, boolean failed) {
+            latency.record(elapsedNanos / 1_000);
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            retries.add(Math.max(0, call.attempts - 1));
+            throttles.add(call.throttles);
+            requestBytes.add(call.requestBytes);
+            responseBytes.add(call.responseBytes);
+        }
+
+        AwsOperationStats summary() {
+            return new AwsOperationStats(
+                calls.sum(),
+                errors.sum(),
+                retries.sum(),
+                throttles.sum(),
+                requestBytes.sum(),
+                responseBytes.sum(),
+                latency.summary(),
+                attemptLatency.summary()
+            );
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.AccountTarget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.StsClientBuilder;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
+
+import java.net.URI;
+
+/**
+ * Single owner of the AWS credentials used by every client the server builds.
+ * <p>
+ * Ambient credentials come from one shared provider chain that is resolved once and refreshed in the
+ * background. Cross-account access uses one AssumeRole session per target role, kept in a bounded
+ * pool; each session refreshes itself asynchronously ahead of expiry, so repeated scans of an account
+ * reuse it without further STS calls and requests never wait on credential resolution once warm.
+ * <p>
+ * The pool holds at least {@code organization.max-accounts} sessions, so one organisation scan does not
+ * evict its own sessions. A session evicted while clients still hold it is only closed once no
+ * resolution is in progress; those clients then move on to a fresh session from the pool.
+ */
+@Slf4j
+@Component
+public class AwsCredentialsManager {
+
+    private final ComplianceProperties.Aws aws;
+    private final AwsCredentialsProvider ambient;
+    private final Cache<String, Session> sessions; // keyed by role ARN
+    private StsClient stsClient;
+
+    public AwsCredentialsManager(ComplianceProperties properties, AwsCredentialsProvider awsCredentialsProvider) {
+        this.aws = properties.getSecurity().getAws();
+        this.ambient = awsCredentialsProvider;
+        this.sessions = Caffeine.newBuilder()
+            .maximumSize(Math.max(aws.getAssumeRole().getMaxSessions(), properties.getOrganization().getMaxAccounts()))
+            .executor(Runnable::run)
+            .removalListener((String roleArn, Session session, RemovalCause cause) -> {
+                if (session != null) {
+                    log.debug("Retiring AssumeRole session for {} ({})", roleArn, cause);
+                    session.retire();
+                }
+            })
+            .build();
+    }
+
+    /**
+     * Credentials of the identity the server runs as.
+     */
+    public AwsCredentialsProvider ambient() {
+        return ambient;
+    }
+
+    /**
+     * Credentials for {@code accountId}: the ambient credentials for the configured home account, otherwise
+     * the pooled AssumeRole session for that account.
+     *
+     * @throws IllegalArgumentException if the account id is malformed
+     * @throws IllegalStateException if cross-account access is not configured
+     */
+    public AwsCredentialsProvider forAccount(String accountId) {
+        if (accountId == null || accountId.isBlank() || accountId.equals(aws.getAccountId())) {
+            return ambient;
+        }
+        return forTarget(AccountTarget.parse(accountId));
+    }
+
+    /**
+     * Credentials for a target account. An explicit role ARN is always assumed; otherwise the configured
+     * role name is assumed in the target account, or the ambient credentials are used for the home account.
+     */
+    public AwsCredentialsProvider forTarget(AccountTarget target) {
+        if (target.hasExplicitRole()) {
+            return sessions.get(target.roleArn(), this::openSession).credentials();
+        }
+        if (target.accountId().equals(aws.getAccountId())) {
+            return ambient;
+        }
+        if (!isAssumeRoleEnabled()) {
+            throw new IllegalStateException("Cross-account access is not configured (compliance.security.aws.assume-role.role-name)");
+        }
+        return sessions.get(roleArn(target.accountId()), this::openSession).credentials();
+    }
+
+    public boolean isAssumeRoleEnabled() {
+        String roleName = aws.getAssumeRole().getRoleName();
+        return roleName != null && !roleName.isBlank();
+    }
+
+    public String roleArn(String accountId) {
+        return "arn:aws:iam::" + accountId + ":role/" + aws.getAssumeRole().getRoleName();
+    }
+
+    public long sessionCount() {
+        sessions.cleanUp();
+        return sessions.estimatedSize();
+    }
+
+    /**
+     * Warms the ambient chain and the sessions of configured accounts off the request path.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void prefetch() {
+        if (!aws.isPrefetchCredentials()) {
+            return;
+        }
+        Thread.ofVirtual().name("credentials-prefetch").start(() -> {
+            resolveQuietly("ambient", ambient);
+            if (isAssumeRoleEnabled()) {
+                for (String account : aws.getAssumeRole().getAccounts()) {
+                    try {
+                        resolveQuietly(account, forAccount(account));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Skipping credentials prefetch: {}", e.getMessage());
+                    }
+                }
+            }
+        });
+    }
+
+    private void resolveQuietly(String label, AwsCredentialsProvider provider) {
+        try {
+            provider.resolveCredentials();
+            log.info("Prefetched {} credentials", label);
+        } catch (Exception e) {
+            log.warn("Unable to prefetch {} credentials: {}", label, e.getMessage());
+        }
+    }
+
+    private Session openSession(String roleArn) {
+        ComplianceProperties.AssumeRole assumeRole = aws.getAssumeRole();
+        log.info("Opening AssumeRole session for {}", roleArn);
+        return new Session(roleArn, StsAssumeRoleCredentialsProvider.builder()
+            .stsClient(stsClient())
+            .refreshRequest(request -> {
+                request.roleArn(roleArn)
+                    .roleSessionName(assumeRole.getSessionName())
+                    .durationSeconds((int) assumeRole.getSessionDuration().toSeconds());
+                if (assumeRole.getExternalId() != null && !assumeRole.getExternalId().isBlank()) {
+                    request.externalId(assumeRole.getExternalId());
+                }
+            })
+            .prefetchTime(assumeRole.getPrefetchTime())
+            .staleTime(assumeRole.getPrefetchTime().dividedBy(5))
+            .asyncCredentialUpdateEnabled(aws.isAsyncCredentialRefresh())
+            .build());
+    }
+
+    private synchronized StsClient stsClient() {
+        if (stsClient == null) {
+            StsClientBuilder builder = StsClient.builder()
+                .region(Region.of(aws.getDefaultRegion()))
+                .credentialsProvider(ambient);
+            String endpointOverride = aws.getAssumeRole().getStsEndpointOverride();
+            if (endpointOverride != null && !endpointOverride.isBlank()) {
+                builder.endpointOverride(URI.create(endpointOverride));
+            }
+            stsClient = builder.build();
+        }
+        return stsClient;
+    }
+
+    /**
+     * A pooled AssumeRole session. Each credential resolution holds a lease, and an evicted session is
+     * closed by whichever of eviction or the last lease comes second.
+     */
+    private final class Session {
+        private final String roleArn;
+        private final StsAssumeRoleCredentialsProvider provider;
+        private final AwsCredentialsProvider credentials = new PooledCredentials(this);
+        private int leases;
+        private boolean retired;
+
+        Session(String roleArn, StsAssumeRoleCredentialsProvider provider) {
+            this.roleArn = roleArn;
+            this.provider = provider;
+        }
+
+        AwsCredentialsProvider credentials() {
+            return credentials;
+        }
+
+        synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            leases++;
+            return true;
+        }
+
+        synchronized void release() {
+            if (--leases == 0 && retired) {
+                provider.close();
+            }
+        }
+
+        synchronized void retire() {
+            retired = true;
+            if (leases == 0) {
+                provider.close();
+            }
+        }
+    }
+
+    /**
+     * Credentials handed to clients. They resolve through their session while it is pooled and follow the
+     * pool to a new session for the same role once it has been evicted.
+     */
+    private final class PooledCredentials implements AwsCredentialsProvider {
+        private volatile Session session;
+
+        PooledCredentials(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public AwsCredentials resolveCredentials() {
+            Session current = session;
+            while (!current.acquire()) {
+                current = sessions.get(current.roleArn, AwsCredentialsManager.this::openSession);
+                session = current;
+            }
+            try {
+                return current.provider.resolveCredentials();
+            } finally {
+                current.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        sessions.invalidateAll();
+        if (stsClient != null) {
+            stsClient.close();
+            stsClient = null;
+        }
+    }
+}
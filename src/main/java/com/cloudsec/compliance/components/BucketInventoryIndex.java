@@ -0,0 +1,216 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.jfr.CacheAccessEvent;
+import com.cloudsec.compliance.model.BucketQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory index over the most recent bucket inventory, rebuilt when older than the configured TTL.
+ * <p>
+ * Buckets are stored in name order, so a name prefix maps to one contiguous range found by binary search.
+ * A second array orders positions by creation date, so a date range is also a binary search. The more
+ * selective of the two produces the candidates; remaining criteria are applied as filters.
+ */
+@Slf4j
+@Component
+public class BucketInventoryIndex {
+    
+    private static final String CACHE_NAME = "bucket-inventory";
+    
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxBuckets;
+    private volatile Snapshot snapshot;
+    
+    public BucketInventoryIndex(ComplianceProperties properties) {
+        ComplianceProperties.CacheSpec spec = properties.getCache().getBucketInventory();
+        this.enabled = spec.isEnabled();
+        this.ttl = spec.getTtl();
+        this.maxBuckets = (int) Math.min(Integer.MAX_VALUE, spec.getMaxSize());
+    }
+    
+    public record Entry(String name, Instant creationDate, String region) {}
+    
+    /**
+     * Returns matching buckets in the requested order, loading the inventory through {@code loader}
+     * when there is no fresh snapshot.
+     */
+    public List<Entry> search(BucketQuery query, Supplier<List<Entry>> loader) {
+        return current(loader).search(query);
+    }
+    
+    public void invalidate() {
+        snapshot = null;
+    }
+    
+    private Snapshot current(Supplier<List<Entry>> loader) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        Snapshot current = snapshot;
+        if (enabled && current != null && current.builtAt.plus(ttl).isAfter(Instant.now())) {
+            commit(event, true);
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (enabled && current != null && current.builtAt.plus(ttl).isAfter(Instant.now())) {
+                commit(event, true);
+                return current;
+            }
+            current = Snapshot.build(loader.get(), maxBuckets);
+            log.debug("Indexed {} buckets", current.names.length);
+            if (enabled) {
+                snapshot = current;
+            }
+            commit(event, false);
+            return current;
+        }
+    }
+    
+    private static void commit(CacheAccessEvent event, boolean hit) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = CACHE_NAME;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+    
+    static final class Snapshot {
+        private static final long NO_DATE = Long.MIN_VALUE;
+        
+        final Instant builtAt = Instant.now();
+        final String[] names;
+        final long[] created;
+        final String[] regions;
+        final int[] byDate;
+        final int[] dateRank;
+        
+        private Snapshot(Entry[] entries) {
+            Arrays.sort(entries, Comparator.comparing(Entry::name));
+            int n = entries.length;
+            names = new String[n];
+            created = new long[n];
+            regions = new String[n];
+            for (int i = 0; i < n; i++) {
+                names[i] = entries[i].name();
+                created[i] = entries[i].creationDate() != null ? entries[i].creationDate().toEpochMilli() : NO_DATE;
+                regions[i] = entries[i].region();
+            }
+            byDate = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparingLong((Integer i) -> created[i]).thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue)
+                .toArray();
+            dateRank = new int[n];
+            for (int rank = 0; rank < n; rank++) {
+                dateRank[byDate[rank]] = rank;
+            }
+        }
+        
+        static Snapshot build(List<Entry> source, int maxBuckets) {
+            if (source.size() > maxBuckets) {
+                log.warn("Bucket inventory truncated at {} of {} buckets", maxBuckets, source.size());
+            }
+            return new Snapshot(source.stream().limit(maxBuckets).toArray(Entry[]::new));
+        }
+        
+        List<Entry> search(BucketQuery query) {
+            int[] candidates = candidates(query);
+            int matched = 0;
+            for (int position : candidates) {
+                if (matches(position, query)) {
+                    candidates[matched++] = position;
+                }
+            }
+            int[] result = Arrays.copyOf(candidates, matched);
+            order(result, query.effectiveSort());
+            return Arrays.stream(result)
+                .mapToObj(i -> new Entry(names[i], created[i] == NO_DATE ? null : Instant.ofEpochMilli(created[i]), regions[i]))
+                .toList();
+        }
+        
+        private int[] candidates(BucketQuery query) {
+            int nameFrom = 0;
+            int nameTo = names.length;
+            if (query.namePrefix() != null) {
+                nameFrom = lowerBound(query.namePrefix());
+                nameTo = lowerBound(query.namePrefix() + Character.MAX_VALUE);
+            }
+            
+            if (query.createdAfter() != null || query.createdBefore() != null) {
+                int dateFrom = query.createdAfter() != null ? dateLowerBound(query.createdAfter().toEpochMilli()) : 0;
+                int dateTo = query.createdBefore() != null ? dateLowerBound(query.createdBefore().toEpochMilli()) : byDate.length;
+                if (dateTo - dateFrom < nameTo - nameFrom) {
+                    return Arrays.copyOfRange(byDate, dateFrom, Math.max(dateFrom, dateTo));
+                }
+            }
+            return IntStream.range(nameFrom, nameTo).toArray();
+        }
+        
+        private boolean matches(int position, BucketQuery query) {
+            String name = names[position];
+            if (query.namePrefix() != null && !name.startsWith(query.namePrefix())) return false;
+            if (query.nameContains() != null && !name.contains(query.nameContains())) return false;
+            if (query.bucketRegion() != null && !query.bucketRegion().equals(regions[position])) return false;
+            if (query.createdAfter() != null
+                && (created[position] == NO_DATE || created[position] < query.createdAfter().toEpochMilli())) return false;
+            if (query.createdBefore() != null
+                && (created[position] == NO_DATE || created[position] >= query.createdBefore().toEpochMilli())) return false;
+            return true;
+        }
+        
+        private void order(int[] positions, BucketQuery.Sort sort) {
+            switch (sort) {
+                case NAME_ASC -> Arrays.sort(positions);
+                case NAME_DESC -> {
+                    Arrays.sort(positions);
+                    reverse(positions);
+                }
+                case CREATED_ASC, CREATED_DESC -> {
+                    for (int i = 0; i < positions.length; i++) positions[i] = dateRank[positions[i]];
+                    Arrays.sort(positions);
+                    for (int i = 0; i < positions.length; i++) positions[i] = byDate[positions[i]];
+                    if (sort == BucketQuery.Sort.CREATED_DESC) reverse(positions);
+                }
+            }
+        }
+        
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = names.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (names[mid].compareTo(key) < 0) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+        
+        private int dateLowerBound(long epochMillis) {
+            int lo = 0;
+            int hi = byDate.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (created[byDate[mid]] < epochMillis) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+        
+        private static void reverse(int[] values) {
+            for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+                int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.errors.CircuitOpenException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Guards every SDK call with the {@link CircuitBreakerRegistry} circuit of its region and operation.
+ * <p>
+ * The check runs before the SDK's retry loop, so an open circuit fails the call immediately, and the
+ * outcome is recorded once per call after all retries, together with whether the call was admitted as
+ * a half-open probe.
+ */
+@Component
+@RequiredArgsConstructor
+public class CircuitBreakerInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Boolean> PROBE = new ExecutionAttribute<>("CircuitBreakerProbe");
+
+    private final CircuitBreakerRegistry registry;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        boolean probe = registry.acquire(region(executionAttributes), api(executionAttributes));
+        executionAttributes.putAttribute(PROBE, probe);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        registry.onSuccess(region(executionAttributes), api(executionAttributes));
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Throwable error = context.exception();
+        if (error instanceof CircuitOpenException) {
+            return;
+        }
+        if (CircuitBreakerRegistry.isFailure(error)) {
+            registry.onFailure(region(executionAttributes), api(executionAttributes),
+                Boolean.TRUE.equals(executionAttributes.getAttribute(PROBE)));
+        } else {
+            registry.onSuccess(region(executionAttributes), api(executionAttributes));
+        }
+    }
+
+    private static String region(ExecutionAttributes attributes) {
+        Region region = attributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        return region != null ? region.id() : "global";
+    }
+
+    private static String api(ExecutionAttributes attributes) {
+        String operation = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        return operation != null ? operation : "unknown";
+    }
+}
@@ -0,0 +1,175 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.errors.CircuitOpenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breakers for AWS calls, one per region and API.
+ * <p>
+ * A circuit opens after {@code failure-threshold} consecutive failures and rejects calls with
+ * {@link CircuitOpenException} until its open period ends. The open period grows exponentially with
+ * every consecutive opening and is drawn uniformly from zero to that bound (full jitter), so callers
+ * of a degraded region do not return in lockstep. After the period a limited number of probe calls
+ * are let through: a success closes the circuit, a failure opens it again with a longer bound. Failures
+ * of calls admitted before the circuit opened do not count once it is open or probing, so a burst of
+ * parallel calls opens it only once.
+ */
+@Slf4j
+@Component
+public class CircuitBreakerRegistry {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final ComplianceProperties.CircuitBreaker config;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CircuitBreakerRegistry(ComplianceProperties properties) {
+        this(properties, System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    CircuitBreakerRegistry(ComplianceProperties properties, LongSupplier nanoClock, DoubleSupplier random) {
+        this.config = properties.getCircuitBreaker();
+        this.nanoClock = nanoClock;
+        this.random = random;
+    }
+
+    /**
+     * Admits a call or throws {@link CircuitOpenException}. Returns {@code true} if the call is a
+     * half-open probe.
+     */
+    public boolean acquire(String region, String api) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        return circuit(region, api).acquire(region, api);
+    }
+
+    public void onSuccess(String region, String api) {
+        if (config.isEnabled()) {
+            circuit(region, api).onSuccess(region, api);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param probe whether {@link #acquire} admitted the call as a half-open probe
+     */
+    public void onFailure(String region, String api, boolean probe) {
+        if (config.isEnabled()) {
+            circuit(region, api).onFailure(region, api, probe);
+        }
+    }
+
+    /**
+     * Circuits that are not closed, keyed by {@code region/api}. Reported by {@code get_aws_call_stats}.
+     */
+    public Map<String, State> unhealthy() {
+        Map<String, State> states = new TreeMap<>();
+        circuits.forEach((key, circuit) -> {
+            State state = circuit.state();
+            if (state != State.CLOSED) {
+                states.put(key, state);
+            }
+        });
+        return states;
+    }
+
+    /**
+     * Whether an exception indicates a degraded service rather than a problem with the request itself:
+     * transport errors, throttling and 5xx responses.
+     */
+    public static boolean isFailure(Throwable error) {
+        if (error instanceof AwsServiceException service) {
+            return service.statusCode() >= 500 || service.statusCode() == 429 || service.isThrottlingException();
+        }
+        return error instanceof SdkClientException;
+    }
+
+    private Circuit circuit(String region, String api) {
+        return circuits.computeIfAbsent(key(region, api), k -> new Circuit());
+    }
+
+    private static String key(String region, String api) {
+        return region + "/" + api;
+    }
+
+    private final class Circuit {
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private int openings;
+        private long openUntilNanos;
+        private int probesInFlight;
+
+        synchronized State state() {
+            return state;
+        }
+
+        synchronized boolean acquire(String region, String api) {
+            if (state == State.CLOSED) {
+                return false;
+            }
+            long now = nanoClock.getAsLong();
+            if (state == State.OPEN) {
+                if (now < openUntilNanos) {
+                    throw new CircuitOpenException(region, api, Duration.ofNanos(openUntilNanos - now));
+                }
+                state = State.HALF_OPEN;
+                probesInFlight = 0;
+            }
+            if (probesInFlight >= config.getHalfOpenProbes()) {
+                throw new CircuitOpenException(region, api, Duration.ZERO);
+            }
+            probesInFlight++;
+            return true;
+        }
+
+        synchronized void onSuccess(String region, String api) {
+            if (state != State.CLOSED) {
+                log.info("Circuit {}/{} closed", region, api);
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            openings = 0;
+            probesInFlight = 0;
+        }
+
+        synchronized void onFailure(String region, String api, boolean probe) {
+            if (state == State.OPEN || (state == State.HALF_OPEN && !probe)) {
+                return;
+            }
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= config.getFailureThreshold()) {
+                open(region, api);
+            }
+        }
+
+        private void open(String region, String api) {
+            openings++;
+            double bound = Math.min(config.getMaxOpenDuration().toNanos(),
+                config.getBaseOpenDuration().toNanos() * Math.pow(2, openings - 1));
+            long openNanos = (long) (random.getAsDouble() * bound);
+            state = State.OPEN;
+            openUntilNanos = nanoClock.getAsLong() + openNanos;
+            probesInFlight = 0;
+            log.warn("Circuit {}/{} opened for {} ms after {} consecutive failures",
+                region, api, openNanos / 1_000_000, consecutiveFailures);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.util.ConsistentHashRing;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tracks which server instances share scan work, using lease files in a directory every member can reach.
+ * <p>
+ * Each member keeps {@code members/<node-id>.lease} up to date with the time its lease expires; members
+ * whose lease has expired are left out of the ring, so a crashed instance's buckets move to the survivors
+ * after {@code lease-ttl}. Leases are replaced atomically, so readers never see a partial file. Lease
+ * expiry compares wall-clock times of different hosts, so their clocks must be roughly in sync.
+ * <p>
+ * When cluster mode is disabled the view is a ring with only this instance, which owns every key.
+ */
+@Slf4j
+@Component
+public class ClusterMembership {
+
+    private static final String LEASE_SUFFIX = ".lease";
+
+    private final ComplianceProperties.Cluster config;
+    private final String nodeId;
+    private final Path leaseDirectory;
+    private final Clock clock;
+    private volatile View view;
+    private ScheduledExecutorService heartbeat;
+
+    @Autowired
+    public ClusterMembership(ComplianceProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ClusterMembership(ComplianceProperties properties, Clock clock) {
+        this.config = properties.getCluster();
+        this.nodeId = sanitize(config.getNodeId() != null && !config.getNodeId().isBlank()
+            ? config.getNodeId() : defaultNodeId());
+        this.leaseDirectory = Path.of(config.getDirectory(), "members");
+        this.clock = clock;
+        this.view = new View(nodeId, new ConsistentHashRing(List.of(nodeId), config.getVirtualNodes()));
+    }
+
+    /**
+     * The current members and the ring assigning keys to them.
+     */
+    public record View(String nodeId, ConsistentHashRing ring) {
+
+        public boolean owns(String key) {
+            return nodeId.equals(ring.owner(key));
+        }
+
+        public String owner(String key) {
+            return ring.owner(key);
+        }
+
+        public List<String> members() {
+            return ring.members();
+        }
+
+        public List<String> peers() {
+            return ring.members().stream().filter(member -> !member.equals(nodeId)).toList();
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (!config.isEnabled() || heartbeat != null) {
+            return;
+        }
+        renew();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cluster-heartbeat").daemon().factory());
+        long period = config.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleAtFixedRate(() -> {
+            try {
+                renew();
+            } catch (RuntimeException e) {
+                log.warn("Unable to renew cluster lease: {}", e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        log.info("Joined cluster in {} as {} with members {}", config.getDirectory(), nodeId, view().members());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        heartbeat = null;
+        try {
+            Files.deleteIfExists(leaseDirectory.resolve(nodeId + LEASE_SUFFIX));
+            log.info("Left cluster as {}", nodeId);
+        } catch (IOException e) {
+            log.warn("Unable to remove cluster lease: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Members with a live lease. This instance is always a member, so its own keys never go unscanned
+     * while its lease file is being replaced.
+     */
+    public View view() {
+        if (!config.isEnabled()) {
+            return view;
+        }
+        TreeSet<String> members = new TreeSet<>(liveMembers());
+        members.add(nodeId);
+        View current = view;
+        if (!current.members().equals(List.copyOf(members))) {
+            current = new View(nodeId, new ConsistentHashRing(members, config.getVirtualNodes()));
+            view = current;
+            log.info("Cluster membership changed: {}", current.members());
+        }
+        return current;
+    }
+
+    /**
+     * Writes this instance's lease with a fresh expiry time.
+     */
+    void renew() {
+        long expiresAt = clock.millis() + config.getLeaseTtl().toMillis();
+        Path lease = leaseDirectory.resolve(nodeId + LEASE_SUFFIX);
+        try {
+            Files.createDirectories(leaseDirectory);
+            Path temp = Files.createTempFile(leaseDirectory, nodeId, ".tmp");
+            Files.writeString(temp, Long.toString(expiresAt));
+            Files.move(temp, lease, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write cluster lease " + lease, e);
+        }
+    }
+
+    private List<String> liveMembers() {
+        if (!Files.isDirectory(leaseDirectory)) {
+            return List.of();
+        }
+        long now = clock.millis();
+        try (Stream<Path> leases = Files.list(leaseDirectory)) {
+            return leases
+                .filter(path -> path.getFileName().toString().endsWith(LEASE_SUFFIX))
+                .filter(path -> expiresAt(path) > now)
+                .map(path -> {
+                    String name = path.getFileName().toString();
+                    return name.substring(0, name.length() - LEASE_SUFFIX.length());
+                })
+                .toList();
+        } catch (IOException e) {
+            log.warn("Unable to list cluster leases: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static long expiresAt(Path lease) {
+        try {
+            return Long.parseLong(Files.readString(lease).trim());
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "node";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,129 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.CacheStatsResponse;
+import com.cloudsec.compliance.jfr.CacheAccessEvent;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, TTL-based cache of compliance results keyed by resource scope and standard.
+ * Backed by Caffeine (W-TinyLFU admission), so one-off scans do not evict frequently asked questions.
+ * {@link ComplianceStatus#ERROR} results are never cached.
+ */
+@Slf4j
+@Component
+public class ComplianceResultCache {
+    
+    private static final String CACHE_NAME = "compliance-results";
+    
+    private final boolean enabled;
+    private final Cache<Key, ComplianceResult> cache;
+    
+    public ComplianceResultCache(ComplianceProperties properties) {
+        ComplianceProperties.CacheSpec spec = properties.getCache().getComplianceResults();
+        this.enabled = spec.isEnabled();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(spec.getMaxSize())
+            .expireAfterWrite(spec.getTtl())
+            .recordStats()
+            .build();
+    }
+    
+    public ComplianceResult get(Key key, Function<Key, ComplianceResult> loader) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+        
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        ComplianceResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            log.debug("Compliance cache hit for {}", key);
+            commit(event, key, true);
+            return cached;
+        }
+        
+        ComplianceResult result = loader.apply(key);
+        if (result != null && result.status() != ComplianceStatus.ERROR) {
+            // A refresh may have stored a newer result while this one was loading; keep that one.
+            ComplianceResult newer = cache.asMap().putIfAbsent(key, result);
+            if (newer != null) {
+                result = newer;
+            }
+        }
+        commit(event, key, false);
+        return result;
+    }
+    
+    private static void commit(CacheAccessEvent event, Key key, boolean hit) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = CACHE_NAME;
+            event.key = key.toString();
+            event.hit = hit;
+            event.commit();
+        }
+    }
+    
+    public void put(Key key, ComplianceResult result) {
+        if (enabled && result.status() != ComplianceStatus.ERROR) {
+            cache.put(key, result);
+        }
+    }
+    
+    public void invalidate(Key key) {
+        cache.invalidate(key);
+    }
+    
+    /**
+     * Removes every entry whose key matches and returns how many this call removed. Entries added or
+     * evicted concurrently do not affect the count.
+     */
+    public long invalidateMatching(Predicate<Key> predicate) {
+        ConcurrentMap<Key, ComplianceResult> entries = cache.asMap();
+        long removed = 0;
+        for (Key key : entries.keySet()) {
+            if (predicate.test(key) && entries.remove(key) != null) {
+                removed++;
+            }
+        }
+        log.info("Invalidated {} cached compliance results", removed);
+        return removed;
+    }
+    
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+            CACHE_NAME,
+            enabled,
+            cache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount()
+        );
+    }
+    
+    public record Key(
+        String cloudProvider,
+        String account,
+        String region,
+        String resourceType,
+        ComplianceStandard standard
+    ) {}
+}
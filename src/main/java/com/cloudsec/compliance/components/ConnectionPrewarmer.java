@@ -0,0 +1,104 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens pooled connections to the S3 endpoints of configured regions at startup.
+ * <p>
+ * Each connection is established by an unauthenticated {@code HEAD /} on the shared transport; the response
+ * status is irrelevant, what matters is that DNS, TCP and TLS setup happen now and the kept-alive
+ * connection is returned to the pool for the first real call. Requests for one region run concurrently so
+ * the pool holds several distinct connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConnectionPrewarmer {
+
+    private final ComplianceProperties properties;
+    private final SdkHttpClient httpClient;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        if (properties.getHttp().getPrewarm().isEnabled()) {
+            Thread.ofVirtual().name("connection-prewarm").start(this::prewarm);
+        }
+    }
+
+    /**
+     * Warms connections to every configured region and returns how many were established.
+     */
+    public int prewarm() {
+        ComplianceProperties.Prewarm prewarm = properties.getHttp().getPrewarm();
+        long started = System.nanoTime();
+        AtomicInteger warmed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (String region : prewarm.getRegions()) {
+            URI endpoint = endpointFor(region);
+            for (int i = 0; i < prewarm.getConnectionsPerRegion(); i++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    if (open(endpoint)) {
+                        warmed.incrementAndGet();
+                    }
+                }));
+            }
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Prewarmed {} connections to {} regions in {} ms", warmed.get(), prewarm.getRegions().size(),
+            (System.nanoTime() - started) / 1_000_000);
+        return warmed.get();
+    }
+
+    URI endpointFor(String region) {
+        String endpointOverride = properties.getSecurity().getAws().getEndpointOverride();
+        if (endpointOverride != null && !endpointOverride.isBlank()) {
+            return URI.create(endpointOverride);
+        }
+        return URI.create("https://s3." + region + ".amazonaws.com");
+    }
+
+    private boolean open(URI endpoint) {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+            .method(SdkHttpMethod.HEAD)
+            .uri(endpoint)
+            .encodedPath("/")
+            .build();
+        try {
+            HttpExecuteResponse response = httpClient.prepareRequest(HttpExecuteRequest.builder().request(request).build()).call();
+            if (response.responseBody().isPresent()) {
+                try (InputStream body = response.responseBody().get()) {
+                    body.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to prewarm connection to {}: {}", endpoint, e.getMessage());
+            return false;
+        }
+    }
+}
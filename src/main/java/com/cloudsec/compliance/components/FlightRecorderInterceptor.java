@@ -0,0 +1,72 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.jfr.AwsCallEvent;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Emits an {@link AwsCallEvent} for every SDK call while a flight recording has the event enabled.
+ * Without such a recording the only cost per call is one allocation and an enabled check.
+ */
+@Component
+public class FlightRecorderInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<AwsCallEvent> EVENT = new ExecutionAttribute<>("FlightRecorderEvent");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        AwsCallEvent event = new AwsCallEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.service = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+        event.operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        event.region = region != null ? region.id() : null;
+        executionAttributes.putAttribute(EVENT, event);
+        event.begin();
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        AwsCallEvent event = executionAttributes.getAttribute(EVENT);
+        if (event != null) {
+            event.attempts++;
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        commit(executionAttributes, context.httpResponse(), null);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        commit(executionAttributes, context.httpResponse().orElse(null), context.exception());
+    }
+
+    private static void commit(ExecutionAttributes executionAttributes, SdkHttpResponse response, Throwable error) {
+        AwsCallEvent event = executionAttributes.getAttribute(EVENT);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            if (response != null) {
+                event.statusCode = response.statusCode();
+                event.awsRequestId = response.firstMatchingHeader("x-amz-request-id").orElse(null);
+            }
+            if (error != null) {
+                event.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+            }
+            event.commit();
+        }
+    }
+}
@@ -1,40 +1,146 @@
 package com.cloudsec.compliance.components;
 
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.util.RegionTable;
+import com.cloudsec.compliance.util.SensitiveTermMatcher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import com.cloudsec.compliance.errors.InvalidInputException;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class InputValidator {
     
-    private static final Set<String> VALID_REGIONS = new HashSet<>(java.util.Arrays.asList(
-        "us-east-1", "us-east-2", "us-west-1", "us-west-2",
-        "eu-west-1", "eu-west-2", "eu-west-3", "eu-central-1", "eu-north-1",
-        "ap-southeast-1", "ap-southeast-2", "ap-northeast-1", "ap-northeast-2",
-        "ap-south-1", "ca-central-1", "sa-east-1"
-    ));
-    
-    private static final String DEFAULT_REGION = "us-east-1";
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int RESOURCE_ID_DIGEST_BYTES = 6;
+    
+    private final String defaultRegion;
+    private final SensitiveTermMatcher sensitiveTermMatcher;
+    private final Cache<String, String> sanitizedNames;
+    private final String regionsFile;
+    private final Duration regionsCheckInterval;
+    private volatile RegionTable regionTable;
+    private FileTime regionsModified;
+    private ScheduledExecutorService regionsWatch;
+    
+    public InputValidator(ComplianceProperties properties) {
+        this.defaultRegion = properties.getSecurity().getAws().getDefaultRegion();
+        this.regionsFile = properties.getSupportedRegionsFile();
+        this.regionsCheckInterval = properties.getSupportedRegionsCheckInterval();
+        if (hasRegionsFile()) {
+            reloadRegions();
+            if (regionTable == null) {
+                throw new IllegalStateException("Unable to load supported regions from " + regionsFile);
+            }
+        } else {
+            this.regionTable = new RegionTable(properties.getSupportedRegions());
+            log.info("Loaded {} supported regions", regionTable.size());
+        }
+        
+        ComplianceProperties.InputValidation validation = properties.getSecurity().getInputValidation();
+        this.sensitiveTermMatcher = new SensitiveTermMatcher(loadSensitiveTerms(validation));
+        log.info("Loaded {} sensitive bucket name terms ({} automaton states)",
+            sensitiveTermMatcher.termCount(), sensitiveTermMatcher.stateCount());
+        
+        ComplianceProperties.CacheSpec spec = properties.getCache().getSanitizedNames();
+        this.sanitizedNames = spec.isEnabled()
+            ? Caffeine.newBuilder().maximumSize(spec.getMaxSize()).expireAfterAccess(spec.getTtl()).build()
+            : null;
+    }
     
+    /**
+     * Returns the canonical supported region for {@code region}, ignoring case and any characters outside
+     * {@code [a-z0-9-]}, or the default region when none is given. Does not allocate for valid input.
+     */
     public String validateAndSanitizeRegion(String region) {
-        if (region == null || region.trim().isEmpty()) {
-            return DEFAULT_REGION;
+        if (region == null || region.isBlank()) {
+            return defaultRegion;
         }
         
-        String sanitized = region.trim().toLowerCase().replaceAll("[^a-z0-9-]", "");
+        String canonical = regionTable.lookup(region);
         
-        if (!VALID_REGIONS.contains(sanitized)) {
+        if (canonical == null) {
             log.warn("Invalid region attempted: {}", region);
             throw new InvalidInputException("Invalid region specified: " + region);
         }
         
-        return sanitized;
+        return canonical;
+    }
+    
+    /**
+     * Re-reads {@code supported-regions-file} every {@code supported-regions-check-interval} once the
+     * application has started. Lookups keep using the current table until a new one is swapped in.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void watchRegions() {
+        if (!hasRegionsFile() || regionsWatch != null) {
+            return;
+        }
+        regionsWatch = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("regions-watch").daemon().factory());
+        long period = regionsCheckInterval.toMillis();
+        regionsWatch.scheduleAtFixedRate(this::reloadRegions, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public synchronized void stopWatchingRegions() {
+        if (regionsWatch != null) {
+            regionsWatch.shutdownNow();
+            regionsWatch = null;
+        }
+    }
+    
+    /**
+     * Swaps in a new region table if the regions file changed since it was last read. An unreadable or
+     * invalid file keeps the current table.
+     *
+     * @return whether a new table was loaded
+     */
+    synchronized boolean reloadRegions() {
+        Path path = Path.of(regionsFile);
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(regionsModified)) {
+                return false;
+            }
+            List<String> regions = Files.readAllLines(path).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .toList();
+            RegionTable table = new RegionTable(regions);
+            regionsModified = modified;
+            regionTable = table;
+            log.info("Loaded {} supported regions from {}", table.size(), path);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping current supported regions, unable to load {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean hasRegionsFile() {
+        return regionsFile != null && !regionsFile.isBlank();
     }
     
     public int validatePageSize(Integer pageSize, int defaultSize) {
@@ -60,8 +166,35 @@ public class InputValidator {
             return "unknown";
         }
         
-        String lowerName = bucketName.toLowerCase();
-        if (containsSensitivePatterns(lowerName)) {
+        return sanitizedNames != null
+            ? sanitizedNames.get(bucketName, this::maskIfSensitive)
+            : maskIfSensitive(bucketName);
+    }
+    
+    /**
+     * Stable identity for a bucket in scan results. Names that are masked for display keep their masked
+     * prefix and gain a short SHA-256 digest of the real name, so two masked buckets never share an id
+     * and a bucket keeps the same id across scans and instances without its name being exposed.
+     */
+    public String bucketResourceId(String bucketName) {
+        String display = sanitizeBucketName(bucketName);
+        if (bucketName == null || display.equals(bucketName)) {
+            return display;
+        }
+        return display + "-" + nameDigest(bucketName);
+    }
+    
+    private static String nameDigest(String bucketName) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bucketName.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, RESOURCE_ID_DIGEST_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private String maskIfSensitive(String bucketName) {
+        if (sensitiveTermMatcher.matches(bucketName)) {
             log.debug("Masking sensitive bucket name: {}", bucketName.substring(0, Math.min(3, bucketName.length())));
             return bucketName.substring(0, Math.min(3, bucketName.length())) + "***";
         }
@@ -69,10 +202,19 @@ public class InputValidator {
         return bucketName;
     }
     
-    private boolean containsSensitivePatterns(String bucketName) {
-        return bucketName.contains("secret") || 
-               bucketName.contains("private") || 
-               bucketName.contains("internal") || 
-               bucketName.contains("confidential");
+    private static List<String> loadSensitiveTerms(ComplianceProperties.InputValidation validation) {
+        List<String> terms = new ArrayList<>(validation.getSensitiveTerms());
+        String file = validation.getSensitiveTermsFile();
+        if (file != null && !file.isBlank()) {
+            try {
+                Files.readAllLines(Path.of(file)).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .forEach(terms::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read sensitive terms file " + file, e);
+            }
+        }
+        return terms;
     }
 }
\ No newline at end of file
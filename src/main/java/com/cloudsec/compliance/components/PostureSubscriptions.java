@@ -0,0 +1,192 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Posture resources that MCP clients can read and subscribe to, and the change detection behind
+ * {@code notifications/resources/updated}.
+ * <p>
+ * Re-evaluations report their results here. The latest result per resource and standard is kept (bounded
+ * by {@code compliance.cache.posture-baselines}), and subscribers of a matching posture resource are
+ * notified only when the status or the set of findings differs from the previous result; an unchanged
+ * re-evaluation sends nothing. The first result for a resource is the baseline, and ERROR results neither
+ * notify nor replace it.
+ * <p>
+ * Resources: {@code compliance://posture/accounts/<account>}, {@code compliance://posture/standards/<standard>}
+ * and {@code compliance://posture/buckets/<bucket>}.
+ */
+@Slf4j
+@Component
+public class PostureSubscriptions {
+
+    public static final String URI_PREFIX = "compliance://posture/";
+    private static final String STORAGE_RESOURCE_TYPE = "storage";
+
+    enum Scope {
+        ACCOUNTS, STANDARDS, BUCKETS;
+
+        String path() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    record Target(Scope scope, String value) {
+        boolean matches(String account, ComplianceResult result) {
+            return switch (scope) {
+                case ACCOUNTS -> value.equals(account);
+                case STANDARDS -> value.equals(result.standard().name());
+                case BUCKETS -> STORAGE_RESOURCE_TYPE.equals(result.resourceType()) && value.equals(result.resourceId());
+            };
+        }
+    }
+
+    private record Key(String resourceType, String resourceId, ComplianceStandard standard) {}
+
+    private record Posture(ComplianceStatus status, Set<Finding> findings) {
+        static Posture of(ComplianceResult result) {
+            return new Posture(result.status(), Set.copyOf(result.findings()));
+        }
+    }
+
+    private final String account;
+    private final InputValidator inputValidator;
+    private final Cache<Key, ComplianceResult> latest;
+    private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+    private volatile Consumer<String> listener = uri -> {};
+
+    public PostureSubscriptions(ComplianceProperties properties, InputValidator inputValidator) {
+        this.account = properties.getSecurity().getAws().getAccountId();
+        this.inputValidator = inputValidator;
+        ComplianceProperties.CacheSpec spec = properties.getCache().getPostureBaselines();
+        this.latest = Caffeine.newBuilder()
+            .maximumSize(spec.isEnabled() ? spec.getMaxSize() : 0)
+            .expireAfterWrite(spec.getTtl())
+            .build();
+    }
+
+    /**
+     * Receives the URI of every subscribed resource whose posture changed.
+     */
+    public void listen(Consumer<String> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code uri} is not a posture resource
+     */
+    public void subscribe(String uri) {
+        parse(uri);
+        if (subscribed.add(uri)) {
+            log.debug("Subscribed to {}", uri);
+        }
+    }
+
+    public void unsubscribe(String uri) {
+        subscribed.remove(uri);
+    }
+
+    public Set<String> subscriptions() {
+        return Set.copyOf(subscribed);
+    }
+
+    /**
+     * Records the result of a re-evaluation and notifies subscribers whose resources it changed.
+     * Returns the notified URIs.
+     */
+    public Set<String> record(ComplianceResult result) {
+        if (result == null || result.status() == ComplianceStatus.ERROR) {
+            return Set.of();
+        }
+        Key key = new Key(result.resourceType(), result.resourceId(), result.standard());
+        ComplianceResult previous = latest.asMap().put(key, result);
+        if (previous == null || Posture.of(previous).equals(Posture.of(result))) {
+            return Set.of();
+        }
+
+        Set<String> notified = new LinkedHashSet<>();
+        for (String uri : subscribed) {
+            if (target(uri).matches(account, result)) {
+                notified.add(uri);
+            }
+        }
+        log.info("Posture of {}/{} for {} changed from {} to {}; notifying {} subscriptions",
+            result.resourceType(), result.resourceId(), result.standard(), previous.status(), result.status(), notified.size());
+        notified.forEach(listener);
+        return notified;
+    }
+
+    /**
+     * Latest known results within the resource's scope.
+     *
+     * @throws IllegalArgumentException if {@code uri} is not a posture resource
+     */
+    public List<ComplianceResult> read(String uri) {
+        Target target = target(uri);
+        return latest.asMap().values().stream()
+            .filter(result -> target.matches(account, result))
+            .toList();
+    }
+
+    /**
+     * URI templates of the posture resources, as listed by {@code resources/templates/list}.
+     */
+    public static List<String> uriTemplates() {
+        return List.of(
+            URI_PREFIX + Scope.ACCOUNTS.path() + "/{account}",
+            URI_PREFIX + Scope.STANDARDS.path() + "/{standard}",
+            URI_PREFIX + Scope.BUCKETS.path() + "/{bucket}"
+        );
+    }
+
+    /**
+     * Parsed target with bucket names resolved to the resource id scans report for them, so a masked
+     * bucket is matched by its own id rather than by the masked prefix it shares with others.
+     */
+    private Target target(String uri) {
+        Target target = parse(uri);
+        return target.scope() == Scope.BUCKETS
+            ? new Target(Scope.BUCKETS, inputValidator.bucketResourceId(target.value()))
+            : target;
+    }
+
+    static Target parse(String uri) {
+        if (uri == null || !uri.startsWith(URI_PREFIX)) {
+            throw new IllegalArgumentException("Not a posture resource: " + uri);
+        }
+        String path = uri.substring(URI_PREFIX.length());
+        int slash = path.indexOf('/');
+        if (slash <= 0 || slash == path.length() - 1 || path.indexOf('/', slash + 1) >= 0) {
+            throw new IllegalArgumentException("Posture resources look like " + URI_PREFIX + "<accounts|standards|buckets>/<name>");
+        }
+        String scopeName = path.substring(0, slash);
+        String value = path.substring(slash + 1);
+        for (Scope scope : Scope.values()) {
+            if (scope.path().equals(scopeName)) {
+                if (scope == Scope.STANDARDS) {
+                    try {
+                        return new Target(scope, ComplianceStandard.valueOf(value.toUpperCase(Locale.ROOT)).name());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown compliance standard: " + value);
+                    }
+                }
+                return new Target(scope, value);
+            }
+        }
+        throw new IllegalArgumentException("Unknown posture scope: " + scopeName);
+    }
+}
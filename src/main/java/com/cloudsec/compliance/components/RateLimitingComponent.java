@@ -1,5 +1,8 @@
 package com.cloudsec.compliance.components;
 
+import com.cloudsec.compliance.jfr.RateLimitEvent;
+import com.cloudsec.compliance.tracing.Span;
+import com.cloudsec.compliance.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -16,20 +19,34 @@ public class RateLimitingComponent {
     private static final int MAX_REQUESTS_PER_MINUTE = 10;
     
     public boolean checkRateLimit(String operation) {
-        String key = operation + "_" + (System.currentTimeMillis() / RATE_LIMIT_WINDOW_MS);
-        AtomicLong counter = rateLimiters.computeIfAbsent(key, k -> new AtomicLong(0));
-        
-        cleanupOldEntries();
-        
-        long currentCount = counter.incrementAndGet();
-        
-        if (currentCount > MAX_REQUESTS_PER_MINUTE) {
-            log.warn("Rate limit exceeded for operation: {} (count: {})", operation, currentCount);
-            return false;
+        try (Span span = Tracer.span("rate_limit").attribute("operation", operation)) {
+            String key = operation + "_" + (System.currentTimeMillis() / RATE_LIMIT_WINDOW_MS);
+            AtomicLong counter = rateLimiters.computeIfAbsent(key, k -> new AtomicLong(0));
+            
+            cleanupOldEntries();
+            
+            long currentCount = counter.incrementAndGet();
+            span.attribute("allowed", currentCount <= MAX_REQUESTS_PER_MINUTE);
+            recordDecision(operation, currentCount);
+            
+            if (currentCount > MAX_REQUESTS_PER_MINUTE) {
+                log.warn("Rate limit exceeded for operation: {} (count: {})", operation, currentCount);
+                return false;
+            }
+            
+            log.debug("Rate limit check passed for operation: {} (count: {})", operation, currentCount);
+            return true;
+        }
+    }
+    
+    private static void recordDecision(String operation, long count) {
+        RateLimitEvent event = new RateLimitEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.count = count;
+            event.allowed = count <= MAX_REQUESTS_PER_MINUTE;
+            event.commit();
         }
-        
-        log.debug("Rate limit check passed for operation: {} (count: {})", operation, currentCount);
-        return true;
     }
     
     private void cleanupOldEntries() {
@@ -0,0 +1,352 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.util.SpillingOutputStream;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Holds tool results too large to return inline as files, readable as MCP resources in bounded chunks.
+ * <p>
+ * A result is serialized through a {@link SpillingOutputStream}: output up to
+ * {@code compliance.resources.inline-limit} stays in memory and is returned inline, anything larger goes
+ * straight to a file, so a large result is never held in memory as one string. When the result is a list,
+ * the byte offset of every element is kept, so it can also be read a number of records at a time.
+ * <p>
+ * Chunks are addressed with query parameters on the resource URI:
+ * {@code compliance://results/<id>?offset=0&length=65536} for bytes, {@code ?record=0&count=100} for list
+ * elements. Every chunk reports the URI of the next one. Stored results expire after
+ * {@code compliance.resources.ttl}; the oldest are dropped beyond {@code max-stored}.
+ */
+@Slf4j
+@Component
+public class ResultResourceStore {
+
+    public static final String URI_PREFIX = "compliance://results/";
+    public static final String MIME_TYPE = "application/json";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter streamWriter;
+    private final ComplianceProperties.Resources config;
+    private final Path directory;
+    private final Map<String, StoredResult> results = new LinkedHashMap<>();
+
+    public ResultResourceStore(ComplianceProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.streamWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.config = properties.getResources();
+        this.directory = Path.of(config.getDirectory());
+    }
+
+    /**
+     * A stored result as listed by {@code resources/list}.
+     */
+    public record ResourceInfo(String uri, String name, long size, Integer records, Instant createdAt) {}
+
+    /**
+     * Serialized tool result: either the JSON itself or the resource it was stored as.
+     */
+    public record Payload(String inlineJson, ResourceInfo resource) {}
+
+    /**
+     * One chunk of a stored result. {@code nextUri} is {@code null} for the last chunk.
+     */
+    public record Chunk(String uri, String text, long totalBytes, Integer totalRecords, String nextUri) {}
+
+    private record StoredResult(ResourceInfo info, Path file, long[] recordOffsets) {
+        boolean expired(Instant now, Duration ttl) {
+            return info.createdAt().plus(ttl).isBefore(now);
+        }
+    }
+
+    /**
+     * Serializes {@code result}, storing it when it exceeds the inline limit.
+     */
+    public Payload serialize(String name, Object result) throws IOException {
+        if (!config.isEnabled()) {
+            return new Payload(objectMapper.writeValueAsString(result), null);
+        }
+
+        String id = UUID.randomUUID().toString();
+        long[] offsets = null;
+        int records = 0;
+        SpillingOutputStream out = new SpillingOutputStream(config.getInlineLimit(), () -> {
+            Files.createDirectories(directory);
+            return directory.resolve(id + ".json");
+        });
+        try (out) {
+            if (result instanceof Collection<?> list) {
+                offsets = new long[Math.max(1, list.size())];
+                out.write('[');
+                for (Object element : list) {
+                    if (records > 0) {
+                        out.write(',');
+                    }
+                    if (records == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, records * 2);
+                    }
+                    offsets[records++] = out.size();
+                    streamWriter.writeValue(out, element);
+                }
+                out.write(']');
+            } else {
+                streamWriter.writeValue(out, result);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (out.isSpilled()) {
+                Files.deleteIfExists(out.file());
+            }
+            throw e;
+        }
+
+        if (!out.isSpilled()) {
+            return new Payload(new String(out.toByteArray(), StandardCharsets.UTF_8), null);
+        }
+
+        ResourceInfo info = new ResourceInfo(URI_PREFIX + id, name, out.size(),
+            offsets != null ? records : null, Instant.now());
+        register(new StoredResult(info, out.file(), offsets != null ? Arrays.copyOf(offsets, records) : null));
+        log.debug("Stored {} bytes of {} as {}", info.size(), name, info.uri());
+        return new Payload(null, info);
+    }
+
+    private void register(StoredResult stored) {
+        List<StoredResult> evicted = new ArrayList<>();
+        synchronized (results) {
+            results.put(idOf(stored.info().uri()), stored);
+            evicted.addAll(evictLocked());
+        }
+        evicted.forEach(ResultResourceStore::delete);
+    }
+
+    /**
+     * Stored results, oldest first.
+     */
+    public List<ResourceInfo> list() {
+        List<StoredResult> evicted;
+        List<ResourceInfo> listed;
+        synchronized (results) {
+            evicted = evictLocked();
+            listed = results.values().stream().map(StoredResult::info).toList();
+        }
+        evicted.forEach(ResultResourceStore::delete);
+        return listed;
+    }
+
+    /**
+     * Reads the chunk addressed by {@code uri}.
+     *
+     * @throws IllegalArgumentException if the URI is malformed or names no stored result
+     */
+    public Chunk read(String uri) throws IOException {
+        URI parsed = parse(uri);
+        String id = parsed.getPath().substring(1);
+        StoredResult stored;
+        synchronized (results) {
+            stored = results.get(id);
+            if (stored != null && stored.expired(Instant.now(), config.getTtl())) {
+                results.remove(id);
+                delete(stored);
+                stored = null;
+            }
+        }
+        if (stored == null) {
+            throw new IllegalArgumentException("Unknown or expired resource: " + URI_PREFIX + id);
+        }
+
+        Map<String, Long> query = query(parsed.getRawQuery());
+        if (query.containsKey("record") || query.containsKey("count")) {
+            return readRecords(stored, query);
+        }
+        return readBytes(stored, query);
+    }
+
+    private Chunk readBytes(StoredResult stored, Map<String, Long> query) throws IOException {
+        long size = stored.info().size();
+        long offset = query.getOrDefault("offset", 0L);
+        long length = Math.clamp(query.getOrDefault("length", (long) config.getChunkBytes()), 1, config.getMaxChunkBytes());
+        if (offset < 0 || offset > size) {
+            throw new IllegalArgumentException("offset must be between 0 and " + size);
+        }
+
+        // Read a few bytes past the end so the chunk can be cut back to a character boundary.
+        byte[] bytes = readRange(stored.file(), offset, (int) Math.min(size - offset, length + 3));
+        int start = 0;
+        while (start < bytes.length && offset > 0 && isContinuation(bytes[start])) {
+            start++;
+        }
+        int end = (int) Math.min(bytes.length, length);
+        while (end > start && end < bytes.length && isContinuation(bytes[end])) {
+            end--;
+        }
+        if (end <= start && start < bytes.length) {
+            // The length is shorter than the character at the offset; return that whole character so the
+            // next chunk always starts further on.
+            end = start + 1;
+            while (end < bytes.length && isContinuation(bytes[end])) {
+                end++;
+            }
+        }
+
+        long next = offset + end;
+        String base = stored.info().uri();
+        return new Chunk(
+            base + "?offset=" + (offset + start) + "&length=" + (end - start),
+            new String(bytes, start, end - start, StandardCharsets.UTF_8),
+            size,
+            stored.info().records(),
+            next < size ? base + "?offset=" + next + "&length=" + length : null
+        );
+    }
+
+    private Chunk readRecords(StoredResult stored, Map<String, Long> query) throws IOException {
+        long[] offsets = stored.recordOffsets();
+        if (offsets == null) {
+            throw new IllegalArgumentException(stored.info().uri() + " is not a list; read it by offset and length");
+        }
+        int total = offsets.length;
+        long first = query.getOrDefault("record", 0L);
+        int count = (int) Math.clamp(query.getOrDefault("count", (long) config.getChunkRecords()), 1, config.getMaxChunkRecords());
+        if (first < 0 || first > total) {
+            throw new IllegalArgumentException("record must be between 0 and " + total);
+        }
+
+        int from = (int) first;
+        int to = Math.min(total, from + count);
+        // Keep whole records within the byte limit, but always return at least one.
+        while (to > from + 1 && recordEnd(stored, to - 1) - offsets[from] > config.getMaxChunkBytes()) {
+            to--;
+        }
+        String text = "[]";
+        if (to > from) {
+            byte[] bytes = readRange(stored.file(), offsets[from], (int) (recordEnd(stored, to - 1) - offsets[from]));
+            text = "[" + new String(bytes, StandardCharsets.UTF_8) + "]";
+        }
+
+        String base = stored.info().uri();
+        return new Chunk(
+            base + "?record=" + from + "&count=" + (to - from),
+            text,
+            stored.info().size(),
+            total,
+            to < total ? base + "?record=" + to + "&count=" + count : null
+        );
+    }
+
+    /**
+     * Position just past record {@code index}: the separating comma or the closing bracket.
+     */
+    private static long recordEnd(StoredResult stored, int index) {
+        long[] offsets = stored.recordOffsets();
+        return index + 1 < offsets.length ? offsets[index + 1] - 1 : stored.info().size() - 1;
+    }
+
+    private static byte[] readRange(Path file, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    private static URI parse(String uri) {
+        if (uri == null || !uri.startsWith(URI_PREFIX)) {
+            throw new IllegalArgumentException("Unsupported resource URI: " + uri);
+        }
+        try {
+            URI parsed = new URI(uri);
+            if (parsed.getPath() == null || parsed.getPath().length() < 2) {
+                throw new IllegalArgumentException("Unsupported resource URI: " + uri);
+            }
+            return parsed;
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Malformed resource URI: " + uri);
+        }
+    }
+
+    private static Map<String, Long> query(String rawQuery) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return values;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            try {
+                values.put(key, Long.parseLong(eq < 0 ? "" : pair.substring(eq + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + key + " in resource URI");
+            }
+        }
+        return values;
+    }
+
+    private static String idOf(String uri) {
+        return uri.substring(URI_PREFIX.length());
+    }
+
+    private List<StoredResult> evictLocked() {
+        List<StoredResult> evicted = new ArrayList<>();
+        Instant now = Instant.now();
+        Iterator<StoredResult> oldest = results.values().iterator();
+        while (oldest.hasNext()) {
+            StoredResult stored = oldest.next();
+            if (results.size() <= config.getMaxStored() && !stored.expired(now, config.getTtl())) {
+                break;
+            }
+            oldest.remove();
+            evicted.add(stored);
+        }
+        return evicted;
+    }
+
+    private static void delete(StoredResult stored) {
+        try {
+            Files.deleteIfExists(stored.file());
+        } catch (IOException e) {
+            log.debug("Unable to delete stored result {}: {}", stored.file(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        List<StoredResult> stored;
+        synchronized (results) {
+            stored = new ArrayList<>(results.values());
+            results.clear();
+        }
+        stored.forEach(ResultResourceStore::delete);
+    }
+}
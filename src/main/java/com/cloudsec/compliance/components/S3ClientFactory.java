@@ -0,0 +1,60 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3ClientFactory {
+    
+    private final ComplianceProperties properties;
+    private final AwsCredentialsManager credentialsManager;
+    private final SdkHttpClient httpClient;
+    private final List<ExecutionInterceptor> executionInterceptors;
+    
+    public S3Client createClient(String region) {
+        return createClient(region, credentialsManager.ambient());
+    }
+    
+    /**
+     * Client for {@code region} acting in {@code accountId}, using the pooled AssumeRole session for
+     * accounts other than the home account.
+     */
+    public S3Client createClient(String region, String accountId) {
+        return createClient(region, credentialsManager.forAccount(accountId));
+    }
+    
+    public S3Client createClient(String region, AwsCredentialsProvider credentialsProvider) {
+        ComplianceProperties.Aws aws = properties.getSecurity().getAws();
+        
+        S3ClientBuilder builder = S3Client.builder()
+            .region(Region.of(region))
+            .credentialsProvider(credentialsProvider)
+            .httpClient(httpClient)
+            .overrideConfiguration(override -> override
+                .retryStrategy(retryStrategy -> retryStrategy.maxAttempts(aws.getMaxRetries() + 1))
+                .executionInterceptors(executionInterceptors)
+            );
+        
+        String endpointOverride = aws.getEndpointOverride();
+        if (endpointOverride != null && !endpointOverride.isBlank()) {
+            log.debug("Using S3 endpoint override {} for region {}", endpointOverride, region);
+            builder.endpointOverride(URI.create(endpointOverride))
+                .forcePathStyle(true);
+        }
+        
+        return builder.build();
+    }
+}
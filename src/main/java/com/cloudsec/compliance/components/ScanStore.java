@@ -0,0 +1,73 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.CompactFindings;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent completed scans in compact form so they can be compared later.
+ * The oldest scan is dropped once {@code compliance.scans.max-stored} is exceeded.
+ */
+@Slf4j
+@Component
+public class ScanStore {
+    
+    private final int maxStored;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, StoredScan> scans = new LinkedHashMap<>();
+    
+    public ScanStore(ComplianceProperties properties) {
+        this.maxStored = Math.max(1, properties.getScans().getMaxStored());
+    }
+    
+    public record StoredScan(
+        String scanId,
+        ComplianceStandard standard,
+        String region,
+        Instant createdAt,
+        long resourceCount,
+        CompactFindings findings
+    ) {}
+    
+    public StoredScan store(ComplianceStandard standard, String region, long resourceCount, CompactFindings findings) {
+        findings.seal().keyOrder();
+        StoredScan scan = new StoredScan("scan-" + sequence.incrementAndGet(), standard, region,
+            Instant.now(), resourceCount, findings);
+        
+        synchronized (scans) {
+            scans.put(scan.scanId(), scan);
+            Iterator<String> oldest = scans.keySet().iterator();
+            while (scans.size() > maxStored) {
+                log.debug("Evicting stored scan {}", oldest.next());
+                oldest.remove();
+            }
+        }
+        return scan;
+    }
+    
+    public Optional<StoredScan> get(String scanId) {
+        synchronized (scans) {
+            return Optional.ofNullable(scans.get(scanId));
+        }
+    }
+    
+    /**
+     * Stored scans, oldest first.
+     */
+    public List<StoredScan> list() {
+        synchronized (scans) {
+            return new ArrayList<>(scans.values());
+        }
+    }
+}
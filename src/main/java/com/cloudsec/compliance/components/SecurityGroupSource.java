@@ -0,0 +1,22 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.model.SecurityGroupRule;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Supplies the security group ingress rules evaluated for the {@code network} resource type.
+ * <p>
+ * The default implementation reads a local snapshot; define a bean of this type to evaluate rules from
+ * another backend instead.
+ */
+public interface SecurityGroupSource {
+    
+    /**
+     * Whether the source has anything to evaluate. Network checks are not applicable otherwise.
+     */
+    boolean isAvailable();
+    
+    List<SecurityGroupRule> ingressRules() throws IOException;
+}
@@ -0,0 +1,86 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.SecurityGroupRule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads security groups from a JSON file in the format of {@code aws ec2 describe-security-groups}.
+ * <p>
+ * The parsed rules are kept until the file's modification time changes, so a snapshot refreshed on disk
+ * is picked up by the next check without re-parsing it on every call.
+ */
+@Slf4j
+public class SnapshotSecurityGroupSource implements SecurityGroupSource {
+    
+    private final String snapshotPath;
+    private final ObjectMapper objectMapper;
+    private volatile Snapshot snapshot;
+    
+    public SnapshotSecurityGroupSource(ComplianceProperties properties, ObjectMapper objectMapper) {
+        this.snapshotPath = properties.getNetwork().getSnapshotPath();
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public boolean isAvailable() {
+        return snapshotPath != null && !snapshotPath.isBlank();
+    }
+    
+    @Override
+    public List<SecurityGroupRule> ingressRules() throws IOException {
+        if (!isAvailable()) {
+            return List.of();
+        }
+        Path path = Path.of(snapshotPath);
+        FileTime modified = Files.getLastModifiedTime(path);
+        Snapshot current = snapshot;
+        if (current != null && current.modified().equals(modified)) {
+            return current.rules();
+        }
+        
+        List<SecurityGroupRule> rules = parse(objectMapper.readTree(path.toFile()));
+        snapshot = new Snapshot(modified, rules);
+        log.info("Loaded {} security group ingress rules from {}", rules.size(), path);
+        return rules;
+    }
+    
+    static List<SecurityGroupRule> parse(JsonNode root) {
+        List<SecurityGroupRule> rules = new ArrayList<>();
+        for (JsonNode group : root.path("SecurityGroups")) {
+            String groupId = group.path("GroupId").asText(null);
+            String groupName = group.path("GroupName").asText(null);
+            String vpcId = group.path("VpcId").asText(null);
+            for (JsonNode permission : group.path("IpPermissions")) {
+                String protocol = permission.path("IpProtocol").asText("-1");
+                int fromPort = permission.path("FromPort").asInt(SecurityGroupRule.MIN_PORT);
+                int toPort = permission.path("ToPort").asInt(SecurityGroupRule.MAX_PORT);
+                try {
+                    for (JsonNode range : permission.path("IpRanges")) {
+                        rules.add(new SecurityGroupRule(groupId, groupName, vpcId, protocol, fromPort, toPort,
+                            range.path("CidrIp").asText(), range.path("Description").asText(null)));
+                    }
+                    for (JsonNode range : permission.path("Ipv6Ranges")) {
+                        rules.add(new SecurityGroupRule(groupId, groupName, vpcId, protocol, fromPort, toPort,
+                            range.path("CidrIpv6").asText(), range.path("Description").asText(null)));
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping ingress permission: {}", e.getMessage());
+                }
+            }
+        }
+        return List.copyOf(rules);
+    }
+    
+    private record Snapshot(FileTime modified, List<SecurityGroupRule> rules) {
+    }
+}
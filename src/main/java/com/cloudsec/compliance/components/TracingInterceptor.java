@@ -0,0 +1,79 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.tracing.Span;
+import com.cloudsec.compliance.tracing.SpanData;
+import com.cloudsec.compliance.tracing.Tracer;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.AwsExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records every SDK call made inside an active trace as a client span, including retries, HTTP status
+ * and the AWS request id. Calls outside a trace are not recorded.
+ */
+@Component
+public class TracingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Span> SPAN = new ExecutionAttribute<>("TracingSpan");
+    private static final ExecutionAttribute<AtomicInteger> ATTEMPTS = new ExecutionAttribute<>("TracingAttempts");
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        if (!Tracer.current().isRecording()) {
+            return;
+        }
+        String service = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Region region = executionAttributes.getAttribute(AwsExecutionAttribute.AWS_REGION);
+        Span span = Tracer.span("aws " + service + "." + operation, SpanData.Kind.CLIENT)
+            .attribute("rpc.system", "aws-api")
+            .attribute("rpc.service", service)
+            .attribute("rpc.method", operation)
+            .attribute("cloud.region", region != null ? region.id() : null);
+        executionAttributes.putAttribute(SPAN, span);
+        executionAttributes.putAttribute(ATTEMPTS, new AtomicInteger());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        AtomicInteger attempts = executionAttributes.getAttribute(ATTEMPTS);
+        if (attempts != null) {
+            attempts.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        finish(executionAttributes, context.httpResponse(), null);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        finish(executionAttributes, context.httpResponse().orElse(null), context.exception());
+    }
+
+    private static void finish(ExecutionAttributes executionAttributes, SdkHttpResponse response, Throwable error) {
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span == null) {
+            return;
+        }
+        AtomicInteger attempts = executionAttributes.getAttribute(ATTEMPTS);
+        span.attribute("aws.attempts", attempts != null ? attempts.get() : null);
+        if (response != null) {
+            span.attribute("http.status_code", response.statusCode());
+            span.attribute("aws.request_id", response.firstMatchingHeader("x-amz-request-id").orElse(null));
+        }
+        if (error != null) {
+            span.error(error);
+        }
+        span.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends incoming JSON-RPC lines to an NDJSON transcript so a production session can be
+ * replayed later by {@link com.cloudsec.compliance.perf.TranscriptReplayer}.
+ * Each entry records the offset from the first recorded line, which the replayer uses for pacing.
+ */
+@Slf4j
+@Component
+public class TranscriptRecorder {
+    
+    private final ObjectMapper objectMapper;
+    private final Path recordFile;
+    private BufferedWriter writer;
+    private long startNanos;
+    
+    public TranscriptRecorder(ComplianceProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        String configured = properties.getTranscript().getRecordFile();
+        this.recordFile = configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+    
+    public boolean isEnabled() {
+        return recordFile != null;
+    }
+    
+    public synchronized void record(String requestLine) {
+        if (recordFile == null) {
+            return;
+        }
+        
+        try {
+            if (writer == null) {
+                Path parent = recordFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(recordFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                startNanos = System.nanoTime();
+                log.info("Recording MCP transcript to {}", recordFile);
+            }
+            
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("offsetMillis", (System.nanoTime() - startNanos) / 1_000_000);
+            entry.put("request", requestLine);
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Unable to record transcript line: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Unable to close transcript file: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
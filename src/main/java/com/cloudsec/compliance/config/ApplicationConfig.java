@@ -1,11 +1,21 @@
 package com.cloudsec.compliance.config;
 
+import com.cloudsec.compliance.components.SecurityGroupSource;
+import com.cloudsec.compliance.components.SnapshotSecurityGroupSource;
+import com.cloudsec.compliance.model.ControlCatalog;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 
 @Configuration
+@EnableConfigurationProperties(ComplianceProperties.class)
 public class ApplicationConfig {
     
     @Bean
@@ -14,4 +24,50 @@ public class ApplicationConfig {
         mapper.registerModule(new JavaTimeModule());
         return mapper;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public ControlCatalog controlCatalog() {
+        return new ControlCatalog();
+    }
+
+    /**
+     * The one provider chain shared by all clients. Built rather than taken from
+     * {@link DefaultCredentialsProvider#create()} so refreshes can run asynchronously.
+     */
+    @Bean
+    public AwsCredentialsProvider awsCredentialsProvider(ComplianceProperties properties) {
+        return DefaultCredentialsProvider.builder()
+            .asyncCredentialUpdateEnabled(properties.getSecurity().getAws().isAsyncCredentialRefresh())
+            .build();
+    }
+
+    /**
+     * HTTP transport shared by every AWS client. Clients built on it do not close it, so connections, TLS
+     * sessions and the idle reaper outlive individual clients; Spring closes it on shutdown.
+     */
+    @Bean
+    public SdkHttpClient sdkHttpClient(ComplianceProperties properties) {
+        ComplianceProperties.Http http = properties.getHttp();
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder()
+            .maxConnections(http.getMaxConnections())
+            .connectionTimeout(http.getConnectionTimeout())
+            .socketTimeout(http.getSocketTimeout())
+            .connectionAcquisitionTimeout(http.getConnectionAcquisitionTimeout())
+            .connectionMaxIdleTime(http.getConnectionMaxIdleTime())
+            .useIdleConnectionReaper(http.isUseIdleConnectionReaper())
+            .tcpKeepAlive(http.isTcpKeepAlive());
+        if (http.getConnectionTimeToLive() != null) {
+            builder.connectionTimeToLive(http.getConnectionTimeToLive());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Security groups come from {@code compliance.network.snapshot-path} unless another source is defined.
+     */
+    @Bean
+    @ConditionalOnMissingBean(SecurityGroupSource.class)
+    public SecurityGroupSource securityGroupSource(ComplianceProperties properties, ObjectMapper objectMapper) {
+        return new SnapshotSecurityGroupSource(properties, objectMapper);
+    }
+}
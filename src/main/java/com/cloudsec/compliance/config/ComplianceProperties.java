@@ -0,0 +1,484 @@
+package com.cloudsec.compliance.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed view of the {@code compliance.*} block in application.yml.
+ * Defaults mirror the shipped configuration so components can be built without a Spring context.
+ */
+@Data
+@ConfigurationProperties(prefix = "compliance")
+public class ComplianceProperties {
+
+    private Security security = new Security();
+    private Pagination pagination = new Pagination();
+    private Mcp mcp = new Mcp();
+    private Transcript transcript = new Transcript();
+    private Cache cache = new Cache();
+    private Export export = new Export();
+    private Scans scans = new Scans();
+    private Organization organization = new Organization();
+    private Http http = new Http();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Network network = new Network();
+    private Background background = new Background();
+    private Cluster cluster = new Cluster();
+    private Tracing tracing = new Tracing();
+    private FlightRecorder flightRecorder = new FlightRecorder();
+    private AwsStats awsStats = new AwsStats();
+    private Resources resources = new Resources();
+
+    /**
+     * Regions accepted by the {@code region} argument of AWS-backed tools. Matched case-insensitively.
+     */
+    private List<String> supportedRegions = new ArrayList<>(List.of(
+        "us-east-1", "us-east-2", "us-west-1", "us-west-2",
+        "eu-west-1", "eu-west-2", "eu-west-3", "eu-central-1", "eu-north-1",
+        "ap-southeast-1", "ap-southeast-2", "ap-northeast-1", "ap-northeast-2",
+        "ap-south-1", "ca-central-1", "sa-east-1"
+    ));
+
+    /**
+     * Optional file of supported regions, one per line; blank lines and lines starting with '#' are ignored.
+     * When set it replaces {@code supported-regions} and is re-read whenever it changes, so regions can be
+     * added or removed without a restart.
+     */
+    private String supportedRegionsFile;
+
+    /**
+     * How often {@code supported-regions-file} is checked for changes.
+     */
+    private Duration supportedRegionsCheckInterval = Duration.ofSeconds(30);
+
+    @Data
+    public static class Security {
+        private InputValidation inputValidation = new InputValidation();
+        private Aws aws = new Aws();
+    }
+
+    @Data
+    public static class InputValidation {
+        /**
+         * Case-insensitive terms that cause a bucket name to be masked when they occur anywhere in it.
+         */
+        private List<String> sensitiveTerms = new ArrayList<>(List.of("secret", "private", "internal", "confidential"));
+
+        /**
+         * Optional file with additional sensitive terms, one per line; blank lines and lines starting with '#' are ignored.
+         */
+        private String sensitiveTermsFile;
+    }
+
+    @Data
+    public static class Pagination {
+        /**
+         * Upper bound on how many buckets can be paged through; buckets beyond it are still counted in totals.
+         */
+        private int maxTotalResults = 1000;
+    }
+
+    @Data
+    public static class Aws {
+        private String defaultRegion = "us-east-1";
+        private int maxRetries = 2;
+
+        /**
+         * Optional S3 endpoint (e.g. http://127.0.0.1:9090) used instead of the regional AWS endpoint.
+         * Intended for local stand-ins during performance and end-to-end testing.
+         */
+        private String endpointOverride;
+
+        /**
+         * Account label used in cache keys and posture rollups for the ambient credentials.
+         */
+        private String accountId = "default";
+
+        /**
+         * Refresh expiring ambient credentials (instance profile, container, SSO) on a background thread
+         * instead of on the request that finds them stale.
+         */
+        private boolean asyncCredentialRefresh = true;
+
+        /**
+         * Resolve ambient credentials, and sessions for {@code assume-role.accounts}, while the server starts.
+         */
+        private boolean prefetchCredentials = true;
+
+        private AssumeRole assumeRole = new AssumeRole();
+    }
+
+    @Data
+    public static class AssumeRole {
+        /**
+         * Role assumed in other accounts, as {@code arn:aws:iam::<account>:role/<role-name>}. Unset disables
+         * cross-account access.
+         */
+        private String roleName;
+        private String sessionName = "cloud-compliance-mcp";
+        private String externalId;
+        private Duration sessionDuration = Duration.ofHours(1);
+
+        /**
+         * Sessions are refreshed in the background once they are this close to expiry.
+         */
+        private Duration prefetchTime = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of accounts with a cached session, raised to {@code organization.max-accounts} when lower;
+         * sessions beyond it are evicted and closed once no request is resolving them.
+         */
+        private long maxSessions = 100;
+
+        /**
+         * Optional STS endpoint, e.g. a regional or VPC endpoint.
+         */
+        private String stsEndpointOverride;
+
+        /**
+         * Accounts whose sessions are established at startup.
+         */
+        private List<String> accounts = new ArrayList<>();
+    }
+
+    @Data
+    public static class Mcp {
+        /**
+         * Read JSON-RPC requests from stdin. Disabled when the server is embedded, e.g. by the transcript replayer.
+         */
+        private boolean stdioEnabled = true;
+    }
+
+    @Data
+    public static class Transcript {
+        /**
+         * When set, every JSON-RPC line received on stdin is appended to this NDJSON file for later replay.
+         */
+        private String recordFile;
+    }
+
+    @Data
+    public static class Cache {
+        private CacheSpec complianceResults = new CacheSpec();
+
+        /**
+         * Bucket inventory backing server-side search; {@code max-size} caps the number of indexed buckets.
+         */
+        private CacheSpec bucketInventory = new CacheSpec();
+
+        /**
+         * Per-name masking decisions of the bucket name sanitizer.
+         */
+        private CacheSpec sanitizedNames = CacheSpec.of(Duration.ofHours(1), 100_000);
+
+        /**
+         * Compiled bucket policies keyed by the hash of their bucket-independent template; {@code ttl} is
+         * measured from last access.
+         */
+        private CacheSpec compiledPolicies = CacheSpec.of(Duration.ofHours(1), 10_000);
+
+        /**
+         * Latest result per resource and standard that posture subscriptions compare re-evaluations against;
+         * {@code ttl} is measured from the last result. An evicted resource starts from a new baseline.
+         */
+        private CacheSpec postureBaselines = CacheSpec.of(Duration.ofHours(24), 100_000);
+    }
+
+    @Data
+    public static class CacheSpec {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofSeconds(60);
+        private long maxSize = 10_000;
+
+        static CacheSpec of(Duration ttl, long maxSize) {
+            CacheSpec spec = new CacheSpec();
+            spec.setTtl(ttl);
+            spec.setMaxSize(maxSize);
+            return spec;
+        }
+    }
+
+    @Data
+    public static class Export {
+        /**
+         * Directory that {@code export_findings} writes into. Created on first export.
+         */
+        private String directory = Path.of(System.getProperty("java.io.tmpdir"), "cloud-compliance-exports").toString();
+    }
+
+    @Data
+    public static class Scans {
+        /**
+         * Number of completed scans kept in memory for {@code diff_scans}.
+         */
+        private int maxStored = 10;
+    }
+
+    @Data
+    public static class Organization {
+        /**
+         * Global number of concurrent AWS calls shared by all accounts of an organisation scan, and the
+         * largest number of accounts scanned at once.
+         */
+        private int maxConcurrency = 16;
+
+        /**
+         * Largest number of accounts accepted by one organisation scan.
+         */
+        private int maxAccounts = 1000;
+    }
+
+    /**
+     * The single HTTP transport shared by all AWS clients, so connections and TLS sessions are pooled across
+     * regions and client instances.
+     */
+    @Data
+    public static class Http {
+        private int maxConnections = 128;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+        private Duration socketTimeout = Duration.ofSeconds(30);
+        private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Pooled connections idle for longer than this are closed by the idle connection reaper.
+         */
+        private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+
+        /**
+         * Maximum age of a pooled connection; unset keeps connections until idle or closed by the server.
+         */
+        private Duration connectionTimeToLive;
+        private boolean useIdleConnectionReaper = true;
+        private boolean tcpKeepAlive = true;
+        private Prewarm prewarm = new Prewarm();
+    }
+
+    @Data
+    public static class Prewarm {
+        /**
+         * Open connections to the S3 endpoints of {@code regions} at startup so the first call to each region
+         * does not pay DNS, TCP and TLS setup.
+         */
+        private boolean enabled = false;
+        private List<String> regions = new ArrayList<>();
+        private int connectionsPerRegion = 2;
+    }
+
+    /**
+     * Per region and per API circuit breaking of AWS calls. Only throttling, 5xx and transport failures count;
+     * other 4xx responses show the service is up.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+
+        /**
+         * Consecutive failures (after SDK retries) that open the circuit.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * The n-th consecutive opening lasts a random time between zero and
+         * {@code min(max-open-duration, base-open-duration * 2^(n-1))} (full jitter).
+         */
+        private Duration baseOpenDuration = Duration.ofSeconds(2);
+        private Duration maxOpenDuration = Duration.ofSeconds(60);
+
+        /**
+         * Calls let through to probe a circuit once its open period has passed.
+         */
+        private int halfOpenProbes = 1;
+    }
+
+    @Data
+    public static class Network {
+        /**
+         * Output of {@code aws ec2 describe-security-groups} to evaluate; network checks are not applicable
+         * when unset and no other {@code SecurityGroupSource} is defined.
+         */
+        private String snapshotPath;
+
+        /**
+         * Ports whose exposure to the internet is reported.
+         */
+        private List<Integer> sensitivePorts = new ArrayList<>(List.of(
+            20, 21, 22, 23, 25, 110, 135, 139, 143, 445, 1433, 1521, 2049, 2375, 2379, 3306, 3389,
+            5432, 5601, 5900, 6379, 8020, 9200, 9300, 11211, 27017
+        ));
+
+        /**
+         * Source blocks treated as internal in addition to private, loopback, link-local and
+         * carrier-grade NAT ranges, e.g. corporate egress addresses.
+         */
+        private List<String> trustedCidrs = new ArrayList<>();
+    }
+
+    /**
+     * Periodic re-evaluation of every supported resource type and standard, so tool calls read warm results.
+     */
+    @Data
+    public static class Background {
+        private boolean enabled = false;
+
+        /**
+         * How often due work is queued; keep it below {@code cache.compliance-results.ttl} so results
+         * never expire between refreshes.
+         */
+        private Duration interval = Duration.ofSeconds(30);
+
+        /**
+         * Results older than this are refreshed before routine work.
+         */
+        private Duration staleAfter = Duration.ofMinutes(5);
+
+        /**
+         * Worker threads draining the shared priority queue.
+         */
+        private int parallelism = 2;
+    }
+
+    /**
+     * Splits {@code run_scan} work between server instances that share {@code directory}. Each live
+     * instance owns the buckets that hash to it on a consistent-hash ring and publishes its shard results
+     * there; a scan merges fresh peer shards and evaluates the rest itself.
+     */
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;
+
+        /**
+         * Directory shared by every member, holding lease files and published shard results.
+         */
+        private String directory = Path.of(System.getProperty("java.io.tmpdir"), "cloud-compliance-cluster").toString();
+
+        /**
+         * Unique name of this instance; {@code <host>-<pid>} when blank.
+         */
+        private String nodeId;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(5);
+
+        /**
+         * A member whose lease has not been renewed for this long is dropped from the ring.
+         */
+        private Duration leaseTtl = Duration.ofSeconds(15);
+
+        /**
+         * Ring positions per member; more positions spread buckets more evenly.
+         */
+        private int virtualNodes = 128;
+
+        /**
+         * Peer shard results older than this are not merged; their buckets are evaluated locally instead.
+         */
+        private Duration shardMaxAge = Duration.ofMinutes(10);
+
+        /**
+         * How often each member rescans and publishes its own shard for {@code standards}; zero disables.
+         */
+        private Duration publishInterval = Duration.ofMinutes(5);
+
+        private List<String> standards = new ArrayList<>(List.of("SOC2"));
+    }
+
+    /**
+     * Request tracing into an in-memory ring buffer, queried with {@code recent_traces}.
+     */
+    @Data
+    public static class Tracing {
+        private boolean enabled = true;
+
+        /**
+         * Finished spans kept in memory; rounded up to a power of two.
+         */
+        private int bufferSize = 4096;
+
+        /**
+         * File that finished traces are appended to as OTLP/JSON, one request per line; no export when unset.
+         */
+        private String otlpFile;
+
+        /**
+         * Spans of one trace kept for export besides the root; later spans are dropped and counted on the root.
+         */
+        private int maxSpansPerTrace = 1000;
+    }
+
+    /**
+     * Optional in-process flight recording using the JDK defaults plus the bundled compliance events.
+     */
+    @Data
+    public static class FlightRecorder {
+        /**
+         * File the recording is written to on shutdown; no recording is started when unset.
+         */
+        private String recordingFile;
+
+        /**
+         * Events older than this are discarded from the recording.
+         */
+        private Duration maxAge = Duration.ofHours(1);
+    }
+
+    /**
+     * Latency, retry, throttle and payload statistics of AWS SDK calls, queried with {@code get_aws_call_stats}.
+     */
+    @Data
+    public static class AwsStats {
+        private boolean enabled = true;
+
+        /**
+         * Calls taking at least this long, retries included, are kept in the slow-call log.
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+        /**
+         * Most recent slow calls kept.
+         */
+        private int slowCallLogSize = 100;
+    }
+
+    /**
+     * Large tool results stored server-side and served as MCP resources in chunks.
+     */
+    @Data
+    public static class Resources {
+        /**
+         * When disabled every tool result is returned inline.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Results whose JSON exceeds this many bytes are stored and returned as a resource link.
+         */
+        private int inlineLimit = 64 * 1024;
+
+        private String directory = Path.of(System.getProperty("java.io.tmpdir"), "cloud-compliance-results").toString();
+
+        private int maxStored = 50;
+
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * Bytes returned by {@code resources/read} when the URI does not give a length.
+         */
+        private int chunkBytes = 64 * 1024;
+
+        /**
+         * Upper bound on bytes returned by one {@code resources/read}, for byte and record chunks.
+         */
+        private int maxChunkBytes = 1024 * 1024;
+
+        /**
+         * List elements returned by {@code resources/read} when the URI asks for records without a count.
+         */
+        private int chunkRecords = 100;
+
+        private int maxChunkRecords = 1000;
+    }
+}
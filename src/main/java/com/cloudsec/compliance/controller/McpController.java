@@ -1,14 +1,35 @@
 package com.cloudsec.compliance.controller;
 
+import com.cloudsec.compliance.components.AwsCallStatsInterceptor;
+import com.cloudsec.compliance.components.PostureSubscriptions;
+import com.cloudsec.compliance.components.ResultResourceStore;
+import com.cloudsec.compliance.components.TranscriptRecorder;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.AwsCallStatsResponse;
+import com.cloudsec.compliance.export.ExportFormat;
+import com.cloudsec.compliance.jfr.McpRequestEvent;
+import com.cloudsec.compliance.service.FindingsExportService;
 import com.cloudsec.compliance.service.HealthCheckService;
+import com.cloudsec.compliance.service.OrganizationScanService;
+import com.cloudsec.compliance.service.PostureRollupService;
 import com.cloudsec.compliance.service.S3ComplianceService;
+import com.cloudsec.compliance.service.ScanService;
+import com.cloudsec.compliance.model.BucketQuery;
 import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.tracing.Span;
+import com.cloudsec.compliance.tracing.Tracer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -18,18 +39,43 @@ import java.util.Scanner;
 @RequiredArgsConstructor
 public class McpController implements CommandLineRunner {
     
+    /**
+     * Protocol versions this server speaks, newest first. {@code resource_link} content exists from 2025-06-18.
+     */
+    static final List<String> PROTOCOL_VERSIONS = List.of("2025-06-18", "2025-03-26", "2024-11-05");
+    private static final String RESOURCE_LINK_VERSION = "2025-06-18";
+    
     private final ObjectMapper objectMapper;
     private final HealthCheckService healthCheckService;
     private final S3ComplianceService s3ComplianceService;
+    private final PostureRollupService postureRollupService;
+    private final FindingsExportService findingsExportService;
+    private final ScanService scanService;
+    private final OrganizationScanService organizationScanService;
+    private final ComplianceProperties properties;
+    private final TranscriptRecorder transcriptRecorder;
+    private final Tracer tracer;
+    private final AwsCallStatsInterceptor awsCallStats;
+    private final ResultResourceStore resultStore;
+    private final PostureSubscriptions postureSubscriptions;
+    private final Object outputLock = new Object();
+    private volatile String protocolVersion = PROTOCOL_VERSIONS.get(0);
     
     @Override
     public void run(String... args) {
+        if (!properties.getMcp().isStdioEnabled()) {
+            log.info("MCP stdio transport disabled");
+            return;
+        }
+        
         log.info("Starting MCP Cloud Compliance Server...");
+        postureSubscriptions.listen(this::notifyResourceUpdated);
         try (Scanner scanner = new Scanner(System.in)) {
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
                 if (line.trim().isEmpty()) continue;
                 
+                transcriptRecorder.record(line);
                 try {
                     handleRequest(line);
                 } catch (Exception e) {
@@ -40,39 +86,106 @@ public class McpController implements CommandLineRunner {
     }
     
     void handleRequest(String jsonRequest) throws Exception {
+        write(processRequest(jsonRequest));
+    }
+    
+    /**
+     * Sends {@code notifications/resources/updated} for a subscribed resource. Called from background
+     * threads, so lines are written under the same lock as responses.
+     */
+    void notifyResourceUpdated(String uri) {
+        try {
+            write(objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0",
+                "method", "notifications/resources/updated",
+                "params", Map.of("uri", uri)
+            )));
+        } catch (Exception e) {
+            log.warn("Unable to send resource update for {}: {}", uri, e.getMessage());
+        }
+    }
+    
+    private void write(String line) {
+        synchronized (outputLock) {
+            System.out.println(line);
+        }
+    }
+    
+    /**
+     * Handles one JSON-RPC request line and returns the serialized response line.
+     */
+    public String processRequest(String jsonRequest) throws Exception {
         @SuppressWarnings("unchecked")
         Map<String, Object> request = objectMapper.readValue(jsonRequest, Map.class);
         
         String method = (String) request.get("method");
         Object id = request.get("id");
+        String toolName = toolName(method, request);
         
-        switch (method) {
-            case "initialize" -> sendInitializeResponse(id);
-            case "tools/list" -> sendToolsList(id);
-            case "tools/call" -> handleToolCall(request, id);
-            default -> sendError(id, "Unknown method: " + method);
+        McpRequestEvent event = new McpRequestEvent();
+        event.begin();
+        try (Span trace = tracer.startTrace(toolName != null ? "tools/call " + toolName : String.valueOf(method))) {
+            trace.attribute("rpc.system", "jsonrpc").attribute("rpc.method", method).attribute("rpc.jsonrpc.request_id", id);
+            Map<String, Object> response = switch (method) {
+                case "initialize" -> initializeResponse(request, id);
+                case "tools/list" -> toolsListResponse(id);
+                case "tools/call" -> handleToolCall(request, id);
+                case "resources/list" -> resourcesListResponse(id);
+                case "resources/read" -> handleResourceRead(request, id);
+                case "resources/templates/list" -> resourceTemplatesResponse(id);
+                case "resources/subscribe", "resources/unsubscribe" -> handleSubscription(method, request, id);
+                default -> errorResponse(id, "Unknown method: " + method);
+            };
+            String error = response.get("error") instanceof Map<?, ?> details ? String.valueOf(details.get("message")) : null;
+            if (error != null) {
+                trace.error(error);
+            }
+            String serialized = objectMapper.writeValueAsString(response);
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = method;
+                event.tool = toolName;
+                event.requestId = id != null ? id.toString() : null;
+                event.error = error;
+                event.commit();
+            }
+            return serialized;
         }
     }
     
-    private void sendInitializeResponse(Object id) throws Exception {
-        Map<String, Object> response = Map.of(
+    private static String toolName(String method, Map<String, Object> request) {
+        if ("tools/call".equals(method) && request.get("params") instanceof Map<?, ?> params
+            && params.get("name") instanceof String toolName) {
+            return toolName;
+        }
+        return null;
+    }
+    
+    /**
+     * Agrees on the client's protocol version when it is one this server speaks, and otherwise offers the
+     * newest one, as the MCP lifecycle prescribes.
+     */
+    private Map<String, Object> initializeResponse(Map<String, Object> request, Object id) {
+        Object requested = request.get("params") instanceof Map<?, ?> params ? params.get("protocolVersion") : null;
+        protocolVersion = requested instanceof String version && PROTOCOL_VERSIONS.contains(version)
+            ? version
+            : PROTOCOL_VERSIONS.get(0);
+        return Map.of(
             "jsonrpc", "2.0",
             "id", id,
             "result", Map.of(
-                "protocolVersion", "2024-11-05",
-                "capabilities", Map.of("tools", Map.of()),
+                "protocolVersion", protocolVersion,
+                "capabilities", Map.of("tools", Map.of(), "resources", Map.of("subscribe", true)),
                 "serverInfo", Map.of(
                     "name", "cloud-compliance-mcp",
                     "version", "0.2.0"
                 )
             )
         );
-        
-        System.out.println(objectMapper.writeValueAsString(response));
     }
     
-    private void sendToolsList(Object id) throws Exception {
-        Map<String, Object> response = Map.of(
+    private Map<String, Object> toolsListResponse(Object id) {
+        return Map.of(
             "jsonrpc", "2.0",
             "id", id,
             "result", Map.of(
@@ -81,12 +194,20 @@ public class McpController implements CommandLineRunner {
                     createS3ListTool(),
                     createComplianceCheckTool(),
                     createSupportedStandardsTool(),
-                    createSupportedResourceTypesTool()
+                    createSupportedResourceTypesTool(),
+                    createCacheStatsTool(),
+                    createInvalidateCacheTool(),
+                    createPostureRollupTool(),
+                    createExportFindingsTool(),
+                    createRunScanTool(),
+                    createListScansTool(),
+                    createDiffScansTool(),
+                    createScanOrganizationTool(),
+                    createRecentTracesTool(),
+                    createAwsCallStatsTool()
                 )
             )
         );
-        
-        System.out.println(objectMapper.writeValueAsString(response));
     }
     
     private Map<String, Object> createHealthCheckTool() {
@@ -108,7 +229,7 @@ public class McpController implements CommandLineRunner {
     private Map<String, Object> createS3ListTool() {
         return Map.of(
             "name", "list_s3_buckets",
-            "description", "List S3 buckets in the AWS account with pagination support",
+            "description", "List S3 buckets in the AWS account with pagination support and optional server-side search, filtering and sorting",
             "inputSchema", Map.of(
                 "type", "object",
                 "properties", Map.of(
@@ -125,6 +246,31 @@ public class McpController implements CommandLineRunner {
                     "pageToken", Map.of(
                         "type", "string",
                         "description", "Token for next page (from previous response)"
+                    ),
+                    "namePrefix", Map.of(
+                        "type", "string",
+                        "description", "Only buckets whose name starts with this prefix"
+                    ),
+                    "nameContains", Map.of(
+                        "type", "string",
+                        "description", "Only buckets whose name contains this text"
+                    ),
+                    "createdAfter", Map.of(
+                        "type", "string",
+                        "description", "Only buckets created at or after this ISO-8601 date or timestamp"
+                    ),
+                    "createdBefore", Map.of(
+                        "type", "string",
+                        "description", "Only buckets created before this ISO-8601 date or timestamp"
+                    ),
+                    "bucketRegion", Map.of(
+                        "type", "string",
+                        "description", "Only buckets located in this region"
+                    ),
+                    "sort", Map.of(
+                        "type", "string",
+                        "description", "Result order when searching (default name_asc)",
+                        "enum", List.of("name_asc", "name_desc", "created_asc", "created_desc")
                     )
                 )
             )
@@ -176,12 +322,224 @@ public class McpController implements CommandLineRunner {
         );
     }
     
+    private Map<String, Object> createCacheStatsTool() {
+        return Map.of(
+            "name", "get_cache_stats",
+            "description", "Get size and hit/miss statistics for the compliance result cache",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of()
+            )
+        );
+    }
+    
+    private Map<String, Object> createInvalidateCacheTool() {
+        return Map.of(
+            "name", "invalidate_compliance_cache",
+            "description", "Discard cached compliance results so the next check re-evaluates resources",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "resourceType", Map.of(
+                        "type", "string",
+                        "description", "Only invalidate results for this resource type (optional)"
+                    ),
+                    "standard", Map.of(
+                        "type", "string",
+                        "description", "Only invalidate results for this standard (optional)"
+                    )
+                )
+            )
+        );
+    }
+    
+    private Map<String, Object> createPostureRollupTool() {
+        return Map.of(
+            "name", "get_posture_rollup",
+            "description", "Get aggregated compliance posture (status counts, severity counts and scores) across all evaluated resources",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "groupBy", Map.of(
+                        "type", "string",
+                        "description", "Dimension to aggregate by (default standard)",
+                        "enum", List.of("account", "region", "standard")
+                    )
+                )
+            )
+        );
+    }
+    
+    private Map<String, Object> createExportFindingsTool() {
+        return Map.of(
+            "name", "export_findings",
+            "description", "Scan S3 buckets against a standard and stream every result and finding to a local file; returns the file path and record counts",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "standard", Map.of(
+                        "type", "string",
+                        "description", "Compliance standard to evaluate",
+                        "enum", List.of("SOC2", "CIS", "NIST", "ISO27001", "PCI_DSS")
+                    ),
+                    "region", Map.of(
+                        "type", "string",
+                        "description", "Only export buckets in this region (default all regions)"
+                    ),
+                    "format", Map.of(
+                        "type", "string",
+                        "description", "Output format: newline-delimited JSON or compact binary columnar (default ndjson)",
+                        "enum", List.of("ndjson", "columnar")
+                    )
+                ),
+                "required", List.of("standard")
+            )
+        );
+    }
+    
+    private Map<String, Object> createRunScanTool() {
+        return Map.of(
+            "name", "run_scan",
+            "description", "Evaluate every S3 bucket against a standard and store the findings for later diff_scans comparisons",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "standard", Map.of(
+                        "type", "string",
+                        "description", "Compliance standard to evaluate",
+                        "enum", List.of("SOC2", "CIS", "NIST", "ISO27001", "PCI_DSS")
+                    ),
+                    "region", Map.of(
+                        "type", "string",
+                        "description", "Only scan buckets in this region (default all regions)"
+                    )
+                ),
+                "required", List.of("standard")
+            )
+        );
+    }
+    
+    private Map<String, Object> createListScansTool() {
+        return Map.of(
+            "name", "list_scans",
+            "description", "List stored scans (oldest first) with their finding counts",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of()
+            )
+        );
+    }
+    
+    private Map<String, Object> createDiffScansTool() {
+        return Map.of(
+            "name", "diff_scans",
+            "description", "Return only the findings that are new, resolved or changed between two stored scans",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "baseScanId", Map.of(
+                        "type", "string",
+                        "description", "Earlier scan to compare from"
+                    ),
+                    "targetScanId", Map.of(
+                        "type", "string",
+                        "description", "Later scan to compare to"
+                    ),
+                    "limit", Map.of(
+                        "type", "integer",
+                        "description", "Maximum findings returned per category (default 50, max 500); counts are always complete",
+                        "minimum", 0,
+                        "maximum", 500
+                    )
+                ),
+                "required", List.of("baseScanId", "targetScanId")
+            )
+        );
+    }
+    
+    private Map<String, Object> createScanOrganizationTool() {
+        return Map.of(
+            "name", "scan_organization",
+            "description", "Evaluate the S3 buckets of many accounts in parallel under a shared concurrency budget and return one aggregated posture",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "accounts", Map.of(
+                        "type", "array",
+                        "description", "Account ids (using the configured cross-account role) or role ARNs to assume; defaults to the configured accounts",
+                        "items", Map.of("type", "string")
+                    ),
+                    "standard", Map.of(
+                        "type", "string",
+                        "description", "Compliance standard to evaluate",
+                        "enum", List.of("SOC2", "CIS", "NIST", "ISO27001", "PCI_DSS")
+                    ),
+                    "region", Map.of(
+                        "type", "string",
+                        "description", "Only scan buckets in this region (default all regions)"
+                    ),
+                    "concurrency", Map.of(
+                        "type", "integer",
+                        "description", "Concurrent AWS calls across all accounts (default and maximum: server limit)",
+                        "minimum", 1
+                    )
+                ),
+                "required", List.of("standard")
+            )
+        );
+    }
+    
+    private Map<String, Object> createRecentTracesTool() {
+        return Map.of(
+            "name", "recent_traces",
+            "description", "Show recent request traces with their spans (validation, rate limiting, AWS calls) to see where time went",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "limit", Map.of(
+                        "type", "integer",
+                        "description", "Maximum number of traces to return, newest first (default 20, max 200)",
+                        "minimum", 1
+                    ),
+                    "minDurationMs", Map.of(
+                        "type", "number",
+                        "description", "Only traces that took at least this many milliseconds"
+                    ),
+                    "traceId", Map.of(
+                        "type", "string",
+                        "description", "Only the trace with this id"
+                    )
+                )
+            )
+        );
+    }
+    
+    private Map<String, Object> createAwsCallStatsTool() {
+        return Map.of(
+            "name", "get_aws_call_stats",
+            "description", "Get latency percentiles, retries, throttles and payload sizes of AWS calls by operation and region, plus recent slow calls with request ids and circuits that are not closed",
+            "inputSchema", Map.of(
+                "type", "object",
+                "properties", Map.of(
+                    "reset", Map.of(
+                        "type", "boolean",
+                        "description", "Start a new measurement window after returning the statistics (default false)"
+                    )
+                )
+            )
+        );
+    }
+    
     @SuppressWarnings("unchecked")
-    private void handleToolCall(Map<String, Object> request, Object id) throws Exception {
+    private Map<String, Object> handleToolCall(Map<String, Object> request, Object id) {
         try {
             Map<String, Object> params = (Map<String, Object>) request.get("params");
             String toolName = (String) params.get("name");
             Map<String, Object> arguments = (Map<String, Object>) params.get("arguments");
+            if (arguments != null) {
+                Tracer.current().attribute("compliance.region", arguments.get("region"))
+                    .attribute("compliance.standard", arguments.get("standard"));
+            }
             
             Object result = switch (toolName) {
                 case "health_check" -> {
@@ -192,7 +550,7 @@ public class McpController implements CommandLineRunner {
                     String region = arguments != null ? (String) arguments.get("region") : null;
                     Integer pageSize = arguments != null ? (Integer) arguments.get("pageSize") : null;
                     String pageToken = arguments != null ? (String) arguments.get("pageToken") : null;
-                    yield s3ComplianceService.listBuckets(region, pageSize, pageToken);
+                    yield s3ComplianceService.listBuckets(region, pageSize, pageToken, parseBucketQuery(arguments));
                 }
                 case "check_resource_compliance" -> {
                     if (arguments == null) {
@@ -205,12 +563,7 @@ public class McpController implements CommandLineRunner {
                         throw new IllegalArgumentException("Both resourceType and standard are required");
                     }
                     
-                    try {
-                        ComplianceStandard standard = ComplianceStandard.valueOf(standardStr);
-                        yield s3ComplianceService.checkCompliance(resourceType, standard);
-                    } catch (IllegalArgumentException e) {
-                        throw new IllegalArgumentException("Invalid compliance standard: " + standardStr);
-                    }
+                    yield s3ComplianceService.checkCompliance(resourceType, parseStandard(standardStr));
                 }
                 case "list_supported_standards" -> {
                     yield s3ComplianceService.getSupportedStandards().stream()
@@ -229,30 +582,287 @@ public class McpController implements CommandLineRunner {
                         ))
                         .toList();
                 }
+                case "get_cache_stats" -> s3ComplianceService.getComplianceCacheStats();
+                case "invalidate_compliance_cache" -> {
+                    String resourceType = arguments != null ? (String) arguments.get("resourceType") : null;
+                    String standardStr = arguments != null ? (String) arguments.get("standard") : null;
+                    ComplianceStandard standard = standardStr != null ? parseStandard(standardStr) : null;
+                    long invalidated = s3ComplianceService.invalidateComplianceCache(resourceType, standard);
+                    yield Map.of(
+                        "invalidated", invalidated,
+                        "stats", s3ComplianceService.getComplianceCacheStats()
+                    );
+                }
+                case "get_posture_rollup" -> {
+                    String groupBy = arguments != null ? (String) arguments.get("groupBy") : null;
+                    yield postureRollupService.getRollup(PostureRollupService.GroupBy.parse(groupBy));
+                }
+                case "export_findings" -> {
+                    String standardStr = arguments != null ? (String) arguments.get("standard") : null;
+                    if (standardStr == null) {
+                        throw new IllegalArgumentException("standard is required");
+                    }
+                    String region = (String) arguments.get("region");
+                    ExportFormat format = ExportFormat.parse((String) arguments.get("format"));
+                    yield findingsExportService.exportFindings(region, parseStandard(standardStr), format);
+                }
+                case "run_scan" -> {
+                    String standardStr = arguments != null ? (String) arguments.get("standard") : null;
+                    if (standardStr == null) {
+                        throw new IllegalArgumentException("standard is required");
+                    }
+                    yield scanService.runScan((String) arguments.get("region"), parseStandard(standardStr));
+                }
+                case "list_scans" -> scanService.listScans();
+                case "diff_scans" -> {
+                    String baseScanId = arguments != null ? (String) arguments.get("baseScanId") : null;
+                    String targetScanId = arguments != null ? (String) arguments.get("targetScanId") : null;
+                    if (baseScanId == null || targetScanId == null) {
+                        throw new IllegalArgumentException("Both baseScanId and targetScanId are required");
+                    }
+                    yield scanService.diffScans(baseScanId, targetScanId, (Integer) arguments.get("limit"));
+                }
+                case "scan_organization" -> {
+                    String standardStr = arguments != null ? (String) arguments.get("standard") : null;
+                    if (standardStr == null) {
+                        throw new IllegalArgumentException("standard is required");
+                    }
+                    yield organizationScanService.scanOrganization(parseStringList(arguments.get("accounts"), "accounts"),
+                        (String) arguments.get("region"), parseStandard(standardStr), (Integer) arguments.get("concurrency"));
+                }
+                case "recent_traces" -> {
+                    Integer limit = arguments != null ? (Integer) arguments.get("limit") : null;
+                    Number minDuration = arguments != null ? (Number) arguments.get("minDurationMs") : null;
+                    String traceId = arguments != null ? (String) arguments.get("traceId") : null;
+                    yield tracer.recentTraces(limit, minDuration != null ? minDuration.doubleValue() : null, traceId);
+                }
+                case "get_aws_call_stats" -> {
+                    AwsCallStatsResponse stats = awsCallStats.stats();
+                    if (arguments != null && Boolean.TRUE.equals(arguments.get("reset"))) {
+                        awsCallStats.reset();
+                    }
+                    yield stats;
+                }
                 default -> throw new IllegalArgumentException("Unknown tool: " + toolName);
             };
             
-            Map<String, Object> response = Map.of(
+            return Map.of(
                 "jsonrpc", "2.0",
                 "id", id,
                 "result", Map.of(
-                    "content", List.of(
-                        Map.of(
-                            "type", "text",
-                            "text", objectMapper.writeValueAsString(result)
-                        )
-                    )
+                    "content", toolContent(toolName, result)
                 )
             );
             
-            System.out.println(objectMapper.writeValueAsString(response));
-            
         } catch (IllegalArgumentException e) {
             log.warn("Invalid tool call: {}", e.getMessage());
-            sendError(id, e.getMessage());
+            return errorResponse(id, e.getMessage());
         } catch (Exception e) {
             log.error("Error handling tool call", e);
-            sendError(id, "Internal server error");
+            Tracer.current().error(e);
+            return errorResponse(id, "Internal server error");
+        }
+    }
+    
+    /**
+     * The result as one inline text item, or, when it exceeds the inline limit, a short text pointing at the
+     * stored result plus a resource link to it. Clients on a protocol version without {@code resource_link}
+     * get the first chunk as an embedded resource instead.
+     */
+    private List<Map<String, Object>> toolContent(String toolName, Object result) throws IOException {
+        ResultResourceStore.Payload payload = resultStore.serialize(toolName + " result", result);
+        if (payload.inlineJson() != null) {
+            return List.of(Map.of("type", "text", "text", payload.inlineJson()));
+        }
+        
+        ResultResourceStore.ResourceInfo resource = payload.resource();
+        String firstChunk = resource.uri() + (resource.records() != null ? "?record=0" : "?offset=0");
+        String description = "Result is " + resource.size() + " bytes"
+            + (resource.records() != null ? " (" + resource.records() + " records)" : "")
+            + " and was stored as " + resource.uri() + ". Read it in chunks with resources/read, starting at "
+            + firstChunk + "; each chunk gives the URI of the next.";
+        if (protocolVersion.compareTo(RESOURCE_LINK_VERSION) < 0) {
+            ResultResourceStore.Chunk chunk = resultStore.read(firstChunk);
+            String embedded = chunk.nextUri() != null
+                ? " The first chunk is embedded; the next is " + chunk.nextUri() + "."
+                : " The whole result is embedded.";
+            return List.of(
+                Map.of("type", "text", "text", description + embedded),
+                Map.of("type", "resource", "resource", Map.of(
+                    "uri", chunk.uri(),
+                    "mimeType", ResultResourceStore.MIME_TYPE,
+                    "text", chunk.text()
+                ))
+            );
+        }
+        return List.of(
+            Map.of("type", "text", "text", description),
+            Map.of(
+                "type", "resource_link",
+                "uri", resource.uri(),
+                "name", resource.name(),
+                "mimeType", ResultResourceStore.MIME_TYPE,
+                "size", resource.size()
+            )
+        );
+    }
+    
+    private Map<String, Object> resourcesListResponse(Object id) {
+        List<Map<String, Object>> resources = resultStore.list().stream()
+            .map(resource -> Map.<String, Object>of(
+                "uri", resource.uri(),
+                "name", resource.name(),
+                "description", "Stored at " + resource.createdAt()
+                    + (resource.records() != null ? " with " + resource.records() + " records" : ""),
+                "mimeType", ResultResourceStore.MIME_TYPE,
+                "size", resource.size()
+            ))
+            .toList();
+        return Map.of(
+            "jsonrpc", "2.0",
+            "id", id,
+            "result", Map.of("resources", resources)
+        );
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> handleResourceRead(Map<String, Object> request, Object id) {
+        try {
+            Map<String, Object> params = (Map<String, Object>) request.get("params");
+            String uri = params != null ? (String) params.get("uri") : null;
+            if (uri == null) {
+                throw new IllegalArgumentException("uri is required");
+            }
+            
+            if (uri.startsWith(PostureSubscriptions.URI_PREFIX)) {
+                return Map.of(
+                    "jsonrpc", "2.0",
+                    "id", id,
+                    "result", Map.of(
+                        "contents", List.of(Map.of(
+                            "uri", uri,
+                            "mimeType", ResultResourceStore.MIME_TYPE,
+                            "text", objectMapper.writeValueAsString(postureSubscriptions.read(uri))
+                        ))
+                    )
+                );
+            }
+            
+            ResultResourceStore.Chunk chunk = resultStore.read(uri);
+            Map<String, Object> meta = new LinkedHashMap<>();
+            meta.put("totalBytes", chunk.totalBytes());
+            if (chunk.totalRecords() != null) {
+                meta.put("totalRecords", chunk.totalRecords());
+            }
+            if (chunk.nextUri() != null) {
+                meta.put("nextUri", chunk.nextUri());
+            }
+            return Map.of(
+                "jsonrpc", "2.0",
+                "id", id,
+                "result", Map.of(
+                    "contents", List.of(Map.of(
+                        "uri", chunk.uri(),
+                        "mimeType", ResultResourceStore.MIME_TYPE,
+                        "text", chunk.text()
+                    )),
+                    "_meta", meta
+                )
+            );
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid resource read: {}", e.getMessage());
+            return errorResponse(id, e.getMessage());
+        } catch (Exception e) {
+            log.error("Error reading resource", e);
+            Tracer.current().error(e);
+            return errorResponse(id, "Internal server error");
+        }
+    }
+    
+    private Map<String, Object> resourceTemplatesResponse(Object id) {
+        List<Map<String, Object>> templates = PostureSubscriptions.uriTemplates().stream()
+            .map(template -> Map.<String, Object>of(
+                "uriTemplate", template,
+                "name", "Compliance posture (" + template.substring(PostureSubscriptions.URI_PREFIX.length(),
+                    template.lastIndexOf('/')) + ")",
+                "description", "Latest results for the account, standard or bucket; subscribe to be notified when a re-evaluation changes them",
+                "mimeType", ResultResourceStore.MIME_TYPE
+            ))
+            .toList();
+        return Map.of(
+            "jsonrpc", "2.0",
+            "id", id,
+            "result", Map.of("resourceTemplates", templates)
+        );
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> handleSubscription(String method, Map<String, Object> request, Object id) {
+        try {
+            Map<String, Object> params = (Map<String, Object>) request.get("params");
+            String uri = params != null ? (String) params.get("uri") : null;
+            if (uri == null) {
+                throw new IllegalArgumentException("uri is required");
+            }
+            if ("resources/subscribe".equals(method)) {
+                postureSubscriptions.subscribe(uri);
+            } else {
+                postureSubscriptions.unsubscribe(uri);
+            }
+            return Map.of(
+                "jsonrpc", "2.0",
+                "id", id,
+                "result", Map.of()
+            );
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid subscription request: {}", e.getMessage());
+            return errorResponse(id, e.getMessage());
+        }
+    }
+    
+    private BucketQuery parseBucketQuery(Map<String, Object> arguments) {
+        if (arguments == null) {
+            return BucketQuery.NONE;
+        }
+        return new BucketQuery(
+            (String) arguments.get("namePrefix"),
+            (String) arguments.get("nameContains"),
+            parseInstant((String) arguments.get("createdAfter")),
+            parseInstant((String) arguments.get("createdBefore")),
+            (String) arguments.get("bucketRegion"),
+            BucketQuery.Sort.parse((String) arguments.get("sort"))
+        );
+    }
+    
+    private List<String> parseStringList(Object value, String name) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException(name + " must be an array");
+        }
+        return list.stream().map(String::valueOf).toList();
+    }
+    
+    private Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+    
+    private ComplianceStandard parseStandard(String standardStr) {
+        try {
+            return ComplianceStandard.valueOf(standardStr);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid compliance standard: " + standardStr);
         }
     }
     
@@ -266,8 +876,8 @@ public class McpController implements CommandLineRunner {
         };
     }
     
-    private void sendError(Object id, String message) throws Exception {
-        Map<String, Object> response = Map.of(
+    private Map<String, Object> errorResponse(Object id, String message) {
+        return Map.of(
             "jsonrpc", "2.0",
             "id", id,
             "error", Map.of(
@@ -275,7 +885,5 @@ public class McpController implements CommandLineRunner {
                 "message", message
             )
         );
-        
-        System.out.println(objectMapper.writeValueAsString(response));
     }
 }
\ No newline at end of file
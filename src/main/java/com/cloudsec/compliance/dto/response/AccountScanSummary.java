@@ -0,0 +1,23 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record AccountScanSummary(
+    @NotBlank(message = "Account id cannot be blank")
+    String accountId,
+    
+    @NotBlank(message = "Status cannot be blank")
+    String status,
+    
+    @Min(value = 0, message = "Resource count cannot be negative")
+    long resourceCount,
+    
+    @Min(value = 0, message = "Error count cannot be negative")
+    long errorCount,
+    
+    @Min(value = 0, message = "Duration cannot be negative")
+    long durationMillis,
+    
+    String error
+) {}
@@ -0,0 +1,26 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+import java.util.Map;
+
+public record AwsCallStatsResponse(
+    @NotBlank(message = "Since timestamp cannot be blank")
+    String since,
+    
+    @Min(value = 0, message = "Call count cannot be negative")
+    long totalCalls,
+    
+    Map<String, AwsOperationStats> byOperation,
+    
+    Map<String, AwsOperationStats> byRegion,
+    
+    @Min(value = 0, message = "Slow call threshold cannot be negative")
+    long slowCallThresholdMillis,
+    
+    List<SlowAwsCall> slowCalls,
+    
+    Map<String, String> unhealthyCircuits
+) {}
@@ -0,0 +1,28 @@
+package com.cloudsec.compliance.dto.response;
+
+import com.cloudsec.compliance.util.LatencyHistogram;
+import jakarta.validation.constraints.Min;
+
+public record AwsOperationStats(
+    @Min(value = 0, message = "Call count cannot be negative")
+    long calls,
+    
+    @Min(value = 0, message = "Error count cannot be negative")
+    long errors,
+    
+    @Min(value = 0, message = "Retry count cannot be negative")
+    long retries,
+    
+    @Min(value = 0, message = "Throttle count cannot be negative")
+    long throttles,
+    
+    @Min(value = 0, message = "Request bytes cannot be negative")
+    long requestBytes,
+    
+    @Min(value = 0, message = "Response bytes cannot be negative")
+    long responseBytes,
+    
+    LatencyHistogram.Summary latencyMicros,
+    
+    LatencyHistogram.Summary attemptLatencyMicros
+) {}
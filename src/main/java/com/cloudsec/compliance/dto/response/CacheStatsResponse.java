@@ -0,0 +1,25 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record CacheStatsResponse(
+    @NotBlank(message = "Cache name cannot be blank")
+    String cache,
+    
+    boolean enabled,
+    
+    @Min(value = 0, message = "Size cannot be negative")
+    long size,
+    
+    @Min(value = 0, message = "Hit count cannot be negative")
+    long hitCount,
+    
+    @Min(value = 0, message = "Miss count cannot be negative")
+    long missCount,
+    
+    double hitRate,
+    
+    @Min(value = 0, message = "Eviction count cannot be negative")
+    long evictionCount
+) {}
@@ -0,0 +1,28 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One finding that differs between two scans. {@code previous*} fields are only set for changed
+ * findings.
+ */
+public record FindingChange(
+    @NotBlank(message = "Resource ID cannot be blank")
+    String resourceId,
+    
+    @NotBlank(message = "Control ID cannot be blank")
+    String controlId,
+    
+    @NotBlank(message = "Finding ID cannot be blank")
+    String findingId,
+    
+    String severity,
+    
+    String previousSeverity,
+    
+    String description,
+    
+    String evidence,
+    
+    String previousEvidence
+) {}
@@ -0,0 +1,34 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record FindingsExportResponse(
+    @NotBlank(message = "Status cannot be blank")
+    String status,
+    
+    String format,
+    
+    String path,
+    
+    String standard,
+    
+    String region,
+    
+    @Min(value = 0, message = "Resource count cannot be negative")
+    long resourceCount,
+    
+    @Min(value = 0, message = "Finding count cannot be negative")
+    long findingCount,
+    
+    @Min(value = 0, message = "Bytes written cannot be negative")
+    long bytesWritten,
+    
+    @Min(value = 0, message = "Duration cannot be negative")
+    long durationMillis,
+    
+    @NotBlank(message = "Timestamp cannot be blank")
+    String timestamp,
+    
+    String error
+) {}
@@ -0,0 +1,44 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+public record OrganizationScanResponse(
+    @NotBlank(message = "Status cannot be blank")
+    String status,
+    
+    String standard,
+    
+    String region,
+    
+    @Min(value = 0, message = "Account count cannot be negative")
+    int accountsRequested,
+    
+    @Min(value = 0, message = "Account count cannot be negative")
+    int accountsScanned,
+    
+    @Min(value = 0, message = "Account count cannot be negative")
+    int accountsFailed,
+    
+    @Min(value = 0, message = "Resource count cannot be negative")
+    long resourceCount,
+    
+    @Min(value = 0, message = "Concurrency cannot be negative")
+    int concurrency,
+    
+    @Min(value = 0, message = "Duration cannot be negative")
+    long durationMillis,
+    
+    @Valid
+    List<AccountScanSummary> accounts,
+    
+    PostureRollupResponse posture,
+    
+    @NotBlank(message = "Timestamp cannot be blank")
+    String timestamp,
+    
+    String error
+) {}
@@ -0,0 +1,31 @@
+package com.cloudsec.compliance.dto.response;
+
+import com.cloudsec.compliance.model.SeverityHistogram;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record PostureGroupSummary(
+    @NotBlank(message = "Group key cannot be blank")
+    String key,
+    
+    @Min(value = 0, message = "Resource count cannot be negative")
+    long resources,
+    
+    long compliant,
+    
+    long nonCompliant,
+    
+    long partiallyCompliant,
+    
+    long notApplicable,
+    
+    long error,
+    
+    @NotNull(message = "Severity counts cannot be null")
+    SeverityHistogram severityCounts,
+    
+    double complianceScore,
+    
+    long riskScore
+) {}
@@ -0,0 +1,28 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PostureRollupResponse(
+    @NotBlank(message = "Group by cannot be blank")
+    String groupBy,
+    
+    @NotNull(message = "Groups list cannot be null")
+    @Valid
+    List<PostureGroupSummary> groups,
+    
+    @NotNull(message = "Total cannot be null")
+    PostureGroupSummary total,
+    
+    @NotBlank(message = "Timestamp cannot be blank")
+    String timestamp
+) {
+    public PostureRollupResponse {
+        if (groups == null) groups = List.of();
+        if (timestamp == null) timestamp = LocalDateTime.now().toString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record ScanDiffResponse(
+    @NotBlank(message = "Base scan ID cannot be blank")
+    String baseScanId,
+    
+    @NotBlank(message = "Target scan ID cannot be blank")
+    String targetScanId,
+    
+    @Min(value = 0, message = "New count cannot be negative")
+    long newCount,
+    
+    @Min(value = 0, message = "Resolved count cannot be negative")
+    long resolvedCount,
+    
+    @Min(value = 0, message = "Changed count cannot be negative")
+    long changedCount,
+    
+    @Min(value = 0, message = "Unchanged count cannot be negative")
+    long unchangedCount,
+    
+    @NotNull(message = "New findings list cannot be null")
+    @Valid
+    List<FindingChange> newFindings,
+    
+    @NotNull(message = "Resolved findings list cannot be null")
+    @Valid
+    List<FindingChange> resolvedFindings,
+    
+    @NotNull(message = "Changed findings list cannot be null")
+    @Valid
+    List<FindingChange> changedFindings,
+    
+    boolean truncated,
+    
+    @NotBlank(message = "Timestamp cannot be blank")
+    String timestamp
+) {}
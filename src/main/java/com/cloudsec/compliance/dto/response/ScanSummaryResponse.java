@@ -0,0 +1,29 @@
+package com.cloudsec.compliance.dto.response;
+
+import com.cloudsec.compliance.model.SeverityHistogram;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record ScanSummaryResponse(
+    @NotBlank(message = "Status cannot be blank")
+    String status,
+    
+    String scanId,
+    
+    String standard,
+    
+    String region,
+    
+    @Min(value = 0, message = "Resource count cannot be negative")
+    long resourceCount,
+    
+    @Min(value = 0, message = "Finding count cannot be negative")
+    long findingCount,
+    
+    SeverityHistogram severityCounts,
+    
+    @NotBlank(message = "Timestamp cannot be blank")
+    String timestamp,
+    
+    String error
+) {}
@@ -0,0 +1,26 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record SlowAwsCall(
+    @NotBlank(message = "Timestamp cannot be blank")
+    String timestamp,
+    
+    @NotBlank(message = "Operation cannot be blank")
+    String operation,
+    
+    String region,
+    
+    @Min(value = 0, message = "Duration cannot be negative")
+    double durationMillis,
+    
+    @Min(value = 0, message = "Attempt count cannot be negative")
+    int attempts,
+    
+    int statusCode,
+    
+    String requestId,
+    
+    String error
+) {}
@@ -0,0 +1,27 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Map;
+
+/**
+ * One span of a {@link TraceSummary}. {@code startOffsetMillis} is relative to the start of the trace;
+ * {@code error} is only set for failed spans.
+ */
+public record SpanSummary(
+    @NotBlank(message = "Span id cannot be blank")
+    String spanId,
+    
+    String parentSpanId,
+    
+    @NotBlank(message = "Span name cannot be blank")
+    String name,
+    
+    double startOffsetMillis,
+    
+    double durationMillis,
+    
+    String error,
+    
+    Map<String, String> attributes
+) {}
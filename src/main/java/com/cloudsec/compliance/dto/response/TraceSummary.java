@@ -0,0 +1,34 @@
+package com.cloudsec.compliance.dto.response;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/**
+ * A recent trace with its spans ordered by start time. {@code truncated} is set when only the first
+ * spans are listed; {@code spanCount} always covers every buffered span of the trace.
+ */
+public record TraceSummary(
+    @NotBlank(message = "Trace id cannot be blank")
+    String traceId,
+    
+    @NotBlank(message = "Trace name cannot be blank")
+    String name,
+    
+    @NotBlank(message = "Start time cannot be blank")
+    String startTime,
+    
+    double durationMillis,
+    
+    boolean error,
+    
+    @Min(value = 0, message = "Span count cannot be negative")
+    int spanCount,
+    
+    @Valid
+    List<SpanSummary> spans,
+    
+    boolean truncated
+) {}
@@ -0,0 +1,33 @@
+package com.cloudsec.compliance.errors;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling AWS while the circuit for a region and API is open.
+ */
+public class CircuitOpenException extends ComplianceException {
+    
+    private final String region;
+    private final String api;
+    private final Duration retryAfter;
+    
+    public CircuitOpenException(String region, String api, Duration retryAfter) {
+        super("AWS " + api + " in " + region + " is failing; not calling it for "
+            + Math.max(1, retryAfter.toSeconds()) + "s");
+        this.region = region;
+        this.api = api;
+        this.retryAfter = retryAfter;
+    }
+    
+    public String getRegion() {
+        return region;
+    }
+    
+    public String getApi() {
+        return api;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
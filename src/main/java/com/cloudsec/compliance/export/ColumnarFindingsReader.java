@@ -0,0 +1,97 @@
+package com.cloudsec.compliance.export;
+
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Decodes files produced by {@link ColumnarFindingsWriter}, one block at a time.
+ */
+public final class ColumnarFindingsReader {
+    
+    private ColumnarFindingsReader() {
+    }
+    
+    public record Row(String resourceId, String region, ComplianceStandard standard,
+                      ComplianceStatus status, Finding finding) {}
+    
+    public record Totals(long resourceCount, long findingCount) {}
+    
+    public static Totals read(Path path, Consumer<Row> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != ColumnarFindingsWriter.MAGIC) {
+                throw new IOException("Not a columnar findings file: " + path);
+            }
+            short version = in.readShort();
+            if (version != ColumnarFindingsWriter.VERSION) {
+                throw new IOException("Unsupported columnar findings version: " + version);
+            }
+            in.readShort();
+            
+            int rows;
+            while ((rows = in.readInt()) > 0) {
+                String[] dictionary = new String[in.readInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+                int[] resourceIds = readInts(in, rows);
+                int[] regions = readInts(in, rows);
+                byte[] standards = readBytes(in, rows);
+                byte[] statuses = readBytes(in, rows);
+                byte[] severities = readBytes(in, rows);
+                int[] findingIds = readInts(in, rows);
+                int[] controlIds = readInts(in, rows);
+                int[] descriptions = readInts(in, rows);
+                int[] remediations = readInts(in, rows);
+                int[] evidence = readInts(in, rows);
+                
+                for (int i = 0; i < rows; i++) {
+                    Finding finding = severities[i] == ColumnarFindingsWriter.NO_FINDING ? null : new Finding(
+                        lookup(dictionary, findingIds[i]),
+                        Finding.Severity.values()[severities[i]],
+                        lookup(dictionary, controlIds[i]),
+                        lookup(dictionary, descriptions[i]),
+                        lookup(dictionary, remediations[i]),
+                        lookup(dictionary, evidence[i])
+                    );
+                    consumer.accept(new Row(
+                        lookup(dictionary, resourceIds[i]),
+                        lookup(dictionary, regions[i]),
+                        ComplianceStandard.values()[standards[i]],
+                        ComplianceStatus.values()[statuses[i]],
+                        finding
+                    ));
+                }
+            }
+            return new Totals(in.readLong(), in.readLong());
+        }
+    }
+    
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+    
+    private static byte[] readBytes(DataInputStream in, int count) throws IOException {
+        byte[] values = new byte[count];
+        in.readFully(values);
+        return values;
+    }
+    
+    private static String lookup(String[] dictionary, int ref) {
+        return ref < 0 ? null : dictionary[ref];
+    }
+}
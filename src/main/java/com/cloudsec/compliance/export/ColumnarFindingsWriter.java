@@ -0,0 +1,202 @@
+package com.cloudsec.compliance.export;
+
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.Finding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes findings in a block-columnar binary layout (all integers big-endian):
+ * <pre>
+ * header   int magic 'CCFB', short version, short reserved
+ * block    int rowCount, int dictSize, dictSize x (int length, UTF-8 bytes),
+ *          int[rowCount] resourceId, int[rowCount] region,
+ *          byte[rowCount] standard, byte[rowCount] status, byte[rowCount] severity,
+ *          int[rowCount] findingId, int[rowCount] controlId, int[rowCount] description,
+ *          int[rowCount] remediation, int[rowCount] evidence
+ * trailer  int 0, long resourceCount, long findingCount
+ * </pre>
+ * String columns hold indexes into the block's dictionary ({@code -1} for null); enum columns hold
+ * ordinals. A resource without findings is written as a single row with severity {@code -1}.
+ * Each block is self-contained, so memory is bounded by {@link #BLOCK_ROWS} regardless of scan size.
+ */
+public class ColumnarFindingsWriter implements FindingsWriter {
+    
+    public static final int MAGIC = 0x43434642;
+    public static final short VERSION = 1;
+    public static final byte NO_FINDING = -1;
+    static final int BLOCK_ROWS = 4096;
+    
+    private static final int STRING_COLUMNS = 7;
+    
+    private final FileChannel channel;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> dictionaryValues = new ArrayList<>();
+    
+    private final int[] resourceIds = new int[BLOCK_ROWS];
+    private final int[] regions = new int[BLOCK_ROWS];
+    private final byte[] standards = new byte[BLOCK_ROWS];
+    private final byte[] statuses = new byte[BLOCK_ROWS];
+    private final byte[] severities = new byte[BLOCK_ROWS];
+    private final int[] findingIds = new int[BLOCK_ROWS];
+    private final int[] controlIds = new int[BLOCK_ROWS];
+    private final int[] descriptions = new int[BLOCK_ROWS];
+    private final int[] remediations = new int[BLOCK_ROWS];
+    private final int[] evidence = new int[BLOCK_ROWS];
+    
+    private ByteBuffer buffer = ByteBuffer.allocate(256 * 1024);
+    private int rows;
+    private long resources;
+    private long findings;
+    private long bytesWritten;
+    private boolean closed;
+    
+    public ColumnarFindingsWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        drain();
+    }
+    
+    @Override
+    public void write(ComplianceResult result) throws IOException {
+        if (result.findings().isEmpty()) {
+            appendRow(result, null);
+        } else {
+            for (Finding finding : result.findings()) {
+                appendRow(result, finding);
+                findings++;
+            }
+        }
+        resources++;
+    }
+    
+    private void appendRow(ComplianceResult result, Finding finding) throws IOException {
+        if (rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+        resourceIds[rows] = ref(result.resourceId());
+        regions[rows] = ref(result.region());
+        standards[rows] = (byte) result.standard().ordinal();
+        statuses[rows] = (byte) result.status().ordinal();
+        if (finding == null) {
+            severities[rows] = NO_FINDING;
+            findingIds[rows] = -1;
+            controlIds[rows] = -1;
+            descriptions[rows] = -1;
+            remediations[rows] = -1;
+            evidence[rows] = -1;
+        } else {
+            severities[rows] = (byte) finding.severity().ordinal();
+            findingIds[rows] = ref(finding.id());
+            controlIds[rows] = ref(finding.controlId());
+            descriptions[rows] = ref(finding.description());
+            remediations[rows] = ref(finding.remediation());
+            evidence[rows] = ref(finding.evidence());
+        }
+        rows++;
+    }
+    
+    private int ref(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer existing = dictionary.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        dictionaryValues.add(value);
+        dictionary.put(value, dictionaryValues.size() - 1);
+        return dictionaryValues.size() - 1;
+    }
+    
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        List<byte[]> encoded = new ArrayList<>(dictionaryValues.size());
+        int dictionaryBytes = 0;
+        for (String value : dictionaryValues) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            dictionaryBytes += Integer.BYTES + bytes.length;
+        }
+        ensureCapacity(2 * Integer.BYTES + dictionaryBytes + rows * (STRING_COLUMNS * Integer.BYTES + 3));
+        
+        buffer.putInt(rows).putInt(encoded.size());
+        for (byte[] bytes : encoded) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        putInts(resourceIds);
+        putInts(regions);
+        buffer.put(standards, 0, rows).put(statuses, 0, rows).put(severities, 0, rows);
+        putInts(findingIds);
+        putInts(controlIds);
+        putInts(descriptions);
+        putInts(remediations);
+        putInts(evidence);
+        drain();
+        
+        rows = 0;
+        dictionary.clear();
+        dictionaryValues.clear();
+    }
+    
+    private void putInts(int[] column) {
+        buffer.asIntBuffer().put(column, 0, rows);
+        buffer.position(buffer.position() + rows * Integer.BYTES);
+    }
+    
+    private void ensureCapacity(int bytes) {
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocate(Math.max(bytes, buffer.capacity() * 2));
+        }
+    }
+    
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    @Override
+    public long resourceCount() {
+        return resources;
+    }
+    
+    @Override
+    public long findingCount() {
+        return findings;
+    }
+    
+    @Override
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBlock();
+            buffer.putInt(0).putLong(resources).putLong(findings);
+            drain();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.cloudsec.compliance.export;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    NDJSON("ndjson"),
+    COLUMNAR("cfb");
+    
+    private final String fileExtension;
+    
+    ExportFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+    
+    public String getFileExtension() {
+        return fileExtension;
+    }
+    
+    public static ExportFormat parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.cloudsec.compliance.export;
+
+import com.cloudsec.compliance.model.ComplianceResult;
+
+import java.io.IOException;
+
+/**
+ * Sequential sink for scan results. Implementations buffer a bounded amount of data and write
+ * through to disk, so heap use does not grow with the number of records written.
+ */
+public interface FindingsWriter extends AutoCloseable {
+    
+    void write(ComplianceResult result) throws IOException;
+    
+    long resourceCount();
+    
+    long findingCount();
+    
+    /**
+     * Bytes handed to the file so far; exact once the writer is closed.
+     */
+    long bytesWritten();
+    
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,114 @@
+package com.cloudsec.compliance.export;
+
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.Finding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes one JSON object per line: a {@code "resource"} record per evaluated resource followed by a
+ * {@code "finding"} record for each of its findings. Records are generated straight into a 64 KB
+ * buffer over a {@link FileChannel}; nothing is retained between calls.
+ */
+public class NdjsonFindingsWriter implements FindingsWriter {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final FileChannel channel;
+    private final JsonGenerator generator;
+    private long resources;
+    private long findings;
+    private long finalSize = -1;
+    
+    public NdjsonFindingsWriter(Path path, JsonFactory jsonFactory) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.generator = jsonFactory.createGenerator(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+    
+    @Override
+    public void write(ComplianceResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("record", "resource");
+        writeResourceFields(result);
+        generator.writeStringField("status", result.status().name());
+        generator.writeNumberField("findingCount", result.findings().size());
+        generator.writeStringField("timestamp", result.timestamp());
+        generator.writeEndObject();
+        resources++;
+        
+        for (Finding finding : result.findings()) {
+            generator.writeStartObject();
+            generator.writeStringField("record", "finding");
+            writeResourceFields(result);
+            generator.writeStringField("id", finding.id());
+            generator.writeStringField("severity", finding.severity().name());
+            generator.writeStringField("controlId", finding.controlId());
+            generator.writeStringField("description", finding.description());
+            if (finding.remediation() != null) {
+                generator.writeStringField("remediation", finding.remediation());
+            }
+            if (finding.evidence() != null) {
+                generator.writeStringField("evidence", finding.evidence());
+            }
+            generator.writeEndObject();
+            findings++;
+        }
+    }
+    
+    private void writeResourceFields(ComplianceResult result) throws IOException {
+        generator.writeStringField("resourceId", result.resourceId());
+        generator.writeStringField("resourceType", result.resourceType());
+        generator.writeStringField("standard", result.standard().name());
+        if (result.region() != null) {
+            generator.writeStringField("region", result.region());
+        }
+    }
+    
+    @Override
+    public long resourceCount() {
+        return resources;
+    }
+    
+    @Override
+    public long findingCount() {
+        return findings;
+    }
+    
+    @Override
+    public long bytesWritten() {
+        if (finalSize >= 0) {
+            return finalSize;
+        }
+        try {
+            return channel.position();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (finalSize >= 0) {
+            return;
+        }
+        try {
+            if (resources > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            finalSize = channel.size();
+            channel.force(false);
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.cloudsec.compliance.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One AWS SDK operation including all of its retries.
+ */
+@Name("com.cloudsec.compliance.AwsCall")
+@Label("AWS Call")
+@Category({"Cloud Compliance", "AWS"})
+@Description("An AWS SDK operation, including retries")
+@StackTrace(false)
+public class AwsCallEvent extends jdk.jfr.Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Region")
+    public String region;
+
+    @Label("HTTP Status")
+    @Description("Status of the last attempt, or 0 when no response was received")
+    public int statusCode;
+
+    @Label("Attempts")
+    public int attempts;
+
+    @Label("AWS Request Id")
+    public String awsRequestId;
+
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,25 @@
+package com.cloudsec.compliance.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in one of the server's caches. For misses the event spans the load of the value.
+ */
+@Name("com.cloudsec.compliance.CacheAccess")
+@Label("Cache Access")
+@Category({"Cloud Compliance", "Cache"})
+@StackTrace(false)
+public class CacheAccessEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,96 @@
+package com.cloudsec.compliance.jfr;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts a flight recording with the JDK {@code default} settings plus the bundled {@code jfr/compliance.jfc}
+ * when {@code compliance.flight-recorder.recording-file} is set, and writes it to that file on shutdown.
+ * Recordings started with {@code -XX:StartFlightRecording} need none of this.
+ */
+@Slf4j
+@Component
+public class FlightRecording {
+
+    static final String CONFIGURATION = "jfr/compliance.jfc";
+
+    private final ComplianceProperties.FlightRecorder config;
+    private Recording recording;
+
+    public FlightRecording(ComplianceProperties properties) {
+        this.config = properties.getFlightRecorder();
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        String file = config.getRecordingFile();
+        if (file == null || file.isBlank() || recording != null) {
+            return;
+        }
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(complianceSettings());
+            Path destination = Path.of(file).toAbsolutePath();
+            if (destination.getParent() != null) {
+                Files.createDirectories(destination.getParent());
+            }
+            Recording started = new Recording(settings);
+            started.setName("cloud-compliance");
+            started.setToDisk(true);
+            started.setMaxAge(config.getMaxAge());
+            started.setDestination(destination);
+            started.start();
+            recording = started;
+            log.info("Flight recording started, written to {} on shutdown", destination);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            log.warn("Unable to start flight recording: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Settings of the bundled compliance event configuration.
+     */
+    public static Map<String, String> complianceSettings() throws IOException, ParseException {
+        try (InputStream in = FlightRecording.class.getClassLoader().getResourceAsStream(CONFIGURATION)) {
+            if (in == null) {
+                throw new IOException("Missing " + CONFIGURATION);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return Configuration.create(reader).getSettings();
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            // Stopping writes the recording to its destination.
+            recording.stop();
+        } catch (IllegalStateException e) {
+            log.debug("Flight recording already stopped: {}", e.getMessage());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cloudsec.compliance.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One JSON-RPC request handled by the MCP controller, from parsing to the serialized response.
+ */
+@Name("com.cloudsec.compliance.McpRequest")
+@Label("MCP Request")
+@Category({"Cloud Compliance", "MCP"})
+@Description("A JSON-RPC request handled by the MCP server")
+@StackTrace(false)
+public class McpRequestEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Tool")
+    public String tool;
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("Error")
+    @Description("Error message returned to the client, if any")
+    public String error;
+}
@@ -0,0 +1,25 @@
+package com.cloudsec.compliance.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A rate-limit decision for one operation.
+ */
+@Name("com.cloudsec.compliance.RateLimit")
+@Label("Rate Limit Decision")
+@Category({"Cloud Compliance", "MCP"})
+@StackTrace(false)
+public class RateLimitEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Count In Window")
+    public long count;
+
+    @Label("Allowed")
+    public boolean allowed;
+}
@@ -0,0 +1,37 @@
+package com.cloudsec.compliance.model;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An AWS account to act in, optionally with the exact role to assume there.
+ *
+ * @param accountId twelve-digit account id
+ * @param roleArn role to assume, or {@code null} to use the configured cross-account role name
+ */
+public record AccountTarget(String accountId, String roleArn) {
+
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\\d{12}");
+    private static final Pattern ROLE_ARN = Pattern.compile("arn:aws[a-z-]*:iam::(\\d{12}):role/[\\w+=,.@/-]{1,512}");
+
+    /**
+     * Parses either a twelve-digit account id or an IAM role ARN.
+     *
+     * @throws IllegalArgumentException if the value is neither
+     */
+    public static AccountTarget parse(String value) {
+        String trimmed = value == null ? "" : value.trim();
+        if (ACCOUNT_ID.matcher(trimmed).matches()) {
+            return new AccountTarget(trimmed, null);
+        }
+        Matcher roleArn = ROLE_ARN.matcher(trimmed);
+        if (roleArn.matches()) {
+            return new AccountTarget(roleArn.group(1), trimmed);
+        }
+        throw new IllegalArgumentException("Invalid account id or role ARN: " + value);
+    }
+
+    public boolean hasExplicitRole() {
+        return roleArn != null;
+    }
+}
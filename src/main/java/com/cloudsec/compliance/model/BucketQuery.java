@@ -0,0 +1,54 @@
+package com.cloudsec.compliance.model;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Server-side search criteria for bucket listings. All criteria are optional and combined with AND.
+ *
+ * @param bucketRegion region the bucket lives in, as reported by ListBuckets
+ * @param createdAfter inclusive lower bound on creation time
+ * @param createdBefore exclusive upper bound on creation time
+ */
+public record BucketQuery(
+    String namePrefix,
+    String nameContains,
+    Instant createdAfter,
+    Instant createdBefore,
+    String bucketRegion,
+    Sort sort
+) {
+    public static final BucketQuery NONE = new BucketQuery(null, null, null, null, null, null);
+    
+    public BucketQuery {
+        if (namePrefix != null && namePrefix.isEmpty()) namePrefix = null;
+        if (nameContains != null && nameContains.isEmpty()) nameContains = null;
+    }
+    
+    public boolean isEmpty() {
+        return namePrefix == null && nameContains == null && createdAfter == null
+            && createdBefore == null && bucketRegion == null && sort == null;
+    }
+    
+    public Sort effectiveSort() {
+        return sort != null ? sort : Sort.NAME_ASC;
+    }
+    
+    public enum Sort {
+        NAME_ASC,
+        NAME_DESC,
+        CREATED_ASC,
+        CREATED_DESC;
+        
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid sort: " + value);
+            }
+        }
+    }
+}
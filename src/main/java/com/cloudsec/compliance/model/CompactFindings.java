@@ -0,0 +1,400 @@
+package com.cloudsec.compliance.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, memory-compact container for findings of a large scan.
+ * <p>
+ * Control metadata lives once in a shared {@link ControlCatalog}; resource ids, evidence strings and
+ * descriptions of findings added in materialized form are deduplicated per container. Each finding costs a
+ * handful of primitive slots instead of a {@link Finding} object graph, and is only expanded into a
+ * {@code Finding} when read or serialized.
+ * <p>
+ * Not thread-safe while being built. Call {@link #seal()} once all findings are added; a sealed container
+ * is read-only and may be shared between threads.
+ */
+@JsonSerialize(using = CompactFindings.Serializer.class)
+public final class CompactFindings {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int DERIVED_ID = -1;
+    private static final int CATALOG_DESCRIPTION = -1;
+
+    private final ControlCatalog catalog;
+    private final StringPool resources = new StringPool();
+    private final StringPool evidence = new StringPool();
+    private final StringPool findingIds = new StringPool();
+    private final StringPool descriptions = new StringPool();
+
+    private int size;
+    private int[] resourceRefs = new int[INITIAL_CAPACITY];
+    private int[] controlRefs = new int[INITIAL_CAPACITY];
+    private byte[] severities = new byte[INITIAL_CAPACITY];
+    private int[] evidenceRefs = new int[INITIAL_CAPACITY];
+    private int[] findingIdRefs;
+    private int[] descriptionRefs;
+    private boolean sealed;
+    private volatile int[] keyOrder;
+
+    public CompactFindings(ControlCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public ControlCatalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Adds a finding for {@code resourceId} using the control's default severity.
+     */
+    public void add(String resourceId, int controlRef, String evidenceText) {
+        add(resourceId, controlRef, catalog.get(controlRef).severity(), evidenceText);
+    }
+
+    public void add(String resourceId, int controlRef, Finding.Severity severity, String evidenceText) {
+        append(resourceId, controlRef, severity, evidenceText, null, null);
+    }
+
+    /**
+     * Adds an already materialized finding. Only its control id, severity and remediation are interned
+     * into the shared catalog, which is never evicted; the description may carry per-resource text and is
+     * kept in this container.
+     *
+     * @throws IllegalArgumentException if the finding has no control id
+     */
+    public void add(String resourceId, Finding finding) {
+        String controlId = finding.controlId();
+        if (controlId == null || controlId.isBlank()) {
+            throw new IllegalArgumentException("Finding " + finding.id() + " has no control ID");
+        }
+        int controlRef = catalog.intern(new ControlDefinition(controlId, finding.severity(), controlId, finding.remediation()));
+        String derivedId = derivedId(controlId, resourceId);
+        append(resourceId, controlRef, finding.severity(), finding.evidence(),
+            derivedId.equals(finding.id()) ? null : finding.id(), finding.description());
+    }
+
+    private void append(String resourceId, int controlRef, Finding.Severity severity, String evidenceText, String customId,
+                        String description) {
+        if (sealed) {
+            throw new IllegalStateException("CompactFindings is sealed");
+        }
+        ensureCapacity(size + 1);
+        resourceRefs[size] = resources.intern(resourceId != null ? resourceId : "unknown");
+        controlRefs[size] = controlRef;
+        severities[size] = (byte) severity.ordinal();
+        evidenceRefs[size] = evidence.intern(evidenceText);
+        if (customId != null) {
+            if (findingIdRefs == null) {
+                findingIdRefs = new int[resourceRefs.length];
+                Arrays.fill(findingIdRefs, DERIVED_ID);
+            }
+            findingIdRefs[size] = findingIds.intern(customId);
+        } else if (findingIdRefs != null) {
+            findingIdRefs[size] = DERIVED_ID;
+        }
+        if (description != null) {
+            if (descriptionRefs == null) {
+                descriptionRefs = new int[resourceRefs.length];
+                Arrays.fill(descriptionRefs, CATALOG_DESCRIPTION);
+            }
+            descriptionRefs[size] = descriptions.intern(description);
+        } else if (descriptionRefs != null) {
+            descriptionRefs[size] = CATALOG_DESCRIPTION;
+        }
+        size++;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= resourceRefs.length) {
+            return;
+        }
+        int capacity = Math.max(required, resourceRefs.length + (resourceRefs.length >> 1));
+        resourceRefs = Arrays.copyOf(resourceRefs, capacity);
+        controlRefs = Arrays.copyOf(controlRefs, capacity);
+        severities = Arrays.copyOf(severities, capacity);
+        evidenceRefs = Arrays.copyOf(evidenceRefs, capacity);
+        if (findingIdRefs != null) {
+            int previous = findingIdRefs.length;
+            findingIdRefs = Arrays.copyOf(findingIdRefs, capacity);
+            Arrays.fill(findingIdRefs, previous, capacity, DERIVED_ID);
+        }
+        if (descriptionRefs != null) {
+            int previous = descriptionRefs.length;
+            descriptionRefs = Arrays.copyOf(descriptionRefs, capacity);
+            Arrays.fill(descriptionRefs, previous, capacity, CATALOG_DESCRIPTION);
+        }
+    }
+
+    /**
+     * Trims backing arrays and drops the deduplication indexes. No findings can be added afterwards.
+     */
+    public CompactFindings seal() {
+        if (!sealed) {
+            resourceRefs = Arrays.copyOf(resourceRefs, size);
+            controlRefs = Arrays.copyOf(controlRefs, size);
+            severities = Arrays.copyOf(severities, size);
+            evidenceRefs = Arrays.copyOf(evidenceRefs, size);
+            if (findingIdRefs != null) {
+                findingIdRefs = Arrays.copyOf(findingIdRefs, size);
+            }
+            if (descriptionRefs != null) {
+                descriptionRefs = Arrays.copyOf(descriptionRefs, size);
+            }
+            resources.seal();
+            evidence.seal();
+            findingIds.seal();
+            descriptions.seal();
+            sealed = true;
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String resourceId(int index) {
+        return resources.get(resourceRefs[checkIndex(index)]);
+    }
+
+    public int controlRef(int index) {
+        return controlRefs[checkIndex(index)];
+    }
+
+    public Finding.Severity severity(int index) {
+        return Finding.Severity.values()[severities[checkIndex(index)]];
+    }
+
+    public String evidence(int index) {
+        return evidence.get(evidenceRefs[checkIndex(index)]);
+    }
+
+    public String description(int index) {
+        if (descriptionRefs != null && descriptionRefs[checkIndex(index)] != CATALOG_DESCRIPTION) {
+            return descriptions.get(descriptionRefs[index]);
+        }
+        return catalog.get(controlRef(index)).description();
+    }
+
+    public String findingId(int index) {
+        String explicit = explicitId(checkIndex(index));
+        if (explicit != null) {
+            return explicit;
+        }
+        return derivedId(catalog.get(controlRefs[index]).controlId(), resourceId(index));
+    }
+
+    public Finding toFinding(int index) {
+        ControlDefinition control = catalog.get(controlRef(index));
+        return new Finding(
+            findingId(index),
+            severity(index),
+            control.controlId(),
+            description(index),
+            control.remediation(),
+            evidence(index)
+        );
+    }
+
+    /**
+     * Read-only list view that expands findings on access.
+     */
+    public List<Finding> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Finding get(int index) {
+                return toFinding(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Indexes of all findings ordered by resource id, then control id, then explicit finding id (findings
+     * using the derived id first). Computed once and cached; only available on a sealed container. Used for
+     * sorted-merge comparison of scans.
+     */
+    public int[] keyOrder() {
+        if (!sealed) {
+            throw new IllegalStateException("CompactFindings must be sealed before ordering");
+        }
+        int[] order = keyOrder;
+        if (order == null) {
+            order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, new int[size], 0, size);
+            keyOrder = order;
+        }
+        return order;
+    }
+
+    /**
+     * Compares the (resource id, control id, finding id) keys of two findings.
+     */
+    public int compareKeys(int index, int otherIndex) {
+        return compareKeys(this, index, this, otherIndex);
+    }
+
+    /**
+     * Compares keys field by field without materializing finding ids: once resource and control match, two
+     * derived ids are equal by construction, so only explicit ids need a string comparison.
+     */
+    public static int compareKeys(CompactFindings left, int leftIndex, CompactFindings right, int rightIndex) {
+        int cmp = left.resourceId(leftIndex).compareTo(right.resourceId(rightIndex));
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = left.catalog.get(left.controlRefs[leftIndex]).controlId()
+            .compareTo(right.catalog.get(right.controlRefs[rightIndex]).controlId());
+        if (cmp != 0) {
+            return cmp;
+        }
+        String leftId = left.explicitId(leftIndex);
+        String rightId = right.explicitId(rightIndex);
+        if (leftId == null || rightId == null) {
+            return leftId == null ? (rightId == null ? 0 : -1) : 1;
+        }
+        return leftId.compareTo(rightId);
+    }
+
+    private String explicitId(int index) {
+        return findingIdRefs != null && findingIdRefs[index] != DERIVED_ID ? findingIds.get(findingIdRefs[index]) : null;
+    }
+
+    private void mergeSort(int[] order, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, scratch, from, mid);
+        mergeSort(order, scratch, mid, to);
+        if (compareKeys(order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && compareKeys(scratch[left], scratch[right]) <= 0)) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    public SeverityHistogram severityHistogram() {
+        long[] counts = new long[Finding.Severity.values().length];
+        for (int i = 0; i < size; i++) {
+            counts[severities[i]]++;
+        }
+        return SeverityHistogram.fromOrdinalCounts(counts);
+    }
+
+    /**
+     * Approximate retained size of the per-finding columns and pooled strings, excluding the shared catalog.
+     */
+    public long estimatedBytes() {
+        long columns = (long) resourceRefs.length * (Integer.BYTES * 3 + 1)
+            + (findingIdRefs != null ? (long) findingIdRefs.length * Integer.BYTES : 0)
+            + (descriptionRefs != null ? (long) descriptionRefs.length * Integer.BYTES : 0);
+        return columns + resources.estimatedBytes() + evidence.estimatedBytes() + findingIds.estimatedBytes()
+            + descriptions.estimatedBytes();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    private static String derivedId(String controlId, String resourceId) {
+        return controlId + ":" + resourceId;
+    }
+
+    private static final class StringPool {
+        private final ArrayList<String> values = new ArrayList<>();
+        private Map<String, Integer> index = new HashMap<>();
+
+        int intern(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer ref = index.get(value);
+            if (ref != null) {
+                return ref;
+            }
+            values.add(value);
+            index.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        String get(int ref) {
+            return ref < 0 ? null : values.get(ref);
+        }
+
+        void seal() {
+            values.trimToSize();
+            index = Map.of();
+        }
+
+        long estimatedBytes() {
+            long bytes = 0;
+            for (String value : values) {
+                bytes += 40 + value.length();
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Streams findings as a JSON array, expanding one finding at a time.
+     */
+    public static final class Serializer extends StdSerializer<CompactFindings> {
+
+        public Serializer() {
+            super(CompactFindings.class);
+        }
+
+        @Override
+        public void serialize(CompactFindings findings, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray();
+            for (int i = 0; i < findings.size(); i++) {
+                ControlDefinition control = findings.catalog.get(findings.controlRefs[i]);
+                gen.writeStartObject();
+                gen.writeStringField("resourceId", findings.resourceId(i));
+                gen.writeStringField("id", findings.findingId(i));
+                gen.writeStringField("severity", findings.severity(i).name());
+                gen.writeStringField("controlId", control.controlId());
+                gen.writeStringField("description", findings.description(i));
+                if (control.remediation() != null) {
+                    gen.writeStringField("remediation", control.remediation());
+                }
+                String evidenceText = findings.evidence(i);
+                if (evidenceText != null) {
+                    gen.writeStringField("evidence", evidenceText);
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
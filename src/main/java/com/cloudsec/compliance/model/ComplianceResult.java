@@ -5,7 +5,9 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 public record ComplianceResult(
     @NotBlank(message = "Resource ID cannot be blank")
@@ -33,7 +35,7 @@ public record ComplianceResult(
     String region
 ) {
     public ComplianceResult {
-        if (findings == null) findings = List.of();
+        findings = FindingList.of(findings);
         if (timestamp == null) timestamp = LocalDateTime.now().toString();
         if (resourceId == null || resourceId.trim().isEmpty()) {
             throw new IllegalArgumentException("Resource ID cannot be blank");
@@ -56,16 +58,50 @@ public record ComplianceResult(
         return status == ComplianceStatus.COMPLIANT;
     }
     
+    /**
+     * Finding counts per severity, computed once when the result is created from the same copy of the
+     * findings it exposes, so they cannot disagree. Not part of the serialized result.
+     */
+    public SeverityHistogram severityCounts() {
+        return ((FindingList) findings).severityCounts;
+    }
+    
     public long getCountBySeverity(Finding.Severity severity) {
-        return findings.stream()
-            .filter(finding -> finding.severity() == severity)
-            .count();
+        return severityCounts().count(severity);
     }
     
     public Finding.Severity getHighestSeverity() {
-        return findings.stream()
-            .map(Finding::severity)
-            .max((s1, s2) -> Integer.compare(s1.getNumericValue(), s2.getNumericValue()))
-            .orElse(Finding.Severity.INFO);
+        return severityCounts().highest();
+    }
+    
+    /**
+     * Immutable copy of the findings that carries their severity histogram, since a record cannot hold
+     * state outside its components.
+     */
+    private static final class FindingList extends AbstractList<Finding> implements RandomAccess {
+        private final List<Finding> findings;
+        private final SeverityHistogram severityCounts;
+        
+        private FindingList(List<Finding> findings) {
+            this.findings = findings;
+            this.severityCounts = SeverityHistogram.of(findings);
+        }
+        
+        static FindingList of(List<Finding> findings) {
+            if (findings instanceof FindingList list) {
+                return list;
+            }
+            return new FindingList(findings == null ? List.of() : List.copyOf(findings));
+        }
+        
+        @Override
+        public Finding get(int index) {
+            return findings.get(index);
+        }
+        
+        @Override
+        public int size() {
+            return findings.size();
+        }
     }
 }
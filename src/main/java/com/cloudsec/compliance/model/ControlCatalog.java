@@ -0,0 +1,49 @@
+package com.cloudsec.compliance.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns control metadata so findings can refer to a control by a small integer id.
+ * <p>
+ * Lookups are lock-free; registration of a new control copies the definition array, which is
+ * cheap because a deployment only has tens of distinct controls.
+ */
+public final class ControlCatalog {
+    
+    private final Map<ControlDefinition, Integer> ids = new ConcurrentHashMap<>();
+    private volatile ControlDefinition[] definitions = new ControlDefinition[0];
+    
+    public int intern(ControlDefinition definition) {
+        Integer id = ids.get(definition);
+        if (id != null) {
+            return id;
+        }
+        
+        synchronized (this) {
+            id = ids.get(definition);
+            if (id != null) {
+                return id;
+            }
+            ControlDefinition[] current = definitions;
+            ControlDefinition[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = definition;
+            definitions = grown;
+            ids.put(definition, current.length);
+            return current.length;
+        }
+    }
+    
+    public ControlDefinition get(int id) {
+        ControlDefinition[] current = definitions;
+        if (id < 0 || id >= current.length) {
+            throw new IllegalArgumentException("Unknown control reference: " + id);
+        }
+        return current[id];
+    }
+    
+    public int size() {
+        return definitions.length;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cloudsec.compliance.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Static metadata shared by every finding raised for a control.
+ */
+public record ControlDefinition(
+    @NotBlank(message = "Control ID cannot be blank")
+    String controlId,
+    
+    @NotNull(message = "Severity cannot be null")
+    Finding.Severity severity,
+    
+    @NotBlank(message = "Description cannot be blank")
+    String description,
+    
+    String remediation
+) {
+    public ControlDefinition {
+        if (controlId == null || controlId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Control ID cannot be blank");
+        }
+        if (severity == null) {
+            throw new IllegalArgumentException("Severity cannot be null");
+        }
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Description cannot be blank");
+        }
+    }
+}
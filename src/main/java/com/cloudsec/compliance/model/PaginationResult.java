@@ -13,10 +13,16 @@ public record PaginationResult<T>(
     String nextPageToken,
     
     @NotNull(message = "HasMore flag cannot be null")
-    Boolean hasMore
+    Boolean hasMore,
+    
+    Integer totalItems
 ) {
     public PaginationResult {
         if (items == null) items = List.of();
         if (hasMore == null) hasMore = false;
     }
+    
+    public PaginationResult(List<T> items, String nextPageToken, Boolean hasMore) {
+        this(items, nextPageToken, hasMore, null);
+    }
 }
@@ -0,0 +1,70 @@
+package com.cloudsec.compliance.model;
+
+import java.util.Locale;
+
+/**
+ * One ingress permission of a security group: a protocol and port range reachable from one CIDR block.
+ * Rules for all protocols ({@code -1}) cover every port; TCP and UDP rules must carry a valid range, while
+ * the ports of other protocols (ICMP type and code) are kept as given and never evaluated.
+ */
+public record SecurityGroupRule(
+    String groupId,
+    
+    String groupName,
+    
+    String vpcId,
+    
+    String protocol,
+    
+    int fromPort,
+    
+    int toPort,
+    
+    String cidr,
+    
+    String description
+) {
+    public static final int MIN_PORT = 0;
+    public static final int MAX_PORT = 65535;
+    
+    public SecurityGroupRule {
+        if (groupId == null || groupId.isBlank()) {
+            throw new IllegalArgumentException("Security group ID cannot be blank");
+        }
+        protocol = protocol == null ? "-1" : protocol.toLowerCase(Locale.ROOT);
+        if (isAllTraffic(protocol)) {
+            fromPort = MIN_PORT;
+            toPort = MAX_PORT;
+        } else if (hasPorts(protocol) && (fromPort < MIN_PORT || toPort > MAX_PORT || fromPort > toPort)) {
+            throw new IllegalArgumentException("Invalid port range " + fromPort + "-" + toPort
+                + " for protocol " + protocol + " in security group " + groupId);
+        }
+    }
+    
+    /**
+     * Whether the rule applies to port-based traffic, i.e. TCP, UDP or all protocols.
+     */
+    public boolean hasPorts() {
+        return hasPorts(protocol);
+    }
+    
+    private static boolean hasPorts(String protocol) {
+        return switch (protocol) {
+            case "tcp", "6", "udp", "17", "-1", "all" -> true;
+            default -> false;
+        };
+    }
+    
+    public String protocolName() {
+        return switch (protocol) {
+            case "6" -> "tcp";
+            case "17" -> "udp";
+            case "-1", "all" -> "all";
+            default -> protocol;
+        };
+    }
+    
+    private static boolean isAllTraffic(String protocol) {
+        return "-1".equals(protocol) || "all".equals(protocol);
+    }
+}
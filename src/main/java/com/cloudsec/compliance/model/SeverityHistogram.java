@@ -0,0 +1,72 @@
+package com.cloudsec.compliance.model;
+
+import java.util.List;
+
+/**
+ * Finding counts per severity. Each {@link ComplianceResult} computes its histogram once when created, so
+ * severity queries and posture aggregation never rescan its findings.
+ */
+public record SeverityHistogram(
+    long critical,
+    long high,
+    long medium,
+    long low,
+    long info
+) {
+    public static final SeverityHistogram EMPTY = new SeverityHistogram(0, 0, 0, 0, 0);
+    
+    public static SeverityHistogram of(List<Finding> findings) {
+        long[] counts = new long[Finding.Severity.values().length];
+        for (Finding finding : findings) {
+            if (finding != null && finding.severity() != null) {
+                counts[finding.severity().ordinal()]++;
+            }
+        }
+        return fromOrdinalCounts(counts);
+    }
+    
+    /**
+     * Builds a histogram from counts indexed by {@link Finding.Severity#ordinal()}.
+     */
+    public static SeverityHistogram fromOrdinalCounts(long[] counts) {
+        return new SeverityHistogram(
+            counts[Finding.Severity.CRITICAL.ordinal()],
+            counts[Finding.Severity.HIGH.ordinal()],
+            counts[Finding.Severity.MEDIUM.ordinal()],
+            counts[Finding.Severity.LOW.ordinal()],
+            counts[Finding.Severity.INFO.ordinal()]
+        );
+    }
+    
+    public long count(Finding.Severity severity) {
+        return switch (severity) {
+            case CRITICAL -> critical;
+            case HIGH -> high;
+            case MEDIUM -> medium;
+            case LOW -> low;
+            case INFO -> info;
+        };
+    }
+    
+    public long total() {
+        return critical + high + medium + low + info;
+    }
+    
+    public Finding.Severity highest() {
+        if (critical > 0) return Finding.Severity.CRITICAL;
+        if (high > 0) return Finding.Severity.HIGH;
+        if (medium > 0) return Finding.Severity.MEDIUM;
+        if (low > 0) return Finding.Severity.LOW;
+        return Finding.Severity.INFO;
+    }
+    
+    public SeverityHistogram plus(SeverityHistogram other) {
+        return new SeverityHistogram(critical + other.critical, high + other.high, medium + other.medium,
+            low + other.low, info + other.info);
+    }
+    
+    public SeverityHistogram minus(SeverityHistogram other) {
+        return new SeverityHistogram(critical - other.critical, high - other.high, medium - other.medium,
+            low - other.low, info - other.info);
+    }
+}
@@ -0,0 +1,36 @@
+package com.cloudsec.compliance.perf;
+
+import com.cloudsec.compliance.util.LatencyHistogram;
+
+import java.util.Map;
+
+/**
+ * Outcome of a transcript replay. Latency summaries are in microseconds and keyed by JSON-RPC method
+ * ({@code byMethod}) and by {@code tools/call} tool name ({@code byTool}).
+ */
+public record ReplayReport(
+    long requests,
+    long errors,
+    long durationMillis,
+    double throughputPerSecond,
+    Map<String, LatencyHistogram.Summary> byMethod,
+    Map<String, LatencyHistogram.Summary> byTool
+) {
+    public String toTable() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("requests=%d errors=%d duration=%dms throughput=%.1f req/s%n",
+            requests, errors, durationMillis, throughputPerSecond));
+        appendSection(out, "method", byMethod);
+        appendSection(out, "tool", byTool);
+        return out.toString();
+    }
+    
+    private static void appendSection(StringBuilder out, String label, Map<String, LatencyHistogram.Summary> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        out.append(String.format("%n%-32s %8s %10s %10s %10s %10s%n", label, "count", "p50(us)", "p90(us)", "p99(us)", "max(us)"));
+        rows.forEach((key, summary) -> out.append(String.format("%-32s %8d %10d %10d %10d %10d%n",
+            key, summary.count(), summary.p50(), summary.p90(), summary.p99(), summary.max())));
+    }
+}
@@ -0,0 +1,17 @@
+package com.cloudsec.compliance.perf;
+
+/**
+ * A server the replayer can drive. Implementations block until the response for the request is available.
+ */
+@FunctionalInterface
+public interface ReplayTarget extends AutoCloseable {
+    
+    /**
+     * Sends one JSON-RPC request line and returns its response line, or {@code null} for notifications.
+     */
+    String send(String requestLine) throws Exception;
+    
+    @Override
+    default void close() throws Exception {
+    }
+}
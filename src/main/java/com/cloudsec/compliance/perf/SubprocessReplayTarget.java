@@ -0,0 +1,111 @@
+package com.cloudsec.compliance.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a server started as a child process over its stdio transport. Requests may be pipelined;
+ * responses are matched back to callers by JSON-RPC id.
+ */
+@Slf4j
+public class SubprocessReplayTarget implements ReplayTarget {
+    
+    private static final long RESPONSE_TIMEOUT_SECONDS = 120;
+    
+    private final ObjectMapper objectMapper;
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    
+    public SubprocessReplayTarget(List<String> command, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        
+        Thread reader = new Thread(this::readResponses, "replay-subprocess-reader");
+        reader.setDaemon(true);
+        reader.start();
+        
+        awaitReady();
+    }
+    
+    /**
+     * Blocks until the child answers a probe request so JVM start-up is not attributed to replayed requests.
+     */
+    private void awaitReady() throws IOException {
+        try {
+            send("{\"jsonrpc\":\"2.0\",\"method\":\"initialize\",\"id\":\"replay-ready-probe\"}");
+        } catch (Exception e) {
+            close();
+            throw new IOException("Subprocess did not become ready", e);
+        }
+    }
+    
+    @Override
+    public String send(String requestLine) throws Exception {
+        JsonNode id = objectMapper.readTree(requestLine).get("id");
+        CompletableFuture<String> response = null;
+        if (id != null && !id.isNull()) {
+            response = new CompletableFuture<>();
+            pending.put(id.asText(), response);
+        }
+        
+        synchronized (stdin) {
+            stdin.write(requestLine);
+            stdin.newLine();
+            stdin.flush();
+        }
+        
+        return response == null ? null : response.get(RESPONSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+    
+    private void readResponses() {
+        try (BufferedReader stdout = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = stdout.readLine()) != null) {
+                try {
+                    JsonNode id = objectMapper.readTree(line).get("id");
+                    if (id == null || id.isNull()) continue;
+                    CompletableFuture<String> waiter = pending.remove(id.asText());
+                    if (waiter != null) {
+                        waiter.complete(line);
+                    }
+                } catch (IOException e) {
+                    log.debug("Ignoring non JSON-RPC output line from subprocess");
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Subprocess output closed: {}", e.getMessage());
+        }
+        pending.values().forEach(waiter -> waiter.completeExceptionally(new IOException("Subprocess exited")));
+    }
+    
+    @Override
+    public void close() throws IOException {
+        stdin.close();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroy();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+        }
+    }
+}
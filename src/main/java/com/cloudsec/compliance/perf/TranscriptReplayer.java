@@ -0,0 +1,202 @@
+package com.cloudsec.compliance.perf;
+
+import com.cloudsec.compliance.CloudComplianceApplication;
+import com.cloudsec.compliance.controller.McpController;
+import com.cloudsec.compliance.util.LatencyHistogram;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a recorded MCP transcript against a server and reports throughput and latency percentiles
+ * per JSON-RPC method and per tool.
+ * <p>
+ * Transcript lines are either entries written by {@link com.cloudsec.compliance.components.TranscriptRecorder}
+ * ({@code {"offsetMillis":..,"request":"..."}}) or raw JSON-RPC request lines. Recorded offsets are honoured
+ * divided by the speed-up factor; a speed-up of 0 replays as fast as the concurrency limit allows.
+ * Request ids are rewritten to unique sequence numbers so pipelined responses can be matched.
+ * <p>
+ * Usage: {@code --transcript=<file> [--concurrency=4] [--speedup=1] [--target=inprocess|subprocess]
+ * [--command="java -jar target/cloud-compliance-mcp-0.1.0.jar"]}
+ */
+@Slf4j
+public class TranscriptReplayer {
+    
+    private final ObjectMapper objectMapper;
+    private final ReplayTarget target;
+    private final int concurrency;
+    private final double speedup;
+    
+    public TranscriptReplayer(ObjectMapper objectMapper, ReplayTarget target, int concurrency, double speedup) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        this.objectMapper = objectMapper;
+        this.target = target;
+        this.concurrency = concurrency;
+        this.speedup = speedup;
+    }
+    
+    public ReplayReport replay(BufferedReader transcript) throws IOException, InterruptedException {
+        Map<String, LatencyHistogram> byMethod = new ConcurrentHashMap<>();
+        Map<String, LatencyHistogram> byTool = new ConcurrentHashMap<>();
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong sequence = new AtomicLong();
+        Semaphore inFlight = new Semaphore(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        
+        try {
+            String line;
+            while ((line = transcript.readLine()) != null) {
+                if (line.isBlank()) continue;
+                
+                ReplayEntry entry = parseEntry(line, sequence);
+                if (speedup > 0 && entry.offsetMillis() >= 0) {
+                    long due = start + (long) (entry.offsetMillis() * 1_000_000L / speedup);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                }
+                
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        long sent = System.nanoTime();
+                        String response = target.send(entry.requestLine());
+                        long micros = (System.nanoTime() - sent) / 1_000;
+                        
+                        byMethod.computeIfAbsent(entry.method(), k -> new LatencyHistogram()).record(micros);
+                        if (entry.tool() != null) {
+                            byTool.computeIfAbsent(entry.tool(), k -> new LatencyHistogram()).record(micros);
+                        }
+                        if (response != null && objectMapper.readTree(response).has("error")) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        log.debug("Replay request failed: {}", e.getMessage());
+                        errors.incrementAndGet();
+                    } finally {
+                        requests.incrementAndGet();
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        
+        long durationNanos = Math.max(1, System.nanoTime() - start);
+        return new ReplayReport(
+            requests.get(),
+            errors.get(),
+            durationNanos / 1_000_000,
+            requests.get() * 1_000_000_000.0 / durationNanos,
+            summarize(byMethod),
+            summarize(byTool)
+        );
+    }
+    
+    private ReplayEntry parseEntry(String line, AtomicLong sequence) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        long offsetMillis = -1;
+        if (node.has("request") && node.get("request").isTextual()) {
+            offsetMillis = node.path("offsetMillis").asLong(-1);
+            node = objectMapper.readTree(node.get("request").asText());
+        }
+        
+        if (node instanceof ObjectNode request && request.hasNonNull("id")) {
+            request.put("id", sequence.incrementAndGet());
+        }
+        
+        String method = node.path("method").asText("unknown");
+        String tool = "tools/call".equals(method) ? node.path("params").path("name").asText(null) : null;
+        return new ReplayEntry(offsetMillis, objectMapper.writeValueAsString(node), method, tool);
+    }
+    
+    private static Map<String, LatencyHistogram.Summary> summarize(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram.Summary> summaries = new TreeMap<>();
+        histograms.forEach((key, histogram) -> summaries.put(key, histogram.summary()));
+        return summaries;
+    }
+    
+    private record ReplayEntry(long offsetMillis, String requestLine, String method, String tool) {}
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String transcript = options.get("transcript");
+        if (transcript == null) {
+            System.err.println("Usage: --transcript=<file> [--concurrency=4] [--speedup=1] "
+                + "[--target=inprocess|subprocess] [--command=\"java -jar target/cloud-compliance-mcp-0.1.0.jar\"]");
+            System.exit(2);
+        }
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "4"));
+        double speedup = Double.parseDouble(options.getOrDefault("speedup", "1"));
+        
+        try (ReplayTarget target = createTarget(options, objectMapper);
+             BufferedReader reader = Files.newBufferedReader(Path.of(transcript), StandardCharsets.UTF_8)) {
+            ReplayReport report = new TranscriptReplayer(objectMapper, target, concurrency, speedup).replay(reader);
+            System.out.print(report.toTable());
+        }
+    }
+    
+    private static ReplayTarget createTarget(Map<String, String> options, ObjectMapper objectMapper) throws IOException {
+        if ("subprocess".equals(options.getOrDefault("target", "inprocess"))) {
+            String command = options.getOrDefault("command", "java -jar target/cloud-compliance-mcp-0.1.0.jar");
+            return new SubprocessReplayTarget(Arrays.asList(command.trim().split("\\s+")), objectMapper);
+        }
+        
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CloudComplianceApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("compliance.mcp.stdio-enabled=false")
+            .run();
+        McpController controller = context.getBean(McpController.class);
+        return new ReplayTarget() {
+            @Override
+            public String send(String requestLine) throws Exception {
+                return controller.processRequest(requestLine);
+            }
+            
+            @Override
+            public void close() {
+                context.close();
+            }
+        };
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
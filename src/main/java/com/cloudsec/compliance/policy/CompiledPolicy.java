@@ -0,0 +1,170 @@
+package com.cloudsec.compliance.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A bucket policy parsed once into matchers, answering access questions without touching JSON again.
+ * <p>
+ * Resource patterns referring to the policy's own bucket are stored with {@link PolicyCompiler#BUCKET}
+ * in place of the bucket name, so one compiled policy serves every bucket created from the same template;
+ * callers pass the bucket name when a question involves resources. Condition blocks are not evaluated:
+ * a condition on one of {@link #RESTRICTING_CONDITION_KEYS} keeps a statement from counting as public,
+ * and {@link #isAllowed} only considers unconditional statements.
+ */
+public final class CompiledPolicy {
+
+    /**
+     * Condition keys that limit a statement to known networks, organisations or accounts.
+     */
+    static final Set<String> RESTRICTING_CONDITION_KEYS = Set.of(
+        "aws:sourceip", "aws:sourcevpc", "aws:sourcevpce", "aws:principalorgid", "aws:principalorgpaths",
+        "aws:principalaccount", "aws:principalarn", "aws:sourceaccount", "aws:sourcearn", "aws:sourceowner",
+        "aws:userid", "s3:dataaccesspointaccount", "s3:dataaccesspointarn"
+    );
+
+    private final List<Statement> statements;
+
+    CompiledPolicy(List<Statement> statements) {
+        this.statements = List.copyOf(statements);
+    }
+
+    public int statementCount() {
+        return statements.size();
+    }
+
+    /**
+     * Allow statements that grant access to anyone, as {@code sid: actions} descriptions.
+     */
+    public List<String> publicGrants() {
+        List<String> grants = new ArrayList<>();
+        for (Statement statement : statements) {
+            if (statement.allow() && statement.principals().matchesAnyone() && !statement.restricted()) {
+                grants.add(statement.describe());
+            }
+        }
+        return grants;
+    }
+
+    public boolean isPublic() {
+        return !publicGrants().isEmpty();
+    }
+
+    /**
+     * Account ids other than {@code ownerAccount} that Allow statements name as principals.
+     */
+    public Set<String> externalAccounts(String ownerAccount) {
+        Set<String> accounts = new TreeSet<>();
+        for (Statement statement : statements) {
+            if (statement.allow() && !statement.principals().negated()) {
+                for (String account : statement.principals().referencedAccounts()) {
+                    if (!account.equals(ownerAccount)) {
+                        accounts.add(account);
+                    }
+                }
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * Whether unconditional statements allow {@code principal} (an IAM ARN, an account id, or {@code *} for
+     * anonymous callers) to perform {@code action} on {@code resource} of {@code bucketName}. An explicit
+     * deny wins over any allow.
+     */
+    public boolean isAllowed(String principal, String action, String resource, String bucketName) {
+        String templated = PolicyCompiler.templateResource(resource, bucketName);
+        boolean allowed = false;
+        for (Statement statement : statements) {
+            if (statement.conditional() || !statement.applies(principal, action, templated)) {
+                continue;
+            }
+            if (!statement.allow()) {
+                return false;
+            }
+            allowed = true;
+        }
+        return allowed;
+    }
+
+    record Statement(
+        String sid,
+
+        boolean allow,
+
+        PrincipalMatcher principals,
+
+        List<WildcardPattern> actions,
+
+        boolean notAction,
+
+        List<WildcardPattern> resources,
+
+        boolean notResource,
+
+        boolean conditional,
+
+        boolean restricted
+    ) {
+        boolean applies(String principal, String action, String resource) {
+            return principals.matches(principal)
+                && anyMatch(actions, action) != notAction
+                && anyMatch(resources, resource) != notResource;
+        }
+
+        String describe() {
+            return (sid != null ? sid : "statement") + ": " + (notAction ? "all actions except " : "") + actions;
+        }
+
+        private static boolean anyMatch(List<WildcardPattern> patterns, String value) {
+            for (WildcardPattern pattern : patterns) {
+                if (pattern.matches(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The principals of a statement. {@code accounts} are whole-account grants (bare ids and root ARNs),
+     * {@code arns} specific principals, and {@code referencedAccounts} every account either names.
+     * {@code negated} is set for {@code NotPrincipal}, which applies to everyone not listed.
+     */
+    record PrincipalMatcher(
+        boolean everyone,
+
+        Set<String> accounts,
+
+        List<WildcardPattern> arns,
+
+        Set<String> referencedAccounts,
+
+        boolean negated
+    ) {
+        boolean matchesAnyone() {
+            return everyone != negated;
+        }
+
+        boolean matches(String principal) {
+            return listed(principal) != negated;
+        }
+
+        private boolean listed(String principal) {
+            if (everyone) {
+                return true;
+            }
+            if (accounts.contains(principal) || accounts.contains(PolicyCompiler.accountOf(principal))) {
+                return true;
+            }
+            for (WildcardPattern arn : arns) {
+                if (arn.matches(principal)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
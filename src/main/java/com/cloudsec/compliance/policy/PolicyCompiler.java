@@ -0,0 +1,241 @@
+package com.cloudsec.compliance.policy;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles bucket policy documents into {@link CompiledPolicy} instances, memoized by content hash.
+ * <p>
+ * Before hashing, the bucket's own ARN is replaced by a placeholder, so buckets whose policies come from
+ * the same template (identical apart from the bucket name) share a single compiled policy and the JSON is
+ * parsed once per template rather than once per bucket and control.
+ */
+@Slf4j
+@Component
+public class PolicyCompiler {
+
+    static final String BUCKET = "${bucket}";
+
+    private static final String BUCKET_ARN_PREFIX = "arn:aws:s3:::";
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\\d{12}");
+    private static final Pattern ARN_ACCOUNT = Pattern.compile("^arn:[^:]+:(?:iam|sts)::(\\d{12}):(.*)$");
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CompiledPolicy> compiled;
+
+    public PolicyCompiler(ComplianceProperties properties, ObjectMapper objectMapper) {
+        ComplianceProperties.CacheSpec spec = properties.getCache().getCompiledPolicies();
+        this.objectMapper = objectMapper;
+        this.compiled = Caffeine.newBuilder()
+            .maximumSize(spec.isEnabled() ? spec.getMaxSize() : 0)
+            .expireAfterAccess(spec.getTtl())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Compiled form of {@code bucketName}'s policy.
+     *
+     * @throws IllegalArgumentException if the document is not a valid policy
+     */
+    public CompiledPolicy compile(String bucketName, String policy) {
+        String template = templateDocument(policy, bucketName);
+        return compiled.get(sha256(template), hash -> parse(template));
+    }
+
+    public long hitCount() {
+        return compiled.stats().hitCount();
+    }
+
+    public long missCount() {
+        return compiled.stats().missCount();
+    }
+
+    /**
+     * Replaces the bucket's own ARN in a policy document with the placeholder. Like
+     * {@link #templateResource}, an occurrence only counts when the ARN ends there, at the closing quote or
+     * at a {@code /}, so {@code arn:aws:s3:::site} is not templated inside {@code arn:aws:s3:::site-logs}
+     * or {@code arn:aws:s3:::site*}.
+     */
+    static String templateDocument(String policy, String bucketName) {
+        String bucketArn = BUCKET_ARN_PREFIX + bucketName;
+        int match = policy.indexOf(bucketArn);
+        if (match < 0) {
+            return policy;
+        }
+        StringBuilder template = new StringBuilder(policy.length());
+        int copied = 0;
+        while (match >= 0) {
+            int end = match + bucketArn.length();
+            if (endsArn(policy, end)) {
+                template.append(policy, copied, match).append(BUCKET_ARN_PREFIX).append(BUCKET);
+                copied = end;
+            }
+            match = policy.indexOf(bucketArn, end);
+        }
+        return template.append(policy, copied, policy.length()).toString();
+    }
+
+    private static boolean endsArn(String document, int index) {
+        if (index >= document.length()) {
+            return false;
+        }
+        char next = document.charAt(index);
+        return next == '"' || next == '/'
+            || (next == '\\' && index + 1 < document.length() && document.charAt(index + 1) == '/');
+    }
+
+    static String templateResource(String resource, String bucketName) {
+        String bucketArn = BUCKET_ARN_PREFIX + bucketName;
+        if (resource != null && resource.startsWith(bucketArn)
+            && (resource.length() == bucketArn.length() || resource.charAt(bucketArn.length()) == '/')) {
+            return BUCKET_ARN_PREFIX + BUCKET + resource.substring(bucketArn.length());
+        }
+        return resource;
+    }
+
+    /**
+     * Account id of an IAM or STS ARN or a bare account id, or {@code null}.
+     */
+    static String accountOf(String principal) {
+        if (principal == null) {
+            return null;
+        }
+        if (ACCOUNT_ID.matcher(principal).matches()) {
+            return principal;
+        }
+        Matcher arn = ARN_ACCOUNT.matcher(principal);
+        return arn.matches() ? arn.group(1) : null;
+    }
+
+    private CompiledPolicy parse(String document) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Bucket policy is not valid JSON", e);
+        }
+        JsonNode statementNode = root.path("Statement");
+        if (!statementNode.isArray() && !statementNode.isObject()) {
+            throw new IllegalArgumentException("Bucket policy has no statements");
+        }
+
+        List<CompiledPolicy.Statement> statements = new ArrayList<>();
+        for (JsonNode statement : statementNode.isArray() ? statementNode : List.of(statementNode)) {
+            statements.add(statement(statement));
+        }
+        log.debug("Compiled bucket policy with {} statements", statements.size());
+        return new CompiledPolicy(statements);
+    }
+
+    private CompiledPolicy.Statement statement(JsonNode node) {
+        boolean notAction = node.has("NotAction");
+        boolean notResource = node.has("NotResource");
+        JsonNode condition = node.path("Condition");
+        return new CompiledPolicy.Statement(
+            node.path("Sid").asText(null),
+            "Allow".equalsIgnoreCase(node.path("Effect").asText()),
+            principals(node),
+            strings(node.path(notAction ? "NotAction" : "Action")).stream().map(WildcardPattern::action).toList(),
+            notAction,
+            strings(node.path(notResource ? "NotResource" : "Resource")).stream().map(WildcardPattern::exact).toList(),
+            notResource,
+            condition.isObject() && !condition.isEmpty(),
+            restricts(condition)
+        );
+    }
+
+    private CompiledPolicy.PrincipalMatcher principals(JsonNode node) {
+        boolean negated = node.has("NotPrincipal");
+        JsonNode principal = node.path(negated ? "NotPrincipal" : "Principal");
+        boolean everyone = false;
+        Set<String> accounts = new HashSet<>();
+        List<WildcardPattern> arns = new ArrayList<>();
+        Set<String> referenced = new HashSet<>();
+
+        if (principal.isTextual()) {
+            everyone = "*".equals(principal.asText());
+        } else {
+            for (Iterator<Map.Entry<String, JsonNode>> it = principal.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                for (String value : strings(entry.getValue())) {
+                    if ("*".equals(value)) {
+                        everyone |= "AWS".equals(entry.getKey());
+                        continue;
+                    }
+                    if (!"AWS".equals(entry.getKey())) {
+                        arns.add(WildcardPattern.exact(value));
+                        continue;
+                    }
+                    String account = accountOf(value);
+                    if (account != null) {
+                        referenced.add(account);
+                    }
+                    if (account != null && (value.equals(account) || value.endsWith(":root"))) {
+                        accounts.add(account);
+                    } else {
+                        arns.add(WildcardPattern.exact(value));
+                    }
+                }
+            }
+        }
+        return new CompiledPolicy.PrincipalMatcher(everyone, Set.copyOf(accounts), List.copyOf(arns),
+            Set.copyOf(referenced), negated);
+    }
+
+    /**
+     * Whether a condition block limits the statement to specific sources, organisations or accounts.
+     */
+    private static boolean restricts(JsonNode condition) {
+        for (JsonNode keys : condition) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = keys.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                if (CompiledPolicy.RESTRICTING_CONDITION_KEYS.contains(entry.getKey().toLowerCase(Locale.ROOT))
+                    && !strings(entry.getValue()).contains("*")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<String> strings(JsonNode node) {
+        if (node.isTextual()) {
+            return List.of(node.asText());
+        }
+        List<String> values = new ArrayList<>(node.size());
+        for (JsonNode value : node) {
+            values.add(value.asText());
+        }
+        return values;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.cloudsec.compliance.policy;
+
+import java.util.Locale;
+
+/**
+ * IAM-style wildcard pattern where {@code *} matches any run of characters and {@code ?} any single one.
+ * <p>
+ * The pattern is classified once when compiled so the common shapes ({@code *}, literals and trailing
+ * {@code *}) match with a single comparison; only patterns with inner wildcards fall back to a linear
+ * backtracking match. No regular expressions are involved.
+ */
+public final class WildcardPattern {
+
+    private enum Kind { ANY, EXACT, PREFIX, GLOB }
+
+    private final String pattern;
+    private final boolean ignoreCase;
+    private final Kind kind;
+    private final String literal;
+
+    private WildcardPattern(String pattern, boolean ignoreCase) {
+        this.pattern = ignoreCase ? pattern.toLowerCase(Locale.ROOT) : pattern;
+        this.ignoreCase = ignoreCase;
+        int star = this.pattern.indexOf('*');
+        boolean single = this.pattern.indexOf('?') >= 0;
+        if ("*".equals(this.pattern)) {
+            this.kind = Kind.ANY;
+            this.literal = "";
+        } else if (star < 0 && !single) {
+            this.kind = Kind.EXACT;
+            this.literal = this.pattern;
+        } else if (!single && star == this.pattern.length() - 1) {
+            this.kind = Kind.PREFIX;
+            this.literal = this.pattern.substring(0, star);
+        } else {
+            this.kind = Kind.GLOB;
+            this.literal = this.pattern;
+        }
+    }
+
+    /**
+     * Pattern for IAM actions, which compare case-insensitively.
+     */
+    public static WildcardPattern action(String pattern) {
+        return new WildcardPattern(pattern, true);
+    }
+
+    /**
+     * Pattern for ARNs and principals, which compare case-sensitively.
+     */
+    public static WildcardPattern exact(String pattern) {
+        return new WildcardPattern(pattern, false);
+    }
+
+    public boolean matches(String value) {
+        if (value == null) {
+            return false;
+        }
+        return switch (kind) {
+            case ANY -> true;
+            case EXACT -> ignoreCase ? literal.equalsIgnoreCase(value) : literal.equals(value);
+            case PREFIX -> value.regionMatches(ignoreCase, 0, literal, 0, literal.length());
+            case GLOB -> glob(ignoreCase ? value.toLowerCase(Locale.ROOT) : value);
+        };
+    }
+
+    public boolean isAny() {
+        return kind == Kind.ANY;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private boolean glob(String value) {
+        int p = 0;
+        int v = 0;
+        int starP = -1;
+        int starV = 0;
+        while (v < value.length()) {
+            if (p < literal.length() && (literal.charAt(p) == '?' || literal.charAt(p) == value.charAt(v))) {
+                p++;
+                v++;
+            } else if (p < literal.length() && literal.charAt(p) == '*') {
+                starP = p++;
+                starV = v;
+            } else if (starP >= 0) {
+                p = starP + 1;
+                v = ++starV;
+            } else {
+                return false;
+            }
+        }
+        while (p < literal.length() && literal.charAt(p) == '*') {
+            p++;
+        }
+        return p == literal.length();
+    }
+}
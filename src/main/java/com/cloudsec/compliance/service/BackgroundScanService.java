@@ -0,0 +1,230 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.PostureSubscriptions;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-evaluates every resource type and standard of each {@link CloudComplianceService} in the background,
+ * so tool calls read warm results instead of waiting for an evaluation.
+ * <p>
+ * Each tick queues the jobs that are due on a priority queue: jobs whose last run failed first, then jobs
+ * whose last result had critical or high findings, then stale or never-run jobs, then routine refreshes,
+ * oldest first within each tier. A fixed pool of {@code parallelism} workers drains that one shared queue,
+ * so the highest-priority job is always taken next. A job is never queued twice, so a slow evaluation cannot
+ * pile up behind itself. Every result is reported to {@link PostureSubscriptions}, which notifies subscribed
+ * clients when it differs from the previous one.
+ */
+@Slf4j
+@Service
+public class BackgroundScanService {
+
+    enum Priority { RECENTLY_FAILED, CRITICAL, STALE, ROUTINE }
+
+    record Job(CloudComplianceService service, String resourceType, ComplianceStandard standard) {
+        String name() {
+            return service.getCloudProvider() + "/" + resourceType + "/" + standard;
+        }
+    }
+
+    private record QueuedJob(Job job, Priority priority, Instant lastRun) {
+    }
+
+    private static final Comparator<QueuedJob> ORDER = Comparator
+        .comparing(QueuedJob::priority)
+        .thenComparing(QueuedJob::lastRun, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final List<CloudComplianceService> services;
+    private final ComplianceProperties.Background config;
+    private final PostureSubscriptions subscriptions;
+    private final Clock clock;
+    private final Map<Job, JobState> states = new ConcurrentHashMap<>();
+    private final Set<Job> pending = ConcurrentHashMap.newKeySet();
+    private final PriorityBlockingQueue<QueuedJob> queue = new PriorityBlockingQueue<>(16, ORDER);
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workers;
+
+    @Autowired
+    public BackgroundScanService(List<CloudComplianceService> services, ComplianceProperties properties,
+                                 PostureSubscriptions subscriptions) {
+        this(services, properties, subscriptions, Clock.systemUTC());
+    }
+
+    BackgroundScanService(List<CloudComplianceService> services, ComplianceProperties properties,
+                          PostureSubscriptions subscriptions, Clock clock) {
+        this.services = services;
+        this.config = properties.getBackground();
+        this.subscriptions = subscriptions;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (!config.isEnabled() || scheduler != null) {
+            return;
+        }
+        workers = Executors.newFixedThreadPool(Math.max(1, config.getParallelism()),
+            Thread.ofPlatform().name("background-worker-", 1).daemon().factory());
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("background-scan").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::tick, 0, config.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Background scans every {} with {} workers", config.getInterval(), config.getParallelism());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            workers.shutdownNow();
+            scheduler = null;
+            workers = null;
+        }
+    }
+
+    /**
+     * Queues and runs every due job on the calling thread. Returns the number of jobs run.
+     */
+    public int runOnce() {
+        enqueueDue();
+        int ran = 0;
+        QueuedJob next;
+        while ((next = queue.poll()) != null) {
+            run(next.job());
+            ran++;
+        }
+        return ran;
+    }
+
+    public long completedCount() {
+        return completed.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Jobs waiting to run, in the order workers will take them.
+     */
+    List<Job> queuedJobs() {
+        return queue.stream().sorted(ORDER).map(QueuedJob::job).toList();
+    }
+
+    int enqueueDue() {
+        Instant now = clock.instant();
+        int queued = 0;
+        for (Job job : jobs()) {
+            JobState state = states.computeIfAbsent(job, j -> new JobState());
+            if (isDue(state, now) && pending.add(job)) {
+                queue.add(new QueuedJob(job, priority(state, now), state.lastRun));
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private void tick() {
+        try {
+            int queued = enqueueDue();
+            for (int i = 0; i < Math.min(queued, Math.max(1, config.getParallelism())); i++) {
+                workers.execute(this::drain);
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to schedule background scans", e);
+        }
+    }
+
+    private void drain() {
+        QueuedJob next;
+        while ((next = queue.poll()) != null) {
+            run(next.job());
+        }
+    }
+
+    private void run(Job job) {
+        JobState state = states.computeIfAbsent(job, j -> new JobState());
+        long started = System.nanoTime();
+        try {
+            ComplianceResult result = job.service().refreshCompliance(job.resourceType(), job.standard());
+            state.record(clock.instant(), result.status(), result.getHighestSeverity());
+            subscriptions.record(result);
+            completed.incrementAndGet();
+            log.debug("Refreshed {} in {} ms: {}", job.name(), (System.nanoTime() - started) / 1_000_000, result.status());
+        } catch (RuntimeException e) {
+            state.record(clock.instant(), ComplianceStatus.ERROR, null);
+            failed.incrementAndGet();
+            log.warn("Background refresh of {} failed: {}", job.name(), e.getMessage());
+        } finally {
+            pending.remove(job);
+        }
+    }
+
+    private List<Job> jobs() {
+        List<Job> jobs = new ArrayList<>();
+        for (CloudComplianceService service : services) {
+            for (String resourceType : service.getSupportedResourceTypes()) {
+                for (ComplianceStandard standard : service.getSupportedStandards()) {
+                    jobs.add(new Job(service, resourceType, standard));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    private boolean isDue(JobState state, Instant now) {
+        return state.lastRun == null
+            || state.lastStatus == ComplianceStatus.ERROR
+            || !now.isBefore(state.lastRun.plus(config.getInterval()));
+    }
+
+    private Priority priority(JobState state, Instant now) {
+        if (state.lastStatus == ComplianceStatus.ERROR) {
+            return Priority.RECENTLY_FAILED;
+        }
+        if (state.highestSeverity == Finding.Severity.CRITICAL || state.highestSeverity == Finding.Severity.HIGH) {
+            return Priority.CRITICAL;
+        }
+        if (state.lastRun == null || Duration.between(state.lastRun, now).compareTo(config.getStaleAfter()) > 0) {
+            return Priority.STALE;
+        }
+        return Priority.ROUTINE;
+    }
+
+    private static final class JobState {
+        private volatile Instant lastRun;
+        private volatile ComplianceStatus lastStatus;
+        private volatile Finding.Severity highestSeverity;
+
+        void record(Instant at, ComplianceStatus status, Finding.Severity highest) {
+            lastRun = at;
+            lastStatus = status;
+            highestSeverity = highest;
+        }
+    }
+}
@@ -13,6 +13,14 @@ public interface CloudComplianceService {
     
     ComplianceResult checkCompliance(String resourceType, ComplianceStandard standard);
     
+    /**
+     * Re-evaluates compliance regardless of any cached result and makes the new result the one
+     * {@link #checkCompliance} returns. Used by background scans to keep results warm.
+     */
+    default ComplianceResult refreshCompliance(String resourceType, ComplianceStandard standard) {
+        return checkCompliance(resourceType, standard);
+    }
+    
     List<String> getSupportedResourceTypes();
     
     String getCloudProvider();
@@ -0,0 +1,237 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.ClusterMembership;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.export.ColumnarFindingsReader;
+import com.cloudsec.compliance.export.ColumnarFindingsWriter;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.Finding;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Divides bucket scans between the members of a {@link ClusterMembership}.
+ * <p>
+ * Every bucket belongs to exactly one live member on the consistent-hash ring. A member evaluates only the
+ * buckets it owns and publishes them as a columnar shard file,
+ * {@code shards/<standard>/<region>/<node-id>@<ring fingerprint>.ccfb}. A cluster scan evaluates the local
+ * shard, merges each peer's shard that was published for the same ring within {@code shard-max-age}, and
+ * evaluates the buckets of peers without a usable shard itself, so the result always covers every bucket.
+ * With {@code publish-interval} set, members refresh their own shards in the background and a scan mostly
+ * reads peer files instead of calling AWS for the whole estate.
+ */
+@Slf4j
+@Service
+public class ClusterScanService {
+
+    private static final String SHARD_SUFFIX = ".ccfb";
+    private static final String CLOUD_PROVIDER = "AWS";
+    private static final String STORAGE_RESOURCE_TYPE = "storage";
+    private static final String ALL_REGIONS = "all";
+
+    private final S3BucketScanner bucketScanner;
+    private final ClusterMembership membership;
+    private final ComplianceProperties.Cluster config;
+    private ScheduledExecutorService publisher;
+
+    public ClusterScanService(S3BucketScanner bucketScanner, ClusterMembership membership, ComplianceProperties properties) {
+        this.bucketScanner = bucketScanner;
+        this.membership = membership;
+        this.config = properties.getCluster();
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (!membership.isEnabled() || publisher != null
+            || config.getPublishInterval() == null || !config.getPublishInterval().isPositive()) {
+            return;
+        }
+        publisher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cluster-publish").daemon().factory());
+        publisher.scheduleWithFixedDelay(this::publishAll, 0, config.getPublishInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (publisher != null) {
+            publisher.shutdownNow();
+            publisher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return membership.isEnabled();
+    }
+
+    /**
+     * Passes one result per bucket of the whole estate to {@code sink}, evaluating only the local shard and
+     * the shards of peers that have not published a fresh one. Returns the number of buckets covered.
+     *
+     * @param region bucket region to include, or {@code null} for all regions
+     */
+    public int scan(String region, ComplianceStandard standard, Consumer<ComplianceResult> sink) throws IOException {
+        ClusterMembership.View view = membership.view();
+        long started = System.nanoTime();
+        int resources = publishShard(view, region, standard, sink);
+
+        Path directory = shardDirectory(standard, region);
+        Instant oldest = Instant.now().minus(config.getShardMaxAge());
+        Set<String> uncovered = new HashSet<>();
+        int merged = 0;
+        for (String peer : view.peers()) {
+            Path shard = shardFile(directory, peer, view);
+            if (isFresh(shard, oldest)) {
+                try {
+                    List<ComplianceResult> results = readShard(shard, standard, region);
+                    results.forEach(sink);
+                    resources += results.size();
+                    merged++;
+                    continue;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Unable to read shard {} of {}: {}", shard.getFileName(), peer, e.getMessage());
+                }
+            }
+            uncovered.add(peer);
+        }
+        if (!uncovered.isEmpty()) {
+            resources += bucketScanner.scan(region, standard, bucketName -> uncovered.contains(view.owner(bucketName)), sink);
+        }
+
+        log.info("Cluster scan of {} buckets by {} in {} ms: merged {} peer shards, scanned {} locally",
+            resources, view.nodeId(), (System.nanoTime() - started) / 1_000_000, merged, uncovered.size() + 1);
+        return resources;
+    }
+
+    /**
+     * Evaluates the buckets this member owns and publishes them for peers. Returns the number evaluated.
+     */
+    public int publishShard(String region, ComplianceStandard standard) throws IOException {
+        return publishShard(membership.view(), region, standard, result -> { });
+    }
+
+    private int publishShard(ClusterMembership.View view, String region, ComplianceStandard standard,
+                             Consumer<ComplianceResult> sink) throws IOException {
+        Path directory = shardDirectory(standard, region);
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(view.nodeId() + "." + UUID.randomUUID() + ".tmp");
+        int evaluated;
+        try (ColumnarFindingsWriter writer = new ColumnarFindingsWriter(temp)) {
+            evaluated = bucketScanner.scan(region, standard, view::owns, result -> {
+                try {
+                    writer.write(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                sink.accept(result);
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Path target = shardFile(directory, view.nodeId(), view);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        removeOutdated(directory, view.nodeId(), target);
+        log.debug("Published shard {} with {} buckets", target, evaluated);
+        return evaluated;
+    }
+
+    private void publishAll() {
+        for (String name : config.getStandards()) {
+            try {
+                publishShard(null, ComplianceStandard.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (Exception e) {
+                log.warn("Unable to publish {} shard: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Results of a shard file. The writer emits each result's rows consecutively and resource ids are
+     * unique per bucket, so rows are grouped back into results by runs of equal resource ids. A shard
+     * whose runs do not add up to the resource count in its trailer is rejected, so the peer's buckets
+     * are evaluated locally instead of being merged incorrectly.
+     */
+    private static List<ComplianceResult> readShard(Path shard, ComplianceStandard standard, String region) throws IOException {
+        List<ComplianceResult> results = new ArrayList<>();
+        List<ColumnarFindingsReader.Row> run = new ArrayList<>();
+        ColumnarFindingsReader.Totals totals = ColumnarFindingsReader.read(shard, row -> {
+            if (!run.isEmpty() && !Objects.equals(run.get(0).resourceId(), row.resourceId())) {
+                results.add(toResult(run, standard, region));
+                run.clear();
+            }
+            run.add(row);
+        });
+        if (!run.isEmpty()) {
+            results.add(toResult(run, standard, region));
+        }
+        if (results.size() != totals.resourceCount()) {
+            throw new IOException("shard rows form " + results.size() + " results but " + totals.resourceCount()
+                + " resources were written");
+        }
+        return results;
+    }
+
+    private static ComplianceResult toResult(List<ColumnarFindingsReader.Row> rows, ComplianceStandard standard, String region) {
+        ColumnarFindingsReader.Row first = rows.get(0);
+        List<Finding> findings = rows.stream().map(ColumnarFindingsReader.Row::finding).filter(Objects::nonNull).toList();
+        return new ComplianceResult(first.resourceId(), STORAGE_RESOURCE_TYPE, standard, first.status(), findings,
+            CLOUD_PROVIDER, first.region() != null ? first.region() : region);
+    }
+
+    private Path shardDirectory(ComplianceStandard standard, String region) {
+        return Path.of(config.getDirectory(), "shards", standard.name(), region != null ? region : ALL_REGIONS);
+    }
+
+    private static Path shardFile(Path directory, String nodeId, ClusterMembership.View view) {
+        return directory.resolve(nodeId + "@" + view.ring().fingerprint() + SHARD_SUFFIX);
+    }
+
+    private static boolean isFresh(Path shard, Instant oldest) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(shard);
+            return !modified.toInstant().isBefore(oldest);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes this member's shards published for earlier rings.
+     */
+    private static void removeOutdated(Path directory, String nodeId, Path current) {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(nodeId + "@") && name.endsWith(SHARD_SUFFIX) && !file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Unable to remove outdated shards in {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.FindingsExportResponse;
+import com.cloudsec.compliance.errors.CircuitOpenException;
+import com.cloudsec.compliance.errors.InvalidInputException;
+import com.cloudsec.compliance.errors.RateLimitExceededException;
+import com.cloudsec.compliance.export.ColumnarFindingsWriter;
+import com.cloudsec.compliance.export.ExportFormat;
+import com.cloudsec.compliance.export.FindingsWriter;
+import com.cloudsec.compliance.export.NdjsonFindingsWriter;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Streams per-bucket scan results to a local file as they are produced, so exporting a very large
+ * scan costs constant heap. Files are written under a temporary name and renamed once complete.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FindingsExportService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final S3BucketScanner bucketScanner;
+    private final InputValidator inputValidator;
+    private final RateLimitingComponent rateLimitingComponent;
+    private final ComplianceProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public FindingsExportResponse exportFindings(String region, ComplianceStandard standard, ExportFormat format) {
+        log.info("Exporting {} findings for region: {}, format: {}", standard, region, format);
+        long started = System.nanoTime();
+        Path partial = null;
+
+        try {
+            String validatedRegion = region == null || region.isBlank() ? null : inputValidator.validateAndSanitizeRegion(region);
+
+            if (!rateLimitingComponent.checkRateLimit("exportFindings")) {
+                throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
+            }
+
+            Path directory = Path.of(properties.getExport().getDirectory());
+            Files.createDirectories(directory);
+            Path target = directory.resolve(fileName(standard, validatedRegion, format));
+            partial = target.resolveSibling(target.getFileName() + ".partial");
+
+            FindingsWriter writer = openWriter(partial, format);
+            try (writer) {
+                bucketScanner.scan(validatedRegion, standard, result -> {
+                    try {
+                        writer.write(result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            partial = null;
+
+            long durationMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Exported {} resources / {} findings to {} in {} ms",
+                writer.resourceCount(), writer.findingCount(), target, durationMillis);
+
+            return new FindingsExportResponse(
+                "SUCCESS",
+                format.name().toLowerCase(),
+                target.toAbsolutePath().toString(),
+                standard.name(),
+                validatedRegion != null ? validatedRegion : "all",
+                writer.resourceCount(),
+                writer.findingCount(),
+                writer.bytesWritten(),
+                durationMillis,
+                LocalDateTime.now().toString(),
+                null
+            );
+
+        } catch (RateLimitExceededException | InvalidInputException e) {
+            log.warn("Client error in exportFindings: {}", e.getMessage());
+            return createErrorResponse(e.getMessage(), standard, region, format);
+        } catch (CircuitOpenException e) {
+            log.warn("Circuit open in exportFindings: {}", e.getMessage());
+            return createErrorResponse(e.getMessage(), standard, region, format);
+        } catch (SdkException e) {
+            log.error("AWS SDK error in exportFindings: {}", e.getMessage());
+            return createErrorResponse("AWS service unavailable", standard, region, format);
+        } catch (IOException e) {
+            log.error("I/O error in exportFindings", e);
+            return createErrorResponse("Unable to write export file", standard, region, format);
+        } catch (Exception e) {
+            log.error("Unexpected error in exportFindings", e);
+            return createErrorResponse("Service temporarily unavailable", standard, region, format);
+        } finally {
+            deleteQuietly(partial);
+        }
+    }
+
+    private FindingsWriter openWriter(Path path, ExportFormat format) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonFindingsWriter(path, objectMapper.getFactory());
+            case COLUMNAR -> new ColumnarFindingsWriter(path);
+        };
+    }
+
+    private String fileName(ComplianceStandard standard, String region, ExportFormat format) {
+        return "findings-" + standard.name().toLowerCase()
+            + "-" + (region != null ? region : "all")
+            + "-" + FILE_TIMESTAMP.format(Instant.now())
+            + "-" + UUID.randomUUID().toString().substring(0, 8)
+            + "." + format.getFileExtension();
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete partial export {}: {}", path, e.getMessage());
+        }
+    }
+
+    private FindingsExportResponse createErrorResponse(String message, ComplianceStandard standard,
+                                                       String region, ExportFormat format) {
+        return new FindingsExportResponse(
+            "ERROR",
+            format.name().toLowerCase(),
+            null,
+            standard.name(),
+            region != null ? region : "all",
+            0,
+            0,
+            0,
+            0,
+            LocalDateTime.now().toString(),
+            message
+        );
+    }
+}
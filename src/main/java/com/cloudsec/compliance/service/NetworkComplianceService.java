@@ -0,0 +1,210 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.SecurityGroupSource;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.model.SecurityGroupRule;
+import com.cloudsec.compliance.util.CidrTrie;
+import com.cloudsec.compliance.util.PortIntervalTree;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Evaluates security group ingress rules for the {@code network} resource type and reports sensitive
+ * ports reachable from the internet.
+ * <p>
+ * Each rule's source block is checked against a {@link CidrTrie} of internal ranges, so classifying a rule
+ * costs at most one step per prefix bit. The port ranges of the remaining, internet-facing rules go into a
+ * {@link PortIntervalTree}, and each sensitive port is a single stabbing query. Evaluation is therefore
+ * {@code O(r log r + p log r + k)} for {@code r} rules, {@code p} sensitive ports and {@code k} exposures,
+ * rather than comparing every rule with every port.
+ */
+@Slf4j
+@Service
+public class NetworkComplianceService {
+
+    private static final String CLOUD_PROVIDER = "AWS";
+    private static final String NETWORK_RESOURCE_TYPE = "network";
+    private static final String RESOURCE_ID = "security-groups";
+
+    /**
+     * Ranges that never reach the public internet: RFC 1918, carrier-grade NAT, loopback, link-local and
+     * IPv6 unique-local addresses.
+     */
+    private static final List<String> INTERNAL_CIDRS = List.of(
+        "10.0.0.0/8", "172.16.0.0/12", "192.168.0.0/16", "100.64.0.0/10", "127.0.0.0/8", "169.254.0.0/16",
+        "::1/128", "fc00::/7", "fe80::/10"
+    );
+
+    private final SecurityGroupSource securityGroupSource;
+    private final ComplianceProperties properties;
+    private final CidrTrie internalRanges;
+    private final int[] sensitivePorts;
+
+    public NetworkComplianceService(SecurityGroupSource securityGroupSource, ComplianceProperties properties) {
+        this.securityGroupSource = securityGroupSource;
+        this.properties = properties;
+        this.internalRanges = new CidrTrie(INTERNAL_CIDRS);
+        properties.getNetwork().getTrustedCidrs().forEach(internalRanges::add);
+        this.sensitivePorts = properties.getNetwork().getSensitivePorts().stream()
+            .mapToInt(Integer::intValue)
+            .filter(port -> port >= SecurityGroupRule.MIN_PORT && port <= SecurityGroupRule.MAX_PORT)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+    /**
+     * Network control checked against every security group, with the control id each standard uses for it.
+     */
+    public enum NetworkControl {
+        SENSITIVE_PORT_EXPOSURE(
+            "Security group allows internet ingress to sensitive ports",
+            "Restrict ingress on administrative and database ports to known address ranges, or reach them "
+                + "through a bastion, VPN or Session Manager",
+            "CC6.6", "5.2", "SC-7");
+
+        private final String description;
+        private final String remediation;
+        private final String soc2ControlId;
+        private final String cisControlId;
+        private final String nistControlId;
+
+        NetworkControl(String description, String remediation,
+                       String soc2ControlId, String cisControlId, String nistControlId) {
+            this.description = description;
+            this.remediation = remediation;
+            this.soc2ControlId = soc2ControlId;
+            this.cisControlId = cisControlId;
+            this.nistControlId = nistControlId;
+        }
+
+        public String controlId(ComplianceStandard standard) {
+            return switch (standard) {
+                case SOC2 -> soc2ControlId;
+                case CIS -> cisControlId;
+                case NIST -> nistControlId;
+                default -> "NET." + (ordinal() + 1);
+            };
+        }
+    }
+
+    public ComplianceResult evaluate(ComplianceStandard standard) {
+        String region = properties.getSecurity().getAws().getDefaultRegion();
+        if (!securityGroupSource.isAvailable()) {
+            return new ComplianceResult(RESOURCE_ID, NETWORK_RESOURCE_TYPE, standard, ComplianceStatus.NOT_APPLICABLE,
+                List.of(), CLOUD_PROVIDER, region);
+        }
+
+        List<SecurityGroupRule> rules;
+        try {
+            rules = securityGroupSource.ingressRules();
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to load security group rules: {}", e.getMessage());
+            return new ComplianceResult(RESOURCE_ID, NETWORK_RESOURCE_TYPE, standard, ComplianceStatus.ERROR,
+                List.of(new Finding(
+                    "NET-ERROR:" + RESOURCE_ID,
+                    Finding.Severity.MEDIUM,
+                    "SYSTEM",
+                    "Unable to load security group rules",
+                    "Check that compliance.network.snapshot-path points to readable describe-security-groups output",
+                    "Exception: " + e.getClass().getSimpleName()
+                )),
+                CLOUD_PROVIDER, region);
+        }
+
+        long started = System.nanoTime();
+        List<Finding> findings = findExposures(rules, standard);
+        log.info("Evaluated {} security group rules in {} ms: {} exposed groups",
+            rules.size(), (System.nanoTime() - started) / 1_000_000, findings.size());
+
+        return new ComplianceResult(RESOURCE_ID, NETWORK_RESOURCE_TYPE, standard,
+            findings.isEmpty() ? ComplianceStatus.COMPLIANT : ComplianceStatus.NON_COMPLIANT,
+            findings, CLOUD_PROVIDER, region);
+    }
+
+    /**
+     * One finding per security group that exposes at least one sensitive port, critical when a port is
+     * open to every address.
+     */
+    List<Finding> findExposures(List<SecurityGroupRule> rules, ComplianceStandard standard) {
+        PortIntervalTree.Builder<Exposure> builder = PortIntervalTree.builder();
+        for (SecurityGroupRule rule : rules) {
+            if (!rule.hasPorts()) {
+                continue;
+            }
+            CidrTrie.Prefix source;
+            try {
+                source = CidrTrie.Prefix.parse(rule.cidr());
+            } catch (IllegalArgumentException e) {
+                log.debug("Skipping rule of {} with unparseable source {}", rule.groupId(), rule.cidr());
+                continue;
+            }
+            if (!internalRanges.covers(source)) {
+                builder.add(rule.fromPort(), rule.toPort(), new Exposure(rule, source.length() == 0));
+            }
+        }
+        PortIntervalTree<Exposure> exposed = builder.build();
+
+        Map<String, GroupExposure> byGroup = new LinkedHashMap<>();
+        for (int port : sensitivePorts) {
+            exposed.overlapping(port, port, exposure -> byGroup
+                .computeIfAbsent(exposure.rule().groupId(), id -> new GroupExposure(exposure.rule()))
+                .add(port, exposure));
+        }
+
+        List<Finding> findings = new ArrayList<>(byGroup.size());
+        NetworkControl control = NetworkControl.SENSITIVE_PORT_EXPOSURE;
+        String controlId = control.controlId(standard);
+        for (GroupExposure group : byGroup.values()) {
+            findings.add(new Finding(
+                controlId + ":" + group.rule.groupId(),
+                group.worldOpen ? Finding.Severity.CRITICAL : Finding.Severity.HIGH,
+                controlId,
+                control.description,
+                control.remediation,
+                group.evidence()
+            ));
+        }
+        return findings;
+    }
+
+    private record Exposure(SecurityGroupRule rule, boolean worldOpen) {
+    }
+
+    private static final class GroupExposure {
+        private static final int MAX_EVIDENCE_ENTRIES = 20;
+
+        private final SecurityGroupRule rule;
+        private final TreeSet<Integer> ports = new TreeSet<>();
+        private final TreeSet<String> entries = new TreeSet<>();
+        private boolean worldOpen;
+
+        GroupExposure(SecurityGroupRule rule) {
+            this.rule = rule;
+        }
+
+        void add(int port, Exposure exposure) {
+            ports.add(port);
+            worldOpen |= exposure.worldOpen();
+            if (entries.size() < MAX_EVIDENCE_ENTRIES) {
+                entries.add(port + "/" + exposure.rule().protocolName() + " from " + exposure.rule().cidr());
+            }
+        }
+
+        String evidence() {
+            String name = rule.groupName() != null ? " (" + rule.groupName() + ")" : "";
+            return rule.groupId() + name + " exposes ports " + ports + ": " + String.join(", ", entries);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.AwsCredentialsManager;
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.AccountScanSummary;
+import com.cloudsec.compliance.dto.response.OrganizationScanResponse;
+import com.cloudsec.compliance.errors.CircuitOpenException;
+import com.cloudsec.compliance.errors.InvalidInputException;
+import com.cloudsec.compliance.errors.RateLimitExceededException;
+import com.cloudsec.compliance.model.AccountTarget;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.util.FairWorkQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Bucket;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scans the S3 buckets of many accounts in one call and merges the results into one posture.
+ * <p>
+ * Each account is a pipeline of tasks: one discovery task lists its buckets and queues one evaluation
+ * task per bucket. All pipelines share a {@link FairWorkQueue} drained by a fixed pool of workers, which
+ * is the global concurrency budget; the queue serves the accounts in flight round-robin, so a large
+ * account cannot starve small ones. At most one account per worker is in flight: the next account is
+ * discovered when one finishes, so credentials and clients are only held for accounts being scanned. A
+ * failing account is reported and does not stop the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrganizationScanService {
+
+    private final S3BucketScanner bucketScanner;
+    private final S3ClientFactory s3ClientFactory;
+    private final AwsCredentialsManager credentialsManager;
+    private final InputValidator inputValidator;
+    private final RateLimitingComponent rateLimitingComponent;
+    private final PostureRollupService postureRollupService;
+    private final ComplianceProperties properties;
+
+    /**
+     * @param accounts account ids or role ARNs; the configured {@code assume-role.accounts} when empty
+     * @param region bucket region to include, or {@code null} for all regions
+     * @param concurrency requested worker count, capped by {@code organization.max-concurrency}
+     */
+    public OrganizationScanResponse scanOrganization(List<String> accounts, String region,
+                                                     ComplianceStandard standard, Integer concurrency) {
+        long started = System.nanoTime();
+        int requested = accounts != null ? accounts.size() : 0;
+        log.info("Running organisation {} scan for {} accounts, region: {}", standard, requested, region);
+
+        try {
+            String validatedRegion = region == null || region.isBlank() ? null : inputValidator.validateAndSanitizeRegion(region);
+            List<AccountTarget> targets = resolveTargets(accounts);
+            requested = targets.size();
+
+            if (!rateLimitingComponent.checkRateLimit("scanOrganization")) {
+                throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
+            }
+
+            int maxConcurrency = Math.max(1, properties.getOrganization().getMaxConcurrency());
+            int workers = concurrency == null ? maxConcurrency : Math.clamp(concurrency, 1, maxConcurrency);
+
+            PostureRollupService scanPosture = new PostureRollupService();
+            FairWorkQueue<String> queue = new FairWorkQueue<>();
+            List<AccountPipeline> pipelines = new ArrayList<>(targets.size());
+            Queue<AccountPipeline> waiting = new ConcurrentLinkedQueue<>();
+            for (AccountTarget target : targets) {
+                AccountPipeline pipeline = new AccountPipeline(target, validatedRegion, standard, queue, waiting, scanPosture);
+                pipelines.add(pipeline);
+                waiting.add(pipeline);
+            }
+            for (int i = 0; i < workers; i++) {
+                startNext(waiting);
+            }
+            queue.drain(workers, "org-scan");
+
+            List<AccountScanSummary> summaries = pipelines.stream().map(AccountPipeline::summarize).toList();
+            int failed = (int) summaries.stream().filter(summary -> "ERROR".equals(summary.status())).count();
+            long resources = summaries.stream().mapToLong(AccountScanSummary::resourceCount).sum();
+            long durationMillis = (System.nanoTime() - started) / 1_000_000;
+            log.info("Organisation scan of {} accounts finished in {} ms: {} resources, {} accounts failed",
+                targets.size(), durationMillis, resources, failed);
+
+            return new OrganizationScanResponse(
+                failed == 0 ? "SUCCESS" : "PARTIAL",
+                standard.name(),
+                validatedRegion != null ? validatedRegion : "all",
+                requested,
+                targets.size() - failed,
+                failed,
+                resources,
+                workers,
+                durationMillis,
+                summaries,
+                scanPosture.getRollup(PostureRollupService.GroupBy.ACCOUNT),
+                LocalDateTime.now().toString(),
+                null
+            );
+
+        } catch (RateLimitExceededException | InvalidInputException e) {
+            log.warn("Client error in scanOrganization: {}", e.getMessage());
+            return createErrorResponse(e.getMessage(), standard, region, requested);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createErrorResponse("Scan interrupted", standard, region, requested);
+        } catch (Exception e) {
+            log.error("Unexpected error in scanOrganization", e);
+            return createErrorResponse("Service temporarily unavailable", standard, region, requested);
+        }
+    }
+
+    private static void startNext(Queue<AccountPipeline> waiting) {
+        AccountPipeline next = waiting.poll();
+        if (next != null) {
+            next.submit(next::discover);
+        }
+    }
+
+    private List<AccountTarget> resolveTargets(List<String> accounts) {
+        List<String> values = accounts != null && !accounts.isEmpty()
+            ? accounts
+            : properties.getSecurity().getAws().getAssumeRole().getAccounts();
+        if (values.isEmpty()) {
+            throw new InvalidInputException("At least one account is required");
+        }
+        int maxAccounts = properties.getOrganization().getMaxAccounts();
+        if (values.size() > maxAccounts) {
+            throw new InvalidInputException("Too many accounts: " + values.size() + " (max " + maxAccounts + ")");
+        }
+
+        Map<String, AccountTarget> targets = new LinkedHashMap<>();
+        for (String value : values) {
+            try {
+                AccountTarget target = AccountTarget.parse(value);
+                targets.putIfAbsent(target.accountId(), target);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException(e.getMessage());
+            }
+        }
+        return List.copyOf(targets.values());
+    }
+
+    private OrganizationScanResponse createErrorResponse(String message, ComplianceStandard standard,
+                                                         String region, int accountsRequested) {
+        return new OrganizationScanResponse(
+            "ERROR",
+            standard.name(),
+            region != null ? region : "all",
+            accountsRequested,
+            0,
+            0,
+            0,
+            0,
+            0,
+            List.of(),
+            null,
+            LocalDateTime.now().toString(),
+            message
+        );
+    }
+
+    /**
+     * Per-account state. Clients are created lazily per region and closed as soon as the account's last
+     * task completes, which also starts discovery of the next waiting account.
+     */
+    private final class AccountPipeline {
+        private final AccountTarget target;
+        private final String region;
+        private final ComplianceStandard standard;
+        private final FairWorkQueue<String> queue;
+        private final Queue<AccountPipeline> waiting;
+        private final PostureRollupService scanPosture;
+        private final Map<String, S3Client> clients = new ConcurrentHashMap<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicLong resources = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private volatile AwsCredentialsProvider credentials;
+        private volatile String failure;
+        private volatile long startedNanos;
+        private volatile long durationMillis;
+
+        AccountPipeline(AccountTarget target, String region, ComplianceStandard standard,
+                        FairWorkQueue<String> queue, Queue<AccountPipeline> waiting, PostureRollupService scanPosture) {
+            this.target = target;
+            this.region = region;
+            this.standard = standard;
+            this.queue = queue;
+            this.waiting = waiting;
+            this.scanPosture = scanPosture;
+        }
+
+        void submit(Runnable task) {
+            outstanding.incrementAndGet();
+            queue.submit(target.accountId(), () -> {
+                try {
+                    task.run();
+                } finally {
+                    if (outstanding.decrementAndGet() == 0) {
+                        finish();
+                    }
+                }
+            });
+        }
+
+        void discover() {
+            startedNanos = System.nanoTime();
+            try {
+                credentials = credentialsManager.forTarget(target);
+                S3Client discovery = client(properties.getSecurity().getAws().getDefaultRegion());
+                for (Bucket bucket : bucketScanner.listBuckets(discovery)) {
+                    submit(() -> evaluate(discovery, bucket));
+                }
+            } catch (SdkException | IllegalStateException | CircuitOpenException e) {
+                log.warn("Unable to scan account {}: {}", target.accountId(), e.getMessage());
+                failure = e instanceof SdkException ? "AWS service unavailable for account" : e.getMessage();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error scanning account {}", target.accountId(), e);
+                failure = "Unexpected error scanning account";
+            }
+        }
+
+        void evaluate(S3Client discovery, Bucket bucket) {
+            try {
+                String bucketRegion = bucketScanner.bucketRegion(discovery, bucket);
+                if (region != null && !region.equals(bucketRegion)) {
+                    return;
+                }
+                ComplianceResult result = bucketScanner.evaluateBucket(client(bucketRegion), bucket.name(), bucketRegion, standard,
+                    target.accountId());
+                resources.incrementAndGet();
+                if (result.status() == ComplianceStatus.ERROR) {
+                    errors.incrementAndGet();
+                }
+                scanPosture.record(target.accountId(), result);
+                postureRollupService.record(target.accountId(), result);
+            } catch (SdkException | CircuitOpenException e) {
+                log.warn("Unable to evaluate a bucket in account {}: {}", target.accountId(), e.getMessage());
+                errors.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error evaluating a bucket in account {}", target.accountId(), e);
+                errors.incrementAndGet();
+            }
+        }
+
+        S3Client client(String clientRegion) {
+            return clients.computeIfAbsent(clientRegion, r -> s3ClientFactory.createClient(r, credentials));
+        }
+
+        void finish() {
+            durationMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+            clients.values().forEach(S3Client::close);
+            clients.clear();
+            log.debug("Account {} finished: {} resources, {} errors in {} ms",
+                target.accountId(), resources.get(), errors.get(), durationMillis);
+            startNext(waiting);
+        }
+
+        AccountScanSummary summarize() {
+            return new AccountScanSummary(
+                target.accountId(),
+                failure != null ? "ERROR" : "SUCCESS",
+                resources.get(),
+                errors.get(),
+                durationMillis,
+                failure
+            );
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.dto.response.PostureGroupSummary;
+import com.cloudsec.compliance.dto.response.PostureRollupResponse;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.model.SeverityHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained posture aggregates across compliance results.
+ * <p>
+ * Only the latest result per resource contributes. Recording a result subtracts the previous
+ * contribution for the same resource and adds the new one, so each update costs O(groups) and
+ * rollup queries never revisit findings.
+ */
+@Slf4j
+@Service
+public class PostureRollupService {
+    
+    private static final long CRITICAL_WEIGHT = 10;
+    private static final long HIGH_WEIGHT = 5;
+    private static final long MEDIUM_WEIGHT = 2;
+    private static final long LOW_WEIGHT = 1;
+    
+    public enum GroupBy {
+        ACCOUNT, REGION, STANDARD;
+        
+        public static GroupBy parse(String value) {
+            if (value == null || value.isBlank()) {
+                return STANDARD;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid groupBy: " + value);
+            }
+        }
+    }
+    
+    private final Map<ResourceKey, Contribution> latest = new HashMap<>();
+    private final Map<GroupBy, Map<String, PostureAggregate>> groups = new EnumMap<>(GroupBy.class);
+    private final PostureAggregate total = new PostureAggregate();
+    
+    public PostureRollupService() {
+        for (GroupBy groupBy : GroupBy.values()) {
+            groups.put(groupBy, new HashMap<>());
+        }
+    }
+    
+    /**
+     * Records the latest result for a resource in the given account and returns it unchanged.
+     */
+    public synchronized ComplianceResult record(String account, ComplianceResult result) {
+        ResourceKey key = new ResourceKey(account, result.region(), result.standard(),
+            result.resourceType(), result.resourceId());
+        Contribution contribution = new Contribution(result.status(), result.severityCounts());
+        
+        Contribution previous = latest.put(key, contribution);
+        if (previous != null) {
+            apply(key, previous, -1);
+        }
+        apply(key, contribution, 1);
+        return result;
+    }
+    
+    public synchronized void clear() {
+        latest.clear();
+        groups.values().forEach(Map::clear);
+        total.reset();
+    }
+    
+    public synchronized PostureRollupResponse getRollup(GroupBy groupBy) {
+        List<PostureGroupSummary> summaries = new TreeMap<>(groups.get(groupBy)).entrySet().stream()
+            .map(entry -> entry.getValue().summarize(entry.getKey()))
+            .toList();
+        
+        return new PostureRollupResponse(
+            groupBy.name().toLowerCase(),
+            summaries,
+            total.summarize("total"),
+            LocalDateTime.now().toString()
+        );
+    }
+    
+    private void apply(ResourceKey key, Contribution contribution, int sign) {
+        total.add(contribution, sign);
+        applyToGroup(GroupBy.ACCOUNT, key.account(), contribution, sign);
+        applyToGroup(GroupBy.REGION, key.region(), contribution, sign);
+        applyToGroup(GroupBy.STANDARD, key.standard().name(), contribution, sign);
+    }
+    
+    private void applyToGroup(GroupBy groupBy, String groupKey, Contribution contribution, int sign) {
+        Map<String, PostureAggregate> byKey = groups.get(groupBy);
+        String normalizedKey = groupKey != null ? groupKey : "unknown";
+        PostureAggregate aggregate = byKey.computeIfAbsent(normalizedKey, k -> new PostureAggregate());
+        aggregate.add(contribution, sign);
+        if (aggregate.resources == 0) {
+            byKey.remove(normalizedKey);
+        }
+    }
+    
+    private record ResourceKey(
+        String account,
+        String region,
+        ComplianceStandard standard,
+        String resourceType,
+        String resourceId
+    ) {}
+    
+    private record Contribution(ComplianceStatus status, SeverityHistogram severityCounts) {}
+    
+    private static final class PostureAggregate {
+        private long resources;
+        private final long[] statusCounts = new long[ComplianceStatus.values().length];
+        private final long[] severityCounts = new long[Finding.Severity.values().length];
+        
+        void add(Contribution contribution, int sign) {
+            resources += sign;
+            statusCounts[contribution.status().ordinal()] += sign;
+            for (Finding.Severity severity : Finding.Severity.values()) {
+                severityCounts[severity.ordinal()] += sign * contribution.severityCounts().count(severity);
+            }
+        }
+        
+        void reset() {
+            resources = 0;
+            Arrays.fill(statusCounts, 0);
+            Arrays.fill(severityCounts, 0);
+        }
+        
+        PostureGroupSummary summarize(String key) {
+            long compliant = statusCounts[ComplianceStatus.COMPLIANT.ordinal()];
+            long nonCompliant = statusCounts[ComplianceStatus.NON_COMPLIANT.ordinal()];
+            long partial = statusCounts[ComplianceStatus.PARTIAL_COMPLIANT.ordinal()];
+            long applicable = compliant + nonCompliant + partial;
+            double score = applicable == 0 ? 100.0
+                : Math.round((compliant + 0.5 * partial) * 1000.0 / applicable) / 10.0;
+            
+            SeverityHistogram histogram = SeverityHistogram.fromOrdinalCounts(severityCounts);
+            long riskScore = histogram.critical() * CRITICAL_WEIGHT + histogram.high() * HIGH_WEIGHT
+                + histogram.medium() * MEDIUM_WEIGHT + histogram.low() * LOW_WEIGHT;
+            
+            return new PostureGroupSummary(
+                key,
+                resources,
+                compliant,
+                nonCompliant,
+                partial,
+                statusCounts[ComplianceStatus.NOT_APPLICABLE.ordinal()],
+                statusCounts[ComplianceStatus.ERROR.ordinal()],
+                histogram,
+                score,
+                riskScore
+            );
+        }
+    }
+}
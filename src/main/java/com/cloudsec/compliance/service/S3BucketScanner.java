@@ -0,0 +1,376 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.ControlCatalog;
+import com.cloudsec.compliance.model.ControlDefinition;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.policy.CompiledPolicy;
+import com.cloudsec.compliance.policy.PolicyCompiler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates individual S3 buckets against the storage controls of a compliance standard.
+ * <p>
+ * Results are handed to a sink one bucket at a time so callers can stream them to disk or into a
+ * compact container without holding the whole scan as {@link ComplianceResult} objects.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class S3BucketScanner {
+
+    private static final String CLOUD_PROVIDER = "AWS";
+    private static final String STORAGE_RESOURCE_TYPE = "storage";
+    private static final String LEGACY_DEFAULT_REGION = "us-east-1";
+    private static final int LIST_BUCKETS_PAGE_SIZE = 1000;
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\\d{12}");
+
+    private final S3ClientFactory s3ClientFactory;
+    private final InputValidator inputValidator;
+    private final ControlCatalog controlCatalog;
+    private final ComplianceProperties properties;
+    private final PolicyCompiler policyCompiler;
+
+    /**
+     * Storage controls checked for every bucket, with the control id each standard uses for them.
+     */
+    public enum BucketControl {
+        DEFAULT_ENCRYPTION(Finding.Severity.HIGH,
+            "Bucket default encryption is not enabled",
+            "Enable default SSE-S3 or SSE-KMS encryption on the bucket",
+            "CC6.1", "2.1.1", "SC-28"),
+        PUBLIC_ACCESS_BLOCK(Finding.Severity.CRITICAL,
+            "Bucket public access block is missing or incomplete",
+            "Enable all four S3 Block Public Access settings on the bucket",
+            "CC6.6", "2.1.4", "AC-3"),
+        VERSIONING(Finding.Severity.MEDIUM,
+            "Bucket versioning is not enabled",
+            "Enable versioning to protect objects against accidental overwrite and deletion",
+            "A1.2", "2.1.3", "CP-9"),
+        ACCESS_LOGGING(Finding.Severity.LOW,
+            "Bucket server access logging is not enabled",
+            "Enable server access logging to a dedicated log bucket",
+            "CC7.2", "3.6", "AU-2"),
+        PUBLIC_POLICY(Finding.Severity.CRITICAL,
+            "Bucket policy grants access to anyone",
+            "Remove wildcard principals from Allow statements or restrict them with source or organisation conditions",
+            "CC6.3", "2.1.5", "AC-22"),
+        CROSS_ACCOUNT_POLICY(Finding.Severity.MEDIUM,
+            "Bucket policy grants access to other AWS accounts",
+            "Review the external accounts named in the bucket policy and remove any that no longer need access",
+            "CC6.2", "2.1.6", "AC-6");
+
+        private final Finding.Severity severity;
+        private final String description;
+        private final String remediation;
+        private final String soc2ControlId;
+        private final String cisControlId;
+        private final String nistControlId;
+
+        BucketControl(Finding.Severity severity, String description, String remediation,
+                      String soc2ControlId, String cisControlId, String nistControlId) {
+            this.severity = severity;
+            this.description = description;
+            this.remediation = remediation;
+            this.soc2ControlId = soc2ControlId;
+            this.cisControlId = cisControlId;
+            this.nistControlId = nistControlId;
+        }
+
+        public String controlId(ComplianceStandard standard) {
+            return switch (standard) {
+                case SOC2 -> soc2ControlId;
+                case CIS -> cisControlId;
+                case NIST -> nistControlId;
+                default -> "S3." + (ordinal() + 1);
+            };
+        }
+
+        public ControlDefinition definition(ComplianceStandard standard) {
+            return new ControlDefinition(controlId(standard), severity, description, remediation);
+        }
+    }
+
+    /**
+     * Scans every bucket visible to the configured credentials, optionally restricted to one region,
+     * and passes one result per bucket to {@code sink}. Returns the number of buckets evaluated.
+     *
+     * @param region bucket region to include, or {@code null} for all regions
+     */
+    public int scan(String region, ComplianceStandard standard, Consumer<ComplianceResult> sink) {
+        return scan(region, standard, bucketName -> true, sink);
+    }
+
+    /**
+     * Like {@link #scan(String, ComplianceStandard, Consumer)}, skipping buckets whose name does not match
+     * {@code include} before any per-bucket request is made.
+     */
+    public int scan(String region, ComplianceStandard standard, Predicate<String> include, Consumer<ComplianceResult> sink) {
+        Map<String, S3Client> clients = new HashMap<>();
+        try {
+            S3Client discovery = clientFor(clients, properties.getSecurity().getAws().getDefaultRegion());
+            String ownerAccount = ownerAccount(properties.getSecurity().getAws().getAccountId());
+            int evaluated = 0;
+            for (Bucket bucket : listBuckets(discovery)) {
+                if (!include.test(bucket.name())) {
+                    continue;
+                }
+                String bucketRegion;
+                try {
+                    bucketRegion = bucketRegion(discovery, bucket);
+                } catch (S3Exception e) {
+                    String resourceId = inputValidator.bucketResourceId(bucket.name());
+                    log.warn("Unable to locate bucket {}: {}", resourceId, e.getMessage());
+                    sink.accept(errorResult(resourceId, standard, "Unable to determine bucket region",
+                        "Grant s3:GetBucketLocation permission to the scanning role", e, null));
+                    evaluated++;
+                    continue;
+                }
+                if (region != null && !region.equals(bucketRegion)) {
+                    continue;
+                }
+                sink.accept(evaluateBucket(clientFor(clients, bucketRegion), bucket.name(), bucketRegion, standard, ownerAccount));
+                evaluated++;
+            }
+            log.info("Scanned {} S3 buckets for {} (region filter: {})", evaluated, standard, region);
+            return evaluated;
+        } finally {
+            clients.values().forEach(S3Client::close);
+        }
+    }
+
+    /**
+     * Every bucket visible to {@code client}, fetched page by page as the iterable is consumed.
+     */
+    Iterable<Bucket> listBuckets(S3Client client) {
+        return client.listBucketsPaginator(request -> request.maxBuckets(LIST_BUCKETS_PAGE_SIZE)).buckets();
+    }
+
+    /**
+     * Region of a listed bucket, taken from the listing when present and from GetBucketLocation otherwise.
+     *
+     * @throws S3Exception if the location cannot be read, e.g. because access is denied
+     */
+    String bucketRegion(S3Client client, Bucket bucket) {
+        return bucket.bucketRegion() != null ? bucket.bucketRegion() : bucketRegion(client, bucket.name());
+    }
+
+    /**
+     * Catalog reference for a control, used when scan results are stored in compact form.
+     */
+    public int controlRef(BucketControl control, ComplianceStandard standard) {
+        return controlCatalog.intern(control.definition(standard));
+    }
+
+    /**
+     * The configured account when it is a 12-digit account id, or {@code null} when it is only a label, in
+     * which case cross-account grants cannot be told apart and are not reported.
+     */
+    static String ownerAccount(String configuredAccount) {
+        return configuredAccount != null && ACCOUNT_ID.matcher(configuredAccount).matches() ? configuredAccount : null;
+    }
+
+    /**
+     * @param ownerAccount 12-digit id of the account owning the bucket, whose policy grants to any other
+     *                     account are reported as cross-account access, or {@code null} to skip that check
+     */
+    ComplianceResult evaluateBucket(S3Client client, String bucketName, String bucketRegion, ComplianceStandard standard,
+                                    String ownerAccount) {
+        String resourceId = inputValidator.bucketResourceId(bucketName);
+        List<Finding> findings = new ArrayList<>(BucketControl.values().length);
+
+        try {
+            checkEncryption(client, bucketName, resourceId, standard, findings);
+            checkPublicAccessBlock(client, bucketName, resourceId, standard, findings);
+            checkVersioning(client, bucketName, resourceId, standard, findings);
+            checkLogging(client, bucketName, resourceId, standard, findings);
+            checkBucketPolicy(client, bucketName, resourceId, ownerAccount, standard, findings);
+        } catch (S3Exception e) {
+            log.warn("Unable to evaluate bucket {}: {}", resourceId, e.getMessage());
+            return errorResult(resourceId, standard, "Unable to evaluate bucket configuration",
+                "Grant s3:GetBucket* and s3:GetEncryptionConfiguration permissions to the scanning role", e, bucketRegion);
+        }
+
+        return new ComplianceResult(
+            resourceId,
+            STORAGE_RESOURCE_TYPE,
+            standard,
+            statusFor(findings),
+            findings,
+            CLOUD_PROVIDER,
+            bucketRegion
+        );
+    }
+
+    private ComplianceResult errorResult(String resourceId, ComplianceStandard standard, String description,
+                                         String remediation, S3Exception e, String bucketRegion) {
+        return new ComplianceResult(
+            resourceId,
+            STORAGE_RESOURCE_TYPE,
+            standard,
+            ComplianceStatus.ERROR,
+            List.of(new Finding(
+                "S3-SCAN-ERROR:" + resourceId,
+                Finding.Severity.MEDIUM,
+                "SYSTEM",
+                description,
+                remediation,
+                "HTTP " + e.statusCode() + " " + errorCode(e)
+            )),
+            CLOUD_PROVIDER,
+            bucketRegion
+        );
+    }
+
+    private void checkEncryption(S3Client client, String bucketName, String resourceId,
+                                 ComplianceStandard standard, List<Finding> findings) {
+        try {
+            client.getBucketEncryption(request -> request.bucket(bucketName));
+        } catch (S3Exception e) {
+            if (!"ServerSideEncryptionConfigurationNotFoundError".equals(errorCode(e))) {
+                throw e;
+            }
+            findings.add(finding(BucketControl.DEFAULT_ENCRYPTION, standard, resourceId, "No default encryption configuration"));
+        }
+    }
+
+    private void checkPublicAccessBlock(S3Client client, String bucketName, String resourceId,
+                                        ComplianceStandard standard, List<Finding> findings) {
+        try {
+            PublicAccessBlockConfiguration config = client.getPublicAccessBlock(request -> request.bucket(bucketName))
+                .publicAccessBlockConfiguration();
+            List<String> disabled = new ArrayList<>(4);
+            if (!Boolean.TRUE.equals(config.blockPublicAcls())) disabled.add("BlockPublicAcls");
+            if (!Boolean.TRUE.equals(config.ignorePublicAcls())) disabled.add("IgnorePublicAcls");
+            if (!Boolean.TRUE.equals(config.blockPublicPolicy())) disabled.add("BlockPublicPolicy");
+            if (!Boolean.TRUE.equals(config.restrictPublicBuckets())) disabled.add("RestrictPublicBuckets");
+            if (!disabled.isEmpty()) {
+                findings.add(finding(BucketControl.PUBLIC_ACCESS_BLOCK, standard, resourceId,
+                    "Disabled settings: " + String.join(", ", disabled)));
+            }
+        } catch (S3Exception e) {
+            if (!"NoSuchPublicAccessBlockConfiguration".equals(errorCode(e))) {
+                throw e;
+            }
+            findings.add(finding(BucketControl.PUBLIC_ACCESS_BLOCK, standard, resourceId, "No public access block configuration"));
+        }
+    }
+
+    private void checkVersioning(S3Client client, String bucketName, String resourceId,
+                                 ComplianceStandard standard, List<Finding> findings) {
+        GetBucketVersioningResponse versioning = client.getBucketVersioning(request -> request.bucket(bucketName));
+        if (versioning.status() != BucketVersioningStatus.ENABLED) {
+            findings.add(finding(BucketControl.VERSIONING, standard, resourceId,
+                "Versioning status: " + (versioning.status() != null ? versioning.statusAsString() : "Never enabled")));
+        }
+    }
+
+    private void checkLogging(S3Client client, String bucketName, String resourceId,
+                              ComplianceStandard standard, List<Finding> findings) {
+        GetBucketLoggingResponse logging = client.getBucketLogging(request -> request.bucket(bucketName));
+        if (logging.loggingEnabled() == null) {
+            findings.add(finding(BucketControl.ACCESS_LOGGING, standard, resourceId, "No logging target configured"));
+        }
+    }
+
+    /**
+     * Analyses the bucket policy through {@link PolicyCompiler}, so buckets sharing a policy template are
+     * parsed once and both questions are answered from the same compiled form.
+     */
+    private void checkBucketPolicy(S3Client client, String bucketName, String resourceId, String ownerAccount,
+                                   ComplianceStandard standard, List<Finding> findings) {
+        String policy;
+        try {
+            policy = client.getBucketPolicy(request -> request.bucket(bucketName)).policy();
+        } catch (S3Exception e) {
+            if (!"NoSuchBucketPolicy".equals(errorCode(e))) {
+                throw e;
+            }
+            return;
+        }
+
+        CompiledPolicy compiled;
+        try {
+            compiled = policyCompiler.compile(bucketName, policy);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unable to analyse policy of bucket {}: {}", resourceId, e.getMessage());
+            findings.add(new Finding(
+                "S3-POLICY-ERROR:" + resourceId,
+                Finding.Severity.MEDIUM,
+                "SYSTEM",
+                "Bucket policy could not be analysed",
+                "Review the bucket policy manually; public and cross-account access were not evaluated",
+                e.getMessage()
+            ));
+            return;
+        }
+        List<String> publicGrants = compiled.publicGrants();
+        if (!publicGrants.isEmpty()) {
+            findings.add(finding(BucketControl.PUBLIC_POLICY, standard, resourceId,
+                "Public statements: " + String.join("; ", publicGrants)));
+        }
+        if (ownerAccount != null) {
+            Set<String> external = compiled.externalAccounts(ownerAccount);
+            if (!external.isEmpty()) {
+                findings.add(finding(BucketControl.CROSS_ACCOUNT_POLICY, standard, resourceId,
+                    "External accounts: " + String.join(", ", external)));
+            }
+        }
+    }
+
+    private Finding finding(BucketControl control, ComplianceStandard standard, String resourceId, String evidence) {
+        String controlId = control.controlId(standard);
+        return new Finding(
+            controlId + ":" + resourceId,
+            control.severity,
+            controlId,
+            control.description,
+            control.remediation,
+            evidence
+        );
+    }
+
+    private ComplianceStatus statusFor(List<Finding> findings) {
+        if (findings.isEmpty()) {
+            return ComplianceStatus.COMPLIANT;
+        }
+        boolean severe = findings.stream().anyMatch(finding ->
+            finding.severity() == Finding.Severity.CRITICAL || finding.severity() == Finding.Severity.HIGH);
+        return severe ? ComplianceStatus.NON_COMPLIANT : ComplianceStatus.PARTIAL_COMPLIANT;
+    }
+
+    /**
+     * Only an empty location constraint means the legacy default region; failures propagate so an
+     * unreadable bucket is reported rather than silently scanned in the wrong region.
+     */
+    private String bucketRegion(S3Client client, String bucketName) {
+        String constraint = client.getBucketLocation(request -> request.bucket(bucketName)).locationConstraintAsString();
+        return constraint == null || constraint.isEmpty() ? LEGACY_DEFAULT_REGION : constraint;
+    }
+
+    private S3Client clientFor(Map<String, S3Client> clients, String region) {
+        return clients.computeIfAbsent(region, s3ClientFactory::createClient);
+    }
+
+    private static String errorCode(S3Exception e) {
+        return e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : null;
+    }
+}
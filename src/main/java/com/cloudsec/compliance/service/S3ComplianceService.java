@@ -1,12 +1,20 @@
 package com.cloudsec.compliance.service;
 
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.CacheStatsResponse;
 import com.cloudsec.compliance.dto.response.S3BucketListResponse;
+import com.cloudsec.compliance.errors.CircuitOpenException;
 import com.cloudsec.compliance.errors.InvalidInputException;
 import com.cloudsec.compliance.errors.RateLimitExceededException;
+import com.cloudsec.compliance.components.BucketInventoryIndex;
+import com.cloudsec.compliance.components.ComplianceResultCache;
 import com.cloudsec.compliance.components.InputValidator;
 import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
 import com.cloudsec.compliance.dto.response.S3BucketInfo;
 import com.cloudsec.compliance.util.PaginationUtils;
+import com.cloudsec.compliance.util.SingleFlight;
+import com.cloudsec.compliance.model.BucketQuery;
 import com.cloudsec.compliance.model.PaginationResult;
 import com.cloudsec.compliance.model.ComplianceResult;
 import com.cloudsec.compliance.model.ComplianceStandard;
@@ -15,16 +23,14 @@ import com.cloudsec.compliance.model.Finding;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkException;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -34,16 +40,73 @@ public class S3ComplianceService implements CloudComplianceService {
     private final InputValidator inputValidator;
     private final RateLimitingComponent rateLimitingComponent;
     private final PaginationUtils paginationUtils;
+    private final S3ClientFactory s3ClientFactory;
+    private final ComplianceResultCache complianceResultCache;
+    private final ComplianceProperties properties;
+    private final PostureRollupService postureRollupService;
+    private final BucketInventoryIndex bucketInventoryIndex;
+    private final NetworkComplianceService networkComplianceService;
+    
+    private final SingleFlight<ComplianceResultCache.Key, ComplianceResult> complianceFlights = new SingleFlight<>();
+    private final SingleFlight<ComplianceResultCache.Key, ComplianceResult> refreshFlights = new SingleFlight<>();
+    private final SingleFlight<ListBucketsKey, PaginationResult<S3BucketInfo>> listBucketsFlights = new SingleFlight<>();
     
     private static final int DEFAULT_PAGE_SIZE = 20;
-    private static final int MAX_BUCKETS_RETURNED = 1000;
+    private static final int LIST_BUCKETS_PAGE_SIZE = 1000;
     private static final String CLOUD_PROVIDER = "AWS";
     private static final String STORAGE_RESOURCE_TYPE = "storage";
+    private static final String NETWORK_RESOURCE_TYPE = "network";
+    private static final String GLOBAL_REGION = "global";
     
     @Override
     public ComplianceResult checkCompliance(String resourceType, ComplianceStandard standard) {
         log.info("Checking compliance for resourceType: {}, standard: {}", resourceType, standard);
         
+        ComplianceResultCache.Key key = complianceKey(resourceType, standard);
+        return complianceFlights.execute(key, () -> complianceResultCache.get(key, k ->
+            postureRollupService.record(k.account(), evaluateCompliance(resourceType, standard))));
+    }
+    
+    /**
+     * Coalesces with other refreshes only, never with a {@link #checkCompliance} flight, which may be
+     * returning a cached result that this refresh is meant to replace.
+     */
+    @Override
+    public ComplianceResult refreshCompliance(String resourceType, ComplianceStandard standard) {
+        ComplianceResultCache.Key key = complianceKey(resourceType, standard);
+        ComplianceResult result = refreshFlights.execute(key, () ->
+            postureRollupService.record(key.account(), evaluateCompliance(resourceType, standard)));
+        complianceResultCache.put(key, result);
+        return result;
+    }
+    
+    private ComplianceResultCache.Key complianceKey(String resourceType, ComplianceStandard standard) {
+        return new ComplianceResultCache.Key(
+            CLOUD_PROVIDER,
+            properties.getSecurity().getAws().getAccountId(),
+            GLOBAL_REGION,
+            resourceType,
+            standard
+        );
+    }
+    
+    public CacheStatsResponse getComplianceCacheStats() {
+        return complianceResultCache.stats();
+    }
+    
+    /**
+     * Drops cached results matching the given filters; {@code null} filters match everything.
+     */
+    public long invalidateComplianceCache(String resourceType, ComplianceStandard standard) {
+        return complianceResultCache.invalidateMatching(key ->
+            (resourceType == null || resourceType.equals(key.resourceType()))
+                && (standard == null || standard == key.standard()));
+    }
+    
+    private ComplianceResult evaluateCompliance(String resourceType, ComplianceStandard standard) {
+        if (NETWORK_RESOURCE_TYPE.equals(resourceType)) {
+            return networkComplianceService.evaluate(standard);
+        }
         if (!STORAGE_RESOURCE_TYPE.equals(resourceType)) {
             return new ComplianceResult(
                 "unknown",
@@ -64,7 +127,7 @@ public class S3ComplianceService implements CloudComplianceService {
                 ComplianceStatus.COMPLIANT,
                 List.of(),
                 CLOUD_PROVIDER,
-                "global"
+                GLOBAL_REGION
             );
         } catch (Exception e) {
             log.error("Error checking compliance for S3", e);
@@ -89,7 +152,7 @@ public class S3ComplianceService implements CloudComplianceService {
     
     @Override
     public List<String> getSupportedResourceTypes() {
-        return List.of(STORAGE_RESOURCE_TYPE);
+        return List.of(STORAGE_RESOURCE_TYPE, NETWORK_RESOURCE_TYPE);
     }
     
     @Override
@@ -107,38 +170,40 @@ public class S3ComplianceService implements CloudComplianceService {
     }
     
     public S3BucketListResponse listBuckets(String region, Integer pageSize, String pageToken) {
-        log.info("Listing S3 buckets for region: {}, pageSize: {}", region, pageSize);
+        return listBuckets(region, pageSize, pageToken, BucketQuery.NONE);
+    }
+    
+    /**
+     * Lists buckets, optionally filtered and sorted server-side. A non-empty query is answered from
+     * {@link BucketInventoryIndex}; otherwise buckets are streamed in the order AWS returns them.
+     * Identical requests arriving while one is in flight share its page and its rate-limit token.
+     */
+    public S3BucketListResponse listBuckets(String region, Integer pageSize, String pageToken, BucketQuery query) {
+        log.info("Listing S3 buckets for region: {}, pageSize: {}, query: {}", region, pageSize, query);
         
         try {
             String validatedRegion = inputValidator.validateAndSanitizeRegion(region);
             int validatedPageSize = inputValidator.validatePageSize(pageSize, DEFAULT_PAGE_SIZE);
-            
-            if (!rateLimitingComponent.checkRateLimit("listBuckets")) {
-                throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
+            BucketQuery validatedQuery = query == null ? BucketQuery.NONE : query;
+            if (validatedQuery.bucketRegion() != null) {
+                validatedQuery = new BucketQuery(
+                    validatedQuery.namePrefix(),
+                    validatedQuery.nameContains(),
+                    validatedQuery.createdAfter(),
+                    validatedQuery.createdBefore(),
+                    inputValidator.validateAndSanitizeRegion(validatedQuery.bucketRegion()),
+                    validatedQuery.sort()
+                );
             }
             
-            S3Client s3Client = createS3Client(validatedRegion);
-            
-            ListBucketsResponse response = s3Client.listBuckets();
-            
-            List<S3BucketInfo> allBuckets = response.buckets().stream()
-                .limit(MAX_BUCKETS_RETURNED)
-                .map(bucket -> new S3BucketInfo(
-                    inputValidator.sanitizeBucketName(bucket.name()),
-                    Optional.ofNullable(bucket.creationDate())
-                        .map(Object::toString)
-                        .orElse("unknown"),
-                    validatedRegion
-                ))
-                .collect(Collectors.toList());
-            
-            PaginationResult<S3BucketInfo> paginatedResult = 
-                paginationUtils.paginateResults(allBuckets, validatedPageSize, pageToken);
+            ListBucketsKey key = new ListBucketsKey(validatedRegion, validatedPageSize,
+                pageToken == null || pageToken.isBlank() ? null : pageToken, validatedQuery);
+            PaginationResult<S3BucketInfo> paginatedResult = listBucketsFlights.execute(key, () -> fetchBuckets(key));
             
             return new S3BucketListResponse(
                 "SUCCESS",
                 paginatedResult.items().size(),
-                response.buckets().size(),
+                paginatedResult.totalItems(),
                 paginatedResult.items(),
                 LocalDateTime.now().toString(),
                 validatedRegion,
@@ -150,6 +215,9 @@ public class S3ComplianceService implements CloudComplianceService {
         } catch (RateLimitExceededException | InvalidInputException e) {
             log.warn("Client error in listBuckets: {}", e.getMessage());
             return createErrorResponse(e.getMessage(), region);
+        } catch (CircuitOpenException e) {
+            log.warn("Circuit open in listBuckets: {}", e.getMessage());
+            return createErrorResponse(e.getMessage(), region);
         } catch (S3Exception e) {
             log.error("S3 error in listBuckets: {}", e.getMessage());
             return createErrorResponse(mapS3Error(e), region);
@@ -162,14 +230,51 @@ public class S3ComplianceService implements CloudComplianceService {
         }
     }
     
-    private S3Client createS3Client(String region) {
-        return S3Client.builder()
-            .region(Region.of(region))
-            .credentialsProvider(DefaultCredentialsProvider.create())
-            .overrideConfiguration(builder -> builder
-                .retryPolicy(retryPolicy -> retryPolicy.numRetries(2))
-            )
-            .build();
+    private PaginationResult<S3BucketInfo> fetchBuckets(ListBucketsKey key) {
+        if (!rateLimitingComponent.checkRateLimit("listBuckets")) {
+            throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
+        }
+        
+        if (!key.query().isEmpty()) {
+            List<S3BucketInfo> matches = bucketInventoryIndex.search(key.query(), () -> loadInventory(key.region()))
+                .stream()
+                .map(entry -> new S3BucketInfo(
+                    entry.name(),
+                    entry.creationDate() != null ? entry.creationDate().toString() : "unknown",
+                    entry.region() != null ? entry.region() : key.region()
+                ))
+                .toList();
+            return paginationUtils.paginateResults(matches, key.pageSize(), key.pageToken());
+        }
+        try (S3Client s3Client = s3ClientFactory.createClient(key.region())) {
+            return paginationUtils.paginateStream(
+                s3Client.listBucketsPaginator(request -> request.maxBuckets(LIST_BUCKETS_PAGE_SIZE)).buckets(),
+                bucket -> new S3BucketInfo(
+                    inputValidator.sanitizeBucketName(bucket.name()),
+                    Optional.ofNullable(bucket.creationDate())
+                        .map(Object::toString)
+                        .orElse("unknown"),
+                    key.region()
+                ),
+                key.pageSize(),
+                key.pageToken(),
+                properties.getPagination().getMaxTotalResults()
+            );
+        }
+    }
+    
+    private List<BucketInventoryIndex.Entry> loadInventory(String clientRegion) {
+        try (S3Client s3Client = s3ClientFactory.createClient(clientRegion)) {
+            List<BucketInventoryIndex.Entry> entries = new ArrayList<>();
+            for (Bucket bucket : s3Client.listBucketsPaginator(request -> request.maxBuckets(LIST_BUCKETS_PAGE_SIZE)).buckets()) {
+                entries.add(new BucketInventoryIndex.Entry(
+                    inputValidator.sanitizeBucketName(bucket.name()),
+                    bucket.creationDate(),
+                    bucket.bucketRegion()
+                ));
+            }
+            return entries;
+        }
     }
     
     private String mapS3Error(S3Exception e) {
@@ -195,4 +300,10 @@ public class S3ComplianceService implements CloudComplianceService {
             message
         );
     }
-}
\ No newline at end of file
+    
+    /**
+     * Normalised identity of a list request, used to coalesce identical concurrent calls.
+     */
+    private record ListBucketsKey(String region, int pageSize, String pageToken, BucketQuery query) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.PostureSubscriptions;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.ScanStore;
+import com.cloudsec.compliance.dto.response.FindingChange;
+import com.cloudsec.compliance.dto.response.ScanDiffResponse;
+import com.cloudsec.compliance.dto.response.ScanSummaryResponse;
+import com.cloudsec.compliance.errors.CircuitOpenException;
+import com.cloudsec.compliance.errors.InvalidInputException;
+import com.cloudsec.compliance.errors.RateLimitExceededException;
+import com.cloudsec.compliance.model.CompactFindings;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ControlCatalog;
+import com.cloudsec.compliance.model.Finding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs bucket scans into the {@link ScanStore} and compares stored scans. In cluster mode the scan is
+ * divided between instances by {@link ClusterScanService}. Every bucket result is reported to
+ * {@link PostureSubscriptions}, so bucket subscribers learn when a rescan changes a bucket's posture.
+ * <p>
+ * Stored findings are kept sorted by (resource id, control id, finding id), so a diff is a single
+ * linear merge over both scans. Only the requested number of changes per category is materialized;
+ * the counts always cover the full delta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScanService {
+
+    private static final int DEFAULT_DIFF_LIMIT = 50;
+    private static final int MAX_DIFF_LIMIT = 500;
+
+    private final S3BucketScanner bucketScanner;
+    private final ScanStore scanStore;
+    private final ControlCatalog controlCatalog;
+    private final InputValidator inputValidator;
+    private final RateLimitingComponent rateLimitingComponent;
+    private final ClusterScanService clusterScanService;
+    private final PostureSubscriptions postureSubscriptions;
+
+    public ScanSummaryResponse runScan(String region, ComplianceStandard standard) {
+        log.info("Running {} scan for region: {}", standard, region);
+
+        try {
+            String validatedRegion = region == null || region.isBlank() ? null : inputValidator.validateAndSanitizeRegion(region);
+
+            if (!rateLimitingComponent.checkRateLimit("runScan")) {
+                throw new RateLimitExceededException("Rate limit exceeded. Please try again later.");
+            }
+
+            CompactFindings findings = new CompactFindings(controlCatalog);
+            AtomicLong resources = new AtomicLong();
+            Consumer<ComplianceResult> sink = result -> {
+                resources.incrementAndGet();
+                for (Finding finding : result.findings()) {
+                    findings.add(result.resourceId(), finding);
+                }
+                postureSubscriptions.record(result);
+            };
+            if (clusterScanService.isEnabled()) {
+                clusterScanService.scan(validatedRegion, standard, sink);
+            } else {
+                bucketScanner.scan(validatedRegion, standard, sink);
+            }
+
+            ScanStore.StoredScan scan = scanStore.store(standard,
+                validatedRegion != null ? validatedRegion : "all", resources.get(), findings);
+            log.info("Stored scan {} with {} resources and {} findings",
+                scan.scanId(), scan.resourceCount(), findings.size());
+            return summarize(scan);
+
+        } catch (RateLimitExceededException | InvalidInputException e) {
+            log.warn("Client error in runScan: {}", e.getMessage());
+            return createErrorResponse(e.getMessage(), standard, region);
+        } catch (CircuitOpenException e) {
+            log.warn("Circuit open in runScan: {}", e.getMessage());
+            return createErrorResponse(e.getMessage(), standard, region);
+        } catch (SdkException e) {
+            log.error("AWS SDK error in runScan: {}", e.getMessage());
+            return createErrorResponse("AWS service unavailable", standard, region);
+        } catch (Exception e) {
+            log.error("Unexpected error in runScan", e);
+            return createErrorResponse("Service temporarily unavailable", standard, region);
+        }
+    }
+
+    public List<ScanSummaryResponse> listScans() {
+        return scanStore.list().stream()
+            .map(this::summarize)
+            .toList();
+    }
+
+    /**
+     * Computes findings that are new in {@code targetScanId}, resolved since {@code baseScanId}, or
+     * present in both with a different severity or evidence.
+     */
+    public ScanDiffResponse diffScans(String baseScanId, String targetScanId, Integer limit) {
+        ScanStore.StoredScan base = scanStore.get(baseScanId)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown scan: " + baseScanId));
+        ScanStore.StoredScan target = scanStore.get(targetScanId)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown scan: " + targetScanId));
+        if (base.standard() != target.standard()) {
+            throw new IllegalArgumentException("Scans were run against different standards: "
+                + base.standard() + " and " + target.standard());
+        }
+        int maxItems = limit == null ? DEFAULT_DIFF_LIMIT : Math.max(0, Math.min(limit, MAX_DIFF_LIMIT));
+
+        CompactFindings before = base.findings();
+        CompactFindings after = target.findings();
+        int[] beforeOrder = before.keyOrder();
+        int[] afterOrder = after.keyOrder();
+
+        List<FindingChange> added = new ArrayList<>();
+        List<FindingChange> resolved = new ArrayList<>();
+        List<FindingChange> changed = new ArrayList<>();
+        long addedCount = 0;
+        long resolvedCount = 0;
+        long changedCount = 0;
+        long unchangedCount = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < beforeOrder.length || j < afterOrder.length) {
+            int cmp;
+            if (i >= beforeOrder.length) {
+                cmp = 1;
+            } else if (j >= afterOrder.length) {
+                cmp = -1;
+            } else {
+                cmp = CompactFindings.compareKeys(before, beforeOrder[i], after, afterOrder[j]);
+            }
+
+            if (cmp < 0) {
+                if (resolved.size() < maxItems) {
+                    resolved.add(change(before, beforeOrder[i], null, -1));
+                }
+                resolvedCount++;
+                i++;
+            } else if (cmp > 0) {
+                if (added.size() < maxItems) {
+                    added.add(change(after, afterOrder[j], null, -1));
+                }
+                addedCount++;
+                j++;
+            } else {
+                int previous = beforeOrder[i];
+                int current = afterOrder[j];
+                if (before.severity(previous) != after.severity(current)
+                    || !Objects.equals(before.evidence(previous), after.evidence(current))) {
+                    if (changed.size() < maxItems) {
+                        changed.add(change(after, current, before, previous));
+                    }
+                    changedCount++;
+                } else {
+                    unchangedCount++;
+                }
+                i++;
+                j++;
+            }
+        }
+
+        log.info("Diff {} -> {}: {} new, {} resolved, {} changed",
+            baseScanId, targetScanId, addedCount, resolvedCount, changedCount);
+
+        return new ScanDiffResponse(
+            baseScanId,
+            targetScanId,
+            addedCount,
+            resolvedCount,
+            changedCount,
+            unchangedCount,
+            added,
+            resolved,
+            changed,
+            addedCount > added.size() || resolvedCount > resolved.size() || changedCount > changed.size(),
+            LocalDateTime.now().toString()
+        );
+    }
+
+    private FindingChange change(CompactFindings findings, int index, CompactFindings previous, int previousIndex) {
+        Finding finding = findings.toFinding(index);
+        return new FindingChange(
+            findings.resourceId(index),
+            finding.controlId(),
+            finding.id(),
+            finding.severity().name(),
+            previous != null ? previous.severity(previousIndex).name() : null,
+            finding.description(),
+            finding.evidence(),
+            previous != null ? previous.evidence(previousIndex) : null
+        );
+    }
+
+    private ScanSummaryResponse summarize(ScanStore.StoredScan scan) {
+        return new ScanSummaryResponse(
+            "SUCCESS",
+            scan.scanId(),
+            scan.standard().name(),
+            scan.region(),
+            scan.resourceCount(),
+            scan.findings().size(),
+            scan.findings().severityHistogram(),
+            scan.createdAt().toString(),
+            null
+        );
+    }
+
+    private ScanSummaryResponse createErrorResponse(String message, ComplianceStandard standard, String region) {
+        return new ScanSummaryResponse(
+            "ERROR",
+            null,
+            standard.name(),
+            region != null ? region : "all",
+            0,
+            0,
+            null,
+            LocalDateTime.now().toString(),
+            message
+        );
+    }
+}
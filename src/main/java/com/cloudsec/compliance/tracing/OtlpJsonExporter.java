@@ -0,0 +1,109 @@
+package com.cloudsec.compliance.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends finished traces to a file as OTLP/JSON {@code ExportTraceServiceRequest} objects, one per line,
+ * the layout the OpenTelemetry Collector's file receiver and {@code otlpjsonfile} tooling read.
+ */
+@Slf4j
+public final class OtlpJsonExporter implements AutoCloseable {
+
+    static final String SERVICE_NAME = "cloud-compliance-mcp";
+
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_ERROR = 2;
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private BufferedWriter writer;
+
+    public OtlpJsonExporter(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void export(List<SpanData> spans, int dropped) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(objectMapper.writeValueAsString(request(spans, dropped)));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Unable to export trace to {}: {}", file, e.getMessage());
+        }
+    }
+
+    static Map<String, Object> request(List<SpanData> spans, int dropped) {
+        List<Map<String, Object>> otlpSpans = new ArrayList<>(spans.size());
+        for (SpanData span : spans) {
+            Map<String, Object> otlp = new LinkedHashMap<>();
+            otlp.put("traceId", span.traceId());
+            otlp.put("spanId", span.spanId());
+            if (span.parentSpanId() != null) {
+                otlp.put("parentSpanId", span.parentSpanId());
+            }
+            otlp.put("name", span.name());
+            otlp.put("kind", span.kind().otlpCode());
+            // OTLP/JSON encodes 64-bit integers as strings.
+            otlp.put("startTimeUnixNano", Long.toString(span.startEpochNanos()));
+            otlp.put("endTimeUnixNano", Long.toString(span.endEpochNanos()));
+            Map<String, String> attributes = new LinkedHashMap<>(span.attributes());
+            if (span.isRoot() && dropped > 0) {
+                attributes.put("trace.dropped_spans", Integer.toString(dropped));
+            }
+            otlp.put("attributes", attributes(attributes));
+            otlp.put("status", span.error()
+                ? Map.of("code", STATUS_ERROR, "message", span.errorMessage() != null ? span.errorMessage() : "")
+                : Map.of("code", STATUS_OK));
+            otlpSpans.add(otlp);
+        }
+        return Map.of("resourceSpans", List.of(Map.of(
+            "resource", Map.of("attributes", attributes(Map.of("service.name", SERVICE_NAME))),
+            "scopeSpans", List.of(Map.of(
+                "scope", Map.of("name", SERVICE_NAME),
+                "spans", otlpSpans
+            ))
+        )));
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, String> attributes) {
+        List<Map<String, Object>> values = new ArrayList<>(attributes.size());
+        attributes.forEach((key, value) -> values.add(Map.of("key", key, "value", Map.of("stringValue", value))));
+        return values;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.debug("Unable to close trace export file: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cloudsec.compliance.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A span in progress on the current thread, closed with try-with-resources.
+ * <p>
+ * Opening a span makes it the thread's current span, so spans opened inside it become its children;
+ * closing it records it and makes its parent current again. Spans must therefore be closed on the thread
+ * that opened them, in reverse order. When no trace is active, {@link Tracer#span} returns a shared no-op
+ * span and tracing costs one thread-local read.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span();
+
+    private final Tracer tracer;
+    private final Trace trace;
+    private final Span parent;
+    private final String spanId;
+    private final String name;
+    private final SpanData.Kind kind;
+    private final long startNanos;
+    private Map<String, String> attributes;
+    private String errorMessage;
+    private boolean error;
+    private boolean closed;
+
+    private Span() {
+        this.tracer = null;
+        this.trace = null;
+        this.parent = null;
+        this.spanId = null;
+        this.name = null;
+        this.kind = SpanData.Kind.INTERNAL;
+        this.startNanos = 0;
+    }
+
+    Span(Tracer tracer, Trace trace, Span parent, String name, SpanData.Kind kind) {
+        this.tracer = tracer;
+        this.trace = trace;
+        this.parent = parent;
+        this.spanId = randomHex(1);
+        this.name = name;
+        this.kind = kind;
+        this.startNanos = System.nanoTime();
+        Tracer.makeCurrent(this);
+    }
+
+    public boolean isRecording() {
+        return tracer != null;
+    }
+
+    /**
+     * Id of this span's trace, or {@code null} for the no-op span.
+     */
+    public String traceId() {
+        return trace != null ? trace.traceId() : null;
+    }
+
+    public Span attribute(String key, Object value) {
+        if (tracer != null && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>(4);
+            }
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    public Span error(String message) {
+        if (tracer != null) {
+            error = true;
+            errorMessage = message;
+        }
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        return error(throwable.getClass().getSimpleName() + ": " + throwable.getMessage());
+    }
+
+    @Override
+    public void close() {
+        if (tracer == null || closed) {
+            return;
+        }
+        closed = true;
+        long durationNanos = System.nanoTime() - startNanos;
+        SpanData data = new SpanData(
+            trace.traceId(),
+            spanId,
+            parent != null ? parent.spanId : null,
+            name,
+            kind,
+            trace.epochNanos(startNanos),
+            durationNanos,
+            error,
+            errorMessage,
+            attributes != null ? Collections.unmodifiableMap(attributes) : Map.of()
+        );
+        Tracer.restoreCurrent(this, parent);
+        tracer.finished(trace, data);
+    }
+
+    Tracer tracer() {
+        return tracer;
+    }
+
+    Trace trace() {
+        return trace;
+    }
+
+    static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(16 * longs);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < longs; i++) {
+            String part = Long.toHexString(random.nextLong());
+            hex.append("0".repeat(16 - part.length())).append(part);
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.cloudsec.compliance.tracing;
+
+import java.util.Map;
+
+/**
+ * A finished span. Ids are lowercase hex as in OTLP: 32 characters for traces, 16 for spans.
+ *
+ * @param parentSpanId {@code null} for the root span of a trace
+ * @param startEpochNanos wall-clock start in nanoseconds since the epoch
+ * @param errorMessage {@code null} unless the span failed
+ */
+public record SpanData(
+    String traceId,
+
+    String spanId,
+
+    String parentSpanId,
+
+    String name,
+
+    Kind kind,
+
+    long startEpochNanos,
+
+    long durationNanos,
+
+    boolean error,
+
+    String errorMessage,
+
+    Map<String, String> attributes
+) {
+    /**
+     * Span kinds with their OTLP codes.
+     */
+    public enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        private final int otlpCode;
+
+        Kind(int otlpCode) {
+            this.otlpCode = otlpCode;
+        }
+
+        public int otlpCode() {
+            return otlpCode;
+        }
+    }
+
+    public boolean isRoot() {
+        return parentSpanId == null;
+    }
+
+    public long endEpochNanos() {
+        return startEpochNanos + durationNanos;
+    }
+}
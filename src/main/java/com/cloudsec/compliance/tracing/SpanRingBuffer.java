@@ -0,0 +1,60 @@
+package com.cloudsec.compliance.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size buffer of the most recent finished spans.
+ * <p>
+ * Writers claim a slot with one atomic increment and overwrite whatever it held, so recording never
+ * blocks and never allocates beyond the span itself. Readers take a best-effort snapshot: a span written
+ * while a snapshot is taken may or may not be included.
+ */
+public final class SpanRingBuffer {
+
+    private final AtomicReferenceArray<SpanData> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public SpanRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(SpanData span) {
+        slots.set((int) (next.getAndIncrement() & mask), span);
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Spans recorded so far, including those already overwritten.
+     */
+    public long recorded() {
+        return next.get();
+    }
+
+    /**
+     * Buffered spans, newest first.
+     */
+    public List<SpanData> snapshot() {
+        long end = next.get();
+        long start = Math.max(0, end - slots.length());
+        List<SpanData> spans = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            SpanData span = slots.get((int) (sequence & mask));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,60 @@
+package com.cloudsec.compliance.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State shared by the spans of one trace: its id, the clock anchor for span start times and, when traces
+ * are exported, the finished spans collected until the root closes.
+ */
+final class Trace {
+
+    private final String traceId = Span.randomHex(2);
+    private final long anchorEpochNanos;
+    private final long anchorNanoTime;
+    private final int maxSpans;
+    private final List<SpanData> spans;
+    private int dropped;
+
+    /**
+     * @param maxSpans spans kept for export besides the root; zero when the trace is not exported
+     */
+    Trace(int maxSpans) {
+        Instant now = Instant.now();
+        this.anchorNanoTime = System.nanoTime();
+        this.anchorEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        this.maxSpans = maxSpans;
+        this.spans = maxSpans > 0 ? new ArrayList<>() : null;
+    }
+
+    String traceId() {
+        return traceId;
+    }
+
+    /**
+     * Wall-clock time of a {@link System#nanoTime()} reading taken during this trace.
+     */
+    long epochNanos(long nanoTime) {
+        return anchorEpochNanos + (nanoTime - anchorNanoTime);
+    }
+
+    synchronized void collect(SpanData span) {
+        if (spans == null) {
+            return;
+        }
+        if (spans.size() < maxSpans || span.isRoot()) {
+            spans.add(span);
+        } else {
+            dropped++;
+        }
+    }
+
+    synchronized List<SpanData> collected() {
+        return spans != null ? List.copyOf(spans) : List.of();
+    }
+
+    synchronized int dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,207 @@
+package com.cloudsec.compliance.tracing;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.SpanSummary;
+import com.cloudsec.compliance.dto.response.TraceSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records spans of MCP requests into a {@link SpanRingBuffer} and optionally exports finished traces as
+ * OTLP/JSON.
+ * <p>
+ * A trace is started per request with {@link #startTrace}; code below it opens child spans with the
+ * static {@link #span}, which follows the thread's current span, so components need no tracer reference
+ * and pay only a thread-local read when no trace is active. Work handed to other threads is not linked to
+ * the request's trace. Export runs on a single background thread and drops traces when it falls behind,
+ * so it never delays a response.
+ */
+@Slf4j
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final int DEFAULT_TRACE_LIMIT = 20;
+    private static final int MAX_TRACE_LIMIT = 200;
+    private static final int MAX_SPANS_PER_SUMMARY = 200;
+    private static final int EXPORT_QUEUE_SIZE = 256;
+
+    private final boolean enabled;
+    private final SpanRingBuffer buffer;
+    private final int maxExportedSpans;
+    private final OtlpJsonExporter exporter;
+    private final ThreadPoolExecutor exportExecutor;
+
+    public Tracer(ComplianceProperties properties, ObjectMapper objectMapper) {
+        ComplianceProperties.Tracing config = properties.getTracing();
+        this.enabled = config.isEnabled();
+        this.buffer = new SpanRingBuffer(config.getBufferSize());
+        String otlpFile = config.getOtlpFile();
+        if (enabled && otlpFile != null && !otlpFile.isBlank()) {
+            this.exporter = new OtlpJsonExporter(Path.of(otlpFile), objectMapper);
+            this.maxExportedSpans = Math.max(1, config.getMaxSpansPerTrace());
+            this.exportExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPORT_QUEUE_SIZE),
+                Thread.ofPlatform().name("trace-export").daemon().factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+        } else {
+            this.exporter = null;
+            this.maxExportedSpans = 0;
+            this.exportExecutor = null;
+        }
+    }
+
+    /**
+     * Starts a trace whose root span becomes the thread's current span. Inside an active trace this opens
+     * a child span instead.
+     */
+    public Span startTrace(String name) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        Span parent = CURRENT.get();
+        if (parent != null) {
+            return new Span(this, parent.trace(), parent, name, SpanData.Kind.SERVER);
+        }
+        return new Span(this, new Trace(maxExportedSpans), null, name, SpanData.Kind.SERVER);
+    }
+
+    /**
+     * Opens a child of the thread's current span, or returns a no-op span when no trace is active.
+     */
+    public static Span span(String name) {
+        return span(name, SpanData.Kind.INTERNAL);
+    }
+
+    public static Span span(String name, SpanData.Kind kind) {
+        Span parent = CURRENT.get();
+        return parent != null ? new Span(parent.tracer(), parent.trace(), parent, name, kind) : Span.NOOP;
+    }
+
+    /**
+     * The thread's current span, or the no-op span.
+     */
+    public static Span current() {
+        Span span = CURRENT.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    static void makeCurrent(Span span) {
+        CURRENT.set(span);
+    }
+
+    static void restoreCurrent(Span closing, Span parent) {
+        if (CURRENT.get() == closing) {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    void finished(Trace trace, SpanData span) {
+        buffer.add(span);
+        if (exporter == null) {
+            return;
+        }
+        trace.collect(span);
+        if (span.isRoot()) {
+            exportExecutor.execute(() -> exporter.export(trace.collected(), trace.dropped()));
+        }
+    }
+
+    public SpanRingBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Most recent complete traces in the buffer, newest first.
+     *
+     * @param minDurationMillis only traces at least this long
+     * @param traceId only this trace
+     */
+    public List<TraceSummary> recentTraces(Integer limit, Double minDurationMillis, String traceId) {
+        int maxTraces = limit == null ? DEFAULT_TRACE_LIMIT : Math.clamp(limit, 1, MAX_TRACE_LIMIT);
+        long minDurationNanos = minDurationMillis == null ? 0 : (long) (minDurationMillis * 1_000_000);
+
+        // Newest first: a trace's root closes after its children, so its root is met before them.
+        Map<String, List<SpanData>> traces = new LinkedHashMap<>();
+        for (SpanData span : buffer.snapshot()) {
+            if (traceId == null || traceId.equals(span.traceId())) {
+                traces.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).add(span);
+            }
+        }
+
+        List<TraceSummary> summaries = new ArrayList<>();
+        for (List<SpanData> spans : traces.values()) {
+            SpanData root = spans.stream().filter(SpanData::isRoot).findFirst().orElse(null);
+            if (root == null || root.durationNanos() < minDurationNanos) {
+                continue;
+            }
+            summaries.add(summarize(root, spans));
+            if (summaries.size() == maxTraces) {
+                break;
+            }
+        }
+        return summaries;
+    }
+
+    private static TraceSummary summarize(SpanData root, List<SpanData> spans) {
+        List<SpanSummary> listed = spans.stream()
+            .sorted(Comparator.comparingLong(SpanData::startEpochNanos))
+            .limit(MAX_SPANS_PER_SUMMARY)
+            .map(span -> new SpanSummary(
+                span.spanId(),
+                span.parentSpanId(),
+                span.name(),
+                millis(span.startEpochNanos() - root.startEpochNanos()),
+                millis(span.durationNanos()),
+                span.error() ? (span.errorMessage() != null ? span.errorMessage() : "error") : null,
+                span.attributes()
+            ))
+            .toList();
+        long rootSeconds = Math.floorDiv(root.startEpochNanos(), 1_000_000_000L);
+        long rootNanos = Math.floorMod(root.startEpochNanos(), 1_000_000_000L);
+        return new TraceSummary(
+            root.traceId(),
+            root.name(),
+            Instant.ofEpochSecond(rootSeconds, rootNanos).toString(),
+            millis(root.durationNanos()),
+            spans.stream().anyMatch(SpanData::error),
+            spans.size(),
+            listed,
+            spans.size() > listed.size()
+        );
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (exportExecutor != null) {
+            exportExecutor.shutdown();
+            try {
+                exportExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exporter.close();
+        }
+    }
+}
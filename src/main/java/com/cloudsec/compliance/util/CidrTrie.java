@@ -0,0 +1,148 @@
+package com.cloudsec.compliance.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Binary prefix trie over IPv4 and IPv6 CIDR blocks.
+ * <p>
+ * {@link #covers(Prefix)} answers whether a stored block contains a whole given block by walking at most
+ * as many nodes as the given prefix has bits, independent of how many blocks are stored. Nodes live in
+ * flat arrays; node 0 is the IPv4 root and node 1 the IPv6 root.
+ */
+public final class CidrTrie {
+
+    private int[] zero = new int[16];
+    private int[] one = new int[16];
+    private boolean[] terminal = new boolean[16];
+    private int nodes = 2;
+
+    public CidrTrie() {
+    }
+
+    public CidrTrie(Collection<String> cidrs) {
+        cidrs.forEach(this::add);
+    }
+
+    public void add(String cidr) {
+        add(Prefix.parse(cidr));
+    }
+
+    public void add(Prefix prefix) {
+        int node = prefix.isIpv6() ? 1 : 0;
+        for (int bit = 0; bit < prefix.length(); bit++) {
+            if (terminal[node]) {
+                return;
+            }
+            int child = (prefix.bit(bit) ? one : zero)[node];
+            if (child == 0) {
+                child = allocate();
+                (prefix.bit(bit) ? one : zero)[node] = child;
+            }
+            node = child;
+        }
+        terminal[node] = true;
+    }
+
+    /**
+     * Whether some stored block contains every address of {@code prefix}.
+     */
+    public boolean covers(Prefix prefix) {
+        int node = prefix.isIpv6() ? 1 : 0;
+        for (int bit = 0; ; bit++) {
+            if (terminal[node]) {
+                return true;
+            }
+            if (bit == prefix.length()) {
+                return false;
+            }
+            node = (prefix.bit(bit) ? one : zero)[node];
+            if (node == 0) {
+                return false;
+            }
+        }
+    }
+
+    private int allocate() {
+        if (nodes == terminal.length) {
+            int capacity = nodes * 2;
+            zero = Arrays.copyOf(zero, capacity);
+            one = Arrays.copyOf(one, capacity);
+            terminal = Arrays.copyOf(terminal, capacity);
+        }
+        return nodes++;
+    }
+
+    /**
+     * A parsed CIDR block. Bits after {@code length} are ignored.
+     */
+    public record Prefix(byte[] address, int length) {
+
+        public static Prefix parse(String cidr) {
+            if (cidr == null || cidr.isBlank()) {
+                throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+            }
+            String value = cidr.trim();
+            int slash = value.indexOf('/');
+            String host = slash >= 0 ? value.substring(0, slash) : value;
+            byte[] address = host.indexOf(':') >= 0 ? parseIpv6(host, cidr) : parseIpv4(host, cidr);
+            int maxLength = address.length * 8;
+            int length = maxLength;
+            if (slash >= 0) {
+                try {
+                    length = Integer.parseInt(value.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+                }
+            }
+            if (length < 0 || length > maxLength) {
+                throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+            }
+            return new Prefix(address, length);
+        }
+
+        public boolean isIpv6() {
+            return address.length == 16;
+        }
+
+        boolean bit(int index) {
+            return (address[index >>> 3] & (0x80 >>> (index & 7))) != 0;
+        }
+
+        private static byte[] parseIpv4(String host, String cidr) {
+            String[] octets = host.split("\\.", -1);
+            if (octets.length != 4) {
+                throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+            }
+            byte[] address = new byte[4];
+            for (int i = 0; i < 4; i++) {
+                int octet;
+                try {
+                    octet = Integer.parseInt(octets[i]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+                }
+                if (octet < 0 || octet > 255) {
+                    throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+                }
+                address[i] = (byte) octet;
+            }
+            return address;
+        }
+
+        private static byte[] parseIpv6(String host, String cidr) {
+            try {
+                // A host containing ':' is only ever parsed as an IPv6 literal, never resolved.
+                byte[] address = InetAddress.getByName(host).getAddress();
+                if (address.length != 16) {
+                    throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+                }
+                return address;
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("Invalid CIDR block: " + cidr);
+            }
+        }
+    }
+}
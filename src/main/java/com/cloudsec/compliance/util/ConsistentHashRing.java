@@ -0,0 +1,95 @@
+package com.cloudsec.compliance.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring mapping keys to members.
+ * <p>
+ * Each member is placed at {@code virtualNodes} pseudo-random positions; a key belongs to the first member
+ * position at or after the key's hash, wrapping around. Adding or removing one of {@code n} members
+ * therefore moves only about {@code 1/n} of the keys. Positions are kept in a sorted array, so a lookup
+ * is one binary search.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> members;
+    private final int virtualNodes;
+    private final long[] positions;
+    private final String[] owners;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one member");
+        }
+        int replicas = Math.max(1, virtualNodes);
+        this.members = List.copyOf(new TreeSet<>(members));
+        this.virtualNodes = replicas;
+
+        long[][] entries = new long[this.members.size() * replicas][];
+        int next = 0;
+        for (int member = 0; member < this.members.size(); member++) {
+            for (int replica = 0; replica < replicas; replica++) {
+                entries[next++] = new long[] {hash(this.members.get(member) + "#" + replica), member};
+            }
+        }
+        // Ties between positions are broken by member order, so every instance builds the same ring.
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        this.positions = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            positions[i] = entries[i][0];
+            owners[i] = this.members.get((int) entries[i][1]);
+        }
+    }
+
+    /**
+     * Members in sorted order.
+     */
+    public List<String> members() {
+        return members;
+    }
+
+    /**
+     * Short identifier of the member set and ring layout; two rings with the same fingerprint assign every
+     * key to the same member.
+     */
+    public String fingerprint() {
+        return Long.toHexString(hash(virtualNodes + ":" + String.join(",", members)));
+    }
+
+    public String owner(String key) {
+        int index = Arrays.binarySearch(positions, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            // Step back to the first of several equal positions.
+            while (index > 0 && positions[index - 1] == positions[index]) {
+                index--;
+            }
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so that similar keys such
+     * as {@code logs-1} and {@code logs-2} land far apart.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
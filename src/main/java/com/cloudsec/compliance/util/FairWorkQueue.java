@@ -0,0 +1,98 @@
+package com.cloudsec.compliance.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task queue that hands out work round-robin across keys, so one key with a large backlog cannot
+ * starve the others of workers.
+ * <p>
+ * Tasks may submit further tasks. {@link #drain(int, String)} runs everything on a fixed number of
+ * worker threads, which is the global concurrency budget, and returns once nothing is queued or running.
+ * Tasks are expected to handle their own failures; anything they throw is counted and otherwise ignored.
+ */
+public final class FairWorkQueue<K> {
+
+    private final Map<K, ArrayDeque<Runnable>> queues = new HashMap<>();
+    private final ArrayDeque<K> ready = new ArrayDeque<>();
+    private final AtomicLong failedTasks = new AtomicLong();
+    private int running;
+
+    public synchronized void submit(K key, Runnable task) {
+        ArrayDeque<Runnable> queue = queues.computeIfAbsent(key, k -> new ArrayDeque<>());
+        if (queue.isEmpty()) {
+            ready.addLast(key);
+        }
+        queue.addLast(task);
+        notifyAll();
+    }
+
+    /**
+     * Runs queued tasks on {@code workers} threads until the queue is empty and no task is running.
+     */
+    public void drain(int workers, String threadNamePrefix) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            threads.add(Thread.ofPlatform().name(threadNamePrefix + "-" + i).start(this::work));
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            threads.forEach(Thread::interrupt);
+            throw e;
+        }
+    }
+
+    public long failedTasks() {
+        return failedTasks.get();
+    }
+
+    private void work() {
+        try {
+            Runnable task;
+            while ((task = take()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    failedTasks.incrementAndGet();
+                } finally {
+                    complete();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized Runnable take() throws InterruptedException {
+        while (ready.isEmpty()) {
+            if (running == 0) {
+                return null;
+            }
+            wait();
+        }
+        K key = ready.pollFirst();
+        ArrayDeque<Runnable> queue = queues.get(key);
+        Runnable task = queue.pollFirst();
+        if (queue.isEmpty()) {
+            queues.remove(key);
+        } else {
+            ready.addLast(key);
+        }
+        running++;
+        return task;
+    }
+
+    private synchronized void complete() {
+        running--;
+        if (running == 0 && ready.isEmpty()) {
+            notifyAll();
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.cloudsec.compliance.model.PaginationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.function.Function;
 
 @Slf4j
 @Component
@@ -27,10 +29,68 @@ public class PaginationUtils {
         log.debug("Paginated {} items (start: {}, end: {}, hasMore: {})", 
                   pageItems.size(), startIndex, endIndex, hasMore);
         
-        return new PaginationResult<>(pageItems, nextPageToken, hasMore);
+        return new PaginationResult<>(pageItems, nextPageToken, hasMore, allItems.size());
+    }
+    
+    /**
+     * Single-pass variant of {@link #paginateResults} for sources that should not be materialized.
+     * <p>
+     * Only the first {@code maxItems} elements are pageable; the rest are counted but never mapped.
+     * {@code mapper} runs only for elements that end up on the returned page. Page tokens use the same
+     * format as {@code paginateResults}, and an out-of-range token falls back to the first page.
+     */
+    public <S, T> PaginationResult<T> paginateStream(Iterable<S> source, Function<S, T> mapper,
+                                                      int pageSize, String pageToken, int maxItems) {
+        int requestedStart = decodePageToken(pageToken);
+        int startIndex = Math.max(requestedStart, 0);
+        
+        List<S> page = new ArrayList<>(pageSize);
+        List<S> firstPage = startIndex > 0 ? new ArrayList<>(pageSize) : page;
+        int total = 0;
+        for (S item : source) {
+            if (total < maxItems) {
+                if (total >= startIndex && total < startIndex + pageSize) {
+                    page.add(item);
+                } else if (firstPage != page && total < pageSize) {
+                    firstPage.add(item);
+                }
+            }
+            total++;
+        }
+        
+        int pageable = Math.min(total, maxItems);
+        if (startIndex > 0 && startIndex >= pageable) {
+            log.warn("Invalid page token start index: {}, resetting to 0", startIndex);
+            startIndex = 0;
+            page = firstPage;
+        }
+        if (total > maxItems) {
+            log.warn("Source has {} items; only the first {} are pageable", total, maxItems);
+        }
+        
+        int endIndex = Math.min(startIndex + pageSize, pageable);
+        boolean hasMore = endIndex < pageable;
+        List<T> pageItems = page.stream().map(mapper).toList();
+        
+        log.debug("Streamed {} items (start: {}, end: {}, total: {}, hasMore: {})",
+                  pageItems.size(), startIndex, endIndex, total, hasMore);
+        
+        return new PaginationResult<>(pageItems, hasMore ? generatePageToken(endIndex) : null, hasMore, total);
     }
     
     private int parsePageToken(String pageToken, int maxSize) {
+        int startIndex = decodePageToken(pageToken);
+        if (startIndex >= maxSize) {
+            log.warn("Invalid page token start index: {}, resetting to 0", startIndex);
+            return 0;
+        }
+        return Math.max(startIndex, 0);
+    }
+    
+    /**
+     * Returns the start index encoded in {@code pageToken}, 0 when absent, or -1 when malformed.
+     */
+    private int decodePageToken(String pageToken) {
         if (pageToken == null || pageToken.trim().isEmpty()) {
             return 0;
         }
@@ -39,15 +99,15 @@ public class PaginationUtils {
             String decoded = new String(Base64.getDecoder().decode(pageToken));
             int startIndex = Integer.parseInt(decoded);
             
-            if (startIndex < 0 || startIndex >= maxSize) {
+            if (startIndex < 0) {
                 log.warn("Invalid page token start index: {}, resetting to 0", startIndex);
-                return 0;
+                return -1;
             }
             
             return startIndex;
         } catch (Exception e) {
             log.warn("Invalid page token format: {}, resetting to 0", pageToken);
-            return 0;
+            return -1;
         }
     }
     
@@ -0,0 +1,105 @@
+package com.cloudsec.compliance.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable interval tree over inclusive integer ranges such as port ranges.
+ * <p>
+ * Intervals are sorted by start and the sorted array is read as an implicit balanced search tree; every
+ * node also records the largest end in its subtree, so a query skips subtrees that end before it.
+ * Building is {@code O(n log n)} and a query costs {@code O(log n + k)} for {@code k} matches.
+ */
+public final class PortIntervalTree<T> {
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnds;
+    private final Object[] values;
+
+    private PortIntervalTree(List<Entry<T>> entries) {
+        Entry<?>[] sorted = entries.toArray(new Entry<?>[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Entry::from));
+        this.starts = new int[sorted.length];
+        this.ends = new int[sorted.length];
+        this.maxEnds = new int[sorted.length];
+        this.values = new Object[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            starts[i] = sorted[i].from();
+            ends[i] = sorted[i].to();
+            values[i] = sorted[i].value();
+        }
+        computeMaxEnds(0, sorted.length - 1);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Passes every value whose interval overlaps {@code [from, to]} to {@code sink}.
+     */
+    public void overlapping(int from, int to, Consumer<? super T> sink) {
+        query(0, values.length - 1, from, to, sink);
+    }
+
+    public List<T> containing(int point) {
+        List<T> matches = new ArrayList<>();
+        overlapping(point, point, matches::add);
+        return matches;
+    }
+
+    private int computeMaxEnds(int lo, int hi) {
+        if (lo > hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid - 1), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void query(int lo, int hi, int from, int to, Consumer<? super T> sink) {
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] < from) {
+                return;
+            }
+            query(lo, mid - 1, from, to, sink);
+            if (starts[mid] > to) {
+                return;
+            }
+            if (ends[mid] >= from) {
+                sink.accept((T) values[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private record Entry<T>(int from, int to, T value) {
+    }
+
+    public static final class Builder<T> {
+        private final List<Entry<T>> entries = new ArrayList<>();
+
+        public Builder<T> add(int from, int to, T value) {
+            if (from > to) {
+                throw new IllegalArgumentException("Invalid interval: " + from + "-" + to);
+            }
+            entries.add(new Entry<>(from, to, value));
+            return this;
+        }
+
+        public PortIntervalTree<T> build() {
+            return new PortIntervalTree<>(entries);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.cloudsec.compliance.util;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable lookup of supported region codes.
+ * <p>
+ * Regions are stored in an open-addressed hash table sized to at most half full. {@link #lookup(CharSequence)}
+ * normalizes the input on the fly (lower-cases it and drops every character outside {@code [a-z0-9-]}) while
+ * computing the hash, then probes the table and compares candidates against the input in place. It returns
+ * the canonical region string held by the table, so validating a region allocates nothing. Instances are
+ * thread-safe.
+ */
+public final class RegionTable {
+
+    private static final int ASCII = 128;
+    private static final boolean[] KEPT = new boolean[ASCII];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            KEPT[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            KEPT[c] = true;
+        }
+        KEPT['-'] = true;
+    }
+
+    private final String[] slots;
+    private final int mask;
+    private final List<String> regions;
+
+    public RegionTable(Collection<String> regions) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String region : regions) {
+            if (region == null || region.isBlank()) {
+                continue;
+            }
+            String canonical = normalize(region);
+            if (canonical.isEmpty()) {
+                throw new IllegalArgumentException("Invalid supported region: " + region);
+            }
+            normalized.add(canonical);
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one supported region must be configured");
+        }
+
+        int capacity = Integer.highestOneBit(normalized.size() * 2 - 1) << 1;
+        this.slots = new String[capacity];
+        this.mask = capacity - 1;
+        for (String region : normalized) {
+            int slot = spread(region.hashCode()) & mask;
+            while (slots[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = region;
+        }
+        this.regions = List.copyOf(normalized);
+    }
+
+    /**
+     * Returns the canonical region matching {@code input} after normalization, or {@code null} if it is
+     * not a supported region.
+     */
+    public String lookup(CharSequence input) {
+        if (input == null) {
+            return null;
+        }
+        int hash = 0;
+        int length = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = fold(input.charAt(i));
+            if (c != 0) {
+                hash = 31 * hash + c;
+                length++;
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+        for (int slot = spread(hash) & mask; slots[slot] != null; slot = (slot + 1) & mask) {
+            String candidate = slots[slot];
+            if (candidate.hashCode() == hash && candidate.length() == length && matches(candidate, input)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(CharSequence input) {
+        return lookup(input) != null;
+    }
+
+    public List<String> regions() {
+        return regions;
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    private static boolean matches(String candidate, CharSequence input) {
+        int position = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = fold(input.charAt(i));
+            if (c != 0 && candidate.charAt(position++) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower-cases {@code c} and returns it if it is part of a region code, or {@code 0} if it is dropped.
+     */
+    private static char fold(char c) {
+        if (c >= ASCII) {
+            c = Character.toLowerCase(c);
+            if (c >= ASCII) {
+                return 0;
+            }
+        } else if (c >= 'A' && c <= 'Z') {
+            c = (char) (c + ('a' - 'A'));
+        }
+        return KEPT[c] ? c : 0;
+    }
+
+    private static String normalize(String region) {
+        StringBuilder builder = new StringBuilder(region.length());
+        for (int i = 0; i < region.length(); i++) {
+            char folded = fold(region.charAt(i));
+            if (folded != 0) {
+                builder.append(folded);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
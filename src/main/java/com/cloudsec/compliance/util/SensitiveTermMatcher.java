@@ -0,0 +1,146 @@
+package com.cloudsec.compliance.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Case-insensitive multi-term substring matcher built as an Aho-Corasick automaton.
+ * <p>
+ * The automaton is compiled to a dense transition table over the characters that occur in the terms,
+ * so {@link #matches(CharSequence)} is one table lookup per input character, independent of the number
+ * of terms, and allocates nothing. Instances are immutable and thread-safe.
+ */
+public final class SensitiveTermMatcher {
+
+    private static final int ASCII = 128;
+    private static final int OTHER = 0;
+
+    private final int[] asciiClasses = new int[ASCII];
+    private final char[] extendedChars;
+    private final int[] extendedClasses;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final boolean[] accepting;
+    private final int termCount;
+
+    public SensitiveTermMatcher(Collection<String> terms) {
+        List<String> normalized = new ArrayList<>();
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String term : terms) {
+            if (term == null || term.isBlank()) {
+                continue;
+            }
+            String lower = term.trim().toLowerCase(Locale.ROOT);
+            normalized.add(lower);
+            for (int i = 0; i < lower.length(); i++) {
+                alphabet.add(lower.charAt(i));
+            }
+        }
+        this.termCount = normalized.size();
+
+        List<Character> extended = new ArrayList<>();
+        int nextClass = 1;
+        for (char c : alphabet) {
+            if (c < ASCII) {
+                asciiClasses[c] = nextClass++;
+            } else {
+                extended.add(c);
+            }
+        }
+        this.extendedChars = new char[extended.size()];
+        this.extendedClasses = new int[extended.size()];
+        for (int i = 0; i < extended.size(); i++) {
+            extendedChars[i] = extended.get(i);
+            extendedClasses[i] = nextClass++;
+        }
+        this.alphabetSize = nextClass;
+
+        // Trie construction with growable goto table; -1 marks a missing edge.
+        int capacity = 1 + normalized.stream().mapToInt(String::length).sum();
+        int[] gotoTable = new int[capacity * alphabetSize];
+        Arrays.fill(gotoTable, -1);
+        boolean[] output = new boolean[capacity];
+        int states = 1;
+        for (String term : normalized) {
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int slot = state * alphabetSize + classOf(term.charAt(i));
+                if (gotoTable[slot] < 0) {
+                    gotoTable[slot] = states++;
+                }
+                state = gotoTable[slot];
+            }
+            output[state] = true;
+        }
+
+        // Breadth-first failure links, folded directly into a complete DFA.
+        int[] failure = new int[states];
+        this.transitions = new int[states * alphabetSize];
+        this.accepting = Arrays.copyOf(output, states);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = gotoTable[symbol];
+            if (next > 0) {
+                failure[next] = 0;
+                transitions[symbol] = next;
+                queue.add(next);
+            } else {
+                transitions[symbol] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] |= accepting[failure[state]];
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = gotoTable[state * alphabetSize + symbol];
+                int fallback = transitions[failure[state] * alphabetSize + symbol];
+                if (next > 0) {
+                    failure[next] = fallback;
+                    transitions[state * alphabetSize + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + symbol] = fallback;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if any term occurs in {@code text}, ignoring case.
+     */
+    public boolean matches(CharSequence text) {
+        if (termCount == 0 || text == null) {
+            return false;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * alphabetSize + classOf(Character.toLowerCase(text.charAt(i)))];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public int stateCount() {
+        return accepting.length;
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        int index = Arrays.binarySearch(extendedChars, c);
+        return index >= 0 ? extendedClasses[index] : OTHER;
+    }
+}
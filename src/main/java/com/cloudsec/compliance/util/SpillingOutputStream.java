@@ -0,0 +1,103 @@
+package com.cloudsec.compliance.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Buffers written bytes in memory up to a threshold and moves them to a file once it is exceeded,
+ * so small outputs stay in memory and large ones never are.
+ */
+public class SpillingOutputStream extends OutputStream {
+
+    /**
+     * Creates the file that output is moved to on first spill.
+     */
+    @FunctionalInterface
+    public interface FileSupplier {
+        Path create() throws IOException;
+    }
+
+    private final int threshold;
+    private final FileSupplier fileSupplier;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private OutputStream out;
+    private Path file;
+    private long size;
+
+    public SpillingOutputStream(int threshold, FileSupplier fileSupplier) {
+        this.threshold = threshold;
+        this.fileSupplier = fileSupplier;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        target(1).write(b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        target(length).write(bytes, offset, length);
+        size += length;
+    }
+
+    private OutputStream target(int length) throws IOException {
+        if (out != null) {
+            return out;
+        }
+        if (size + length <= threshold) {
+            return memory;
+        }
+        file = fileSupplier.create();
+        out = new BufferedOutputStream(Files.newOutputStream(file));
+        memory.writeTo(out);
+        memory = null;
+        return out;
+    }
+
+    /**
+     * Bytes written so far.
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    /**
+     * The spill file, or {@code null} while output is still in memory.
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Buffered output; only available while nothing has been spilled.
+     */
+    public byte[] toByteArray() {
+        if (memory == null) {
+            throw new IllegalStateException("Output was spilled to " + file);
+        }
+        return memory.toByteArray();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+        }
+    }
+}
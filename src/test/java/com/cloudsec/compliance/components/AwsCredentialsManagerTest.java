@@ -0,0 +1,163 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AwsCredentialsManager Tests")
+class AwsCredentialsManagerTest {
+
+    private static final Pattern ROLE_ARN = Pattern.compile("RoleArn=([^&]+)");
+
+    private final AtomicInteger assumeRoleCalls = new AtomicInteger();
+    private final AwsCredentialsProvider ambient =
+        StaticCredentialsProvider.create(AwsBasicCredentials.create("ambient", "ambient"));
+    private HttpServer sts;
+    private ComplianceProperties properties;
+    private AwsCredentialsManager manager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sts = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        sts.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher roleArn = ROLE_ARN.matcher(body);
+            String account = roleArn.find()
+                ? URLDecoder.decode(roleArn.group(1), StandardCharsets.UTF_8).split(":")[4]
+                : "unknown";
+            assumeRoleCalls.incrementAndGet();
+            byte[] response = assumeRoleResponse(account).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/xml");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        sts.start();
+
+        properties = new ComplianceProperties();
+        properties.getSecurity().getAws().setAccountId("000000000000");
+        properties.getOrganization().setMaxAccounts(2);
+        ComplianceProperties.AssumeRole assumeRole = properties.getSecurity().getAws().getAssumeRole();
+        assumeRole.setRoleName("ComplianceAuditRole");
+        assumeRole.setStsEndpointOverride("http://127.0.0.1:" + sts.getAddress().getPort());
+        assumeRole.setMaxSessions(2);
+        manager = new AwsCredentialsManager(properties, ambient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+        sts.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should use ambient credentials for the home account")
+    void shouldUseAmbientForHomeAccount() {
+        assertThat(manager.forAccount(null)).isSameAs(ambient);
+        assertThat(manager.forAccount("000000000000")).isSameAs(ambient);
+        assertThat(assumeRoleCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should reuse one AssumeRole session per account")
+    void shouldReuseSessionsPerAccount() {
+        AwsCredentials first = manager.forAccount("111111111111").resolveCredentials();
+        AwsCredentials again = manager.forAccount("111111111111").resolveCredentials();
+        AwsCredentials other = manager.forAccount("222222222222").resolveCredentials();
+
+        assertThat(first.accessKeyId()).isEqualTo("ASIA111111111111");
+        assertThat(again).isEqualTo(first);
+        assertThat(other.accessKeyId()).isEqualTo("ASIA222222222222");
+        assertThat(manager.forAccount("111111111111")).isSameAs(manager.forAccount("111111111111"));
+        assertThat(assumeRoleCalls).hasValue(2);
+        assertThat(manager.sessionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should bound the number of pooled sessions")
+    void shouldBoundSessionPool() {
+        for (String account : List.of("111111111111", "222222222222", "333333333333", "444444444444")) {
+            manager.forAccount(account);
+        }
+
+        assertThat(manager.sessionCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep resolving credentials held by clients after their session is evicted")
+    void shouldResolveEvictedSessions() {
+        AwsCredentialsProvider held = manager.forAccount("111111111111");
+        assertThat(held.resolveCredentials().accessKeyId()).isEqualTo("ASIA111111111111");
+        for (String account : List.of("222222222222", "333333333333", "444444444444", "555555555555")) {
+            manager.forAccount(account).resolveCredentials();
+        }
+        assertThat(manager.sessionCount()).isLessThanOrEqualTo(2);
+
+        assertThat(held.resolveCredentials().accessKeyId()).isEqualTo("ASIA111111111111");
+    }
+
+    @Test
+    @DisplayName("Should pool a session for every account of an organisation scan")
+    void shouldSizePoolFromAccountCount() {
+        properties.getOrganization().setMaxAccounts(4);
+        AwsCredentialsManager sized = new AwsCredentialsManager(properties, ambient);
+        try {
+            for (String account : List.of("111111111111", "222222222222", "333333333333", "444444444444")) {
+                sized.forAccount(account).resolveCredentials();
+                sized.forAccount(account).resolveCredentials();
+            }
+
+            assertThat(sized.sessionCount()).isEqualTo(4);
+            assertThat(assumeRoleCalls).hasValue(4);
+        } finally {
+            sized.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject malformed accounts and unconfigured cross-account access")
+    void shouldRejectInvalidAccess() {
+        assertThatThrownBy(() -> manager.forAccount("12345"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid account id or role ARN: 12345");
+
+        AwsCredentialsManager withoutRole = new AwsCredentialsManager(new ComplianceProperties(), ambient);
+        assertThat(withoutRole.isAssumeRoleEnabled()).isFalse();
+        assertThatThrownBy(() -> withoutRole.forAccount("111111111111"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String assumeRoleResponse(String account) {
+        String expiration = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS).toString();
+        return "<AssumeRoleResponse xmlns=\"https://sts.amazonaws.com/doc/2011-06-15/\"><AssumeRoleResult>"
+            + "<Credentials><AccessKeyId>ASIA" + account + "</AccessKeyId><SecretAccessKey>secret</SecretAccessKey>"
+            + "<SessionToken>token-" + account + "</SessionToken><Expiration>" + expiration + "</Expiration></Credentials>"
+            + "<AssumedRoleUser><Arn>arn:aws:sts::" + account + ":assumed-role/ComplianceAuditRole/cloud-compliance-mcp</Arn>"
+            + "<AssumedRoleId>AROA:cloud-compliance-mcp</AssumedRoleId></AssumedRoleUser>"
+            + "</AssumeRoleResult><ResponseMetadata><RequestId>req-" + account + "</RequestId></ResponseMetadata>"
+            + "</AssumeRoleResponse>";
+    }
+}
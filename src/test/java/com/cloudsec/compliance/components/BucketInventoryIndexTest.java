@@ -0,0 +1,119 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.BucketQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BucketInventoryIndex Tests")
+class BucketInventoryIndexTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private ComplianceProperties properties;
+    private AtomicInteger loads;
+    private Supplier<List<BucketInventoryIndex.Entry>> loader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComplianceProperties();
+        loads = new AtomicInteger();
+        List<BucketInventoryIndex.Entry> inventory = IntStream.range(0, 1_000)
+            .mapToObj(i -> new BucketInventoryIndex.Entry(
+                String.format("%s-%04d", i % 2 == 0 ? "prod" : "dev", i),
+                BASE.plus(Duration.ofDays(i)),
+                i % 3 == 0 ? "eu-west-1" : "us-east-1"))
+            .toList();
+        loader = () -> {
+            loads.incrementAndGet();
+            return inventory;
+        };
+    }
+
+    private List<String> names(List<BucketInventoryIndex.Entry> entries) {
+        return entries.stream().map(BucketInventoryIndex.Entry::name).toList();
+    }
+
+    @Test
+    @DisplayName("Should find prefix matches in name order")
+    void shouldFindPrefixMatches() {
+        BucketInventoryIndex index = new BucketInventoryIndex(properties);
+
+        List<BucketInventoryIndex.Entry> result = index.search(
+            new BucketQuery("dev-00", null, null, null, null, null), loader);
+
+        assertThat(names(result)).containsExactly(
+            "dev-0001", "dev-0003", "dev-0005", "dev-0007", "dev-0009",
+            "dev-0011", "dev-0013", "dev-0015", "dev-0017", "dev-0019",
+            "dev-0021", "dev-0023", "dev-0025", "dev-0027", "dev-0029",
+            "dev-0031", "dev-0033", "dev-0035", "dev-0037", "dev-0039",
+            "dev-0041", "dev-0043", "dev-0045", "dev-0047", "dev-0049",
+            "dev-0051", "dev-0053", "dev-0055", "dev-0057", "dev-0059",
+            "dev-0061", "dev-0063", "dev-0065", "dev-0067", "dev-0069",
+            "dev-0071", "dev-0073", "dev-0075", "dev-0077", "dev-0079",
+            "dev-0081", "dev-0083", "dev-0085", "dev-0087", "dev-0089",
+            "dev-0091", "dev-0093", "dev-0095", "dev-0097", "dev-0099");
+    }
+
+    @Test
+    @DisplayName("Should combine date range, region and substring filters")
+    void shouldCombineFilters() {
+        BucketInventoryIndex index = new BucketInventoryIndex(properties);
+
+        List<BucketInventoryIndex.Entry> result = index.search(new BucketQuery(
+            null, "prod", BASE.plus(Duration.ofDays(10)), BASE.plus(Duration.ofDays(20)), "eu-west-1", null), loader);
+
+        assertThat(names(result)).containsExactly("prod-0012", "prod-0018");
+    }
+
+    @Test
+    @DisplayName("Should sort by creation date in either direction")
+    void shouldSortByCreationDate() {
+        BucketInventoryIndex index = new BucketInventoryIndex(properties);
+        BucketQuery newestProd = new BucketQuery("prod-", null, BASE.plus(Duration.ofDays(994)), null, null,
+            BucketQuery.Sort.CREATED_DESC);
+        BucketQuery oldestFirst = new BucketQuery(null, null, null, BASE.plus(Duration.ofDays(3)), null,
+            BucketQuery.Sort.CREATED_ASC);
+
+        assertThat(names(index.search(newestProd, loader))).containsExactly("prod-0998", "prod-0996", "prod-0994");
+        assertThat(names(index.search(oldestFirst, loader))).containsExactly("prod-0000", "dev-0001", "prod-0002");
+    }
+
+    @Test
+    @DisplayName("Should reuse the snapshot until invalidated")
+    void shouldReuseSnapshotUntilInvalidated() {
+        BucketInventoryIndex index = new BucketInventoryIndex(properties);
+        BucketQuery query = new BucketQuery(null, null, null, null, null, BucketQuery.Sort.NAME_DESC);
+
+        assertThat(index.search(query, loader).get(0).name()).isEqualTo("prod-0998");
+        index.search(query, loader);
+        assertThat(loads.get()).isEqualTo(1);
+
+        index.invalidate();
+        index.search(query, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload on every search when disabled and cap indexed buckets")
+    void shouldReloadWhenDisabled() {
+        properties.getCache().getBucketInventory().setEnabled(false);
+        properties.getCache().getBucketInventory().setMaxSize(10);
+        BucketInventoryIndex index = new BucketInventoryIndex(properties);
+        BucketQuery all = new BucketQuery(null, null, null, null, null, BucketQuery.Sort.NAME_ASC);
+
+        assertThat(index.search(all, loader)).hasSize(10);
+        index.search(all, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
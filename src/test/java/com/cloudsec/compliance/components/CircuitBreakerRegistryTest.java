@@ -0,0 +1,144 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.components.CircuitBreakerRegistry.State;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.errors.CircuitOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CircuitBreakerRegistry Tests")
+class CircuitBreakerRegistryTest {
+
+    private static final String REGION = "us-east-1";
+    private static final String API = "ListBuckets";
+    private static final String KEY = REGION + "/" + API;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ComplianceProperties properties = new ComplianceProperties();
+    private double jitter = 1.0;
+    private CircuitBreakerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        ComplianceProperties.CircuitBreaker config = properties.getCircuitBreaker();
+        config.setFailureThreshold(3);
+        config.setBaseOpenDuration(Duration.ofSeconds(1));
+        config.setMaxOpenDuration(Duration.ofSeconds(3));
+        registry = new CircuitBreakerRegistry(properties, clock::get, () -> jitter);
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive failures and fail fast")
+    void shouldOpenAfterThreshold() {
+        fail(2);
+        registry.onSuccess(REGION, API);
+        fail(2);
+        assertThat(registry.unhealthy()).doesNotContainKey(KEY);
+
+        fail(1);
+
+        assertThat(registry.unhealthy()).containsEntry(KEY, State.OPEN);
+        assertThatThrownBy(() -> registry.acquire(REGION, API))
+            .isInstanceOfSatisfying(CircuitOpenException.class, e -> {
+                assertThat(e.getRegion()).isEqualTo(REGION);
+                assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(1));
+            });
+        assertThat(registry.acquire("eu-west-1", API)).isFalse();
+        assertThat(registry.acquire(REGION, "GetBucketEncryption")).isFalse();
+        assertThat(registry.unhealthy()).containsOnlyKeys(KEY);
+    }
+
+    @Test
+    @DisplayName("Should admit limited probes once the open period ends and close on success")
+    void shouldProbeAndClose() {
+        fail(3);
+        advance(Duration.ofSeconds(1));
+
+        assertThat(registry.acquire(REGION, API)).isTrue();
+        assertThat(registry.unhealthy()).containsEntry(KEY, State.HALF_OPEN);
+        assertThatThrownBy(() -> registry.acquire(REGION, API)).isInstanceOf(CircuitOpenException.class);
+
+        registry.onSuccess(REGION, API);
+
+        assertThat(registry.unhealthy()).doesNotContainKey(KEY);
+        assertThat(registry.acquire(REGION, API)).isFalse();
+        assertThat(registry.unhealthy()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should grow the jittered open period exponentially up to the cap")
+    void shouldBackOffWithFullJitter() {
+        fail(3);
+        advance(Duration.ofSeconds(1));
+        registry.onFailure(REGION, API, registry.acquire(REGION, API));
+        assertOpenFor(Duration.ofSeconds(2));
+
+        advance(Duration.ofSeconds(2));
+        registry.onFailure(REGION, API, registry.acquire(REGION, API));
+        assertOpenFor(Duration.ofSeconds(3));
+
+        jitter = 0.5;
+        advance(Duration.ofSeconds(3));
+        registry.onFailure(REGION, API, registry.acquire(REGION, API));
+        assertOpenFor(Duration.ofMillis(1500));
+    }
+
+    @Test
+    @DisplayName("Should ignore failures of calls admitted before the circuit opened")
+    void shouldIgnoreFailuresWhileOpen() {
+        fail(10);
+        assertOpenFor(Duration.ofSeconds(1));
+
+        advance(Duration.ofSeconds(1));
+        assertThat(registry.acquire(REGION, API)).isTrue();
+        fail(5);
+        assertThat(registry.unhealthy()).containsEntry(KEY, State.HALF_OPEN);
+
+        registry.onFailure(REGION, API, true);
+        assertOpenFor(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldBypassWhenDisabled() {
+        properties.getCircuitBreaker().setEnabled(false);
+        fail(10);
+
+        assertThat(registry.acquire(REGION, API)).isFalse();
+        assertThat(registry.unhealthy()).doesNotContainKey(KEY);
+    }
+
+    @Test
+    @DisplayName("Should only count throttling, server and transport errors as failures")
+    void shouldClassifyFailures() {
+        assertThat(CircuitBreakerRegistry.isFailure(S3Exception.builder().statusCode(503).build())).isTrue();
+        assertThat(CircuitBreakerRegistry.isFailure(S3Exception.builder().statusCode(429).build())).isTrue();
+        assertThat(CircuitBreakerRegistry.isFailure(SdkClientException.create("Connection refused"))).isTrue();
+        assertThat(CircuitBreakerRegistry.isFailure(S3Exception.builder().statusCode(403).build())).isFalse();
+        assertThat(CircuitBreakerRegistry.isFailure(new IllegalStateException())).isFalse();
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            registry.onFailure(REGION, API, false);
+        }
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private void assertOpenFor(Duration duration) {
+        assertThatThrownBy(() -> registry.acquire(REGION, API))
+            .isInstanceOfSatisfying(CircuitOpenException.class,
+                e -> assertThat(e.getRetryAfter()).isEqualTo(duration));
+    }
+}
@@ -0,0 +1,83 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClusterMembership Tests")
+class ClusterMembershipTest {
+
+    @TempDir
+    Path directory;
+
+    private final Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    private ClusterMembership member(String nodeId, Instant at) {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setDirectory(directory.toString());
+        properties.getCluster().setNodeId(nodeId);
+        properties.getCluster().setLeaseTtl(Duration.ofSeconds(15));
+        return new ClusterMembership(properties, Clock.fixed(at, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should see every member with a live lease")
+    void shouldDiscoverLiveMembers() {
+        ClusterMembership a = member("node-a", now);
+        ClusterMembership b = member("node-b", now);
+        a.renew();
+        b.renew();
+
+        assertThat(a.view().members()).containsExactly("node-a", "node-b");
+        assertThat(b.view().peers()).containsExactly("node-a");
+        assertThat(a.view().ring().fingerprint()).isEqualTo(b.view().ring().fingerprint());
+
+        for (int i = 0; i < 100; i++) {
+            String bucket = "bucket-" + i;
+            assertThat(a.view().owns(bucket)).isNotEqualTo(b.view().owns(bucket));
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop members whose lease has expired")
+    void shouldDropExpiredMembers() {
+        member("node-a", now).renew();
+        ClusterMembership b = member("node-b", now.plusSeconds(20));
+        b.renew();
+
+        assertThat(b.view().members()).containsExactly("node-b");
+        assertThat(b.view().owns("any-bucket")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ignore unreadable lease files and include itself before its first renewal")
+    void shouldIgnoreCorruptLeases() throws Exception {
+        Files.createDirectories(directory.resolve("members"));
+        Files.writeString(directory.resolve("members").resolve("node-x.lease"), "not a timestamp");
+
+        assertThat(member("node-a", now).view().members()).containsExactly("node-a");
+    }
+
+    @Test
+    @DisplayName("Should own every key with a sanitised node id when cluster mode is disabled")
+    void shouldOwnEverythingWhenDisabled() {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getCluster().setNodeId("host/1");
+        ClusterMembership membership = new ClusterMembership(properties);
+
+        assertThat(membership.isEnabled()).isFalse();
+        assertThat(membership.nodeId()).isEqualTo("host_1");
+        assertThat(membership.view().owns("bucket")).isTrue();
+    }
+}
@@ -0,0 +1,147 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.jfr.FlightRecording;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ComplianceResultCache Tests")
+class ComplianceResultCacheTest {
+
+    private ComplianceProperties properties;
+    private ComplianceResultCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComplianceProperties();
+        cache = new ComplianceResultCache(properties);
+    }
+
+    private ComplianceResultCache.Key key(String region, ComplianceStandard standard) {
+        return new ComplianceResultCache.Key("AWS", "default", region, "storage", standard);
+    }
+
+    private ComplianceResult load(ComplianceResultCache.Key key, ComplianceStatus status) {
+        loads.incrementAndGet();
+        return new ComplianceResult("s3-service", key.resourceType(), key.standard(), status, List.of(), "AWS", key.region());
+    }
+
+    @Test
+    @DisplayName("Should load once and then serve hits")
+    void shouldLoadOnceThenHit() {
+        ComplianceResultCache.Key key = key("global", ComplianceStandard.SOC2);
+
+        ComplianceResult first = cache.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+        ComplianceResult second = cache.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should not cache error results")
+    void shouldNotCacheErrors() {
+        ComplianceResultCache.Key key = key("global", ComplianceStandard.SOC2);
+
+        cache.get(key, k -> load(k, ComplianceStatus.ERROR));
+        cache.get(key, k -> load(k, ComplianceStatus.ERROR));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should invalidate only matching keys")
+    void shouldInvalidateMatchingKeys() {
+        cache.get(key("us-east-1", ComplianceStandard.SOC2), k -> load(k, ComplianceStatus.COMPLIANT));
+        cache.get(key("us-west-2", ComplianceStandard.SOC2), k -> load(k, ComplianceStatus.COMPLIANT));
+        cache.get(key("us-west-2", ComplianceStandard.CIS), k -> load(k, ComplianceStatus.COMPLIANT));
+
+        long removed = cache.invalidateMatching(k -> "us-west-2".equals(k.region()));
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count only the entries it removed when others are added concurrently")
+    void shouldCountOwnRemovals() {
+        cache.get(key("us-east-1", ComplianceStandard.SOC2), k -> load(k, ComplianceStatus.COMPLIANT));
+        cache.get(key("us-east-1", ComplianceStandard.CIS), k -> load(k, ComplianceStatus.COMPLIANT));
+        ComplianceResultCache.Key added = key("eu-west-1", ComplianceStandard.SOC2);
+
+        long removed = cache.invalidateMatching(k -> {
+            cache.put(added, load(added, ComplianceStatus.COMPLIANT));
+            return "us-east-1".equals(k.region());
+        });
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassWhenDisabled() {
+        properties.getCache().getComplianceResults().setEnabled(false);
+        ComplianceResultCache disabled = new ComplianceResultCache(properties);
+        ComplianceResultCache.Key key = key("global", ComplianceStandard.NIST);
+
+        disabled.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+        disabled.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(disabled.stats().enabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should clear everything on invalidateAll")
+    void shouldClearOnInvalidateAll() {
+        ComplianceResultCache.Key key = key("global", ComplianceStandard.SOC2);
+        cache.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+
+        cache.invalidateAll();
+        cache.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should emit a flight recorder event per lookup")
+    void shouldEmitCacheAccessEvents(@TempDir Path directory) throws Exception {
+        ComplianceResultCache.Key key = key("global", ComplianceStandard.CIS);
+        Path file = directory.resolve("cache.jfr");
+
+        try (Recording recording = new Recording(FlightRecording.complianceSettings())) {
+            recording.start();
+            cache.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+            cache.get(key, k -> load(k, ComplianceStatus.COMPLIANT));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals("com.cloudsec.compliance.CacheAccess"))
+            .toList();
+        assertThat(events).extracting(event -> event.getBoolean("hit")).containsExactly(false, true);
+        assertThat(events).extracting(event -> event.getString("cache")).containsOnly("compliance-results");
+        assertThat(events.get(0).getString("key")).contains("CIS");
+    }
+}
@@ -0,0 +1,76 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ApplicationConfig;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.support.LocalS3Server;
+import com.cloudsec.compliance.support.LocalS3Server.BucketSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConnectionPrewarmer Tests")
+class ConnectionPrewarmerTest {
+
+    private final ComplianceProperties properties = new ComplianceProperties();
+    private LocalS3Server server;
+    private SdkHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() {
+        server = LocalS3Server.builder().bucket(BucketSpec.named("app-data")).start();
+        httpClient = new ApplicationConfig().sdkHttpClient(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should open the configured number of connections per region")
+    void shouldPrewarmConfiguredRegions() {
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        properties.getHttp().getPrewarm().setRegions(List.of("us-east-1", "eu-west-1"));
+        properties.getHttp().getPrewarm().setConnectionsPerRegion(3);
+
+        int warmed = new ConnectionPrewarmer(properties, httpClient).prewarm();
+
+        assertThat(warmed).isEqualTo(6);
+        assertThat(server.requestCount("HEAD")).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should use regional S3 endpoints without an override")
+    void shouldUseRegionalEndpoints() {
+        ConnectionPrewarmer prewarmer = new ConnectionPrewarmer(properties, httpClient);
+
+        assertThat(prewarmer.endpointFor("eu-west-1")).isEqualTo(URI.create("https://s3.eu-west-1.amazonaws.com"));
+    }
+
+    @Test
+    @DisplayName("Should keep the shared transport open when clients built on it are closed")
+    void shouldShareTransportAcrossClients() {
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        S3ClientFactory factory = new S3ClientFactory(properties, new AwsCredentialsManager(properties,
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local"))), httpClient, List.of());
+
+        for (String region : List.of("us-east-1", "eu-west-1", "us-east-1")) {
+            try (S3Client client = factory.createClient(region)) {
+                assertThat(client.listBuckets().buckets()).hasSize(1);
+            }
+        }
+
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(3);
+    }
+}
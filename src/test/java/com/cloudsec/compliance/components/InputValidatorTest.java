@@ -1,15 +1,25 @@
 package com.cloudsec.compliance.components;
 
+import com.cloudsec.compliance.config.ComplianceProperties;
 import com.cloudsec.compliance.errors.InvalidInputException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("InputValidator Tests")
@@ -19,7 +29,7 @@ class InputValidatorTest {
 
     @BeforeEach
     void setUp() {
-        inputValidator = new InputValidator();
+        inputValidator = new InputValidator(new ComplianceProperties());
     }
 
     @Test
@@ -151,4 +161,128 @@ class InputValidatorTest {
         String result = inputValidator.sanitizeBucketName("secret");
         assertThat(result).isEqualTo("sec***");
     }
+
+    @Test
+    @DisplayName("Should give masked buckets distinct, stable resource ids")
+    void shouldDeriveStableResourceIdsForMaskedBuckets() {
+        String first = inputValidator.bucketResourceId("secret-a");
+        String second = inputValidator.bucketResourceId("secret-b");
+
+        assertThat(first).startsWith("sec***-").hasSize("sec***-".length() + 12).isNotEqualTo(second);
+        assertThat(new InputValidator(new ComplianceProperties()).bucketResourceId("secret-a")).isEqualTo(first);
+        assertThat(inputValidator.bucketResourceId("public-assets")).isEqualTo("public-assets");
+    }
+
+    @Test
+    @DisplayName("Should mask sensitive terms regardless of case")
+    void shouldMaskSensitiveTermsIgnoringCase() {
+        assertThat(inputValidator.sanitizeBucketName("Team-CONFIDENTIAL-Reports")).isEqualTo("Tea***");
+    }
+
+    @Test
+    @DisplayName("Should use configured terms instead of the defaults")
+    void shouldUseConfiguredTerms() {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getSecurity().getInputValidation().setSensitiveTerms(List.of("payroll", "hr-"));
+        InputValidator custom = new InputValidator(properties);
+
+        assertThat(custom.sanitizeBucketName("acme-payroll-2024")).isEqualTo("acm***");
+        assertThat(custom.sanitizeBucketName("hr-exports")).isEqualTo("hr-***");
+        assertThat(custom.sanitizeBucketName("secret-bucket")).isEqualTo("secret-bucket");
+    }
+
+    @Test
+    @DisplayName("Should load additional terms from a file")
+    void shouldLoadTermsFromFile(@TempDir Path tempDir) throws Exception {
+        Path termsFile = Files.write(tempDir.resolve("terms.txt"), List.of("# customer codenames", "", "  Bluebird  ", "falcon"));
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getSecurity().getInputValidation().setSensitiveTermsFile(termsFile.toString());
+        InputValidator custom = new InputValidator(properties);
+
+        assertThat(custom.sanitizeBucketName("project-bluebird-assets")).isEqualTo("pro***");
+        assertThat(custom.sanitizeBucketName("falcon")).isEqualTo("fal***");
+        assertThat(custom.sanitizeBucketName("secret-bucket")).isEqualTo("sec***");
+        assertThat(custom.sanitizeBucketName("customer-codenames")).isEqualTo("customer-codenames");
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the terms file is missing")
+    void shouldFailWhenTermsFileMissing(@TempDir Path tempDir) {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getSecurity().getInputValidation().setSensitiveTermsFile(tempDir.resolve("missing.txt").toString());
+
+        assertThatThrownBy(() -> new InputValidator(properties))
+            .hasMessageContaining("Unable to read sensitive terms file");
+    }
+
+    @Test
+    @DisplayName("Should give identical results with the name cache disabled")
+    void shouldMatchWithCacheDisabled() {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getCache().getSanitizedNames().setEnabled(false);
+        InputValidator uncached = new InputValidator(properties);
+
+        for (String name : List.of("secret", "my-app-bucket", "internal-files", "se")) {
+            assertThat(uncached.sanitizeBucketName(name)).isEqualTo(inputValidator.sanitizeBucketName(name));
+        }
+    }
+
+    @Test
+    @DisplayName("Should validate regions against configured supported regions")
+    void shouldUseConfiguredRegions() {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.setSupportedRegions(List.of("eu-south-2", "il-central-1"));
+        properties.getSecurity().getAws().setDefaultRegion("eu-south-2");
+        InputValidator validator = new InputValidator(properties);
+
+        assertThat(validator.validateAndSanitizeRegion(" IL-Central-1 ")).isEqualTo("il-central-1");
+        assertThat(validator.validateAndSanitizeRegion(null)).isEqualTo("eu-south-2");
+        assertThatThrownBy(() -> validator.validateAndSanitizeRegion("us-east-1"))
+            .isInstanceOf(InvalidInputException.class)
+            .hasMessage("Invalid region specified: us-east-1");
+    }
+
+    @Test
+    @DisplayName("Should reload supported regions when the regions file changes")
+    void shouldReloadRegionsFile(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("regions.txt"), "# primary\nus-east-1\neu-west-1\n");
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.setSupportedRegionsFile(file.toString());
+        properties.setSupportedRegionsCheckInterval(Duration.ofMillis(20));
+        InputValidator validator = new InputValidator(properties);
+        assertThatThrownBy(() -> validator.validateAndSanitizeRegion("ap-south-1"))
+            .isInstanceOf(InvalidInputException.class);
+
+        validator.watchRegions();
+        try {
+            Files.writeString(file, "us-east-1\nap-south-1\n");
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+            await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(validator.validateAndSanitizeRegion("AP-SOUTH-1")).isEqualTo("ap-south-1"));
+            assertThatThrownBy(() -> validator.validateAndSanitizeRegion("eu-west-1"))
+                .isInstanceOf(InvalidInputException.class);
+        } finally {
+            validator.stopWatchingRegions();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the current regions when the regions file becomes invalid")
+    void shouldKeepRegionsOnInvalidFile(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("regions.txt"), "eu-west-1\n");
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.setSupportedRegionsFile(file.toString());
+        InputValidator validator = new InputValidator(properties);
+
+        Files.writeString(file, "# nothing left\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+
+        assertThat(validator.reloadRegions()).isFalse();
+        assertThat(validator.validateAndSanitizeRegion("eu-west-1")).isEqualTo("eu-west-1");
+
+        properties.setSupportedRegionsFile(dir.resolve("missing.txt").toString());
+        assertThatThrownBy(() -> new InputValidator(properties))
+            .isInstanceOf(IllegalStateException.class);
+    }
 }
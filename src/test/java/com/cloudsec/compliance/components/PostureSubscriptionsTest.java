@@ -0,0 +1,89 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PostureSubscriptions Tests")
+class PostureSubscriptionsTest {
+
+    private ComplianceProperties properties;
+    private InputValidator inputValidator;
+    private final List<String> notified = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComplianceProperties();
+        inputValidator = new InputValidator(properties);
+    }
+
+    private PostureSubscriptions subscriptions() {
+        PostureSubscriptions subscriptions = new PostureSubscriptions(properties, inputValidator);
+        subscriptions.listen(notified::add);
+        return subscriptions;
+    }
+
+    private ComplianceResult bucket(String name, boolean encrypted) {
+        String resourceId = inputValidator.bucketResourceId(name);
+        List<Finding> findings = encrypted ? List.of() : List.of(new Finding("CC6.1:" + resourceId,
+            Finding.Severity.HIGH, "CC6.1", "Bucket default encryption is not enabled", null, null));
+        return new ComplianceResult(resourceId, "storage", ComplianceStandard.SOC2,
+            encrypted ? ComplianceStatus.COMPLIANT : ComplianceStatus.NON_COMPLIANT, findings, "AWS", "us-east-1");
+    }
+
+    @Test
+    @DisplayName("Should match bucket subscriptions on the real bucket, not the shared masked prefix")
+    void shouldMatchMaskedBucketsIndividually() {
+        PostureSubscriptions subscriptions = subscriptions();
+        subscriptions.subscribe("compliance://posture/buckets/secret-a");
+        subscriptions.record(bucket("secret-a", false));
+        subscriptions.record(bucket("secret-b", false));
+
+        subscriptions.record(bucket("secret-b", true));
+        assertThat(notified).isEmpty();
+
+        subscriptions.record(bucket("secret-a", true));
+        assertThat(notified).containsExactly("compliance://posture/buckets/secret-a");
+        assertThat(subscriptions.read("compliance://posture/buckets/secret-a"))
+            .singleElement()
+            .satisfies(result -> assertThat(result.resourceId()).isEqualTo(inputValidator.bucketResourceId("secret-a")));
+    }
+
+    @Test
+    @DisplayName("Should start a new baseline once a resource's last result has expired")
+    void shouldExpireBaselines() {
+        properties.getCache().getPostureBaselines().setTtl(Duration.ZERO);
+        PostureSubscriptions subscriptions = subscriptions();
+        subscriptions.subscribe("compliance://posture/buckets/app-data");
+
+        subscriptions.record(bucket("app-data", false));
+        subscriptions.record(bucket("app-data", true));
+
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should parse resource URIs independently of the default locale")
+    void shouldParseIndependentlyOfLocale() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertThat(PostureSubscriptions.uriTemplates()).contains("compliance://posture/buckets/{bucket}");
+            assertThat(PostureSubscriptions.parse("compliance://posture/standards/cis").value()).isEqualTo("CIS");
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
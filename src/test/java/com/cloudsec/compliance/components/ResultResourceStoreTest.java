@@ -0,0 +1,140 @@
+package com.cloudsec.compliance.components;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ResultResourceStore Tests")
+class ResultResourceStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ComplianceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ComplianceProperties();
+        properties.getResources().setDirectory(directory.toString());
+        properties.getResources().setInlineLimit(256);
+    }
+
+    @Test
+    @DisplayName("Should return small results inline without storing them")
+    void shouldInlineSmallResults() throws Exception {
+        ResultResourceStore store = new ResultResourceStore(properties, objectMapper);
+
+        ResultResourceStore.Payload payload = store.serialize("health_check result", Map.of("status", "OK"));
+
+        assertThat(payload.inlineJson()).isEqualTo("{\"status\":\"OK\"}");
+        assertThat(payload.resource()).isNull();
+        assertThat(store.list()).isEmpty();
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("Should reassemble a stored result from byte chunks without splitting characters")
+    void shouldReadByteChunksOnCharacterBoundaries() throws Exception {
+        ResultResourceStore store = new ResultResourceStore(properties, objectMapper);
+        Map<String, String> result = Map.of("note", "Prüfung für Bücher ✓ ".repeat(40));
+        String expected = objectMapper.writeValueAsString(result);
+
+        ResultResourceStore.ResourceInfo resource = store.serialize("report", result).resource();
+        assertThat(resource.records()).isNull();
+
+        StringBuilder text = new StringBuilder();
+        String next = resource.uri() + "?offset=0&length=7";
+        int reads = 0;
+        while (next != null) {
+            ResultResourceStore.Chunk chunk = store.read(next);
+            assertThat(chunk.text()).doesNotContain("�");
+            text.append(chunk.text());
+            next = chunk.nextUri();
+            reads++;
+        }
+        assertThat(text.toString()).isEqualTo(expected);
+        assertThat(reads).isGreaterThan(1);
+        assertThatThrownBy(() -> store.read(resource.uri() + "?record=0"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("not a list");
+    }
+
+    @Test
+    @DisplayName("Should advance by a whole character when the requested length is shorter than it")
+    void shouldAdvancePastWideCharacters() throws Exception {
+        ResultResourceStore store = new ResultResourceStore(properties, objectMapper);
+        String expected = objectMapper.writeValueAsString("✓".repeat(200));
+        ResultResourceStore.ResourceInfo resource = store.serialize("report", "✓".repeat(200)).resource();
+
+        ResultResourceStore.Chunk chunk = store.read(resource.uri() + "?offset=1&length=1");
+        assertThat(chunk.text()).isEqualTo("✓");
+        assertThat(chunk.nextUri()).isEqualTo(resource.uri() + "?offset=4&length=1");
+
+        StringBuilder text = new StringBuilder();
+        String next = resource.uri() + "?offset=0&length=2";
+        while (next != null) {
+            chunk = store.read(next);
+            text.append(chunk.text());
+            next = chunk.nextUri();
+        }
+        assertThat(text.toString()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should serve list results a bounded number of records at a time")
+    void shouldReadRecordChunks() throws Exception {
+        properties.getResources().setMaxChunkBytes(100);
+        ResultResourceStore store = new ResultResourceStore(properties, objectMapper);
+        List<Map<String, Object>> result = IntStream.range(0, 50)
+            .mapToObj(i -> Map.<String, Object>of("bucket", "bucket-" + i))
+            .toList();
+
+        ResultResourceStore.ResourceInfo resource = store.serialize("list result", result).resource();
+        assertThat(resource.records()).isEqualTo(50);
+        assertThat(resource.size()).isEqualTo(objectMapper.writeValueAsBytes(result).length);
+
+        ResultResourceStore.Chunk first = store.read(resource.uri() + "?record=10&count=20");
+        List<?> records = objectMapper.readValue(first.text(), List.class);
+        // Twenty records exceed max-chunk-bytes, so the chunk is cut to whole records that fit.
+        assertThat(records).hasSizeBetween(1, 19);
+        assertThat(records.get(0)).isEqualTo(Map.of("bucket", "bucket-10"));
+        assertThat(first.nextUri()).isEqualTo(resource.uri() + "?record=" + (10 + records.size()) + "&count=20");
+        assertThat(store.read(resource.uri() + "?record=49").nextUri()).isNull();
+        assertThat(store.read(resource.uri() + "?record=50").text()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest stored results and their files beyond max-stored")
+    void shouldEvictOldestResults() throws Exception {
+        properties.getResources().setMaxStored(2);
+        ResultResourceStore store = new ResultResourceStore(properties, objectMapper);
+        String large = "x".repeat(1000);
+
+        String first = store.serialize("a", large).resource().uri();
+        store.serialize("b", large);
+        store.serialize("c", large);
+
+        assertThat(store.list()).extracting(ResultResourceStore.ResourceInfo::name).containsExactly("b", "c");
+        assertThatThrownBy(() -> store.read(first))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown or expired resource");
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(2);
+        }
+
+        store.close();
+        assertThat(directory).isEmptyDirectory();
+    }
+}
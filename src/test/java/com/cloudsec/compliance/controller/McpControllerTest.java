@@ -1,23 +1,47 @@
 package com.cloudsec.compliance.controller;
 
+import com.cloudsec.compliance.components.AwsCallStatsInterceptor;
+import com.cloudsec.compliance.components.CircuitBreakerRegistry;
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.PostureSubscriptions;
+import com.cloudsec.compliance.components.ResultResourceStore;
+import com.cloudsec.compliance.components.TranscriptRecorder;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.CacheStatsResponse;
+import com.cloudsec.compliance.dto.response.FindingsExportResponse;
 import com.cloudsec.compliance.dto.response.HealthCheckResponse;
+import com.cloudsec.compliance.dto.response.OrganizationScanResponse;
+import com.cloudsec.compliance.dto.response.ScanSummaryResponse;
+import com.cloudsec.compliance.dto.response.TraceSummary;
+import com.cloudsec.compliance.export.ExportFormat;
+import com.cloudsec.compliance.service.FindingsExportService;
 import com.cloudsec.compliance.service.HealthCheckService;
+import com.cloudsec.compliance.service.OrganizationScanService;
+import com.cloudsec.compliance.service.PostureRollupService;
 import com.cloudsec.compliance.service.S3ComplianceService;
+import com.cloudsec.compliance.service.ScanService;
 import com.cloudsec.compliance.model.ComplianceResult;
 import com.cloudsec.compliance.model.ComplianceStandard;
 import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.tracing.Tracer;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.Nested;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -32,13 +56,34 @@ class McpControllerTest {
     @Mock
     private S3ComplianceService s3ComplianceService;
 
+    @Mock
+    private FindingsExportService findingsExportService;
+
+    @Mock
+    private ScanService scanService;
+
+    @Mock
+    private OrganizationScanService organizationScanService;
+
+    @TempDir
+    Path resultDirectory;
+
     private ObjectMapper objectMapper;
     private McpController mcpController;
+    private Tracer tracer;
+    private PostureSubscriptions postureSubscriptions;
 
     @BeforeEach
     void setup() {
         objectMapper = new ObjectMapper();
-        mcpController = new McpController(objectMapper, healthCheckService, s3ComplianceService);
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getResources().setDirectory(resultDirectory.toString());
+        tracer = new Tracer(properties, objectMapper);
+        postureSubscriptions = new PostureSubscriptions(properties, new InputValidator(properties));
+        mcpController = new McpController(objectMapper, healthCheckService, s3ComplianceService,
+            new PostureRollupService(), findingsExportService, scanService, organizationScanService, properties,
+            new TranscriptRecorder(properties, objectMapper), tracer, new AwsCallStatsInterceptor(properties, new CircuitBreakerRegistry(properties)),
+            new ResultResourceStore(properties, objectMapper), postureSubscriptions);
     }
 
     private String captureOutput(Runnable action) {
@@ -82,6 +127,17 @@ class McpControllerTest {
             assertThat(output).contains("\"version\":\"0.2.0\"");
         }
 
+        @Test
+        @DisplayName("Should agree on a supported protocol version and offer the newest otherwise")
+        void shouldNegotiateProtocolVersion() throws Exception {
+            assertThat(objectMapper.readTree(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "initialize", "id": 1, "params": {"protocolVersion": "2025-03-26"}}
+                """)).path("result").path("protocolVersion").asText()).isEqualTo("2025-03-26");
+            assertThat(objectMapper.readTree(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "initialize", "id": 2, "params": {"protocolVersion": "2099-01-01"}}
+                """)).path("result").path("protocolVersion").asText()).isEqualTo(McpController.PROTOCOL_VERSIONS.get(0));
+        }
+
         @Test
         @DisplayName("Should return error on unknown method")
         void shouldReturnErrorOnUnknownMethod() throws Exception {
@@ -129,6 +185,16 @@ class McpControllerTest {
             assertThat(output).contains("check_resource_compliance");
             assertThat(output).contains("list_supported_standards");
             assertThat(output).contains("list_supported_resource_types");
+            assertThat(output).contains("get_cache_stats");
+            assertThat(output).contains("invalidate_compliance_cache");
+            assertThat(output).contains("get_posture_rollup");
+            assertThat(output).contains("export_findings");
+            assertThat(output).contains("run_scan");
+            assertThat(output).contains("list_scans");
+            assertThat(output).contains("diff_scans");
+            assertThat(output).contains("scan_organization");
+            assertThat(output).contains("recent_traces");
+            assertThat(output).contains("get_aws_call_stats");
         }
     }
 
@@ -398,6 +464,380 @@ class McpControllerTest {
             assertThat(output).contains("Missing required arguments");
         }
 
+        @Test
+        @DisplayName("Should invalidate compliance cache for a standard")
+        void shouldHandleInvalidateCacheToolCall() throws Exception {
+            when(s3ComplianceService.invalidateComplianceCache(null, ComplianceStandard.CIS)).thenReturn(3L);
+            when(s3ComplianceService.getComplianceCacheStats())
+                .thenReturn(new CacheStatsResponse("compliance-results", true, 2, 5, 1, 0.83, 0));
+
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 12,
+                  "params": {
+                    "name": "invalidate_compliance_cache",
+                    "arguments": {
+                      "standard": "CIS"
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("\\\"invalidated\\\":3");
+            assertThat(output).contains("\\\"hitCount\\\":5");
+            verify(s3ComplianceService).invalidateComplianceCache(null, ComplianceStandard.CIS);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid rollup dimension")
+        void shouldRejectInvalidRollupDimension() throws Exception {
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 13,
+                  "params": {
+                    "name": "get_posture_rollup",
+                    "arguments": {
+                      "groupBy": "planet"
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("\"error\":");
+            assertThat(output).contains("Invalid groupBy: planet");
+        }
+
+        @Test
+        @DisplayName("Should route export_findings with parsed format")
+        void shouldRouteExportFindings() throws Exception {
+            FindingsExportResponse exported = new FindingsExportResponse("SUCCESS", "columnar",
+                "/tmp/findings-soc2-all.cfb", "SOC2", "all", 12, 30, 2048, 15, "2026-01-01T00:00:00", null);
+            when(findingsExportService.exportFindings(null, ComplianceStandard.SOC2, ExportFormat.COLUMNAR))
+                .thenReturn(exported);
+
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 14,
+                  "params": {
+                    "name": "export_findings",
+                    "arguments": {
+                      "standard": "SOC2",
+                      "format": "columnar"
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("\\\"findingCount\\\":30");
+            assertThat(output).contains("findings-soc2-all.cfb");
+        }
+
+        @Test
+        @DisplayName("Should route scan_organization with account list")
+        void shouldRouteScanOrganization() throws Exception {
+            OrganizationScanResponse scanned = new OrganizationScanResponse("SUCCESS", "CIS", "all", 2, 2, 0, 40,
+                8, 1200, List.of(), null, "2026-01-01T00:00:00", null);
+            when(organizationScanService.scanOrganization(
+                List.of("111111111111", "arn:aws:iam::222222222222:role/Audit"), null, ComplianceStandard.CIS, 8))
+                .thenReturn(scanned);
+
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 16,
+                  "params": {
+                    "name": "scan_organization",
+                    "arguments": {
+                      "standard": "CIS",
+                      "accounts": ["111111111111", "arn:aws:iam::222222222222:role/Audit"],
+                      "concurrency": 8
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("\\\"accountsScanned\\\":2");
+            assertThat(output).contains("\\\"resourceCount\\\":40");
+        }
+
+        @Test
+        @DisplayName("Should reject export_findings with unknown format")
+        void shouldRejectUnknownExportFormat() throws Exception {
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 15,
+                  "params": {
+                    "name": "export_findings",
+                    "arguments": {
+                      "standard": "SOC2",
+                      "format": "xml"
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("Invalid export format: xml");
+            verifyNoInteractions(findingsExportService);
+        }
+
+        @Test
+        @DisplayName("Should surface unknown scan ids from diff_scans")
+        void shouldSurfaceUnknownScanIds() throws Exception {
+            when(scanService.diffScans("scan-1", "scan-9", null))
+                .thenThrow(new IllegalArgumentException("Unknown scan: scan-9"));
+
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 16,
+                  "params": {
+                    "name": "diff_scans",
+                    "arguments": {
+                      "baseScanId": "scan-1",
+                      "targetScanId": "scan-9"
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("\"error\":");
+            assertThat(output).contains("Unknown scan: scan-9");
+        }
+
+        @Test
+        @DisplayName("Should reject invalid bucket search dates")
+        void shouldRejectInvalidSearchDates() throws Exception {
+            String json = """
+                {
+                  "jsonrpc": "2.0",
+                  "method": "tools/call",
+                  "id": 17,
+                  "params": {
+                    "name": "list_s3_buckets",
+                    "arguments": {
+                      "namePrefix": "app-",
+                      "createdAfter": "last tuesday"
+                    }
+                  }
+                }
+            """;
+
+            String output = captureOutput(() -> {
+                try {
+                    mcpController.handleRequest(json);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            assertThat(output).contains("Invalid date: last tuesday");
+            verifyNoInteractions(s3ComplianceService);
+        }
+
+        @Test
+        @DisplayName("Should trace tool calls and list them with recent_traces")
+        void shouldTraceToolCalls() throws Exception {
+            when(healthCheckService.performHealthCheck(null))
+                .thenReturn(new HealthCheckResponse("OK", "2024-01-01T12:00:00", "running", "0.2.0"));
+
+            mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "tools/call", "id": 7, "params": {"name": "health_check"}}
+                """);
+            mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "tools/call", "id": 8, "params": {"name": "unknown_tool"}}
+                """);
+
+            List<TraceSummary> traces = tracer.recentTraces(null, null, null);
+            assertThat(traces).extracting(TraceSummary::name)
+                .containsExactly("tools/call unknown_tool", "tools/call health_check");
+            assertThat(traces.get(0).error()).isTrue();
+            assertThat(traces.get(1).error()).isFalse();
+            assertThat(traces.get(1).spans().get(0).attributes()).containsEntry("rpc.jsonrpc.request_id", "7");
+
+            String output = mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "tools/call", "id": 9, "params": {"name": "recent_traces", "arguments": {"limit": 1}}}
+                """);
+            assertThat(output).contains("tools/call unknown_tool").doesNotContain("tools/call health_check");
+
+            mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "tools/call", "id": 10, "params": {"name": "list_s3_buckets", "arguments": {"region": "eu-west-1"}}}
+                """);
+            assertThat(tracer.recentTraces(1, null, null).get(0).spans().get(0).attributes())
+                .containsEntry("compliance.region", "eu-west-1");
+        }
+
+        @Test
+        @DisplayName("Should return large results as a resource link readable in record chunks")
+        void shouldServeLargeResultsAsResources() throws Exception {
+            List<ScanSummaryResponse> scans = IntStream.range(0, 2000)
+                .mapToObj(i -> new ScanSummaryResponse("SUCCESS", "scan-" + i, "SOC2", "us-east-1", 10, 2,
+                    null, "2024-01-01T12:00:00Z", null))
+                .toList();
+            when(scanService.listScans()).thenReturn(scans);
+
+            JsonNode content = objectMapper.readTree(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "tools/call", "id": 20, "params": {"name": "list_scans"}}
+                """)).path("result").path("content");
+            assertThat(content).hasSize(2);
+            assertThat(content.get(0).path("text").asText()).contains("2000 records");
+            JsonNode link = content.get(1);
+            assertThat(link.path("type").asText()).isEqualTo("resource_link");
+            assertThat(link.path("size").asLong()).isEqualTo(objectMapper.writeValueAsBytes(scans).length);
+            String uri = link.path("uri").asText();
+
+            assertThat(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/list", "id": 21}
+                """)).contains(uri);
+
+            int records = 0;
+            int reads = 0;
+            String next = uri + "?record=0&count=500";
+            while (next != null) {
+                JsonNode result = objectMapper.readTree(mcpController.processRequest(
+                    objectMapper.writeValueAsString(Map.of("jsonrpc", "2.0", "method", "resources/read", "id", 22,
+                        "params", Map.of("uri", next))))).path("result");
+                JsonNode chunk = objectMapper.readTree(result.path("contents").get(0).path("text").asText());
+                assertThat(chunk.get(0).path("scanId").asText()).isEqualTo("scan-" + records);
+                assertThat(result.path("_meta").path("totalRecords").asInt()).isEqualTo(2000);
+                records += chunk.size();
+                reads++;
+                next = result.path("_meta").path("nextUri").isMissingNode() ? null : result.path("_meta").path("nextUri").asText();
+            }
+            assertThat(records).isEqualTo(2000);
+            assertThat(reads).isEqualTo(4);
+
+            assertThat(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/read", "id": 23, "params": {"uri": "compliance://results/missing"}}
+                """)).contains("Unknown or expired resource");
+        }
+
+        @Test
+        @DisplayName("Should embed the first chunk for clients whose protocol version has no resource links")
+        void shouldEmbedFirstChunkForOlderProtocolVersions() throws Exception {
+            List<ScanSummaryResponse> scans = IntStream.range(0, 2000)
+                .mapToObj(i -> new ScanSummaryResponse("SUCCESS", "scan-" + i, "SOC2", "us-east-1", 10, 2,
+                    null, "2024-01-01T12:00:00Z", null))
+                .toList();
+            when(scanService.listScans()).thenReturn(scans);
+            mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "initialize", "id": 1, "params": {"protocolVersion": "2024-11-05"}}
+                """);
+
+            JsonNode content = objectMapper.readTree(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "tools/call", "id": 20, "params": {"name": "list_scans"}}
+                """)).path("result").path("content");
+
+            assertThat(content).hasSize(2);
+            assertThat(content.get(0).path("text").asText()).contains("?record=100&count=100");
+            JsonNode embedded = content.get(1);
+            assertThat(embedded.path("type").asText()).isEqualTo("resource");
+            assertThat(embedded.path("resource").path("uri").asText()).endsWith("?record=0&count=100");
+            JsonNode chunk = objectMapper.readTree(embedded.path("resource").path("text").asText());
+            assertThat(chunk).hasSize(100);
+            assertThat(chunk.get(0).path("scanId").asText()).isEqualTo("scan-0");
+        }
+
+        @Test
+        @DisplayName("Should subscribe to posture resources and push updates when results change")
+        void shouldPushPostureUpdates() throws Exception {
+            String uri = "compliance://posture/standards/SOC2";
+            assertThat(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/subscribe", "id": 30, "params": {"uri": "compliance://posture/standards/SOC2"}}
+                """)).contains("\"result\":{}");
+            assertThat(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/subscribe", "id": 31, "params": {"uri": "compliance://posture/regions/x"}}
+                """)).contains("Unknown posture scope");
+            assertThat(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/templates/list", "id": 32}
+                """)).contains("compliance://posture/buckets/{bucket}");
+
+            postureSubscriptions.listen(mcpController::notifyResourceUpdated);
+            ComplianceResult compliant = new ComplianceResult("s3-service", "storage", ComplianceStandard.SOC2,
+                ComplianceStatus.COMPLIANT, List.of(), "AWS", "global");
+            ComplianceResult failing = new ComplianceResult("s3-service", "storage", ComplianceStandard.SOC2,
+                ComplianceStatus.NON_COMPLIANT, List.of(new Finding("F1", Finding.Severity.HIGH, "CC6.1", "Unencrypted", null, null)),
+                "AWS", "global");
+            String output = captureOutput(() -> {
+                postureSubscriptions.record(compliant);
+                postureSubscriptions.record(compliant);
+                postureSubscriptions.record(failing);
+            });
+
+            List<String> notifications = output.lines().filter(line -> line.startsWith("{")).toList();
+            assertThat(notifications).hasSize(1);
+            JsonNode notification = objectMapper.readTree(notifications.get(0));
+            assertThat(notification.path("method").asText()).isEqualTo("notifications/resources/updated");
+            assertThat(notification.has("id")).isFalse();
+            assertThat(notification.path("params").path("uri").asText()).isEqualTo(uri);
+            assertThat(mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/read", "id": 33, "params": {"uri": "compliance://posture/standards/SOC2"}}
+                """)).contains("NON_COMPLIANT");
+
+            mcpController.processRequest("""
+                {"jsonrpc": "2.0", "method": "resources/unsubscribe", "id": 34, "params": {"uri": "compliance://posture/standards/SOC2"}}
+                """);
+            assertThat(captureOutput(() -> postureSubscriptions.record(compliant)).lines()
+                .filter(line -> line.startsWith("{"))).isEmpty();
+        }
+
         @Test
         @DisplayName("Should handle unknown tool name")
         void shouldHandleUnknownToolName() throws Exception {
@@ -0,0 +1,128 @@
+package com.cloudsec.compliance.export;
+
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FindingsWriter Tests")
+class FindingsWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ComplianceResult result(String bucket, int findingCount) {
+        List<Finding> findings = new ArrayList<>();
+        for (int i = 0; i < findingCount; i++) {
+            findings.add(new Finding("CC6." + i + ":" + bucket, Finding.Severity.values()[i % 5], "CC6." + i,
+                "Control " + i + " failed", i % 2 == 0 ? "Fix control " + i : null, "evidence-" + i));
+        }
+        return new ComplianceResult(bucket, "storage", ComplianceStandard.SOC2,
+            findingCount == 0 ? ComplianceStatus.COMPLIANT : ComplianceStatus.NON_COMPLIANT,
+            findings, "AWS", "us-west-2");
+    }
+
+    @Test
+    @DisplayName("Should write resource and finding records as NDJSON lines")
+    void shouldWriteNdjsonLines() throws Exception {
+        Path file = tempDir.resolve("findings.ndjson");
+        try (NdjsonFindingsWriter writer = new NdjsonFindingsWriter(file, objectMapper.getFactory())) {
+            writer.write(result("bucket-a", 2));
+            writer.write(result("bucket-b", 0));
+
+            assertThat(writer.resourceCount()).isEqualTo(2);
+            assertThat(writer.findingCount()).isEqualTo(2);
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(4);
+        JsonNode resource = objectMapper.readTree(lines.get(0));
+        assertThat(resource.get("record").asText()).isEqualTo("resource");
+        assertThat(resource.get("findingCount").asInt()).isEqualTo(2);
+        JsonNode finding = objectMapper.readTree(lines.get(2));
+        assertThat(finding.get("record").asText()).isEqualTo("finding");
+        assertThat(finding.get("resourceId").asText()).isEqualTo("bucket-a");
+        assertThat(finding.get("severity").asText()).isEqualTo("HIGH");
+        assertThat(finding.has("remediation")).isFalse();
+        assertThat(objectMapper.readTree(lines.get(3)).get("status").asText()).isEqualTo("COMPLIANT");
+    }
+
+    @Test
+    @DisplayName("Should report final file size once closed")
+    void shouldReportFinalFileSize() throws Exception {
+        Path file = tempDir.resolve("sized.ndjson");
+        NdjsonFindingsWriter writer = new NdjsonFindingsWriter(file, objectMapper.getFactory());
+        writer.write(result("bucket-a", 3));
+        writer.close();
+
+        assertThat(writer.bytesWritten()).isEqualTo(Files.size(file));
+    }
+
+    @Test
+    @DisplayName("Should refuse to overwrite an existing file")
+    void shouldRefuseToOverwrite() throws Exception {
+        Path file = Files.createFile(tempDir.resolve("existing.cfb"));
+
+        assertThatThrownBy(() -> new ColumnarFindingsWriter(file))
+            .isInstanceOf(java.nio.file.FileAlreadyExistsException.class);
+    }
+
+    @Test
+    @DisplayName("Should round-trip columnar rows across multiple blocks")
+    void shouldRoundTripColumnarBlocks() throws Exception {
+        Path file = tempDir.resolve("findings.cfb");
+        int buckets = ColumnarFindingsWriter.BLOCK_ROWS;
+        try (ColumnarFindingsWriter writer = new ColumnarFindingsWriter(file)) {
+            for (int i = 0; i < buckets; i++) {
+                writer.write(result("bucket-" + i, i % 4));
+            }
+        }
+
+        List<ColumnarFindingsReader.Row> rows = new ArrayList<>();
+        ColumnarFindingsReader.Totals totals = ColumnarFindingsReader.read(file, rows::add);
+
+        long expectedFindings = (long) (buckets / 4) * (0 + 1 + 2 + 3);
+        assertThat(totals.resourceCount()).isEqualTo(buckets);
+        assertThat(totals.findingCount()).isEqualTo(expectedFindings);
+        assertThat(rows).hasSize((int) expectedFindings + buckets / 4);
+        assertThat(rows.get(0).finding()).isNull();
+        assertThat(rows.get(0).status()).isEqualTo(ComplianceStatus.COMPLIANT);
+
+        ColumnarFindingsReader.Row last = rows.get(rows.size() - 1);
+        assertThat(last.resourceId()).isEqualTo("bucket-" + (buckets - 1));
+        assertThat(last.region()).isEqualTo("us-west-2");
+        assertThat(last.standard()).isEqualTo(ComplianceStandard.SOC2);
+        assertThat(last.finding()).isEqualTo(result("bucket-" + (buckets - 1), 3).findings().get(2));
+    }
+
+    @Test
+    @DisplayName("Should keep columnar output smaller than NDJSON for repetitive findings")
+    void shouldBeSmallerThanNdjson() throws Exception {
+        Path columnar = tempDir.resolve("compare.cfb");
+        Path ndjson = tempDir.resolve("compare.ndjson");
+        try (FindingsWriter binary = new ColumnarFindingsWriter(columnar);
+             FindingsWriter json = new NdjsonFindingsWriter(ndjson, objectMapper.getFactory())) {
+            for (int i = 0; i < 2_000; i++) {
+                ComplianceResult result = result("bucket-" + i, 4);
+                binary.write(result);
+                json.write(result);
+            }
+        }
+
+        assertThat(Files.size(columnar)).isLessThan(Files.size(ndjson) / 2);
+    }
+}
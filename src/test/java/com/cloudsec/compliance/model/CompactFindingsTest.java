@@ -0,0 +1,157 @@
+package com.cloudsec.compliance.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CompactFindings Tests")
+class CompactFindingsTest {
+
+    private ControlCatalog catalog;
+    private int encryptionControl;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ControlCatalog();
+        encryptionControl = catalog.intern(new ControlDefinition(
+            "CC6.1", Finding.Severity.HIGH, "Bucket default encryption is not enabled", "Enable SSE-S3 or SSE-KMS"));
+    }
+
+    @Test
+    @DisplayName("Should intern identical control definitions once")
+    void shouldInternControlsOnce() {
+        int again = catalog.intern(new ControlDefinition(
+            "CC6.1", Finding.Severity.HIGH, "Bucket default encryption is not enabled", "Enable SSE-S3 or SSE-KMS"));
+
+        assertThat(again).isEqualTo(encryptionControl);
+        assertThat(catalog.size()).isEqualTo(1);
+        assertThatThrownBy(() -> catalog.get(5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should expand compact entries into findings")
+    void shouldExpandToFindings() {
+        CompactFindings findings = new CompactFindings(catalog);
+        findings.add("bucket-a", encryptionControl, "SSE: none");
+        findings.add("bucket-b", encryptionControl, Finding.Severity.CRITICAL, "SSE: none");
+
+        Finding first = findings.toFinding(0);
+        assertThat(first.id()).isEqualTo("CC6.1:bucket-a");
+        assertThat(first.severity()).isEqualTo(Finding.Severity.HIGH);
+        assertThat(first.description()).isEqualTo("Bucket default encryption is not enabled");
+        assertThat(first.evidence()).isEqualTo("SSE: none");
+        assertThat(findings.severity(1)).isEqualTo(Finding.Severity.CRITICAL);
+        assertThat(findings.resourceId(1)).isEqualTo("bucket-b");
+        assertThat(findings.asList()).hasSize(2);
+        assertThat(findings.severityHistogram().critical()).isEqualTo(1);
+        assertThat(findings.severityHistogram().high()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should round-trip materialized findings including custom ids")
+    void shouldRoundTripMaterializedFindings() {
+        CompactFindings findings = new CompactFindings(catalog);
+        Finding custom = new Finding("S3-ERROR-001", Finding.Severity.LOW, "SYSTEM", "Unable to check", null, null);
+        findings.add("bucket-a", custom);
+        findings.add("bucket-b", encryptionControl, "SSE: none");
+
+        assertThat(findings.toFinding(0)).isEqualTo(custom);
+        assertThat(findings.findingId(1)).isEqualTo("CC6.1:bucket-b");
+        assertThat(catalog.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep free-text descriptions out of the shared catalog and require a control id")
+    void shouldNotInternDescriptions() {
+        CompactFindings findings = new CompactFindings(catalog);
+        for (int i = 0; i < 100; i++) {
+            findings.add("bucket-" + i, new Finding("SYSTEM:bucket-" + i, Finding.Severity.MEDIUM, "SYSTEM",
+                "Unable to read bucket-" + i, "Retry the scan", null));
+        }
+
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(findings.toFinding(42).description()).isEqualTo("Unable to read bucket-42");
+        assertThat(findings.description(42)).isEqualTo("Unable to read bucket-42");
+        assertThatThrownBy(() -> findings.add("bucket-x",
+            new Finding("x", Finding.Severity.LOW, " ", "No control", null, null)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep storage far below materialized findings for repeated text")
+    void shouldStayCompactForLargeScans() {
+        CompactFindings findings = new CompactFindings(catalog);
+        for (int i = 0; i < 10_000; i++) {
+            findings.add("bucket-" + (i % 2_000), encryptionControl, "SSE: none");
+        }
+        findings.seal();
+
+        assertThat(findings.size()).isEqualTo(10_000);
+        assertThat(findings.estimatedBytes()).isLessThan(10_000L * 24);
+        assertThatThrownBy(() -> findings.add("late", encryptionControl, "x"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should stream findings as a JSON array when serialized")
+    void shouldSerializeAsJsonArray() throws Exception {
+        CompactFindings findings = new CompactFindings(catalog);
+        findings.add("bucket-a", encryptionControl, "SSE: none");
+        findings.add("bucket-b", encryptionControl, null);
+
+        JsonNode json = new ObjectMapper().valueToTree(findings);
+
+        assertThat(json.isArray()).isTrue();
+        assertThat(json).hasSize(2);
+        assertThat(json.get(0).get("resourceId").asText()).isEqualTo("bucket-a");
+        assertThat(json.get(0).get("controlId").asText()).isEqualTo("CC6.1");
+        assertThat(json.get(1).has("evidence")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should order findings by resource and control once sealed")
+    void shouldOrderByKey() {
+        int loggingControl = catalog.intern(new ControlDefinition(
+            "CC7.2", Finding.Severity.LOW, "Bucket server access logging is not enabled", null));
+        CompactFindings findings = new CompactFindings(catalog);
+        findings.add("bucket-c", encryptionControl, null);
+        findings.add("bucket-a", loggingControl, null);
+        findings.add("bucket-b", encryptionControl, null);
+        findings.add("bucket-a", encryptionControl, null);
+
+        assertThatThrownBy(findings::keyOrder).isInstanceOf(IllegalStateException.class);
+
+        int[] order = findings.seal().keyOrder();
+        assertThat(order).containsExactly(3, 1, 2, 0);
+        assertThat(findings.keyOrder()).isSameAs(order);
+    }
+
+    @Test
+    @DisplayName("Should order explicit finding ids after derived ones for the same resource and control")
+    void shouldOrderExplicitIdsAfterDerivedIds() {
+        CompactFindings findings = new CompactFindings(catalog);
+        findings.add("bucket-a", new Finding("CC6.1:bucket-a#2", Finding.Severity.HIGH, "CC6.1",
+            "Bucket default encryption is not enabled", "Enable SSE-S3 or SSE-KMS", null));
+        findings.add("bucket-a", encryptionControl, null);
+        findings.add("bucket-a", new Finding("CC6.1:bucket-a#1", Finding.Severity.HIGH, "CC6.1",
+            "Bucket default encryption is not enabled", "Enable SSE-S3 or SSE-KMS", null));
+
+        assertThat(findings.seal().keyOrder()).containsExactly(1, 2, 0);
+        assertThat(findings.compareKeys(1, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject out of range reads")
+    void shouldRejectOutOfRangeReads() {
+        CompactFindings findings = new CompactFindings(catalog);
+
+        assertThatThrownBy(() -> findings.toFinding(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(findings.asList()).isEqualTo(List.of());
+    }
+}
@@ -0,0 +1,117 @@
+package com.cloudsec.compliance.perf;
+
+import com.cloudsec.compliance.components.TranscriptRecorder;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TranscriptReplayer Tests")
+class TranscriptReplayerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReplayTarget echoTarget = requestLine -> {
+        var request = objectMapper.readTree(requestLine);
+        if (request.path("params").path("name").asText().equals("broken_tool")) {
+            return "{\"jsonrpc\":\"2.0\",\"id\":" + request.get("id") + ",\"error\":{\"code\":-1,\"message\":\"boom\"}}";
+        }
+        return "{\"jsonrpc\":\"2.0\",\"id\":" + request.get("id") + ",\"result\":{}}";
+    };
+
+    @Test
+    @DisplayName("Should report latency per method and per tool")
+    void shouldReportPerMethodAndTool() throws Exception {
+        String transcript = """
+            {"jsonrpc":"2.0","method":"initialize","id":1}
+            {"jsonrpc":"2.0","method":"tools/call","id":2,"params":{"name":"list_s3_buckets","arguments":{}}}
+            {"jsonrpc":"2.0","method":"tools/call","id":3,"params":{"name":"list_s3_buckets","arguments":{}}}
+            {"jsonrpc":"2.0","method":"tools/call","id":4,"params":{"name":"broken_tool","arguments":{}}}
+            """;
+
+        ReplayReport report = new TranscriptReplayer(objectMapper, echoTarget, 2, 0)
+            .replay(new BufferedReader(new StringReader(transcript)));
+
+        assertThat(report.requests()).isEqualTo(4);
+        assertThat(report.errors()).isEqualTo(1);
+        assertThat(report.byMethod()).containsOnlyKeys("initialize", "tools/call");
+        assertThat(report.byMethod().get("tools/call").count()).isEqualTo(3);
+        assertThat(report.byTool().get("list_s3_buckets").count()).isEqualTo(2);
+        assertThat(report.toTable()).contains("list_s3_buckets").contains("p99(us)");
+    }
+
+    @Test
+    @DisplayName("Should rewrite request ids to unique sequence numbers")
+    void shouldRewriteRequestIds() throws Exception {
+        Set<String> seenIds = ConcurrentHashMap.newKeySet();
+        ReplayTarget target = requestLine -> {
+            seenIds.add(objectMapper.readTree(requestLine).get("id").asText());
+            return null;
+        };
+        String transcript = """
+            {"jsonrpc":"2.0","method":"tools/list","id":1}
+            {"jsonrpc":"2.0","method":"tools/list","id":1}
+            {"jsonrpc":"2.0","method":"tools/list","id":1}
+            """;
+
+        new TranscriptReplayer(objectMapper, target, 3, 0).replay(new BufferedReader(new StringReader(transcript)));
+
+        assertThat(seenIds).containsExactlyInAnyOrder("1", "2", "3");
+    }
+
+    @Test
+    @DisplayName("Should never exceed the configured concurrency")
+    void shouldRespectConcurrencyLimit() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ReplayTarget target = requestLine -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            active.decrementAndGet();
+            return null;
+        };
+        StringBuilder transcript = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            transcript.append("{\"jsonrpc\":\"2.0\",\"method\":\"tools/list\",\"id\":").append(i).append("}\n");
+        }
+
+        ReplayReport report = new TranscriptReplayer(objectMapper, target, 3, 0)
+            .replay(new BufferedReader(new StringReader(transcript.toString())));
+
+        assertThat(report.requests()).isEqualTo(40);
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should replay a transcript written by TranscriptRecorder")
+    void shouldReplayRecordedTranscript(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.ndjson");
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getTranscript().setRecordFile(file.toString());
+        TranscriptRecorder recorder = new TranscriptRecorder(properties, objectMapper);
+        recorder.record("{\"jsonrpc\":\"2.0\",\"method\":\"initialize\",\"id\":1}");
+        recorder.record("{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"id\":2,\"params\":{\"name\":\"health_check\"}}");
+        recorder.close();
+
+        assertThat(Files.readAllLines(file)).hasSize(2).allMatch(line -> line.contains("\"offsetMillis\""));
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ReplayReport report = new TranscriptReplayer(objectMapper, echoTarget, 1, 100).replay(reader);
+            assertThat(report.requests()).isEqualTo(2);
+            assertThat(report.errors()).isZero();
+            assertThat(report.byTool()).containsKey("health_check");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.cloudsec.compliance.policy;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PolicyCompiler Tests")
+class PolicyCompilerTest {
+
+    private static final String OWNER = "111111111111";
+
+    private final PolicyCompiler compiler = new PolicyCompiler(new ComplianceProperties(), new ObjectMapper());
+
+    @Test
+    @DisplayName("Should share one compiled policy between buckets built from the same template")
+    void shouldMemoizeTemplatedPolicies() {
+        CompiledPolicy first = compiler.compile("logs-a", crossAccountPolicy("logs-a"));
+        CompiledPolicy second = compiler.compile("logs-b", crossAccountPolicy("logs-b"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(compiler.missCount()).isEqualTo(1);
+        assertThat(compiler.hitCount()).isEqualTo(1);
+        assertThat(first.isAllowed("arn:aws:iam::222222222222:role/Reader", "s3:GetObject",
+            "arn:aws:s3:::logs-b/2024/01/app.log", "logs-b")).isTrue();
+        assertThat(first.isAllowed("arn:aws:iam::222222222222:role/Reader", "s3:GetObject",
+            "arn:aws:s3:::other-bucket/app.log", "logs-b")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat wildcard principals as public unless a condition restricts the source")
+    void shouldDetectPublicStatements() {
+        CompiledPolicy open = compiler.compile("site", """
+            {"Statement": [
+              {"Sid": "PublicRead", "Effect": "Allow", "Principal": {"AWS": "*"}, "Action": ["s3:GetObject"],
+               "Resource": "arn:aws:s3:::site/*"},
+              {"Sid": "DenyHttp", "Effect": "Deny", "Principal": "*", "Action": "s3:*", "Resource": "arn:aws:s3:::site/*",
+               "Condition": {"Bool": {"aws:SecureTransport": "false"}}}
+            ]}
+            """);
+        CompiledPolicy restricted = compiler.compile("site", """
+            {"Statement": {"Effect": "Allow", "Principal": "*", "Action": "s3:GetObject", "Resource": "arn:aws:s3:::site/*",
+              "Condition": {"StringEquals": {"aws:PrincipalOrgID": "o-abc123"}}}}
+            """);
+        CompiledPolicy everyoneButOne = compiler.compile("site", """
+            {"Statement": [{"Effect": "Allow", "NotPrincipal": {"AWS": "arn:aws:iam::111111111111:root"},
+              "Action": "s3:*", "Resource": "arn:aws:s3:::site"}]}
+            """);
+
+        assertThat(open.publicGrants()).containsExactly("PublicRead: [s3:getobject]");
+        assertThat(open.isAllowed("*", "S3:GetObject", "arn:aws:s3:::site/index.html", "site")).isTrue();
+        assertThat(open.isAllowed("*", "s3:PutObject", "arn:aws:s3:::site/index.html", "site")).isFalse();
+        assertThat(restricted.isPublic()).isFalse();
+        assertThat(everyoneButOne.isPublic()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report other accounts and let explicit denies win")
+    void shouldEvaluateCrossAccountAccess() {
+        CompiledPolicy policy = compiler.compile("data", """
+            {"Statement": [
+              {"Effect": "Allow", "Principal": {"AWS": ["arn:aws:iam::222222222222:root", "333333333333",
+                 "arn:aws:iam::111111111111:role/App"]}, "Action": "s3:Get*", "Resource": "arn:aws:s3:::data/*"},
+              {"Effect": "Deny", "Principal": {"AWS": "333333333333"}, "Action": "s3:GetObjectAcl",
+               "Resource": "arn:aws:s3:::data/*"}
+            ]}
+            """);
+
+        assertThat(policy.externalAccounts(OWNER)).containsExactly("222222222222", "333333333333");
+        assertThat(policy.isAllowed("arn:aws:iam::222222222222:user/alice", "s3:GetObject", "arn:aws:s3:::data/x", "data")).isTrue();
+        assertThat(policy.isAllowed("333333333333", "s3:GetObjectAcl", "arn:aws:s3:::data/x", "data")).isFalse();
+        assertThat(policy.isAllowed("arn:aws:iam::111111111111:role/Other", "s3:GetObject", "arn:aws:s3:::data/x", "data")).isFalse();
+        assertThat(policy.isPublic()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only template the bucket's own ARN, not buckets sharing its name as a prefix")
+    void shouldTemplateWholeBucketArns() {
+        String policy = """
+            {"Statement": [{"Effect": "Allow", "Principal": "*", "Action": "s3:GetObject",
+              "Resource": ["arn:aws:s3:::site-ab/*", "arn:aws:s3:::site-a*", "arn:aws:s3:::site-a"]}]}
+            """;
+
+        assertThat(PolicyCompiler.templateDocument(policy, "site-a"))
+            .contains("\"arn:aws:s3:::site-ab/*\"", "\"arn:aws:s3:::site-a*\"", "\"arn:aws:s3:::${bucket}\"");
+        assertThat(PolicyCompiler.templateDocument("{\"Resource\": \"arn:aws:s3:::site-a\\/*\"}", "site-a"))
+            .isEqualTo("{\"Resource\": \"arn:aws:s3:::${bucket}\\/*\"}");
+
+        CompiledPolicy first = compiler.compile("site-a", """
+            {"Statement": {"Effect": "Allow", "Principal": "*", "Action": "s3:GetObject", "Resource": "arn:aws:s3:::site-ab/*"}}
+            """);
+        CompiledPolicy second = compiler.compile("site-b", """
+            {"Statement": {"Effect": "Allow", "Principal": "*", "Action": "s3:GetObject", "Resource": "arn:aws:s3:::site-bb/*"}}
+            """);
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.isAllowed("*", "s3:GetObject", "arn:aws:s3:::site-ab/index.html", "site-a")).isTrue();
+        assertThat(first.isAllowed("*", "s3:GetObject", "arn:aws:s3:::site-a/index.html", "site-a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject documents that are not policies")
+    void shouldRejectInvalidPolicies() {
+        assertThatThrownBy(() -> compiler.compile("bucket", "{not json"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compiler.compile("bucket", "{\"Version\": \"2012-10-17\"}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Bucket policy has no statements");
+    }
+
+    @Test
+    @DisplayName("Should match IAM wildcards without regular expressions")
+    void shouldMatchWildcards() {
+        assertThat(WildcardPattern.action("s3:Get*").matches("S3:GETOBJECT")).isTrue();
+        assertThat(WildcardPattern.action("s3:*Object").matches("s3:PutObject")).isTrue();
+        assertThat(WildcardPattern.action("s3:*Object").matches("s3:PutObjectAcl")).isFalse();
+        assertThat(WildcardPattern.action("s3:?etObject").matches("s3:GetObject")).isTrue();
+        assertThat(WildcardPattern.exact("arn:aws:s3:::b/*/logs/*").matches("arn:aws:s3:::b/2024/logs/app.log")).isTrue();
+        assertThat(WildcardPattern.exact("arn:aws:s3:::b/*").matches("arn:aws:s3:::B/key")).isFalse();
+        assertThat(WildcardPattern.exact("*").isAny()).isTrue();
+    }
+
+    private static String crossAccountPolicy(String bucket) {
+        return """
+            {"Version": "2012-10-17", "Statement": [{"Sid": "PartnerRead", "Effect": "Allow",
+              "Principal": {"AWS": "arn:aws:iam::222222222222:role/Reader"}, "Action": ["s3:GetObject", "s3:ListBucket"],
+              "Resource": ["arn:aws:s3:::%s", "arn:aws:s3:::%s/*"]}]}
+            """.formatted(bucket, bucket);
+    }
+}
@@ -0,0 +1,179 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.PostureSubscriptions;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackgroundScanServiceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final StubService service = new StubService();
+    private PostureSubscriptions subscriptions;
+    private BackgroundScanService scanner;
+
+    @BeforeEach
+    void setUp() {
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getBackground().setInterval(Duration.ofMinutes(1));
+        properties.getBackground().setStaleAfter(Duration.ofMinutes(5));
+        subscriptions = new PostureSubscriptions(properties, new InputValidator(properties));
+        scanner = new BackgroundScanService(List.of(service), properties, subscriptions, clock);
+    }
+
+    @Test
+    void runOnce_RunsEveryJobOnceAndSkipsJobsThatAreNotDue() {
+        assertThat(scanner.runOnce()).isEqualTo(6);
+        assertThat(service.calls).hasSize(6).allSatisfy((job, count) -> assertThat(count.get()).isEqualTo(1));
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(scanner.runOnce()).isZero();
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(scanner.runOnce()).isEqualTo(6);
+        assertThat(scanner.completedCount()).isEqualTo(12);
+    }
+
+    @Test
+    void enqueueDue_OrdersFailedThenCriticalThenStaleThenRoutine() {
+        service.resourceTypes = List.of("storage");
+        service.outcomes.put("storage/CIS", Outcome.FAIL);
+        service.outcomes.put("storage/NIST", Outcome.CRITICAL);
+        scanner.runOnce();
+        assertThat(scanner.failedCount()).isEqualTo(1);
+
+        // The network jobs have never run, so they are stale; storage/SOC2 ran a minute ago and is routine.
+        service.resourceTypes = List.of("storage", "network");
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(scanner.enqueueDue()).isEqualTo(6);
+        assertThat(scanner.queuedJobs())
+            .extracting(job -> job.resourceType() + "/" + job.standard())
+            .startsWith("storage/CIS", "storage/NIST")
+            .endsWith("storage/SOC2");
+    }
+
+    @Test
+    void enqueueDue_RetriesFailedJobsWithoutWaitingForTheInterval() {
+        service.outcomes.put("network/CIS", Outcome.FAIL);
+        scanner.runOnce();
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(scanner.enqueueDue()).isEqualTo(1);
+        assertThat(scanner.queuedJobs()).extracting(BackgroundScanService.Job::name).containsExactly("Stub/network/CIS");
+    }
+
+    @Test
+    void enqueueDue_NeverQueuesTheSameJobTwice() {
+        assertThat(scanner.enqueueDue()).isEqualTo(6);
+        assertThat(scanner.enqueueDue()).isZero();
+        assertThat(scanner.queuedJobs()).hasSize(6);
+    }
+
+    @Test
+    void runOnce_NotifiesSubscribersOnlyWhenARefreshChangesTheResult() {
+        List<String> notified = new ArrayList<>();
+        subscriptions.listen(notified::add);
+        subscriptions.subscribe("compliance://posture/standards/NIST");
+        subscriptions.subscribe("compliance://posture/standards/CIS");
+        subscriptions.subscribe("compliance://posture/accounts/default");
+
+        scanner.runOnce();
+        clock.advance(Duration.ofMinutes(1));
+        scanner.runOnce();
+        assertThat(notified).isEmpty();
+
+        service.outcomes.put("storage/NIST", Outcome.CRITICAL);
+        clock.advance(Duration.ofMinutes(1));
+        scanner.runOnce();
+
+        assertThat(notified).containsExactlyInAnyOrder(
+            "compliance://posture/standards/NIST", "compliance://posture/accounts/default");
+        assertThat(subscriptions.read("compliance://posture/standards/NIST"))
+            .extracting(ComplianceResult::status)
+            .containsExactlyInAnyOrder(ComplianceStatus.NON_COMPLIANT, ComplianceStatus.COMPLIANT);
+    }
+
+    private enum Outcome { FAIL, CRITICAL }
+
+    private static final class StubService implements CloudComplianceService {
+        final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        final Map<String, Outcome> outcomes = new ConcurrentHashMap<>();
+        volatile List<String> resourceTypes = List.of("storage", "network");
+
+        @Override
+        public ComplianceResult checkCompliance(String resourceType, ComplianceStandard standard) {
+            String job = resourceType + "/" + standard;
+            calls.computeIfAbsent(job, k -> new AtomicInteger()).incrementAndGet();
+            Outcome outcome = outcomes.get(job);
+            if (outcome == Outcome.FAIL) {
+                throw new IllegalStateException("boom");
+            }
+            List<Finding> findings = outcome == Outcome.CRITICAL
+                ? List.of(new Finding("F1", Finding.Severity.CRITICAL, "CC6.1", "Public", "Fix", "Evidence"))
+                : List.of();
+            return new ComplianceResult("r", resourceType, standard,
+                findings.isEmpty() ? ComplianceStatus.COMPLIANT : ComplianceStatus.NON_COMPLIANT,
+                findings, "Stub", "test-region");
+        }
+
+        @Override
+        public List<String> getSupportedResourceTypes() {
+            return resourceTypes;
+        }
+
+        @Override
+        public String getCloudProvider() {
+            return "Stub";
+        }
+
+        @Override
+        public List<ComplianceStandard> getSupportedStandards() {
+            return List.of(ComplianceStandard.SOC2, ComplianceStandard.CIS, ComplianceStandard.NIST);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.AwsCredentialsManager;
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.config.ApplicationConfig;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.FindingsExportResponse;
+import com.cloudsec.compliance.export.ColumnarFindingsReader;
+import com.cloudsec.compliance.export.ExportFormat;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.ControlCatalog;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.policy.PolicyCompiler;
+import com.cloudsec.compliance.support.LocalS3Server;
+import com.cloudsec.compliance.support.LocalS3Server.BucketSpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FindingsExportService Tests")
+class FindingsExportServiceTest {
+
+    @TempDir
+    Path exportDir;
+
+    private LocalS3Server server;
+    private FindingsExportService exportService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("compliant-bucket").withLogging("log-bucket"))
+            .bucket(BucketSpec.named("open-bucket").withEncryption(null).withPublicAccessBlock(false))
+            .bucket(BucketSpec.named("unversioned-bucket").inRegion("eu-west-1").withVersioning(false))
+            .start();
+
+        ComplianceProperties properties = new ComplianceProperties();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        properties.getExport().setDirectory(exportDir.toString());
+        S3ClientFactory factory = new S3ClientFactory(properties, new AwsCredentialsManager(properties,
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local"))), new ApplicationConfig().sdkHttpClient(properties), List.of());
+        InputValidator inputValidator = new InputValidator(properties);
+        S3BucketScanner scanner = new S3BucketScanner(factory, inputValidator, new ControlCatalog(), properties,
+            new PolicyCompiler(properties, objectMapper));
+        exportService = new FindingsExportService(scanner, inputValidator, new RateLimitingComponent(),
+            properties, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should export per-bucket findings as NDJSON")
+    void shouldExportNdjson() throws Exception {
+        FindingsExportResponse response = exportService.exportFindings(null, ComplianceStandard.CIS, ExportFormat.NDJSON);
+
+        assertThat(response.status()).isEqualTo("SUCCESS");
+        assertThat(response.resourceCount()).isEqualTo(3);
+        assertThat(response.findingCount()).isEqualTo(5);
+        assertThat(response.region()).isEqualTo("all");
+
+        Path file = Path.of(response.path());
+        assertThat(file).exists().hasParent(exportDir);
+        assertThat(file.getFileName().toString()).startsWith("findings-cis-all-").endsWith(".ndjson");
+        assertThat(Files.size(file)).isEqualTo(response.bytesWritten());
+
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            records.add(objectMapper.readTree(line));
+        }
+        assertThat(records).filteredOn(r -> "resource".equals(r.get("record").asText())).hasSize(3);
+        JsonNode publicAccess = records.stream()
+            .filter(r -> "finding".equals(r.get("record").asText()))
+            .filter(r -> "2.1.4".equals(r.get("controlId").asText()))
+            .findFirst().orElseThrow();
+        assertThat(publicAccess.get("resourceId").asText()).isEqualTo("open-bucket");
+        assertThat(publicAccess.get("severity").asText()).isEqualTo("CRITICAL");
+    }
+
+    @Test
+    @DisplayName("Should export columnar file filtered by bucket region")
+    void shouldExportColumnarForRegion() throws Exception {
+        FindingsExportResponse response = exportService.exportFindings("eu-west-1", ComplianceStandard.NIST, ExportFormat.COLUMNAR);
+
+        assertThat(response.status()).isEqualTo("SUCCESS");
+        assertThat(response.resourceCount()).isEqualTo(1);
+
+        List<ColumnarFindingsReader.Row> rows = new ArrayList<>();
+        ColumnarFindingsReader.read(Path.of(response.path()), rows::add);
+        assertThat(rows).extracting(row -> row.finding().controlId()).containsExactlyInAnyOrder("CP-9", "AU-2");
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.resourceId()).isEqualTo("unversioned-bucket");
+            assertThat(row.region()).isEqualTo("eu-west-1");
+            assertThat(row.status()).isEqualTo(ComplianceStatus.PARTIAL_COMPLIANT);
+        });
+        assertThat(rows.get(0).finding().severity()).isIn(Finding.Severity.MEDIUM, Finding.Severity.LOW);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid region without creating files")
+    void shouldRejectInvalidRegion() throws Exception {
+        FindingsExportResponse response = exportService.exportFindings("mars-1", ComplianceStandard.SOC2, ExportFormat.NDJSON);
+
+        assertThat(response.status()).isEqualTo("ERROR");
+        assertThat(response.error()).contains("Invalid region");
+        try (Stream<Path> files = Files.list(exportDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report SDK failures and remove the partial file")
+    void shouldCleanUpOnFailure() throws Exception {
+        server.close();
+
+        FindingsExportResponse response = exportService.exportFindings(null, ComplianceStandard.SOC2, ExportFormat.COLUMNAR);
+
+        assertThat(response.status()).isEqualTo("ERROR");
+        assertThat(response.error()).isEqualTo("AWS service unavailable");
+        try (Stream<Path> files = Files.list(exportDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
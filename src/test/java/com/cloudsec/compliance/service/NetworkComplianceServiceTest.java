@@ -0,0 +1,149 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.SnapshotSecurityGroupSource;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.model.SecurityGroupRule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NetworkComplianceService Tests")
+class NetworkComplianceServiceTest {
+
+    private static final String SNAPSHOT = """
+        {
+          "SecurityGroups": [
+            {
+              "GroupId": "sg-open-ssh",
+              "GroupName": "bastion",
+              "VpcId": "vpc-1",
+              "IpPermissions": [
+                {"IpProtocol": "tcp", "FromPort": 22, "ToPort": 22, "IpRanges": [{"CidrIp": "0.0.0.0/0"}]},
+                {"IpProtocol": "tcp", "FromPort": 443, "ToPort": 443, "IpRanges": [{"CidrIp": "0.0.0.0/0"}]}
+              ]
+            },
+            {
+              "GroupId": "sg-partner-db",
+              "GroupName": "db",
+              "VpcId": "vpc-1",
+              "IpPermissions": [
+                {"IpProtocol": "tcp", "FromPort": 3000, "ToPort": 3999, "IpRanges": [{"CidrIp": "198.51.100.0/24"}]}
+              ]
+            },
+            {
+              "GroupId": "sg-internal",
+              "VpcId": "vpc-1",
+              "IpPermissions": [
+                {"IpProtocol": "-1", "IpRanges": [{"CidrIp": "10.0.0.0/16"}], "Ipv6Ranges": [{"CidrIpv6": "fd00::/8"}]},
+                {"IpProtocol": "tcp", "FromPort": 5432, "ToPort": 5432, "IpRanges": [{"CidrIp": "203.0.113.10/32"}]}
+              ]
+            },
+            {
+              "GroupId": "sg-v6-all",
+              "VpcId": "vpc-2",
+              "IpPermissions": [
+                {"IpProtocol": "-1", "Ipv6Ranges": [{"CidrIpv6": "::/0"}]},
+                {"IpProtocol": "icmp", "FromPort": -1, "ToPort": -1, "IpRanges": [{"CidrIp": "0.0.0.0/0"}]}
+              ]
+            }
+          ]
+        }
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final ComplianceProperties properties = new ComplianceProperties();
+
+    private NetworkComplianceService service(Path snapshot) {
+        properties.getNetwork().setSnapshotPath(snapshot != null ? snapshot.toString() : null);
+        return new NetworkComplianceService(new SnapshotSecurityGroupSource(properties, new ObjectMapper()), properties);
+    }
+
+    @Test
+    @DisplayName("Should report internet exposure of sensitive ports per security group")
+    void shouldReportExposedGroups() throws IOException {
+        properties.getNetwork().setTrustedCidrs(List.of("203.0.113.0/24"));
+        Path snapshot = Files.writeString(tempDir.resolve("sg.json"), SNAPSHOT);
+
+        ComplianceResult result = service(snapshot).evaluate(ComplianceStandard.CIS);
+
+        assertThat(result.resourceType()).isEqualTo("network");
+        assertThat(result.status()).isEqualTo(ComplianceStatus.NON_COMPLIANT);
+        Map<String, Finding> findings = result.findings().stream()
+            .collect(Collectors.toMap(Finding::id, Function.identity()));
+        assertThat(findings).containsOnlyKeys("5.2:sg-open-ssh", "5.2:sg-partner-db", "5.2:sg-v6-all");
+        assertThat(findings.get("5.2:sg-open-ssh").severity()).isEqualTo(Finding.Severity.CRITICAL);
+        assertThat(findings.get("5.2:sg-open-ssh").evidence()).contains("[22]", "22/tcp from 0.0.0.0/0");
+        assertThat(findings.get("5.2:sg-partner-db").severity()).isEqualTo(Finding.Severity.HIGH);
+        assertThat(findings.get("5.2:sg-partner-db").evidence()).contains("[3306, 3389]");
+        assertThat(findings.get("5.2:sg-v6-all").evidence()).contains("3389/all from ::/0");
+    }
+
+    @Test
+    @DisplayName("Should be compliant when only internal sources are allowed and not applicable without a snapshot")
+    void shouldHandleCompliantAndMissingSnapshots() throws IOException {
+        assertThat(service(null).evaluate(ComplianceStandard.SOC2).status()).isEqualTo(ComplianceStatus.NOT_APPLICABLE);
+
+        Path snapshot = Files.writeString(tempDir.resolve("internal.json"), """
+            {"SecurityGroups": [{"GroupId": "sg-1", "IpPermissions": [
+              {"IpProtocol": "tcp", "FromPort": 22, "ToPort": 22, "IpRanges": [{"CidrIp": "192.168.0.0/16"}]}]}]}
+            """);
+        assertThat(service(snapshot).evaluate(ComplianceStandard.SOC2).status()).isEqualTo(ComplianceStatus.COMPLIANT);
+
+        Path missing = tempDir.resolve("missing.json");
+        assertThat(service(missing).evaluate(ComplianceStandard.SOC2).status()).isEqualTo(ComplianceStatus.ERROR);
+    }
+
+    @Test
+    @DisplayName("Should skip rules with invalid port ranges instead of treating them as all ports")
+    void shouldSkipInvalidPortRanges() throws IOException {
+        assertThatThrownBy(() -> new SecurityGroupRule("sg-1", null, null, "TCP", 443, 70000, "0.0.0.0/0", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("443-70000");
+        assertThat(new SecurityGroupRule("sg-1", null, null, "ICMP", -1, -1, "0.0.0.0/0", null).hasPorts()).isFalse();
+
+        Path snapshot = Files.writeString(tempDir.resolve("invalid.json"), """
+            {"SecurityGroups": [{"GroupId": "sg-1", "IpPermissions": [
+              {"IpProtocol": "tcp", "FromPort": 8443, "ToPort": 443, "IpRanges": [{"CidrIp": "0.0.0.0/0"}]},
+              {"IpProtocol": "udp", "FromPort": -5, "ToPort": 53, "Ipv6Ranges": [{"CidrIpv6": "::/0"}]}]}]}
+            """);
+        assertThat(service(snapshot).evaluate(ComplianceStandard.CIS).status()).isEqualTo(ComplianceStatus.COMPLIANT);
+    }
+
+    @Test
+    @DisplayName("Should evaluate tens of thousands of rules well under a second")
+    void shouldEvaluateLargeRuleSetsQuickly() {
+        List<SecurityGroupRule> rules = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            int port = 1024 + (i % 60_000);
+            String cidr = i % 10 == 0 ? (i % 7) + ".0.0.0/8" : "10." + (i % 256) + ".0.0/16";
+            rules.add(new SecurityGroupRule("sg-" + (i / 5), null, "vpc-1", "tcp", port, port + (i % 100), cidr, null));
+        }
+        NetworkComplianceService service = service(null);
+
+        long started = System.nanoTime();
+        List<Finding> findings = service.findExposures(rules, ComplianceStandard.NIST);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(findings).isNotEmpty();
+        assertThat(findings).allSatisfy(finding -> assertThat(finding.controlId()).isEqualTo("SC-7"));
+        assertThat(elapsedMillis).isLessThan(1_000);
+    }
+}
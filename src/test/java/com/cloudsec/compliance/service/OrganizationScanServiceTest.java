@@ -0,0 +1,151 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.AwsCredentialsManager;
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.config.ApplicationConfig;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.AccountScanSummary;
+import com.cloudsec.compliance.dto.response.OrganizationScanResponse;
+import com.cloudsec.compliance.model.AccountTarget;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ControlCatalog;
+import com.cloudsec.compliance.policy.PolicyCompiler;
+import com.cloudsec.compliance.support.LocalS3Server;
+import com.cloudsec.compliance.support.LocalS3Server.BucketSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OrganizationScanService Tests")
+class OrganizationScanServiceTest {
+
+    private final ComplianceProperties properties = new ComplianceProperties();
+    private final AwsCredentialsManager credentialsManager = mock(AwsCredentialsManager.class);
+    private final PostureRollupService globalPosture = new PostureRollupService();
+    private OrganizationScanService service;
+    private LocalS3Server server;
+
+    @BeforeEach
+    void setUp() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data").withEncryption(null).withLogging("logs"))
+            .bucket(BucketSpec.named("backups").withLogging("logs"))
+            .bucket(BucketSpec.named("eu-archive").inRegion("eu-west-1").withLogging("logs").withVersioning(false))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        properties.getOrganization().setMaxConcurrency(4);
+
+        when(credentialsManager.forTarget(any()))
+            .thenReturn(StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local")));
+        InputValidator inputValidator = new InputValidator(properties);
+        S3ClientFactory factory = new S3ClientFactory(properties, credentialsManager, new ApplicationConfig().sdkHttpClient(properties), List.of());
+        service = new OrganizationScanService(
+            new S3BucketScanner(factory, inputValidator, new ControlCatalog(), properties,
+            new PolicyCompiler(properties, new ObjectMapper())),
+            factory, credentialsManager, inputValidator, new RateLimitingComponent(), globalPosture, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should scan every account and merge results into one posture")
+    void shouldMergeAccounts() {
+        OrganizationScanResponse response = service.scanOrganization(
+            List.of("111111111111", "arn:aws:iam::222222222222:role/Audit", "333333333333"),
+            null, ComplianceStandard.SOC2, 2);
+
+        assertThat(response.status()).isEqualTo("SUCCESS");
+        assertThat(response.accountsScanned()).isEqualTo(3);
+        assertThat(response.resourceCount()).isEqualTo(9);
+        assertThat(response.concurrency()).isEqualTo(2);
+        assertThat(response.accounts()).extracting(AccountScanSummary::accountId)
+            .containsExactly("111111111111", "222222222222", "333333333333");
+        assertThat(response.posture().groups()).hasSize(3)
+            .allSatisfy(group -> {
+                assertThat(group.resources()).isEqualTo(3);
+                assertThat(group.nonCompliant()).isEqualTo(1);
+                assertThat(group.partiallyCompliant()).isEqualTo(1);
+            });
+        assertThat(response.posture().total().resources()).isEqualTo(9);
+        assertThat(globalPosture.getRollup(PostureRollupService.GroupBy.ACCOUNT).groups()).hasSize(3);
+        verify(credentialsManager).forTarget(new AccountTarget("222222222222", "arn:aws:iam::222222222222:role/Audit"));
+    }
+
+    @Test
+    @DisplayName("Should report failing accounts without stopping the others")
+    void shouldIsolateAccountFailures() {
+        when(credentialsManager.forTarget(argThat(target -> target.accountId().equals("222222222222"))))
+            .thenThrow(new IllegalStateException("Cross-account access is not configured"));
+
+        OrganizationScanResponse response = service.scanOrganization(
+            List.of("111111111111", "222222222222", "111111111111"), "eu-west-1", ComplianceStandard.CIS, null);
+
+        assertThat(response.status()).isEqualTo("PARTIAL");
+        assertThat(response.accountsRequested()).isEqualTo(2);
+        assertThat(response.accountsFailed()).isEqualTo(1);
+        assertThat(response.resourceCount()).isEqualTo(1);
+        assertThat(response.concurrency()).isEqualTo(4);
+        assertThat(response.accounts().get(1).error()).contains("not configured");
+    }
+
+    @Test
+    @DisplayName("Should record unexpected discovery errors as failed accounts")
+    void shouldFailAccountOnUnexpectedError() {
+        when(credentialsManager.forTarget(argThat(target -> target.accountId().equals("222222222222"))))
+            .thenThrow(new UnsupportedOperationException("boom"));
+
+        OrganizationScanResponse response = service.scanOrganization(
+            List.of("111111111111", "222222222222"), null, ComplianceStandard.SOC2, null);
+
+        assertThat(response.status()).isEqualTo("PARTIAL");
+        assertThat(response.accounts().get(1).status()).isEqualTo("ERROR");
+        assertThat(response.accounts().get(1).error()).isEqualTo("Unexpected error scanning account");
+    }
+
+    @Test
+    @DisplayName("Should discover the next account only once an account in flight has finished")
+    void shouldBoundAccountsInFlight() {
+        List<Long> finishedBeforeDiscovery = new CopyOnWriteArrayList<>();
+        when(credentialsManager.forTarget(any())).thenAnswer(invocation -> {
+            finishedBeforeDiscovery.add(globalPosture.getRollup(PostureRollupService.GroupBy.ACCOUNT).total().resources());
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local"));
+        });
+
+        OrganizationScanResponse response = service.scanOrganization(
+            List.of("111111111111", "222222222222", "333333333333"), null, ComplianceStandard.SOC2, 1);
+
+        assertThat(response.resourceCount()).isEqualTo(9);
+        assertThat(finishedBeforeDiscovery).containsExactly(0L, 3L, 6L);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid and oversized account lists")
+    void shouldValidateAccounts() {
+        assertThat(service.scanOrganization(List.of("not-an-account"), null, ComplianceStandard.SOC2, null).error())
+            .isEqualTo("Invalid account id or role ARN: not-an-account");
+        assertThat(service.scanOrganization(List.of(), null, ComplianceStandard.SOC2, null).error())
+            .isEqualTo("At least one account is required");
+
+        properties.getOrganization().setMaxAccounts(1);
+        assertThat(service.scanOrganization(List.of("111111111111", "222222222222"), null, ComplianceStandard.SOC2, null).error())
+            .startsWith("Too many accounts");
+        verifyNoInteractions(credentialsManager);
+    }
+}
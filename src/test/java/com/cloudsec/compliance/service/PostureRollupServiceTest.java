@@ -0,0 +1,115 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.dto.response.PostureGroupSummary;
+import com.cloudsec.compliance.dto.response.PostureRollupResponse;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.Finding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PostureRollupService Tests")
+class PostureRollupServiceTest {
+
+    private PostureRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new PostureRollupService();
+    }
+
+    private Finding finding(String id, Finding.Severity severity) {
+        return new Finding(id, severity, "CC6.1", "Violation " + id, "Fix it", "evidence");
+    }
+
+    private ComplianceResult result(String resourceId, String region, ComplianceStandard standard,
+                                    ComplianceStatus status, List<Finding> findings) {
+        return new ComplianceResult(resourceId, "storage", standard, status, findings, "AWS", region);
+    }
+
+    @Test
+    @DisplayName("Should compute severity counts once without serializing them")
+    void shouldComputeSeverityCountsOnce() throws Exception {
+        ComplianceResult result = result("bucket-a", "us-east-1", ComplianceStandard.SOC2, ComplianceStatus.NON_COMPLIANT,
+            List.of(finding("F1", Finding.Severity.HIGH), finding("F2", Finding.Severity.HIGH), finding("F3", Finding.Severity.LOW)));
+
+        assertThat(result.severityCounts().high()).isEqualTo(2);
+        assertThat(result.severityCounts()).isSameAs(result.severityCounts());
+        assertThatThrownBy(() -> result.findings().add(finding("F4", Finding.Severity.CRITICAL)))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(result.getCountBySeverity(Finding.Severity.LOW)).isEqualTo(1);
+        assertThat(result.getCountBySeverity(Finding.Severity.CRITICAL)).isZero();
+        assertThat(result.getHighestSeverity()).isEqualTo(Finding.Severity.HIGH);
+        assertThat(new ObjectMapper().writeValueAsString(result)).doesNotContain("severityCounts");
+    }
+
+    @Test
+    @DisplayName("Should aggregate counts and scores by account")
+    void shouldAggregateByAccount() {
+        rollupService.record("111", result("bucket-a", "us-east-1", ComplianceStandard.SOC2, ComplianceStatus.COMPLIANT, List.of()));
+        rollupService.record("111", result("bucket-b", "us-east-1", ComplianceStandard.SOC2, ComplianceStatus.NON_COMPLIANT,
+            List.of(finding("F1", Finding.Severity.CRITICAL))));
+        rollupService.record("222", result("bucket-c", "eu-west-1", ComplianceStandard.CIS, ComplianceStatus.PARTIAL_COMPLIANT,
+            List.of(finding("F2", Finding.Severity.MEDIUM))));
+
+        PostureRollupResponse rollup = rollupService.getRollup(PostureRollupService.GroupBy.ACCOUNT);
+
+        assertThat(rollup.groups()).extracting(PostureGroupSummary::key).containsExactly("111", "222");
+        PostureGroupSummary account111 = rollup.groups().get(0);
+        assertThat(account111.resources()).isEqualTo(2);
+        assertThat(account111.complianceScore()).isEqualTo(50.0);
+        assertThat(account111.riskScore()).isEqualTo(10);
+        assertThat(rollup.total().resources()).isEqualTo(3);
+        assertThat(rollup.total().severityCounts().medium()).isEqualTo(1);
+        assertThat(rollup.total().complianceScore()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("Should replace previous contribution when a resource is re-evaluated")
+    void shouldReplacePreviousContribution() {
+        rollupService.record("111", result("bucket-a", "us-east-1", ComplianceStandard.SOC2, ComplianceStatus.NON_COMPLIANT,
+            List.of(finding("F1", Finding.Severity.HIGH))));
+        rollupService.record("111", result("bucket-a", "us-east-1", ComplianceStandard.SOC2, ComplianceStatus.COMPLIANT, List.of()));
+
+        PostureRollupResponse rollup = rollupService.getRollup(PostureRollupService.GroupBy.REGION);
+
+        assertThat(rollup.groups()).hasSize(1);
+        assertThat(rollup.total().resources()).isEqualTo(1);
+        assertThat(rollup.total().compliant()).isEqualTo(1);
+        assertThat(rollup.total().nonCompliant()).isZero();
+        assertThat(rollup.total().severityCounts().total()).isZero();
+        assertThat(rollup.total().complianceScore()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("Should exclude not applicable results from the compliance score")
+    void shouldExcludeNotApplicableFromScore() {
+        rollupService.record("111", result("bucket-a", "us-east-1", ComplianceStandard.NIST, ComplianceStatus.COMPLIANT, List.of()));
+        rollupService.record("111", result("unknown", "unknown", ComplianceStandard.NIST, ComplianceStatus.NOT_APPLICABLE, List.of()));
+
+        PostureRollupResponse rollup = rollupService.getRollup(PostureRollupService.GroupBy.STANDARD);
+
+        assertThat(rollup.groups()).singleElement().satisfies(group -> {
+            assertThat(group.key()).isEqualTo("NIST");
+            assertThat(group.notApplicable()).isEqualTo(1);
+            assertThat(group.complianceScore()).isEqualTo(100.0);
+        });
+    }
+
+    @Test
+    @DisplayName("Should default to grouping by standard and reject unknown dimensions")
+    void shouldParseGroupBy() {
+        assertThat(PostureRollupService.GroupBy.parse(null)).isEqualTo(PostureRollupService.GroupBy.STANDARD);
+        assertThat(PostureRollupService.GroupBy.parse("Region")).isEqualTo(PostureRollupService.GroupBy.REGION);
+        assertThatThrownBy(() -> PostureRollupService.GroupBy.parse("planet"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid groupBy");
+    }
+}
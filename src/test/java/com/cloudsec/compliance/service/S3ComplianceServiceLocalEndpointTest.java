@@ -0,0 +1,357 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.AwsCallStatsInterceptor;
+import com.cloudsec.compliance.components.AwsCredentialsManager;
+import com.cloudsec.compliance.components.BucketInventoryIndex;
+import com.cloudsec.compliance.components.CircuitBreakerInterceptor;
+import com.cloudsec.compliance.components.CircuitBreakerRegistry;
+import com.cloudsec.compliance.components.FlightRecorderInterceptor;
+import com.cloudsec.compliance.components.ComplianceResultCache;
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.components.SnapshotSecurityGroupSource;
+import com.cloudsec.compliance.components.TracingInterceptor;
+import com.cloudsec.compliance.config.ApplicationConfig;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.AwsCallStatsResponse;
+import com.cloudsec.compliance.dto.response.AwsOperationStats;
+import com.cloudsec.compliance.dto.response.S3BucketInfo;
+import com.cloudsec.compliance.dto.response.S3BucketListResponse;
+import com.cloudsec.compliance.dto.response.SpanSummary;
+import com.cloudsec.compliance.dto.response.TraceSummary;
+import com.cloudsec.compliance.jfr.FlightRecording;
+import com.cloudsec.compliance.model.BucketQuery;
+import com.cloudsec.compliance.support.LocalS3Server;
+import com.cloudsec.compliance.support.LocalS3Server.BucketSpec;
+import com.cloudsec.compliance.support.LocalS3Server.LatencyProfile;
+import com.cloudsec.compliance.tracing.Span;
+import com.cloudsec.compliance.tracing.Tracer;
+import com.cloudsec.compliance.util.PaginationUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetBucketEncryptionResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.ServerSideEncryption;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("S3ComplianceService against LocalS3Server")
+class S3ComplianceServiceLocalEndpointTest {
+
+    private LocalS3Server server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private final ComplianceProperties properties = new ComplianceProperties();
+
+    private S3ClientFactory clientFactory(int maxRetries, ExecutionInterceptor... interceptors) {
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        properties.getSecurity().getAws().setMaxRetries(maxRetries);
+        return new S3ClientFactory(properties, new AwsCredentialsManager(properties,
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local"))), new ApplicationConfig().sdkHttpClient(properties), List.of(interceptors));
+    }
+
+    private S3ComplianceService service(S3ClientFactory factory) {
+        return new S3ComplianceService(new InputValidator(properties), new RateLimitingComponent(), new PaginationUtils(),
+            factory, new ComplianceResultCache(properties), properties, new PostureRollupService(),
+            new BucketInventoryIndex(properties), new NetworkComplianceService(new SnapshotSecurityGroupSource(properties,
+                new ObjectMapper()), properties));
+    }
+
+    @Test
+    @DisplayName("Should list and paginate buckets through the real SDK stack")
+    void shouldListBucketsThroughSdk() {
+        server = LocalS3Server.builder()
+            .buckets(IntStream.range(0, 25).mapToObj(i -> BucketSpec.named("bucket-" + i)).toList())
+            .latency(LatencyProfile.uniform(1, 5))
+            .start();
+
+        S3BucketListResponse response = service(clientFactory(2)).listBuckets("us-east-1", 10, null);
+
+        assertThat(response.status()).isEqualTo("SUCCESS");
+        assertThat(response.bucketCount()).isEqualTo(10);
+        assertThat(response.totalBuckets()).isEqualTo(25);
+        assertThat(response.hasMore()).isTrue();
+        assertThat(response.buckets().get(0).name()).isEqualTo("bucket-0");
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should page through more than 1000 buckets with accurate totals")
+    void shouldStreamPaginatedListBuckets() {
+        server = LocalS3Server.builder()
+            .buckets(IntStream.range(0, 2_500).mapToObj(i -> BucketSpec.named(String.format("bucket-%04d", i))).toList())
+            .start();
+        properties.getPagination().setMaxTotalResults(5_000);
+        S3ComplianceService service = service(clientFactory(0));
+
+        S3BucketListResponse first = service.listBuckets("us-east-1", 100, null);
+        S3BucketListResponse last = service.listBuckets("us-east-1", 100,
+            java.util.Base64.getEncoder().encodeToString("2400".getBytes()));
+
+        assertThat(first.totalBuckets()).isEqualTo(2_500);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(last.buckets()).hasSize(100);
+        assertThat(last.buckets().get(99).name()).isEqualTo("bucket-2499");
+        assertThat(last.hasMore()).isFalse();
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should stop paging at max-total-results but still count every bucket")
+    void shouldHonourMaxTotalResults() {
+        server = LocalS3Server.builder()
+            .buckets(IntStream.range(0, 30).mapToObj(i -> BucketSpec.named("bucket-" + i)).toList())
+            .start();
+        properties.getPagination().setMaxTotalResults(25);
+
+        S3BucketListResponse response = service(clientFactory(0)).listBuckets("us-east-1", 20,
+            java.util.Base64.getEncoder().encodeToString("20".getBytes()));
+
+        assertThat(response.bucketCount()).isEqualTo(5);
+        assertThat(response.totalBuckets()).isEqualTo(30);
+        assertThat(response.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should answer search queries from the indexed inventory")
+    void shouldSearchIndexedInventory() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-logs").createdAt(Instant.parse("2024-03-01T00:00:00Z")).inRegion("eu-west-1"))
+            .bucket(BucketSpec.named("app-data").createdAt(Instant.parse("2024-01-15T00:00:00Z")))
+            .bucket(BucketSpec.named("app-media").createdAt(Instant.parse("2023-06-01T00:00:00Z")))
+            .bucket(BucketSpec.named("billing").createdAt(Instant.parse("2024-02-01T00:00:00Z")))
+            .start();
+        S3ComplianceService service = service(clientFactory(0));
+
+        S3BucketListResponse byPrefix = service.listBuckets("us-east-1", 20, null, new BucketQuery(
+            "app-", null, Instant.parse("2024-01-01T00:00:00Z"), null, null, BucketQuery.Sort.CREATED_DESC));
+        S3BucketListResponse byRegion = service.listBuckets("us-east-1", 20, null, new BucketQuery(
+            null, "log", null, null, "eu-west-1", null));
+
+        assertThat(byPrefix.totalBuckets()).isEqualTo(2);
+        assertThat(byPrefix.buckets()).extracting(S3BucketInfo::name).containsExactly("app-logs", "app-data");
+        assertThat(byRegion.buckets()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.name()).isEqualTo("app-logs");
+            assertThat(bucket.region()).isEqualTo("eu-west-1");
+        });
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should coalesce identical concurrent list requests into one AWS call")
+    void shouldCoalesceConcurrentListRequests() throws Exception {
+        server = LocalS3Server.builder()
+            .buckets(IntStream.range(0, 5).mapToObj(i -> BucketSpec.named("bucket-" + i)).toList())
+            .latency(LatencyProfile.fixed(500))
+            .start();
+        S3ComplianceService service = service(clientFactory(0));
+
+        List<Future<S3BucketListResponse>> calls;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            calls = IntStream.range(0, 8)
+                .mapToObj(i -> executor.submit(() -> service.listBuckets("US-EAST-1", 20, null)))
+                .toList();
+        }
+
+        for (Future<S3BucketListResponse> call : calls) {
+            assertThat(call.get().status()).isEqualTo("SUCCESS");
+            assertThat(call.get().totalBuckets()).isEqualTo(5);
+        }
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry injected throttling and then succeed")
+    void shouldRetryThrottledRequests() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data"))
+            .failNext(2, 503)
+            .start();
+
+        S3BucketListResponse response = service(clientFactory(2)).listBuckets("us-east-1", 20, null);
+
+        assertThat(response.status()).isEqualTo("SUCCESS");
+        assertThat(response.bucketCount()).isEqualTo(1);
+        assertThat(server.throttledCount()).isEqualTo(2);
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should trace rate limiting and SDK calls including retries")
+    void shouldTraceSdkCalls() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data"))
+            .failNext(1, 503)
+            .start();
+        Tracer tracer = new Tracer(properties, new ObjectMapper());
+        S3ComplianceService service = service(clientFactory(2, new TracingInterceptor()));
+
+        try (Span trace = tracer.startTrace("tools/call list_s3_buckets")) {
+            service.listBuckets("us-east-1", 20, null);
+        }
+
+        TraceSummary summary = tracer.recentTraces(1, null, null).get(0);
+        assertThat(summary.spans()).extracting(SpanSummary::name)
+            .contains("tools/call list_s3_buckets", "rate_limit", "aws S3.ListBuckets")
+            .doesNotContain("validate region");
+        SpanSummary listBuckets = summary.spans().stream()
+            .filter(span -> span.name().equals("aws S3.ListBuckets")).findFirst().orElseThrow();
+        assertThat(listBuckets.parentSpanId()).isNotNull();
+        assertThat(listBuckets.attributes())
+            .containsEntry("aws.attempts", "2")
+            .containsEntry("http.status_code", "200")
+            .containsEntry("cloud.region", "us-east-1")
+            .containsKey("aws.request_id");
+    }
+
+    @Test
+    @DisplayName("Should emit flight recorder events for SDK calls and rate-limit decisions")
+    void shouldEmitFlightRecorderEvents(@TempDir Path directory) throws Exception {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data"))
+            .failNext(1, 503)
+            .start();
+        S3ComplianceService service = service(clientFactory(2, new FlightRecorderInterceptor()));
+        Path file = directory.resolve("compliance.jfr");
+
+        try (Recording recording = new Recording(FlightRecording.complianceSettings())) {
+            recording.start();
+            service.listBuckets("us-east-1", 20, null);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent call = events.stream()
+            .filter(event -> event.getEventType().getName().equals("com.cloudsec.compliance.AwsCall"))
+            .findFirst().orElseThrow();
+        assertThat(call.getString("operation")).isEqualTo("ListBuckets");
+        assertThat(call.getString("region")).isEqualTo("us-east-1");
+        assertThat(call.getInt("statusCode")).isEqualTo(200);
+        assertThat(call.getInt("attempts")).isEqualTo(2);
+        assertThat(call.getString("awsRequestId")).isNotBlank();
+        assertThat(call.getDuration()).isPositive();
+        assertThat(events).anyMatch(event -> event.getEventType().getName().equals("com.cloudsec.compliance.RateLimit")
+            && event.getBoolean("allowed"));
+    }
+
+    @Test
+    @DisplayName("Should collect per-operation latency, retries, throttles and slow calls")
+    void shouldCollectAwsCallStats() {
+        server = LocalS3Server.builder()
+            .buckets(List.of(BucketSpec.named("app-data"), BucketSpec.named("app-logs")))
+            .failNext(1, 503)
+            .start();
+        properties.getAwsStats().setSlowCallThreshold(Duration.ZERO);
+        properties.getAwsStats().setSlowCallLogSize(3);
+        AwsCallStatsInterceptor stats = new AwsCallStatsInterceptor(properties, new CircuitBreakerRegistry(properties));
+        S3ClientFactory factory = clientFactory(2, stats);
+
+        service(factory).listBuckets("us-east-1", 20, null);
+        try (S3Client client = factory.createClient("us-west-2")) {
+            client.getBucketEncryption(b -> b.bucket("app-data"));
+            client.getBucketEncryption(b -> b.bucket("app-logs"));
+        }
+
+        AwsCallStatsResponse response = stats.stats();
+        AwsOperationStats listBuckets = response.byOperation().get("S3.ListBuckets");
+        assertThat(listBuckets.retries()).isEqualTo(1);
+        assertThat(listBuckets.throttles()).isEqualTo(1);
+        assertThat(listBuckets.errors()).isZero();
+        assertThat(listBuckets.responseBytes()).isPositive();
+        assertThat(listBuckets.attemptLatencyMicros().count()).isEqualTo(listBuckets.calls() + 1);
+        assertThat(response.byOperation()).containsKey("S3.GetBucketEncryption");
+        assertThat(response.byRegion()).containsKeys("us-east-1", "us-west-2");
+        assertThat(response.totalCalls()).isGreaterThan(listBuckets.calls());
+        assertThat(response.slowCalls()).hasSize(3)
+            .allSatisfy(call -> assertThat(call.requestId()).isNotBlank());
+        assertThat(response.unhealthyCircuits()).isEmpty();
+
+        stats.reset();
+        assertThat(stats.stats().totalCalls()).isZero();
+        assertThat(stats.stats().slowCalls()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should surface persistent throttling as a service error")
+    void shouldSurfacePersistentThrottling() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data"))
+            .throttle(1.0, 503)
+            .start();
+
+        S3BucketListResponse response = service(clientFactory(0)).listBuckets("us-east-1", 20, null);
+
+        assertThat(response.status()).isEqualTo("ERROR");
+        assertThat(response.error()).isEqualTo("AWS service temporarily unavailable");
+    }
+
+    @Test
+    @DisplayName("Should fail fast once the region's circuit is open")
+    void shouldFailFastWhenCircuitOpen() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data"))
+            .throttle(1.0, 503)
+            .start();
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(properties);
+        S3ComplianceService service = service(clientFactory(0, new CircuitBreakerInterceptor(registry)));
+
+        service.listBuckets("us-east-1", 20, null);
+        service.listBuckets("us-east-1", 20, null);
+        S3BucketListResponse response = service.listBuckets("us-east-1", 20, null);
+
+        assertThat(response.status()).isEqualTo("ERROR");
+        assertThat(response.error()).startsWith("AWS ListBuckets in us-east-1 is failing");
+        assertThat(server.requestCount("ListBuckets")).isEqualTo(2);
+        assertThat(new AwsCallStatsInterceptor(properties, registry).stats().unhealthyCircuits())
+            .containsExactly(Map.entry("us-east-1/ListBuckets", "OPEN"));
+    }
+
+    @Test
+    @DisplayName("Should answer bucket configuration APIs with scripted data")
+    void shouldAnswerBucketConfigurationApis() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("encrypted").inRegion("us-west-2").withEncryption("aws:kms"))
+            .bucket(BucketSpec.named("plain").withEncryption(null))
+            .start();
+
+        try (S3Client client = clientFactory(0).createClient("us-east-1")) {
+            GetBucketEncryptionResponse encryption = client.getBucketEncryption(b -> b.bucket("encrypted"));
+            assertThat(encryption.serverSideEncryptionConfiguration().rules().get(0)
+                .applyServerSideEncryptionByDefault().sseAlgorithm()).isEqualTo(ServerSideEncryption.AWS_KMS);
+            assertThat(client.getBucketLocation(b -> b.bucket("encrypted")).locationConstraintAsString())
+                .isEqualTo("us-west-2");
+            assertThatThrownBy(() -> client.getBucketEncryption(b -> b.bucket("plain")))
+                .isInstanceOf(S3Exception.class)
+                .satisfies(e -> assertThat(((S3Exception) e).statusCode()).isEqualTo(404));
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.cloudsec.compliance.service;
 
+import com.cloudsec.compliance.components.BucketInventoryIndex;
+import com.cloudsec.compliance.components.ComplianceResultCache;
 import com.cloudsec.compliance.components.InputValidator;
 import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.components.SecurityGroupSource;
+import com.cloudsec.compliance.config.ComplianceProperties;
 import com.cloudsec.compliance.dto.response.S3BucketListResponse;
 import com.cloudsec.compliance.errors.InvalidInputException;
 import com.cloudsec.compliance.util.PaginationUtils;
 import com.cloudsec.compliance.model.ComplianceResult;
 import com.cloudsec.compliance.model.ComplianceStandard;
 import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.SecurityGroupRule;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +24,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,11 +47,17 @@ class S3ComplianceServiceTest {
     @Mock
     private PaginationUtils paginationUtils;
 
+    @Mock
+    private S3ClientFactory s3ClientFactory;
+
     private S3ComplianceService s3ComplianceService;
 
     @BeforeEach
     void setUp() {
-        s3ComplianceService = new S3ComplianceService(inputValidator, rateLimitingComponent, paginationUtils);
+        ComplianceProperties properties = new ComplianceProperties();
+        s3ComplianceService = new S3ComplianceService(inputValidator, rateLimitingComponent, paginationUtils,
+            s3ClientFactory, new ComplianceResultCache(properties), properties, new PostureRollupService(),
+            new BucketInventoryIndex(properties), new NetworkComplianceService(mock(SecurityGroupSource.class), properties));
     }
 
     @Nested
@@ -62,6 +79,65 @@ class S3ComplianceServiceTest {
             assertThat(result.isFullyCompliant()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should serve a refreshed result from the cache")
+        void refreshCompliance_ReplacesCachedResult() {
+            ComplianceResult cached = s3ComplianceService.checkCompliance("storage", ComplianceStandard.SOC2);
+            ComplianceResult refreshed = s3ComplianceService.refreshCompliance("storage", ComplianceStandard.SOC2);
+
+            assertThat(refreshed).isNotSameAs(cached);
+            assertThat(s3ComplianceService.checkCompliance("storage", ComplianceStandard.SOC2)).isSameAs(refreshed);
+        }
+
+        @Test
+        @DisplayName("Should evaluate a refresh itself rather than join an in-flight check")
+        void refreshCompliance_DoesNotJoinInFlightCheck() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger evaluations = new AtomicInteger();
+            SecurityGroupSource blockingSource = new SecurityGroupSource() {
+                @Override
+                public boolean isAvailable() {
+                    if (evaluations.incrementAndGet() == 1) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public List<SecurityGroupRule> ingressRules() {
+                    return List.of();
+                }
+            };
+            ComplianceProperties properties = new ComplianceProperties();
+            S3ComplianceService service = new S3ComplianceService(inputValidator, rateLimitingComponent, paginationUtils,
+                s3ClientFactory, new ComplianceResultCache(properties), properties, new PostureRollupService(),
+                new BucketInventoryIndex(properties), new NetworkComplianceService(blockingSource, properties));
+
+            CompletableFuture<ComplianceResult> check = CompletableFuture.supplyAsync(
+                () -> service.checkCompliance("network", ComplianceStandard.CIS));
+            await(() -> evaluations.get() == 1);
+            CompletableFuture<ComplianceResult> refresh = CompletableFuture.supplyAsync(
+                () -> service.refreshCompliance("network", ComplianceStandard.CIS));
+            await(() -> evaluations.get() == 2);
+            release.countDown();
+
+            ComplianceResult refreshed = refresh.get(5, TimeUnit.SECONDS);
+            check.get(5, TimeUnit.SECONDS);
+            assertThat(service.checkCompliance("network", ComplianceStandard.CIS)).isSameAs(refreshed);
+        }
+
+        private static void await(BooleanSupplier condition) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!condition.getAsBoolean()) {
+                assertThat(System.nanoTime()).as("condition reached in time").isLessThan(deadline);
+                Thread.sleep(5);
+            }
+        }
+
         @Test
         @DisplayName("Should return not applicable for non-storage resource types")
         void checkCompliance_WithNonStorageResourceType_ReturnsNotApplicable() {
@@ -89,13 +165,13 @@ class S3ComplianceServiceTest {
         }
 
         @Test
-        @DisplayName("Should return only storage as supported resource type")
-        void getSupportedResourceTypes_ReturnsStorageOnly() {
+        @DisplayName("Should return storage and network as supported resource types")
+        void getSupportedResourceTypes_ReturnsStorageAndNetwork() {
             List<String> resourceTypes = s3ComplianceService.getSupportedResourceTypes();
 
             assertThat(resourceTypes).isNotNull();
-            assertThat(resourceTypes).containsExactly("storage");
-            assertThat(resourceTypes).hasSize(1);
+            assertThat(resourceTypes).containsExactly("storage", "network");
+            assertThat(resourceTypes).hasSize(2);
         }
 
         @Test
@@ -126,6 +202,31 @@ class S3ComplianceServiceTest {
             assertThat(s3ComplianceService).isInstanceOf(CloudComplianceService.class);
         }
 
+        @Test
+        @DisplayName("Should serve repeated compliance checks from cache")
+        void checkCompliance_RepeatedCall_ServedFromCache() {
+            ComplianceResult first = s3ComplianceService.checkCompliance("storage", ComplianceStandard.SOC2);
+            ComplianceResult second = s3ComplianceService.checkCompliance("storage", ComplianceStandard.SOC2);
+
+            assertThat(second).isSameAs(first);
+            assertThat(s3ComplianceService.getComplianceCacheStats().hitCount()).isEqualTo(1);
+            assertThat(s3ComplianceService.getComplianceCacheStats().missCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should re-evaluate after cache invalidation")
+        void checkCompliance_AfterInvalidation_ReEvaluates() {
+            ComplianceResult first = s3ComplianceService.checkCompliance("storage", ComplianceStandard.SOC2);
+            s3ComplianceService.checkCompliance("storage", ComplianceStandard.CIS);
+
+            long invalidated = s3ComplianceService.invalidateComplianceCache(null, ComplianceStandard.SOC2);
+            ComplianceResult second = s3ComplianceService.checkCompliance("storage", ComplianceStandard.SOC2);
+
+            assertThat(invalidated).isEqualTo(1);
+            assertThat(second).isNotSameAs(first);
+            assertThat(s3ComplianceService.getComplianceCacheStats().size()).isEqualTo(2);
+        }
+
         @Test
         @DisplayName("Should return compliance result with valid data")
         void checkCompliance_ResultContainsValidData() {
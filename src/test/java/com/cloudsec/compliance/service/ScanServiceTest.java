@@ -0,0 +1,389 @@
+package com.cloudsec.compliance.service;
+
+import com.cloudsec.compliance.components.AwsCredentialsManager;
+import com.cloudsec.compliance.components.ClusterMembership;
+import com.cloudsec.compliance.components.InputValidator;
+import com.cloudsec.compliance.components.PostureSubscriptions;
+import com.cloudsec.compliance.components.RateLimitingComponent;
+import com.cloudsec.compliance.components.S3ClientFactory;
+import com.cloudsec.compliance.components.ScanStore;
+import com.cloudsec.compliance.config.ApplicationConfig;
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.FindingChange;
+import com.cloudsec.compliance.dto.response.ScanDiffResponse;
+import com.cloudsec.compliance.dto.response.ScanSummaryResponse;
+import com.cloudsec.compliance.export.ColumnarFindingsWriter;
+import com.cloudsec.compliance.model.CompactFindings;
+import com.cloudsec.compliance.model.ComplianceResult;
+import com.cloudsec.compliance.model.ComplianceStandard;
+import com.cloudsec.compliance.model.ComplianceStatus;
+import com.cloudsec.compliance.model.ControlCatalog;
+import com.cloudsec.compliance.model.ControlDefinition;
+import com.cloudsec.compliance.model.Finding;
+import com.cloudsec.compliance.policy.PolicyCompiler;
+import com.cloudsec.compliance.support.LocalS3Server;
+import com.cloudsec.compliance.support.LocalS3Server.BucketSpec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Bucket;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ScanService Tests")
+class ScanServiceTest {
+
+    private final ComplianceProperties properties = new ComplianceProperties();
+    private final ControlCatalog catalog = new ControlCatalog();
+    private ScanStore scanStore;
+    private ScanService scanService;
+    private LocalS3Server server;
+    private PolicyCompiler policyCompiler;
+    private S3BucketScanner bucketScanner;
+    private PostureSubscriptions postureSubscriptions;
+    private S3ClientFactory factory;
+    private final List<ClusterMembership> members = new ArrayList<>();
+    private int encryption;
+    private int versioning;
+
+    @TempDir
+    Path clusterDirectory;
+
+    @BeforeEach
+    void setUp() {
+        properties.getScans().setMaxStored(3);
+        scanStore = new ScanStore(properties);
+        factory = new S3ClientFactory(properties, new AwsCredentialsManager(properties,
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("local", "local"))), new ApplicationConfig().sdkHttpClient(properties), List.of());
+        InputValidator inputValidator = new InputValidator(properties);
+        policyCompiler = new PolicyCompiler(properties, new ObjectMapper());
+        bucketScanner = new S3BucketScanner(factory, inputValidator, catalog, properties, policyCompiler);
+        postureSubscriptions = new PostureSubscriptions(properties, inputValidator);
+        scanService = new ScanService(bucketScanner, scanStore, catalog, inputValidator, new RateLimitingComponent(),
+            new ClusterScanService(bucketScanner, new ClusterMembership(properties), properties), postureSubscriptions);
+        encryption = catalog.intern(new ControlDefinition("CC6.1", Finding.Severity.HIGH, "No encryption", null));
+        versioning = catalog.intern(new ControlDefinition("A1.2", Finding.Severity.MEDIUM, "No versioning", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        members.forEach(ClusterMembership::stop);
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private String store(CompactFindings findings) {
+        return scanStore.store(ComplianceStandard.SOC2, "all", 10, findings).scanId();
+    }
+
+    @Test
+    @DisplayName("Should report new, resolved and changed findings only")
+    void shouldComputeDelta() {
+        CompactFindings before = new CompactFindings(catalog);
+        before.add("bucket-a", encryption, "SSE: none");
+        before.add("bucket-b", versioning, "Suspended");
+        before.add("bucket-c", encryption, "SSE: none");
+        CompactFindings after = new CompactFindings(catalog);
+        after.add("bucket-c", encryption, "SSE: none");
+        after.add("bucket-b", versioning, Finding.Severity.HIGH, "Suspended");
+        after.add("bucket-d", versioning, "Never enabled");
+
+        ScanDiffResponse diff = scanService.diffScans(store(before), store(after), null);
+
+        assertThat(diff.newCount()).isEqualTo(1);
+        assertThat(diff.resolvedCount()).isEqualTo(1);
+        assertThat(diff.changedCount()).isEqualTo(1);
+        assertThat(diff.unchangedCount()).isEqualTo(1);
+        assertThat(diff.newFindings()).extracting(FindingChange::resourceId).containsExactly("bucket-d");
+        assertThat(diff.resolvedFindings()).extracting(FindingChange::resourceId).containsExactly("bucket-a");
+        FindingChange changed = diff.changedFindings().get(0);
+        assertThat(changed.severity()).isEqualTo("HIGH");
+        assertThat(changed.previousSeverity()).isEqualTo("MEDIUM");
+        assertThat(diff.truncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should cap returned items but keep complete counts")
+    void shouldTruncateLargeDeltas() {
+        CompactFindings before = new CompactFindings(catalog);
+        CompactFindings after = new CompactFindings(catalog);
+        for (int i = 0; i < 5_000; i++) {
+            after.add(String.format("bucket-%05d", i), encryption, null);
+        }
+
+        ScanDiffResponse diff = scanService.diffScans(store(before), store(after), 10);
+
+        assertThat(diff.newCount()).isEqualTo(5_000);
+        assertThat(diff.newFindings()).hasSize(10);
+        assertThat(diff.newFindings().get(0).resourceId()).isEqualTo("bucket-00000");
+        assertThat(diff.truncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or evicted scans")
+    void shouldRejectUnknownScans() {
+        String first = store(new CompactFindings(catalog));
+        for (int i = 0; i < 3; i++) {
+            store(new CompactFindings(catalog));
+        }
+
+        assertThat(scanService.listScans()).hasSize(3);
+        assertThatThrownBy(() -> scanService.diffScans(first, "scan-4", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown scan: " + first);
+    }
+
+    @Test
+    @DisplayName("Should reject diffs across different standards")
+    void shouldRejectMixedStandards() {
+        String soc2 = store(new CompactFindings(catalog));
+        String cis = scanStore.store(ComplianceStandard.CIS, "all", 0, new CompactFindings(catalog)).scanId();
+
+        assertThatThrownBy(() -> scanService.diffScans(soc2, cis, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("different standards");
+    }
+
+    @Test
+    @DisplayName("Should store live scans and diff remediation between them")
+    void shouldDiffLiveScans() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data").withEncryption(null).withLogging("logs"))
+            .bucket(BucketSpec.named("backups").withLogging("logs"))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        ScanSummaryResponse first = scanService.runScan(null, ComplianceStandard.SOC2);
+        server.close();
+
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data").withLogging("logs"))
+            .bucket(BucketSpec.named("backups").withLogging("logs").withVersioning(false))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        ScanSummaryResponse second = scanService.runScan(null, ComplianceStandard.SOC2);
+
+        assertThat(first.status()).isEqualTo("SUCCESS");
+        assertThat(first.resourceCount()).isEqualTo(2);
+        assertThat(first.findingCount()).isEqualTo(1);
+
+        ScanDiffResponse diff = scanService.diffScans(first.scanId(), second.scanId(), null);
+        assertThat(diff.resolvedFindings()).extracting(FindingChange::findingId).containsExactly("CC6.1:app-data");
+        assertThat(diff.newFindings()).extracting(FindingChange::findingId).containsExactly("A1.2:backups");
+    }
+
+    @Test
+    @DisplayName("Should keep masked bucket names apart and stable across scans")
+    void shouldKeepMaskedBucketsDistinct() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("secret-a").withEncryption(null).withLogging("logs"))
+            .bucket(BucketSpec.named("secret-b").withEncryption(null).withLogging("logs"))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+
+        ScanSummaryResponse first = scanService.runScan(null, ComplianceStandard.SOC2);
+        ScanSummaryResponse second = scanService.runScan(null, ComplianceStandard.SOC2);
+
+        CompactFindings findings = scanStore.get(first.scanId()).orElseThrow().findings();
+        List<String> resourceIds = new ArrayList<>();
+        for (int i = 0; i < findings.size(); i++) {
+            resourceIds.add(findings.resourceId(i));
+        }
+        assertThat(resourceIds).hasSize(2).doesNotHaveDuplicates()
+            .allSatisfy(id -> assertThat(id).startsWith("sec***-").doesNotContain("secret"));
+        ScanDiffResponse diff = scanService.diffScans(first.scanId(), second.scanId(), null);
+        assertThat(diff.unchangedCount()).isEqualTo(2);
+        assertThat(diff.newCount()).isZero();
+        assertThat(diff.resolvedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate bucket location failures instead of assuming us-east-1")
+    void shouldNotGuessRegionWhenLocationFails() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data").inRegion("eu-west-1"))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+
+        try (S3Client client = factory.createClient("us-east-1")) {
+            assertThatThrownBy(() -> bucketScanner.bucketRegion(client, Bucket.builder().name("deleted").build()))
+                .isInstanceOfSatisfying(S3Exception.class, e -> assertThat(e.statusCode()).isEqualTo(404));
+            assertThat(bucketScanner.bucketRegion(client, Bucket.builder().name("app-data").build())).isEqualTo("eu-west-1");
+        }
+    }
+
+    @Test
+    @DisplayName("Should notify bucket subscribers only when a rescan changes that bucket's posture")
+    void shouldNotifyBucketSubscribersOfChanges() {
+        List<String> notified = new ArrayList<>();
+        postureSubscriptions.listen(notified::add);
+        postureSubscriptions.subscribe("compliance://posture/buckets/app-data");
+        postureSubscriptions.subscribe("compliance://posture/buckets/backups");
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data").withEncryption(null).withLogging("logs"))
+            .bucket(BucketSpec.named("backups").withLogging("logs"))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+
+        scanService.runScan(null, ComplianceStandard.SOC2);
+        scanService.runScan(null, ComplianceStandard.SOC2);
+        assertThat(notified).isEmpty();
+
+        server.close();
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("app-data").withLogging("logs"))
+            .bucket(BucketSpec.named("backups").withLogging("logs"))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        scanService.runScan(null, ComplianceStandard.SOC2);
+
+        assertThat(notified).containsExactly("compliance://posture/buckets/app-data");
+        assertThat(postureSubscriptions.read("compliance://posture/buckets/app-data"))
+            .singleElement()
+            .satisfies(result -> assertThat(result.findings()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report public bucket policies and compile shared templates once")
+    void shouldAnalyseBucketPolicies() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("site-a").withLogging("logs").withPolicy(publicReadPolicy("site-a")))
+            .bucket(BucketSpec.named("site-b").withLogging("logs").withPolicy(publicReadPolicy("site-b")))
+            .bucket(BucketSpec.named("private").withLogging("logs").withPolicy("""
+                {"Statement": [{"Effect": "Allow", "Principal": "*", "Action": "s3:GetObject",
+                  "Resource": "arn:aws:s3:::private/*", "Condition": {"IpAddress": {"aws:SourceIp": "203.0.113.0/24"}}}]}
+                """))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+
+        ScanSummaryResponse scan = scanService.runScan(null, ComplianceStandard.SOC2);
+
+        assertThat(scan.findingCount()).isEqualTo(2);
+        assertThat(scanStore.get(scan.scanId()).orElseThrow().findings().asList())
+            .extracting(Finding::id)
+            .containsExactlyInAnyOrder("CC6.3:site-a", "CC6.3:site-b");
+        assertThat(policyCompiler.missCount()).isEqualTo(2);
+        assertThat(policyCompiler.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not report a bucket as compliant when its policy cannot be analysed")
+    void shouldFlagUnanalysablePolicies() {
+        server = LocalS3Server.builder()
+            .bucket(BucketSpec.named("site").withLogging("logs").withPolicy("{\"Version\": \"2012-10-17\"}"))
+            .start();
+        properties.getSecurity().getAws().setEndpointOverride(server.endpoint().toString());
+        List<ComplianceResult> results = new ArrayList<>();
+
+        bucketScanner.scan(null, ComplianceStandard.SOC2, results::add);
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.status()).isEqualTo(ComplianceStatus.PARTIAL_COMPLIANT);
+            assertThat(result.findings()).singleElement().satisfies(finding -> {
+                assertThat(finding.id()).isEqualTo("S3-POLICY-ERROR:site");
+                assertThat(finding.controlId()).isEqualTo("SYSTEM");
+                assertThat(finding.evidence()).isEqualTo("Bucket policy has no statements");
+            });
+        });
+    }
+
+    @Test
+    @DisplayName("Should merge a peer's published shard and evaluate only the local one")
+    void shouldMergePeerShards() throws Exception {
+        server = unencryptedBuckets(40);
+        ClusterScanService nodeA = clusterMember("node-a");
+        ClusterScanService nodeB = clusterMember("node-b");
+        ScanService scanOnB = new ScanService(bucketScanner, scanStore, catalog, new InputValidator(properties),
+            new RateLimitingComponent(), nodeB, postureSubscriptions);
+
+        int ownedByA = nodeA.publishShard(null, ComplianceStandard.SOC2);
+        long before = server.requestCount("GetBucketEncryption");
+        ScanSummaryResponse scan = scanOnB.runScan(null, ComplianceStandard.SOC2);
+
+        assertThat(ownedByA).isBetween(1, 39);
+        assertThat(scan.status()).isEqualTo("SUCCESS");
+        assertThat(scan.resourceCount()).isEqualTo(40);
+        assertThat(scan.findingCount()).isEqualTo(40);
+        assertThat(server.requestCount("GetBucketEncryption") - before).isEqualTo(40 - ownedByA);
+    }
+
+    @Test
+    @DisplayName("Should evaluate a peer's buckets itself when the peer has not published a shard")
+    void shouldCoverPeersWithoutShards() {
+        server = unencryptedBuckets(40);
+        clusterMember("node-a");
+        ScanService scanOnB = new ScanService(bucketScanner, scanStore, catalog, new InputValidator(properties),
+            new RateLimitingComponent(), clusterMember("node-b"), postureSubscriptions);
+
+        ScanSummaryResponse scan = scanOnB.runScan(null, ComplianceStandard.SOC2);
+
+        assertThat(scan.resourceCount()).isEqualTo(40);
+        assertThat(scan.findingCount()).isEqualTo(40);
+        assertThat(server.requestCount("GetBucketEncryption")).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should rescan a peer's buckets when its shard cannot be split back into results")
+    void shouldRejectAmbiguousShards() throws Exception {
+        server = unencryptedBuckets(40);
+        ClusterScanService nodeA = clusterMember("node-a");
+        ScanService scanOnB = new ScanService(bucketScanner, scanStore, catalog, new InputValidator(properties),
+            new RateLimitingComponent(), clusterMember("node-b"), postureSubscriptions);
+        nodeA.publishShard(null, ComplianceStandard.SOC2);
+        Path shard;
+        try (Stream<Path> files = Files.list(clusterDirectory.resolve("shards/SOC2/all"))) {
+            shard = files.filter(file -> file.getFileName().toString().startsWith("node-a@")).findFirst().orElseThrow();
+        }
+        Files.delete(shard);
+        try (ColumnarFindingsWriter writer = new ColumnarFindingsWriter(shard)) {
+            for (int i = 0; i < 2; i++) {
+                writer.write(new ComplianceResult("sec***", "storage", ComplianceStandard.SOC2,
+                    ComplianceStatus.COMPLIANT, List.of(), "AWS", "us-east-1"));
+            }
+        }
+
+        long before = server.requestCount("GetBucketEncryption");
+        ScanSummaryResponse scan = scanOnB.runScan(null, ComplianceStandard.SOC2);
+
+        assertThat(scan.resourceCount()).isEqualTo(40);
+        assertThat(server.requestCount("GetBucketEncryption") - before).isEqualTo(40);
+    }
+
+    private LocalS3Server unencryptedBuckets(int count) {
+        List<BucketSpec> buckets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            buckets.add(BucketSpec.named("bucket-" + i).withEncryption(null).withLogging("logs"));
+        }
+        LocalS3Server started = LocalS3Server.builder().buckets(buckets).start();
+        properties.getSecurity().getAws().setEndpointOverride(started.endpoint().toString());
+        return started;
+    }
+
+    private ClusterScanService clusterMember(String nodeId) {
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setDirectory(clusterDirectory.toString());
+        properties.getCluster().setNodeId(nodeId);
+        ClusterMembership membership = new ClusterMembership(properties);
+        membership.start();
+        members.add(membership);
+        return new ClusterScanService(bucketScanner, membership, properties);
+    }
+
+    private static String publicReadPolicy(String bucket) {
+        return "{\"Version\": \"2012-10-17\", \"Statement\": [{\"Sid\": \"PublicRead\", \"Effect\": \"Allow\", "
+            + "\"Principal\": \"*\", \"Action\": \"s3:GetObject\", \"Resource\": \"arn:aws:s3:::" + bucket + "/*\"}]}";
+    }
+}
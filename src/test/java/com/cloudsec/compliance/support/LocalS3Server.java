@@ -0,0 +1,431 @@
+package com.cloudsec.compliance.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP stand-in for the S3 control-plane APIs used by the compliance service.
+ * <p>
+ * Point an {@code S3Client} at {@link #endpoint()} (path-style) to exercise the real SDK
+ * marshalling, HTTP and retry stack against scripted buckets, injected latency and
+ * injected throttling. Supports ListBuckets (with max-buckets / continuation-token),
+ * GetBucketLocation, GetBucketEncryption, GetBucketVersioning, GetPublicAccessBlock,
+ * GetBucketPolicy and GetBucketLogging.
+ */
+public final class LocalS3Server implements AutoCloseable {
+
+    private static final String S3_NS = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, BucketSpec> buckets;
+    private final LatencyProfile latency;
+    private final double throttleProbability;
+    private final int throttleStatus;
+    private final Deque<Integer> scriptedFailures;
+    private final Random random;
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong throttledCount = new AtomicLong();
+
+    private LocalS3Server(Builder builder) throws IOException {
+        this.buckets = new LinkedHashMap<>();
+        builder.buckets.forEach(bucket -> buckets.put(bucket.name(), bucket));
+        this.latency = builder.latency;
+        this.throttleProbability = builder.throttleProbability;
+        this.throttleStatus = builder.throttleStatus;
+        this.scriptedFailures = new ArrayDeque<>(builder.scriptedFailures);
+        this.random = new Random(builder.seed);
+        this.executor = Executors.newFixedThreadPool(builder.workerThreads);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Number of requests received for an operation name such as {@code ListBuckets},
+     * including throttled attempts.
+     */
+    public long requestCount(String operation) {
+        AtomicLong count = requestCounts.get(operation);
+        return count != null ? count.get() : 0;
+    }
+
+    public long throttledCount() {
+        return throttledCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("x-amz-request-id", UUID.randomUUID().toString());
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String bucketName = path.length() > 1 ? path.substring(1).split("/", 2)[0] : null;
+            String operation = operationFor(exchange.getRequestMethod(), bucketName, query);
+
+            requestCounts.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+            sleep(latency.sampleMillis(random));
+
+            Integer failure = nextFailure();
+            if (failure != null) {
+                throttledCount.incrementAndGet();
+                String code = failure == 503 ? "SlowDown" : failure == 429 ? "TooManyRequests" : "InternalError";
+                sendError(exchange, failure, code, "Injected failure");
+                return;
+            }
+
+            if (bucketName == null) {
+                if ("ListBuckets".equals(operation)) {
+                    sendXml(exchange, 200, listBuckets(query));
+                } else {
+                    sendError(exchange, 405, "MethodNotAllowed", "Unsupported operation");
+                }
+                return;
+            }
+
+            BucketSpec bucket = buckets.get(bucketName);
+            if (bucket == null) {
+                sendError(exchange, 404, "NoSuchBucket", "The specified bucket does not exist");
+                return;
+            }
+
+            switch (operation) {
+                case "GetBucketLocation" -> sendXml(exchange, 200, location(bucket));
+                case "GetBucketEncryption" -> {
+                    if (bucket.encryption() == null) {
+                        sendError(exchange, 404, "ServerSideEncryptionConfigurationNotFoundError",
+                            "The server side encryption configuration was not found");
+                    } else {
+                        sendXml(exchange, 200, encryption(bucket));
+                    }
+                }
+                case "GetBucketVersioning" -> sendXml(exchange, 200, versioning(bucket));
+                case "GetPublicAccessBlock" -> {
+                    if (!bucket.publicAccessBlocked()) {
+                        sendError(exchange, 404, "NoSuchPublicAccessBlockConfiguration",
+                            "The public access block configuration was not found");
+                    } else {
+                        sendXml(exchange, 200, publicAccessBlock());
+                    }
+                }
+                case "GetBucketPolicy" -> {
+                    if (bucket.policy() == null) {
+                        sendError(exchange, 404, "NoSuchBucketPolicy", "The bucket policy does not exist");
+                    } else {
+                        send(exchange, 200, "application/json", bucket.policy());
+                    }
+                }
+                case "GetBucketLogging" -> sendXml(exchange, 200, logging(bucket));
+                default -> sendError(exchange, 501, "NotImplemented", "Operation not supported by LocalS3Server");
+            }
+        }
+    }
+
+    private String operationFor(String method, String bucketName, Map<String, String> query) {
+        if (bucketName == null) {
+            return "GET".equals(method) ? "ListBuckets" : method;
+        }
+        if (query.containsKey("location")) return "GetBucketLocation";
+        if (query.containsKey("encryption")) return "GetBucketEncryption";
+        if (query.containsKey("versioning")) return "GetBucketVersioning";
+        if (query.containsKey("publicAccessBlock")) return "GetPublicAccessBlock";
+        if (query.containsKey("policy")) return "GetBucketPolicy";
+        if (query.containsKey("logging")) return "GetBucketLogging";
+        return method + "Bucket";
+    }
+
+    private Integer nextFailure() {
+        synchronized (scriptedFailures) {
+            if (!scriptedFailures.isEmpty()) {
+                return scriptedFailures.poll();
+            }
+        }
+        if (throttleProbability > 0) {
+            synchronized (random) {
+                if (random.nextDouble() < throttleProbability) {
+                    return throttleStatus;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String listBuckets(Map<String, String> query) {
+        List<BucketSpec> all = new ArrayList<>(buckets.values());
+        int start = query.containsKey("continuation-token") ? Integer.parseInt(query.get("continuation-token")) : 0;
+        int max = query.containsKey("max-buckets") ? Integer.parseInt(query.get("max-buckets")) : all.size();
+        int end = Math.min(all.size(), start + max);
+
+        StringBuilder xml = new StringBuilder("<ListAllMyBucketsResult xmlns=\"" + S3_NS + "\">")
+            .append("<Owner><ID>local-owner</ID><DisplayName>local</DisplayName></Owner><Buckets>");
+        for (BucketSpec bucket : all.subList(Math.min(start, end), end)) {
+            xml.append("<Bucket><Name>").append(bucket.name()).append("</Name>")
+                .append("<CreationDate>").append(bucket.creationDate()).append("</CreationDate>")
+                .append("<BucketRegion>").append(bucket.region()).append("</BucketRegion></Bucket>");
+        }
+        xml.append("</Buckets>");
+        if (end < all.size()) {
+            xml.append("<ContinuationToken>").append(end).append("</ContinuationToken>");
+        }
+        return xml.append("</ListAllMyBucketsResult>").toString();
+    }
+
+    private String location(BucketSpec bucket) {
+        String constraint = "us-east-1".equals(bucket.region()) ? "" : bucket.region();
+        return "<LocationConstraint xmlns=\"" + S3_NS + "\">" + constraint + "</LocationConstraint>";
+    }
+
+    private String encryption(BucketSpec bucket) {
+        return "<ServerSideEncryptionConfiguration xmlns=\"" + S3_NS + "\"><Rule>"
+            + "<ApplyServerSideEncryptionByDefault><SSEAlgorithm>" + bucket.encryption()
+            + "</SSEAlgorithm></ApplyServerSideEncryptionByDefault>"
+            + "<BucketKeyEnabled>false</BucketKeyEnabled></Rule></ServerSideEncryptionConfiguration>";
+    }
+
+    private String versioning(BucketSpec bucket) {
+        return "<VersioningConfiguration xmlns=\"" + S3_NS + "\">"
+            + (bucket.versioned() ? "<Status>Enabled</Status>" : "")
+            + "</VersioningConfiguration>";
+    }
+
+    private String publicAccessBlock() {
+        return "<PublicAccessBlockConfiguration xmlns=\"" + S3_NS + "\">"
+            + "<BlockPublicAcls>true</BlockPublicAcls><IgnorePublicAcls>true</IgnorePublicAcls>"
+            + "<BlockPublicPolicy>true</BlockPublicPolicy><RestrictPublicBuckets>true</RestrictPublicBuckets>"
+            + "</PublicAccessBlockConfiguration>";
+    }
+
+    private String logging(BucketSpec bucket) {
+        String enabled = bucket.loggingTarget() == null ? "" :
+            "<LoggingEnabled><TargetBucket>" + bucket.loggingTarget()
+                + "</TargetBucket><TargetPrefix>" + bucket.name() + "/</TargetPrefix></LoggingEnabled>";
+        return "<BucketLoggingStatus xmlns=\"" + S3_NS + "\">" + enabled + "</BucketLoggingStatus>";
+    }
+
+    private void sendXml(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, "application/xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body);
+    }
+
+    private void sendError(HttpExchange exchange, int status, String code, String message) throws IOException {
+        sendXml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + message
+            + "</Message><RequestId>" + exchange.getResponseHeaders().getFirst("x-amz-request-id")
+            + "</RequestId></Error>");
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) return;
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Scripted bucket state. A {@code null} encryption, policy or logging target means the
+     * corresponding configuration is absent and the matching S3 "not found" error is returned.
+     */
+    public record BucketSpec(
+        String name,
+        Instant creationDate,
+        String region,
+        String encryption,
+        boolean versioned,
+        boolean publicAccessBlocked,
+        String policy,
+        String loggingTarget
+    ) {
+        public static BucketSpec named(String name) {
+            return new BucketSpec(name, Instant.parse("2024-01-01T00:00:00Z"), "us-east-1",
+                "AES256", true, true, null, null);
+        }
+
+        public BucketSpec inRegion(String region) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+
+        public BucketSpec createdAt(Instant creationDate) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+
+        public BucketSpec withEncryption(String encryption) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+
+        public BucketSpec withVersioning(boolean versioned) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+
+        public BucketSpec withPublicAccessBlock(boolean publicAccessBlocked) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+
+        public BucketSpec withPolicy(String policy) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+
+        public BucketSpec withLogging(String loggingTarget) {
+            return new BucketSpec(name, creationDate, region, encryption, versioned, publicAccessBlocked, policy, loggingTarget);
+        }
+    }
+
+    /**
+     * Per-request latency model. All samples are in milliseconds.
+     */
+    @FunctionalInterface
+    public interface LatencyProfile {
+
+        long sampleMillis(Random random);
+
+        static LatencyProfile none() {
+            return random -> 0;
+        }
+
+        static LatencyProfile fixed(long millis) {
+            return random -> millis;
+        }
+
+        static LatencyProfile uniform(long minMillis, long maxMillis) {
+            return random -> {
+                synchronized (random) {
+                    return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+                }
+            };
+        }
+
+        /**
+         * Log-normal distribution fitted to a median and 99th percentile, which reproduces the
+         * long right tail typically seen from AWS control-plane endpoints.
+         */
+        static LatencyProfile logNormal(double medianMillis, double p99Millis) {
+            double mu = Math.log(medianMillis);
+            double sigma = (Math.log(p99Millis) - mu) / 2.326;
+            return random -> {
+                synchronized (random) {
+                    return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+                }
+            };
+        }
+    }
+
+    public static final class Builder {
+        private final List<BucketSpec> buckets = new ArrayList<>();
+        private final List<Integer> scriptedFailures = new ArrayList<>();
+        private LatencyProfile latency = LatencyProfile.none();
+        private double throttleProbability;
+        private int throttleStatus = 503;
+        private long seed = 42L;
+        private int workerThreads = 16;
+
+        public Builder bucket(BucketSpec bucket) {
+            buckets.add(bucket);
+            return this;
+        }
+
+        public Builder buckets(List<BucketSpec> specs) {
+            buckets.addAll(specs);
+            return this;
+        }
+
+        public Builder latency(LatencyProfile latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Randomly fail the given fraction of requests with {@code status} (typically 429 or 503).
+         */
+        public Builder throttle(double probability, int status) {
+            this.throttleProbability = probability;
+            this.throttleStatus = status;
+            return this;
+        }
+
+        /**
+         * Fail the next {@code count} requests, in arrival order, with {@code status}.
+         */
+        public Builder failNext(int count, int status) {
+            for (int i = 0; i < count; i++) {
+                scriptedFailures.add(status);
+            }
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder workerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        public LocalS3Server start() {
+            try {
+                return new LocalS3Server(this);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to start LocalS3Server", e);
+            }
+        }
+    }
+}
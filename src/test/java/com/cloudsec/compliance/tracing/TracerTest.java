@@ -0,0 +1,125 @@
+package com.cloudsec.compliance.tracing;
+
+import com.cloudsec.compliance.config.ComplianceProperties;
+import com.cloudsec.compliance.dto.response.TraceSummary;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tracer Tests")
+class TracerTest {
+
+    private final ComplianceProperties properties = new ComplianceProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should link nested spans to their parents and restore the current span")
+    void shouldNestSpans() {
+        Tracer tracer = new Tracer(properties, objectMapper);
+
+        String traceId;
+        try (Span root = tracer.startTrace("tools/call run_scan")) {
+            traceId = root.traceId();
+            try (Span child = Tracer.span("rate_limit").attribute("allowed", true)) {
+                assertThat(Tracer.current()).isSameAs(child);
+                Tracer.span("aws S3.ListBuckets", SpanData.Kind.CLIENT).error("throttled").close();
+            }
+            assertThat(Tracer.current()).isSameAs(root);
+        }
+
+        assertThat(Tracer.current().isRecording()).isFalse();
+        List<SpanData> spans = tracer.buffer().snapshot();
+        assertThat(spans).extracting(SpanData::name)
+            .containsExactly("tools/call run_scan", "rate_limit", "aws S3.ListBuckets");
+        assertThat(spans).extracting(SpanData::traceId).containsOnly(traceId);
+        assertThat(spans.get(1).parentSpanId()).isEqualTo(spans.get(0).spanId());
+        assertThat(spans.get(2).parentSpanId()).isEqualTo(spans.get(1).spanId());
+        assertThat(spans.get(1).attributes()).containsEntry("allowed", "true");
+
+        TraceSummary summary = tracer.recentTraces(null, null, traceId).get(0);
+        assertThat(summary.error()).isTrue();
+        assertThat(summary.spanCount()).isEqualTo(3);
+        assertThat(summary.spans().get(0).name()).isEqualTo("tools/call run_scan");
+    }
+
+    @Test
+    @DisplayName("Should record nothing outside a trace or when disabled")
+    void shouldNotRecordWithoutTrace() {
+        Tracer tracer = new Tracer(properties, objectMapper);
+        try (Span span = Tracer.span("rate_limit")) {
+            assertThat(span.isRecording()).isFalse();
+        }
+
+        properties.getTracing().setEnabled(false);
+        Tracer disabled = new Tracer(properties, objectMapper);
+        try (Span span = disabled.startTrace("initialize")) {
+            assertThat(span.isRecording()).isFalse();
+        }
+
+        assertThat(tracer.buffer().recorded()).isZero();
+        assertThat(disabled.buffer().recorded()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest spans and filter traces by duration")
+    void shouldOverwriteOldestSpans() throws Exception {
+        properties.getTracing().setBufferSize(6);
+        Tracer tracer = new Tracer(properties, objectMapper);
+        for (int i = 0; i < 10; i++) {
+            tracer.startTrace("call-" + i).close();
+        }
+        try (Span slow = tracer.startTrace("slow")) {
+            Thread.sleep(20);
+        }
+
+        assertThat(tracer.buffer().capacity()).isEqualTo(8);
+        assertThat(tracer.buffer().recorded()).isEqualTo(11);
+        assertThat(tracer.recentTraces(3, null, null)).extracting(TraceSummary::name)
+            .containsExactly("slow", "call-9", "call-8");
+        assertThat(tracer.recentTraces(100, null, null)).hasSize(8);
+        assertThat(tracer.recentTraces(null, 15.0, null)).extracting(TraceSummary::name).containsExactly("slow");
+    }
+
+    @Test
+    @DisplayName("Should export finished traces as OTLP JSON lines")
+    void shouldExportOtlpJson(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("traces.jsonl");
+        properties.getTracing().setOtlpFile(file.toString());
+        properties.getTracing().setMaxSpansPerTrace(2);
+        Tracer tracer = new Tracer(properties, objectMapper);
+
+        try (Span root = tracer.startTrace("tools/call health_check")) {
+            root.attribute("rpc.jsonrpc.request_id", 1);
+            for (int i = 0; i < 3; i++) {
+                Tracer.span("step").close();
+            }
+        }
+        tracer.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        JsonNode scopeSpans = objectMapper.readTree(lines.get(0)).path("resourceSpans").get(0);
+        assertThat(scopeSpans.path("resource").path("attributes").get(0).path("value").path("stringValue").asText())
+            .isEqualTo("cloud-compliance-mcp");
+        JsonNode spans = scopeSpans.path("scopeSpans").get(0).path("spans");
+        assertThat(spans).hasSize(3);
+        JsonNode root = spans.get(2);
+        assertThat(root.path("name").asText()).isEqualTo("tools/call health_check");
+        assertThat(root.path("traceId").asText()).hasSize(32);
+        assertThat(root.path("spanId").asText()).hasSize(16);
+        assertThat(root.has("parentSpanId")).isFalse();
+        assertThat(root.path("kind").asInt()).isEqualTo(2);
+        assertThat(Long.parseLong(root.path("endTimeUnixNano").asText()))
+            .isGreaterThanOrEqualTo(Long.parseLong(root.path("startTimeUnixNano").asText()));
+        assertThat(root.path("attributes").toString()).contains("rpc.jsonrpc.request_id", "trace.dropped_spans");
+        assertThat(spans.get(0).path("parentSpanId").asText()).isEqualTo(root.path("spanId").asText());
+    }
+}
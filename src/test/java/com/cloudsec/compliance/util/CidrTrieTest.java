@@ -0,0 +1,46 @@
+package com.cloudsec.compliance.util;
+
+import com.cloudsec.compliance.util.CidrTrie.Prefix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CidrTrie Tests")
+class CidrTrieTest {
+
+    private final CidrTrie trie = new CidrTrie(List.of("10.0.0.0/8", "192.168.0.0/16", "203.0.113.7/32", "fc00::/7"));
+
+    @Test
+    @DisplayName("Should report blocks contained in a stored block")
+    void shouldCoverContainedBlocks() {
+        assertThat(trie.covers(Prefix.parse("10.1.2.0/24"))).isTrue();
+        assertThat(trie.covers(Prefix.parse("10.0.0.0/8"))).isTrue();
+        assertThat(trie.covers(Prefix.parse("192.168.4.5"))).isTrue();
+        assertThat(trie.covers(Prefix.parse("203.0.113.7/32"))).isTrue();
+        assertThat(trie.covers(Prefix.parse("fd12:3456::/48"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not cover wider, disjoint or other-family blocks")
+    void shouldNotCoverOtherBlocks() {
+        assertThat(trie.covers(Prefix.parse("0.0.0.0/0"))).isFalse();
+        assertThat(trie.covers(Prefix.parse("10.0.0.0/7"))).isFalse();
+        assertThat(trie.covers(Prefix.parse("203.0.113.0/24"))).isFalse();
+        assertThat(trie.covers(Prefix.parse("172.16.0.0/12"))).isFalse();
+        assertThat(trie.covers(Prefix.parse("::/0"))).isFalse();
+        assertThat(trie.covers(Prefix.parse("2001:db8::/32"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed blocks")
+    void shouldRejectMalformedBlocks() {
+        for (String cidr : List.of("", "10.0.0/8", "10.0.0.256/8", "10.0.0.0/33", "::/129", "example.com/8", "10.0.0.0/x")) {
+            assertThatThrownBy(() -> Prefix.parse(cidr))
+                .as(cidr)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
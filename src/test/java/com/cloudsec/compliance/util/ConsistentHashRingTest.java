@@ -0,0 +1,70 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConsistentHashRing Tests")
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    @DisplayName("Should spread keys evenly across members")
+    void shouldBalanceKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.owner("bucket-" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10));
+    }
+
+    @Test
+    @DisplayName("Should move only the new member's share of keys when a member joins")
+    void shouldMoveFewKeysOnJoin() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "bucket-" + i;
+            String owner = after.owner(key);
+            if (!owner.equals(before.owner(key))) {
+                assertThat(owner).isEqualTo("node-d");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10);
+    }
+
+    @Test
+    @DisplayName("Should build the same ring regardless of member order")
+    void shouldBeDeterministic() {
+        ConsistentHashRing first = new ConsistentHashRing(List.of("node-b", "node-a"), 16);
+        ConsistentHashRing second = new ConsistentHashRing(List.of("node-a", "node-b", "node-a"), 16);
+
+        assertThat(first.members()).containsExactly("node-a", "node-b");
+        assertThat(first.fingerprint()).isEqualTo(second.fingerprint());
+        assertThat(first.fingerprint()).isNotEqualTo(new ConsistentHashRing(List.of("node-a"), 16).fingerprint());
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(first.owner("key-" + i)).isEqualTo(second.owner("key-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an empty ring")
+    void shouldRejectEmptyRing() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 16))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FairWorkQueue Tests")
+class FairWorkQueueTest {
+
+    @Test
+    @DisplayName("Should serve keys round-robin regardless of backlog size")
+    void shouldServeKeysRoundRobin() throws InterruptedException {
+        FairWorkQueue<String> queue = new FairWorkQueue<>();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 5; i++) {
+            queue.submit("large", () -> order.add("large"));
+        }
+        queue.submit("small", () -> order.add("small"));
+        queue.submit("small", () -> order.add("small"));
+
+        queue.drain(1, "test");
+
+        assertThat(order).containsExactly("large", "small", "large", "small", "large", "large", "large");
+    }
+
+    @Test
+    @DisplayName("Should run tasks submitted by other tasks before returning")
+    void shouldRunNestedTasks() throws InterruptedException {
+        FairWorkQueue<Integer> queue = new FairWorkQueue<>();
+        AtomicInteger completed = new AtomicInteger();
+        for (int key = 0; key < 10; key++) {
+            int account = key;
+            queue.submit(account, () -> {
+                for (int i = 0; i < 20; i++) {
+                    queue.submit(account, completed::incrementAndGet);
+                }
+            });
+        }
+        queue.submit(99, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        queue.drain(4, "test");
+
+        assertThat(completed).hasValue(200);
+        assertThat(queue.failedTasks()).isEqualTo(1);
+    }
+}
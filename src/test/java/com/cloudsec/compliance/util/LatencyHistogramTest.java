@@ -0,0 +1,69 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report zeros when empty")
+    void shouldReportZerosWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentile(99)).isZero();
+        assertThat(histogram.mean()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count small values exactly")
+    void shouldCountSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 50).forEach(histogram::record);
+
+        assertThat(histogram.count()).isEqualTo(50);
+        assertThat(histogram.percentile(50)).isEqualTo(25);
+        assertThat(histogram.percentile(100)).isEqualTo(50);
+        assertThat(histogram.max()).isEqualTo(50);
+        assertThat(histogram.mean()).isEqualTo(25.5);
+    }
+
+    @Test
+    @DisplayName("Should keep large values within bucket precision")
+    void shouldKeepLargeValuesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 10_000).forEach(i -> histogram.record(i * 100L));
+
+        assertThat(histogram.percentile(50)).isCloseTo(500_000L, withinPercentage(4));
+        assertThat(histogram.percentile(99)).isCloseTo(990_000L, withinPercentage(4));
+        assertThat(histogram.percentile(100)).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should map every bucket boundary back into its own bucket")
+    void shouldMapBucketBoundariesConsistently() {
+        for (long value : new long[]{0, 63, 64, 65, 127, 128, 1_000_003, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should clear all state on reset")
+    void shouldClearStateOnReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.max()).isZero();
+    }
+}
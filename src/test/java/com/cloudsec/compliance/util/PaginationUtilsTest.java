@@ -155,4 +155,49 @@ class PaginationUtilsTest {
         assertThat(nextPage.items()).containsExactly("item2");
         assertThat(nextPage.hasMore()).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream a page and map only the returned items")
+    void shouldStreamPageAndMapOnlyReturnedItems() {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        List<Integer> mapped = new java.util.ArrayList<>();
+        String pageToken = Base64.getEncoder().encodeToString("10".getBytes());
+
+        PaginationResult<String> result = paginationUtils.paginateStream(items, i -> {
+            mapped.add(i);
+            return "item" + i;
+        }, 5, pageToken, 100);
+
+        assertThat(result.items()).containsExactly("item10", "item11", "item12", "item13", "item14");
+        assertThat(result.totalItems()).isEqualTo(50);
+        assertThat(result.hasMore()).isTrue();
+        assertThat(mapped).containsExactly(10, 11, 12, 13, 14);
+
+        PaginationResult<String> next = paginationUtils.paginateStream(items, i -> "item" + i, 5, result.nextPageToken(), 100);
+        assertThat(next.items()).startsWith("item15");
+    }
+
+    @Test
+    @DisplayName("Should cap streamed pages at max items while counting the full source")
+    void shouldCapStreamedPagesAtMaxItems() {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        String pageToken = Base64.getEncoder().encodeToString("18".getBytes());
+
+        PaginationResult<Integer> result = paginationUtils.paginateStream(items, i -> i, 5, pageToken, 20);
+
+        assertThat(result.items()).containsExactly(18, 19);
+        assertThat(result.hasMore()).isFalse();
+        assertThat(result.nextPageToken()).isNull();
+        assertThat(result.totalItems()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should fall back to first streamed page for out-of-range or invalid tokens")
+    void shouldFallBackToFirstStreamedPage() {
+        List<Integer> items = IntStream.range(0, 8).boxed().toList();
+        String outOfRange = Base64.getEncoder().encodeToString("100".getBytes());
+
+        assertThat(paginationUtils.paginateStream(items, i -> i, 3, outOfRange, 100).items()).containsExactly(0, 1, 2);
+        assertThat(paginationUtils.paginateStream(items, i -> i, 3, "not-base64!", 100).items()).containsExactly(0, 1, 2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PortIntervalTree Tests")
+class PortIntervalTreeTest {
+
+    @Test
+    @DisplayName("Should return every interval containing a point")
+    void shouldStabIntervals() {
+        PortIntervalTree<String> tree = PortIntervalTree.<String>builder()
+            .add(22, 22, "ssh")
+            .add(0, 65535, "all")
+            .add(3000, 3999, "app")
+            .add(3306, 3306, "mysql")
+            .add(8080, 8090, "web")
+            .build();
+
+        assertThat(tree.containing(22)).containsExactlyInAnyOrder("ssh", "all");
+        assertThat(tree.containing(3306)).containsExactlyInAnyOrder("all", "app", "mysql");
+        assertThat(tree.containing(65535)).containsExactly("all");
+        assertThat(tree.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should agree with a linear scan on random intervals")
+    void shouldMatchLinearScan() {
+        Random random = new Random(7);
+        PortIntervalTree.Builder<int[]> builder = PortIntervalTree.builder();
+        List<int[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int from = random.nextInt(65536);
+            int[] interval = {from, Math.min(65535, from + random.nextInt(random.nextBoolean() ? 10 : 5000))};
+            intervals.add(interval);
+            builder.add(interval[0], interval[1], interval);
+        }
+        PortIntervalTree<int[]> tree = builder.build();
+
+        for (int q = 0; q < 500; q++) {
+            int from = random.nextInt(65536);
+            int to = Math.min(65535, from + random.nextInt(100));
+            List<int[]> expected = intervals.stream().filter(i -> i[0] <= to && i[1] >= from).toList();
+            List<int[]> actual = new ArrayList<>();
+            tree.overlapping(from, to, actual::add);
+            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle an empty tree and reject inverted intervals")
+    void shouldHandleEdgeCases() {
+        assertThat(PortIntervalTree.<String>builder().build().containing(80)).isEmpty();
+        assertThatThrownBy(() -> PortIntervalTree.<String>builder().add(10, 5, "bad"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
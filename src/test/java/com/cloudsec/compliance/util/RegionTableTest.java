@@ -0,0 +1,77 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RegionTable Tests")
+class RegionTableTest {
+
+    private static final List<String> REGIONS = List.of("us-east-1", "eu-west-2", "ap-southeast-1");
+
+    @Test
+    @DisplayName("Should return the canonical instance for matching input")
+    void shouldReturnCanonicalInstance() {
+        RegionTable table = new RegionTable(REGIONS);
+
+        String canonical = table.lookup("us-east-1");
+        assertThat(canonical).isEqualTo("us-east-1");
+        assertThat(table.lookup(new StringBuilder("US-EAST-1"))).isSameAs(canonical);
+        assertThat(table.lookup("  Us-East-1\t")).isSameAs(canonical);
+    }
+
+    @Test
+    @DisplayName("Should drop characters outside region codes like the previous regex did")
+    void shouldMatchPreviousSanitization() {
+        RegionTable table = new RegionTable(REGIONS);
+        List<String> inputs = List.of("eu_west_2", "eu-west-2!", "eu-west-2; rm -rf /", "eüu-west-2",
+            "ap-southeast-1K", "K", "../../etc/passwd", "us-east-11", "us-east", "", "!!!");
+
+        for (String input : inputs) {
+            String sanitized = input.trim().toLowerCase().replaceAll("[^a-z0-9-]", "");
+            String expected = REGIONS.contains(sanitized) ? sanitized : null;
+            assertThat(table.lookup(input)).as(input).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should normalize and deduplicate configured regions")
+    void shouldNormalizeConfiguredRegions() {
+        RegionTable table = new RegionTable(List.of(" US-EAST-1 ", "us-east-1", "eu-west-1"));
+
+        assertThat(table.regions()).containsExactly("us-east-1", "eu-west-1");
+        assertThat(table.contains("eu-west-1")).isTrue();
+        assertThat(table.contains((CharSequence) null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an empty region configuration")
+    void shouldRejectEmptyConfiguration() {
+        assertThatThrownBy(() -> new RegionTable(List.of(" ")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("At least one supported region");
+        assertThatThrownBy(() -> new RegionTable(List.of("###")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid supported region");
+    }
+
+    @Test
+    @DisplayName("Should find every region of a large table and nothing else")
+    void shouldHandleLargeTables() {
+        List<String> regions = new ArrayList<>();
+        IntStream.range(0, 500).forEach(i -> regions.add("zz-test-" + i));
+        RegionTable table = new RegionTable(regions);
+
+        for (String region : regions) {
+            assertThat(table.lookup(region.toUpperCase(Locale.ROOT))).isEqualTo(region);
+        }
+        assertThat(table.lookup("zz-test-500")).isNull();
+        assertThat(table.size()).isEqualTo(500);
+    }
+}
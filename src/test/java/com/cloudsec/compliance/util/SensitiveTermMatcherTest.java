@@ -0,0 +1,84 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SensitiveTermMatcher Tests")
+class SensitiveTermMatcherTest {
+
+    @Test
+    @DisplayName("Should find terms anywhere in the text ignoring case")
+    void shouldFindTermsIgnoringCase() {
+        SensitiveTermMatcher matcher = new SensitiveTermMatcher(List.of("secret", "Private"));
+
+        assertThat(matcher.matches("my-SECRET-bucket")).isTrue();
+        assertThat(matcher.matches("privatedata")).isTrue();
+        assertThat(matcher.matches("secre-t")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should follow failure links for overlapping terms")
+    void shouldHandleOverlappingTerms() {
+        SensitiveTermMatcher matcher = new SensitiveTermMatcher(List.of("he", "she", "hers", "abcd", "bc"));
+
+        assertThat(matcher.matches("ushers")).isTrue();
+        assertThat(matcher.matches("xabcx")).isTrue();
+        assertThat(matcher.matches("abd")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore blank terms and match nothing when empty")
+    void shouldIgnoreBlankTerms() {
+        SensitiveTermMatcher matcher = new SensitiveTermMatcher(List.of(" ", ""));
+
+        assertThat(matcher.termCount()).isZero();
+        assertThat(matcher.matches("anything")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should support non-ASCII terms")
+    void shouldSupportNonAsciiTerms() {
+        SensitiveTermMatcher matcher = new SensitiveTermMatcher(List.of("Geheim"  , "Ünternehmen"));
+
+        assertThat(matcher.matches("projekt-GEHEIM")).isTrue();
+        assertThat(matcher.matches("ünternehmen-data")).isTrue();
+        assertThat(matcher.matches("unternehmen-data")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should agree with naive substring search for thousands of terms")
+    void shouldAgreeWithNaiveSearch() {
+        Random random = new Random(42);
+        List<String> terms = IntStream.range(0, 3_000).mapToObj(i -> randomWord(random, 4 + random.nextInt(6))).toList();
+        SensitiveTermMatcher matcher = new SensitiveTermMatcher(terms);
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            names.add(randomWord(random, 3 + random.nextInt(30)));
+        }
+        names.add("prefix-" + terms.get(1234).toUpperCase(Locale.ROOT) + "-suffix");
+
+        for (String name : names) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            boolean expected = terms.stream().anyMatch(lower::contains);
+            assertThat(matcher.matches(name)).as(name).isEqualTo(expected);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append("abcdefghij-".charAt(random.nextInt(11)));
+        }
+        return word.toString();
+    }
+}
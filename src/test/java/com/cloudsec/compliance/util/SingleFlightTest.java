@@ -0,0 +1,105 @@
+package com.cloudsec.compliance.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+    @Test
+    @DisplayName("Should share one computation among concurrent callers with the same key")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flights.execute("us-east-1", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return "buckets";
+            }));
+            awaitInFlight();
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                followers.add(executor.submit(() -> flights.execute("us-east-1", () -> {
+                    runs.incrementAndGet();
+                    return "duplicate";
+                })));
+            }
+            while (flights.coalesced() < 8) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("buckets");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("buckets");
+            }
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(flights.executions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's exception to every waiting caller")
+    void shouldShareFailures() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> flights.execute("key", () -> {
+                await(release);
+                throw new IllegalStateException("region unavailable");
+            }));
+            awaitInFlight();
+            Future<String> follower = executor.submit(() -> flights.execute("key", () -> "unused"));
+            while (flights.coalesced() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> call : List.of(leader, follower)) {
+                assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("region unavailable");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should run again once the previous computation has finished")
+    void shouldNotCacheResults() {
+        assertThat(flights.execute("key", () -> "first")).isEqualTo("first");
+        assertThat(flights.execute("key", () -> "second")).isEqualTo("second");
+        assertThat(flights.execute("other", () -> "third")).isEqualTo("third");
+
+        assertThat(flights.executions()).isEqualTo(3);
+        assertThat(flights.coalesced()).isZero();
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (flights.executions() == 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}